@@ -0,0 +1,298 @@
+package graphql;
+
+import graphql.execution.DataFetcherResult;
+import graphql.incremental.DeferPayload;
+import graphql.incremental.DelayedIncrementalPartialResult;
+import graphql.incremental.IncrementalExecutionResult;
+import graphql.incremental.IncrementalPayload;
+import graphql.incremental.StreamPayload;
+import graphql.util.EscapeUtil;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This writes {@link ExecutionResult}s as spec compliant JSON directly to a {@link Writer} or {@link OutputStream}
+ * without first building the intermediate map tree that {@link ExecutionResult#toSpecification()} creates.
+ * <p>
+ * For large results this means only the result tree itself is held in memory while the response is written, rather
+ * than the result tree, its specification map copy and the serialised form of that copy.
+ * <p>
+ * The values in the result tree are expected to be the usual execution values, that is {@link Map}s, {@link Iterable}s,
+ * arrays, {@link String}s, {@link Number}s and {@link Boolean}s.  {@link DataFetcherResult} values are unwrapped to their data,
+ * enums are written as their name and any other object is written as the JSON string of its {@link Object#toString()} value.
+ * <p>
+ * Incremental results (eg @defer) can be written as the parts of a {@code multipart/mixed} response via
+ * {@link #writeMultipartPart(ExecutionResult, Writer)}, {@link #writeMultipartPart(DelayedIncrementalPartialResult, Writer)} and
+ * {@link #writeMultipartEnd(Writer)}.  The boundary used is {@link #MULTIPART_BOUNDARY}.
+ */
+@ExperimentalApi
+public class ExecutionResultWriter {
+
+    /**
+     * The multipart boundary used when writing incremental results
+     */
+    public static final String MULTIPART_BOUNDARY = "-";
+
+    private static final String MULTIPART_PART_HEADER = "\r\n--" + MULTIPART_BOUNDARY + "\r\nContent-Type: application/json; charset=utf-8\r\n\r\n";
+    private static final String MULTIPART_END = "\r\n--" + MULTIPART_BOUNDARY + "--\r\n";
+
+    /**
+     * Writes the execution result as UTF-8 encoded JSON to the output stream.  The output stream is flushed but not closed.
+     *
+     * @param executionResult the result to write
+     * @param outputStream    the stream to write to
+     *
+     * @throws IOException if the stream cannot be written to
+     */
+    public void write(ExecutionResult executionResult, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        write(executionResult, writer);
+        writer.flush();
+    }
+
+    /**
+     * Writes the execution result as JSON to the writer.  The writer is neither flushed nor closed.
+     *
+     * @param executionResult the result to write
+     * @param writer          the writer to write to
+     *
+     * @throws IOException if the writer cannot be written to
+     */
+    public void write(ExecutionResult executionResult, Writer writer) throws IOException {
+        writer.write('{');
+        boolean first = true;
+        List<GraphQLError> errors = executionResult.getErrors();
+        if (errors != null && !errors.isEmpty()) {
+            writeName("errors", true, writer);
+            writeErrors(errors, writer);
+            first = false;
+        }
+        if (executionResult.isDataPresent()) {
+            writeName("data", first, writer);
+            writeValue(executionResult.getData(), writer);
+            first = false;
+        }
+        if (executionResult.getExtensions() != null) {
+            writeName("extensions", first, writer);
+            writeValue(executionResult.getExtensions(), writer);
+            first = false;
+        }
+        if (executionResult instanceof IncrementalExecutionResult) {
+            IncrementalExecutionResult incrementalExecutionResult = (IncrementalExecutionResult) executionResult;
+            writeName("hasNext", first, writer);
+            writer.write(String.valueOf(incrementalExecutionResult.hasNext()));
+            writeIncrementalPayloads(incrementalExecutionResult.getIncremental(), writer);
+        }
+        writer.write('}');
+    }
+
+    /**
+     * Writes a subsequent incremental result as JSON to the writer.  The writer is neither flushed nor closed.
+     *
+     * @param partialResult the incremental result to write
+     * @param writer        the writer to write to
+     *
+     * @throws IOException if the writer cannot be written to
+     */
+    public void write(DelayedIncrementalPartialResult partialResult, Writer writer) throws IOException {
+        writer.write('{');
+        writeName("hasNext", true, writer);
+        writer.write(String.valueOf(partialResult.hasNext()));
+        if (partialResult.getExtensions() != null) {
+            writeName("extensions", false, writer);
+            writeValue(partialResult.getExtensions(), writer);
+        }
+        writeIncrementalPayloads(partialResult.getIncremental(), writer);
+        writer.write('}');
+    }
+
+    /**
+     * Writes the initial result of an incremental execution as a part of a {@code multipart/mixed} response
+     *
+     * @param executionResult the result to write
+     * @param writer          the writer to write to
+     *
+     * @throws IOException if the writer cannot be written to
+     */
+    public void writeMultipartPart(ExecutionResult executionResult, Writer writer) throws IOException {
+        writer.write(MULTIPART_PART_HEADER);
+        write(executionResult, writer);
+    }
+
+    /**
+     * Writes a subsequent result of an incremental execution as a part of a {@code multipart/mixed} response
+     *
+     * @param partialResult the incremental result to write
+     * @param writer        the writer to write to
+     *
+     * @throws IOException if the writer cannot be written to
+     */
+    public void writeMultipartPart(DelayedIncrementalPartialResult partialResult, Writer writer) throws IOException {
+        writer.write(MULTIPART_PART_HEADER);
+        write(partialResult, writer);
+    }
+
+    /**
+     * Writes the closing boundary of a {@code multipart/mixed} response
+     *
+     * @param writer the writer to write to
+     *
+     * @throws IOException if the writer cannot be written to
+     */
+    public void writeMultipartEnd(Writer writer) throws IOException {
+        writer.write(MULTIPART_END);
+    }
+
+    private void writeIncrementalPayloads(List<IncrementalPayload> incrementalPayloads, Writer writer) throws IOException {
+        if (incrementalPayloads == null) {
+            return;
+        }
+        writeName("incremental", false, writer);
+        writer.write('[');
+        boolean first = true;
+        for (IncrementalPayload incrementalPayload : incrementalPayloads) {
+            if (!first) {
+                writer.write(',');
+            }
+            writeIncrementalPayload(incrementalPayload, writer);
+            first = false;
+        }
+        writer.write(']');
+    }
+
+    private void writeIncrementalPayload(IncrementalPayload incrementalPayload, Writer writer) throws IOException {
+        writer.write('{');
+        writeName("path", true, writer);
+        writeValue(incrementalPayload.getPath(), writer);
+        if (incrementalPayload.getLabel() != null) {
+            writeName("label", false, writer);
+            writeString(incrementalPayload.getLabel(), writer);
+        }
+        List<GraphQLError> errors = incrementalPayload.getErrors();
+        if (errors != null && !errors.isEmpty()) {
+            writeName("errors", false, writer);
+            writeErrors(errors, writer);
+        }
+        if (incrementalPayload.getExtensions() != null) {
+            writeName("extensions", false, writer);
+            writeValue(incrementalPayload.getExtensions(), writer);
+        }
+        if (incrementalPayload instanceof DeferPayload) {
+            writeName("data", false, writer);
+            writeValue(((DeferPayload) incrementalPayload).getData(), writer);
+        } else if (incrementalPayload instanceof StreamPayload) {
+            writeName("items", false, writer);
+            writeValue(((StreamPayload) incrementalPayload).getItems(), writer);
+        }
+        writer.write('}');
+    }
+
+    private void writeErrors(List<GraphQLError> errors, Writer writer) throws IOException {
+        writer.write('[');
+        boolean first = true;
+        for (GraphQLError error : errors) {
+            if (!first) {
+                writer.write(',');
+            }
+            // errors are small and may customise their specification form, so we honour that
+            writeValue(error.toSpecification(), writer);
+            first = false;
+        }
+        writer.write(']');
+    }
+
+    private void writeName(String name, boolean first, Writer writer) throws IOException {
+        if (!first) {
+            writer.write(',');
+        }
+        writeString(name, writer);
+        writer.write(':');
+    }
+
+    private void writeValue(Object value, Writer writer) throws IOException {
+        if (value instanceof DataFetcherResult) {
+            value = ((DataFetcherResult<?>) value).getData();
+        }
+        if (value == null) {
+            writer.write("null");
+        } else if (value instanceof String) {
+            writeString((String) value, writer);
+        } else if (value instanceof Boolean) {
+            writer.write(value.toString());
+        } else if (value instanceof Number) {
+            writeNumber((Number) value, writer);
+        } else if (value instanceof Map) {
+            writeMap((Map<?, ?>) value, writer);
+        } else if (value instanceof Iterable) {
+            writeIterable((Iterable<?>) value, writer);
+        } else if (value.getClass().isArray()) {
+            writeArray(value, writer);
+        } else if (value instanceof Enum) {
+            writeString(((Enum<?>) value).name(), writer);
+        } else {
+            writeString(value.toString(), writer);
+        }
+    }
+
+    private void writeNumber(Number number, Writer writer) throws IOException {
+        if (number instanceof Double || number instanceof Float) {
+            double doubleValue = number.doubleValue();
+            // JSON has no representation of these values
+            if (Double.isNaN(doubleValue) || Double.isInfinite(doubleValue)) {
+                writer.write("null");
+                return;
+            }
+        }
+        writer.write(number.toString());
+    }
+
+    private void writeMap(Map<?, ?> map, Writer writer) throws IOException {
+        writer.write('{');
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            writeName(String.valueOf(entry.getKey()), first, writer);
+            writeValue(entry.getValue(), writer);
+            first = false;
+        }
+        writer.write('}');
+    }
+
+    private void writeIterable(Iterable<?> iterable, Writer writer) throws IOException {
+        writer.write('[');
+        boolean first = true;
+        for (Object item : iterable) {
+            if (!first) {
+                writer.write(',');
+            }
+            writeValue(item, writer);
+            first = false;
+        }
+        writer.write(']');
+    }
+
+    private void writeArray(Object array, Writer writer) throws IOException {
+        writer.write('[');
+        int length = Array.getLength(array);
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeValue(Array.get(array, i), writer);
+        }
+        writer.write(']');
+    }
+
+    private void writeString(String value, Writer writer) throws IOException {
+        writer.write('"');
+        EscapeUtil.escapeJsonString(value, writer);
+        writer.write('"');
+    }
+}
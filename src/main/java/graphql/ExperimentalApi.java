@@ -24,4 +24,10 @@ public @interface ExperimentalApi {
      * The key that should be associated with a boolean value which indicates whether @defer and @stream behaviour is enabled for this execution.
      */
     String ENABLE_INCREMENTAL_SUPPORT  = "ENABLE_INCREMENTAL_SUPPORT";
+
+    /**
+     * The key that should be associated with a boolean value which indicates whether a {@link graphql.execution.ExecutionPlan} is
+     * built and re-used via the {@link graphql.execution.preparsed.PreparsedDocumentEntry} for this execution.
+     */
+    String ENABLE_EXECUTION_PLAN = "ENABLE_EXECUTION_PLAN";
 }
@@ -8,6 +8,7 @@ import graphql.execution.DataFetcherExceptionHandler;
 import graphql.execution.Execution;
 import graphql.execution.ExecutionId;
 import graphql.execution.ExecutionIdProvider;
+import graphql.execution.ExecutionPlan;
 import graphql.execution.ExecutionStrategy;
 import graphql.execution.SimpleDataFetcherExceptionHandler;
 import graphql.execution.SubscriptionExecutionStrategy;
@@ -17,16 +18,21 @@ import graphql.execution.instrumentation.Instrumentation;
 import graphql.execution.instrumentation.InstrumentationContext;
 import graphql.execution.instrumentation.InstrumentationState;
 import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.dataloader.CoordinatedDataLoaderRegistry;
 import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationValidationParameters;
 import graphql.execution.preparsed.NoOpPreparsedDocumentProvider;
 import graphql.execution.preparsed.PreparsedDocumentEntry;
 import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.introspection.IntrospectionResultCache;
 import graphql.language.Document;
 import graphql.schema.GraphQLSchema;
 import graphql.validation.ValidationError;
+import graphql.validation.ValidationOptions;
+import org.dataloader.DataLoaderRegistry;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
@@ -39,9 +45,11 @@ import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
 
 import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
 import static graphql.execution.ExecutionIdProvider.DEFAULT_EXECUTION_ID_PROVIDER;
 import static graphql.execution.instrumentation.SimpleInstrumentationContext.completeInstrumentationCtxCF;
 import static graphql.execution.instrumentation.SimpleInstrumentationContext.nonNullCtx;
+import static graphql.execution.instrumentation.dataloader.EmptyDataLoaderRegistryInstance.EMPTY_DATALOADER_REGISTRY;
 
 /**
  * This class is where all graphql-java query execution begins.  It combines the objects that are needed
@@ -440,6 +448,60 @@ public class GraphQL {
         });
     }
 
+    /**
+     * Executes a batch of operations, say the operations a client sent in one request, and returns their results in the order of
+     * the execution inputs.
+     * <p>
+     * The operations run concurrently and share the {@link DataLoaderRegistry} of their execution inputs, which must be the same
+     * registry for all of the inputs that have one.  Rather than each operation dispatching the data loaders when it needs them,
+     * the data loaders are dispatched once every running operation of the batch has reached such a point.  This means the keys
+     * loaded by all the operations end up in the same batches, so the backend is called once per data loader and level rather than
+     * once per operation.
+     *
+     * @param executionInputs the operations to execute
+     *
+     * @return a promise to the results of the operations, which can include errors, in the order of the execution inputs
+     */
+    @ExperimentalApi
+    public CompletableFuture<List<ExecutionResult>> executeBatchAsync(List<ExecutionInput> executionInputs) {
+        assertNotNull(executionInputs, () -> "executionInputs can't be null");
+        DataLoaderRegistry sharedRegistry = getSharedDataLoaderRegistry(executionInputs);
+        Async.CombinedBuilder<ExecutionResult> executionResults = Async.ofExpectedSize(executionInputs.size());
+        if (sharedRegistry == null || doNotAutomaticallyDispatchDataLoader) {
+            for (ExecutionInput executionInput : executionInputs) {
+                executionResults.add(executeAsync(executionInput));
+            }
+            return executionResults.await();
+        }
+        CoordinatedDataLoaderRegistry.Coordinator coordinator = new CoordinatedDataLoaderRegistry.Coordinator(sharedRegistry);
+        // all the operations must count as running before the first of them gets to dispatch the data loaders
+        List<CoordinatedDataLoaderRegistry> registries = new ArrayList<>(executionInputs.size());
+        for (int i = 0; i < executionInputs.size(); i++) {
+            registries.add(coordinator.operationStarted());
+        }
+        for (int i = 0; i < executionInputs.size(); i++) {
+            CoordinatedDataLoaderRegistry registry = registries.get(i);
+            ExecutionInput executionInput = executionInputs.get(i).transform(builder -> builder.dataLoaderRegistry(registry));
+            CompletableFuture<ExecutionResult> executionResult = Async.tryCatch(() -> executeAsync(executionInput));
+            executionResults.add(executionResult.whenComplete((result, throwable) -> coordinator.operationCompleted(registry)));
+        }
+        return executionResults.await();
+    }
+
+    private DataLoaderRegistry getSharedDataLoaderRegistry(List<ExecutionInput> executionInputs) {
+        DataLoaderRegistry sharedRegistry = null;
+        for (ExecutionInput executionInput : executionInputs) {
+            DataLoaderRegistry registry = assertNotNull(executionInput, () -> "executionInputs can't contain null").getDataLoaderRegistry();
+            if (registry == EMPTY_DATALOADER_REGISTRY) {
+                continue;
+            }
+            DataLoaderRegistry otherRegistry = sharedRegistry;
+            assertTrue(otherRegistry == null || otherRegistry == registry, () -> "The execution inputs of a batch must all have the same DataLoaderRegistry");
+            sharedRegistry = registry;
+        }
+        return sharedRegistry;
+    }
+
     private CompletableFuture<ExecutionResult> handleAbortException(ExecutionInput executionInput, InstrumentationState instrumentationState, AbortExecutionException abortException) {
         CompletableFuture<ExecutionResult> executionResult = CompletableFuture.completedFuture(abortException.toExecutionResult());
         InstrumentationExecutionParameters instrumentationParameters = new InstrumentationExecutionParameters(executionInput, this.graphQLSchema);
@@ -461,6 +523,13 @@ public class GraphQL {
 
 
     private CompletableFuture<ExecutionResult> parseValidateAndExecute(ExecutionInput executionInput, GraphQLSchema graphQLSchema, InstrumentationState instrumentationState) {
+        IntrospectionResultCache introspectionResultCache = executionInput.getGraphQLContext().get(IntrospectionResultCache.class);
+        if (introspectionResultCache != null) {
+            ExecutionResult cachedResult = introspectionResultCache.getResult(executionInput, graphQLSchema);
+            if (cachedResult != null) {
+                return CompletableFuture.completedFuture(cachedResult);
+            }
+        }
         AtomicReference<ExecutionInput> executionInputRef = new AtomicReference<>(executionInput);
         Function<ExecutionInput, PreparsedDocumentEntry> computeFunction = transformedInput -> {
             // if they change the original query in the pre-parser, then we want to see it downstream from then on
@@ -473,7 +542,14 @@ public class GraphQL {
                 return CompletableFuture.completedFuture(new ExecutionResultImpl(preparsedDocumentEntry.getErrors()));
             }
             try {
-                return execute(executionInputRef.get(), preparsedDocumentEntry.getDocument(), graphQLSchema, instrumentationState);
+                CompletableFuture<ExecutionResult> executionResult = execute(executionInputRef.get(), preparsedDocumentEntry, graphQLSchema, instrumentationState);
+                if (introspectionResultCache != null) {
+                    executionResult = executionResult.thenApply(result -> {
+                        introspectionResultCache.putResult(executionInput, preparsedDocumentEntry.getDocument(), graphQLSchema, result);
+                        return result;
+                    });
+                }
+                return executionResult;
             } catch (AbortExecutionException e) {
                 return CompletableFuture.completedFuture(e.toExecutionResult());
             }
@@ -528,14 +604,15 @@ public class GraphQL {
 
         Predicate<Class<?>> validationRulePredicate = executionInput.getGraphQLContext().getOrDefault(ParseAndValidate.INTERNAL_VALIDATION_PREDICATE_HINT, r -> true);
         Locale locale = executionInput.getLocale() != null ? executionInput.getLocale() : Locale.getDefault();
-        List<ValidationError> validationErrors = ParseAndValidate.validate(graphQLSchema, document, validationRulePredicate, locale);
+        ValidationOptions validationOptions = executionInput.getGraphQLContext().getOrDefault(ValidationOptions.class, ValidationOptions.defaultOptions());
+        List<ValidationError> validationErrors = ParseAndValidate.validate(graphQLSchema, document, validationRulePredicate, locale, validationOptions);
 
         validationCtx.onCompleted(validationErrors, null);
         return validationErrors;
     }
 
     private CompletableFuture<ExecutionResult> execute(ExecutionInput executionInput,
-                                                       Document document,
+                                                       PreparsedDocumentEntry preparsedDocumentEntry,
                                                        GraphQLSchema graphQLSchema,
                                                        InstrumentationState instrumentationState
     ) {
@@ -543,7 +620,11 @@ public class GraphQL {
         Execution execution = new Execution(queryStrategy, mutationStrategy, subscriptionStrategy, instrumentation, valueUnboxer, doNotAutomaticallyDispatchDataLoader);
         ExecutionId executionId = executionInput.getExecutionId();
 
-        return execution.execute(document, graphQLSchema, executionId, executionInput, instrumentationState);
+        ExecutionPlan executionPlan = null;
+        if (executionInput.getGraphQLContext().getBoolean(ExperimentalApi.ENABLE_EXECUTION_PLAN)) {
+            executionPlan = preparsedDocumentEntry.getExecutionPlan(graphQLSchema);
+        }
+        return execution.execute(preparsedDocumentEntry.getDocument(), graphQLSchema, executionId, executionInput, instrumentationState, executionPlan);
     }
 
 }
@@ -7,6 +7,7 @@ import graphql.parser.ParserEnvironment;
 import graphql.parser.ParserOptions;
 import graphql.schema.GraphQLSchema;
 import graphql.validation.ValidationError;
+import graphql.validation.ValidationOptions;
 import graphql.validation.Validator;
 import org.jetbrains.annotations.NotNull;
 
@@ -65,11 +66,15 @@ public class ParseAndValidate {
             ParserOptions parserOptions = executionInput.getGraphQLContext().get(ParserOptions.class);
             // we use the query parser options by default if they are not specified
             parserOptions = ofNullable(parserOptions).orElse(ParserOptions.getDefaultOperationParserOptions());
+            // and the parser implementation
+            ParserEnvironment.ParserImplementation parserImplementation = executionInput.getGraphQLContext().get(ParserEnvironment.ParserImplementation.class);
+            parserImplementation = ofNullable(parserImplementation).orElse(ParserEnvironment.ParserImplementation.ANTLR);
             Parser parser = new Parser();
             Locale locale = executionInput.getLocale() == null ? Locale.getDefault() : executionInput.getLocale();
             ParserEnvironment parserEnvironment = ParserEnvironment.newParserEnvironment()
                     .document(executionInput.getQuery()).parserOptions(parserOptions)
                     .locale(locale)
+                    .parserImplementation(parserImplementation)
                     .build();
             Document document = parser.parseDocument(parserEnvironment);
             return ParseAndValidateResult.newResult().document(document).variables(executionInput.getVariables()).build();
@@ -118,6 +123,24 @@ public class ParseAndValidate {
         return validator.validateDocument(graphQLSchema, parsedDocument, rulePredicate, locale);
     }
 
+    /**
+     * This can be called to validate a parsed graphql query with the given {@link ValidationOptions}, for example to validate
+     * in parallel or to use a {@link graphql.validation.ValidationCache}.
+     *
+     * @param graphQLSchema     the graphql schema to validate against
+     * @param parsedDocument    the previously parsed document
+     * @param rulePredicate     this predicate is used to decide what validation rules will be applied
+     * @param locale            the current locale
+     * @param validationOptions the options to validate with
+     *
+     * @return a result object that indicates how this operation went
+     */
+    @ExperimentalApi
+    public static List<ValidationError> validate(@NotNull GraphQLSchema graphQLSchema, @NotNull Document parsedDocument, @NotNull Predicate<Class<?>> rulePredicate, @NotNull Locale locale, @NotNull ValidationOptions validationOptions) {
+        Validator validator = new Validator();
+        return validator.validateDocument(graphQLSchema, parsedDocument, rulePredicate, locale, validationOptions);
+    }
+
     /**
      * This can be called to validate a parsed graphql query, with the JVM default locale.
      *
@@ -0,0 +1,174 @@
+package graphql.analysis;
+
+import graphql.ExecutionResult;
+import graphql.ExperimentalApi;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.Function;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.execution.instrumentation.SimpleInstrumentationContext.noOp;
+
+/**
+ * Prevents execution if the depth, breadth, complexity or estimated result size of the query is greater than the specified maximum.
+ * <p>
+ * Unlike using {@link MaxQueryDepthInstrumentation} and {@link MaxQueryComplexityInstrumentation} together, all limits are checked
+ * with a single {@link QueryCostAnalyzer} pass over the {@link graphql.normalized.ExecutableNormalizedOperation} of the execution,
+ * and the cost is cached with the {@link graphql.execution.ExecutionPlan} when it does not depend on the variables of the execution.
+ * <p>
+ * Use the {@code Function<QueryCost, Boolean>} parameter to supply a function to perform a custom action when a maximum is
+ * exceeded. If the function returns {@code true} a {@link AbortExecutionException} is thrown.
+ */
+@ExperimentalApi
+public class MaxQueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final Logger log = LoggerFactory.getLogger(MaxQueryCostInstrumentation.class);
+
+    private final QueryCostAnalyzer queryCostAnalyzer;
+    private final int maxDepth;
+    private final int maxBreadth;
+    private final int maxComplexity;
+    private final long maxEstimatedResultSize;
+    private final Function<QueryCost, Boolean> maxQueryCostExceededFunction;
+
+    private MaxQueryCostInstrumentation(Builder builder) {
+        this.queryCostAnalyzer = builder.queryCostAnalyzer;
+        this.maxDepth = builder.maxDepth;
+        this.maxBreadth = builder.maxBreadth;
+        this.maxComplexity = builder.maxComplexity;
+        this.maxEstimatedResultSize = builder.maxEstimatedResultSize;
+        this.maxQueryCostExceededFunction = builder.maxQueryCostExceededFunction;
+    }
+
+    @Override
+    public @Nullable InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        QueryCost queryCost = queryCostAnalyzer.analyze(parameters.getExecutionContext());
+        if (log.isDebugEnabled()) {
+            log.debug("Query cost info: {}", queryCost);
+        }
+        if (isExceeded(queryCost)) {
+            boolean throwAbortException = maxQueryCostExceededFunction.apply(queryCost);
+            if (throwAbortException) {
+                throw mkAbortException(queryCost);
+            }
+        }
+        return noOp();
+    }
+
+    private boolean isExceeded(QueryCost queryCost) {
+        return queryCost.getDepth() > maxDepth
+                || queryCost.getBreadth() > maxBreadth
+                || queryCost.getComplexity() > maxComplexity
+                || queryCost.getEstimatedResultSize() > maxEstimatedResultSize;
+    }
+
+    /**
+     * Called to generate your own error message or custom exception class
+     *
+     * @param queryCost the cost of the query, which exceeds at least one of the maximums
+     *
+     * @return an instance of AbortExecutionException
+     */
+    protected AbortExecutionException mkAbortException(QueryCost queryCost) {
+        if (queryCost.getDepth() > maxDepth) {
+            return new AbortExecutionException("maximum query depth exceeded " + queryCost.getDepth() + " > " + maxDepth);
+        }
+        if (queryCost.getBreadth() > maxBreadth) {
+            return new AbortExecutionException("maximum query breadth exceeded " + queryCost.getBreadth() + " > " + maxBreadth);
+        }
+        if (queryCost.getComplexity() > maxComplexity) {
+            return new AbortExecutionException("maximum query complexity exceeded " + queryCost.getComplexity() + " > " + maxComplexity);
+        }
+        return new AbortExecutionException("maximum estimated result size exceeded " + queryCost.getEstimatedResultSize() + " > " + maxEstimatedResultSize);
+    }
+
+    /**
+     * @return a new builder of MaxQueryCostInstrumentation
+     */
+    public static Builder newMaxQueryCostInstrumentation() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private QueryCostAnalyzer queryCostAnalyzer = QueryCostAnalyzer.newQueryCostAnalyzer().build();
+        private int maxDepth = Integer.MAX_VALUE;
+        private int maxBreadth = Integer.MAX_VALUE;
+        private int maxComplexity = Integer.MAX_VALUE;
+        private long maxEstimatedResultSize = Long.MAX_VALUE;
+        private Function<QueryCost, Boolean> maxQueryCostExceededFunction = queryCost -> true;
+
+        private Builder() {
+        }
+
+        /**
+         * @param queryCostAnalyzer the analyzer that computes the cost, which decides how complexity and list sizes are estimated
+         *
+         * @return this builder
+         */
+        public Builder queryCostAnalyzer(QueryCostAnalyzer queryCostAnalyzer) {
+            this.queryCostAnalyzer = assertNotNull(queryCostAnalyzer);
+            return this;
+        }
+
+        /**
+         * @param maxDepth max allowed depth, otherwise execution will be aborted
+         *
+         * @return this builder
+         */
+        public Builder maxDepth(int maxDepth) {
+            this.maxDepth = maxDepth;
+            return this;
+        }
+
+        /**
+         * @param maxBreadth max allowed number of fields selected on any one field, otherwise execution will be aborted
+         *
+         * @return this builder
+         */
+        public Builder maxBreadth(int maxBreadth) {
+            this.maxBreadth = maxBreadth;
+            return this;
+        }
+
+        /**
+         * @param maxComplexity max allowed complexity, otherwise execution will be aborted
+         *
+         * @return this builder
+         */
+        public Builder maxComplexity(int maxComplexity) {
+            this.maxComplexity = maxComplexity;
+            return this;
+        }
+
+        /**
+         * @param maxEstimatedResultSize max allowed estimated number of field values in the result, otherwise execution will be aborted
+         *
+         * @return this builder
+         */
+        public Builder maxEstimatedResultSize(long maxEstimatedResultSize) {
+            this.maxEstimatedResultSize = maxEstimatedResultSize;
+            return this;
+        }
+
+        /**
+         * @param maxQueryCostExceededFunction the function to perform when a maximum is exceeded
+         *
+         * @return this builder
+         */
+        public Builder maxQueryCostExceededFunction(Function<QueryCost, Boolean> maxQueryCostExceededFunction) {
+            this.maxQueryCostExceededFunction = assertNotNull(maxQueryCostExceededFunction);
+            return this;
+        }
+
+        public MaxQueryCostInstrumentation build() {
+            return new MaxQueryCostInstrumentation(this);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package graphql.analysis;
+
+import graphql.ExperimentalApi;
+
+/**
+ * The cost of an operation as computed by a {@link QueryCostAnalyzer} in a single pass over its
+ * {@link graphql.normalized.ExecutableNormalizedOperation}.
+ */
+@ExperimentalApi
+public class QueryCost {
+
+    private final int depth;
+    private final int breadth;
+    private final int complexity;
+    private final int fieldCount;
+    private final long estimatedResultSize;
+
+    QueryCost(int depth, int breadth, int complexity, int fieldCount, long estimatedResultSize) {
+        this.depth = depth;
+        this.breadth = breadth;
+        this.complexity = complexity;
+        this.fieldCount = fieldCount;
+        this.estimatedResultSize = estimatedResultSize;
+    }
+
+    /**
+     * @return the depth of the deepest field, where top level fields have a depth of 1
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return the largest number of fields selected on any one field, or at the top level
+     */
+    public int getBreadth() {
+        return breadth;
+    }
+
+    /**
+     * @return the complexity of the operation as computed by the {@link FieldComplexityCalculator} of the analyzer
+     */
+    public int getComplexity() {
+        return complexity;
+    }
+
+    /**
+     * @return the number of normalized fields in the operation
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * The estimated number of field values in the result, where the fields below a list field are counted once for each of the
+     * items estimated by the {@link QueryCostAnalyzer.ListSizeEstimator} of the analyzer.  This saturates at {@link Long#MAX_VALUE}.
+     *
+     * @return the estimated number of field values in the result
+     */
+    public long getEstimatedResultSize() {
+        return estimatedResultSize;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryCost{" +
+                "depth=" + depth +
+                ", breadth=" + breadth +
+                ", complexity=" + complexity +
+                ", fieldCount=" + fieldCount +
+                ", estimatedResultSize=" + estimatedResultSize +
+                '}';
+    }
+}
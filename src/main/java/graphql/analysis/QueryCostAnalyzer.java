@@ -0,0 +1,263 @@
+package graphql.analysis;
+
+import graphql.ExperimentalApi;
+import graphql.execution.ExecutionContext;
+import graphql.execution.ExecutionPlan;
+import graphql.introspection.Introspection;
+import graphql.language.Field;
+import graphql.language.OperationDefinition;
+import graphql.normalized.ExecutableNormalizedField;
+import graphql.normalized.ExecutableNormalizedOperation;
+import graphql.schema.GraphQLCompositeType;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLNonNull;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertShouldNeverHappen;
+import static graphql.Assert.assertTrue;
+import static graphql.schema.GraphQLTypeUtil.unwrapAll;
+
+/**
+ * Computes the {@link QueryCost} of an operation, that is its depth, breadth, complexity and estimated result size, in a single
+ * pass over its {@link ExecutableNormalizedOperation}.  This replaces the separate walks over the {@link graphql.language.Document}
+ * that {@link MaxQueryDepthInstrumentation} and {@link MaxQueryComplexityInstrumentation} make, see {@link MaxQueryCostInstrumentation}.
+ * <p>
+ * The complexity is computed by a {@link FieldComplexityCalculator}, with the same semantics as {@link QueryComplexityCalculator}:
+ * each field is given the sum of the complexity of its child fields and {@code __typename} fields have a complexity of 0.  Since the
+ * operation is normalized, fields that are selected several times, say via fragments, are only counted once and a field on an
+ * interface or union type may be counted once per distinct set of object types it is selected on.
+ * <p>
+ * When an execution uses an {@link ExecutionPlan}, the cost is computed once and cached with the plan, and hence with the
+ * {@link graphql.execution.preparsed.PreparsedDocumentEntry}, as long as it does not depend on the variables of the execution.
+ * That is the case when no {@code @skip}, {@code @include} or {@code @defer} directive uses a variable and either the analyzer
+ * has no custom {@link FieldComplexityCalculator} or {@link ListSizeEstimator}, which could read field arguments, or the operation
+ * has no variables at all.
+ */
+@ExperimentalApi
+public class QueryCostAnalyzer {
+
+    /**
+     * The number of items a list field is estimated to have by default
+     */
+    public static final int DEFAULT_LIST_SIZE = 10;
+
+    /**
+     * Estimates the number of items a list field will have, say from its {@code first} or {@code limit} argument
+     */
+    @ExperimentalApi
+    @FunctionalInterface
+    public interface ListSizeEstimator {
+        /**
+         * @param environment the field, its arguments and its parent fields
+         *
+         * @return the estimated number of items of the list field
+         */
+        int estimateListSize(FieldComplexityEnvironment environment);
+    }
+
+    private static final FieldComplexityCalculator DEFAULT_CALCULATOR = (environment, childComplexity) -> 1 + childComplexity;
+
+    private final FieldComplexityCalculator fieldComplexityCalculator;
+    private final ListSizeEstimator listSizeEstimator;
+    private final boolean usesArguments;
+
+    private QueryCostAnalyzer(Builder builder) {
+        this.fieldComplexityCalculator = builder.fieldComplexityCalculator;
+        int listSize = builder.listSize;
+        this.listSizeEstimator = builder.listSizeEstimator != null ? builder.listSizeEstimator : environment -> listSize;
+        this.usesArguments = fieldComplexityCalculator != DEFAULT_CALCULATOR || builder.listSizeEstimator != null;
+    }
+
+    /**
+     * Computes the cost of the operation of an execution, or looks it up from the {@link ExecutionPlan} of the execution if the cost
+     * does not depend on its variables
+     *
+     * @param executionContext the execution context
+     *
+     * @return the cost of the operation
+     */
+    public QueryCost analyze(ExecutionContext executionContext) {
+        ExecutionPlan executionPlan = executionContext.getExecutionPlan();
+        OperationDefinition operationDefinition = executionContext.getOperationDefinition();
+        if (executionPlan == null || !isVariableIndependent(executionPlan, operationDefinition)) {
+            return analyze(executionContext.getNormalizedQueryTree().get(), executionContext.getGraphQLSchema());
+        }
+        return executionPlan.getDocumentAnalysis(Arrays.asList(this, operationDefinition),
+                () -> analyze(executionContext.getNormalizedQueryTree().get(), executionContext.getGraphQLSchema()));
+    }
+
+    /**
+     * Computes the cost of a normalized operation
+     *
+     * @param operation the normalized operation
+     * @param schema    the schema the operation is executed against
+     *
+     * @return the cost of the operation
+     */
+    public QueryCost analyze(ExecutableNormalizedOperation operation, GraphQLSchema schema) {
+        Analysis analysis = new Analysis(operation, schema);
+        int complexity = analysis.analyzeFields(operation.getTopLevelFields(), null, 1);
+        return new QueryCost(analysis.depth, analysis.breadth, complexity, analysis.fieldCount, analysis.estimatedResultSize);
+    }
+
+    private boolean isVariableIndependent(ExecutionPlan executionPlan, OperationDefinition operationDefinition) {
+        if (!executionPlan.getConditionalVariableNames().isEmpty()) {
+            return false;
+        }
+        return !usesArguments || operationDefinition.getVariableDefinitions().isEmpty();
+    }
+
+    private class Analysis {
+        private final ExecutableNormalizedOperation operation;
+        private final GraphQLSchema schema;
+        private int depth;
+        private int breadth;
+        private int fieldCount;
+        private long estimatedResultSize;
+
+        private Analysis(ExecutableNormalizedOperation operation, GraphQLSchema schema) {
+            this.operation = operation;
+            this.schema = schema;
+        }
+
+        /*
+         * depth, breadth and the result size are gathered on the way down and the complexity is summed up on the way back
+         */
+        private int analyzeFields(List<ExecutableNormalizedField> fields, FieldComplexityEnvironment parentEnvironment, long occurrences) {
+            breadth = Math.max(breadth, fields.size());
+            int complexity = 0;
+            for (ExecutableNormalizedField normalizedField : fields) {
+                fieldCount++;
+                depth = Math.max(depth, normalizedField.getLevel());
+                estimatedResultSize = saturatedAdd(estimatedResultSize, occurrences);
+
+                GraphQLFieldDefinition fieldDefinition = normalizedField.getFieldDefinitions(schema).get(0);
+                Field field = operation.getMergedField(normalizedField).getSingleField();
+                FieldComplexityEnvironment environment = new FieldComplexityEnvironment(field,
+                        fieldDefinition,
+                        getParentType(normalizedField),
+                        normalizedField.getResolvedArguments(),
+                        parentEnvironment);
+
+                int childComplexity = 0;
+                if (normalizedField.hasChildren()) {
+                    long childOccurrences = saturatedMultiply(occurrences, estimateItems(fieldDefinition.getType(), environment));
+                    childComplexity = analyzeFields(normalizedField.getChildren(), environment, childOccurrences);
+                }
+                if (!Introspection.TypeNameMetaFieldDef.getName().equals(normalizedField.getFieldName())) {
+                    complexity += fieldComplexityCalculator.calculate(environment, childComplexity);
+                }
+            }
+            return complexity;
+        }
+
+        private long estimateItems(GraphQLType type, FieldComplexityEnvironment environment) {
+            long items = 1;
+            while (type instanceof GraphQLNonNull || type instanceof GraphQLList) {
+                if (type instanceof GraphQLList) {
+                    items = saturatedMultiply(items, Math.max(0, listSizeEstimator.estimateListSize(environment)));
+                    type = ((GraphQLList) type).getWrappedType();
+                } else {
+                    type = ((GraphQLNonNull) type).getWrappedType();
+                }
+            }
+            return items;
+        }
+
+        private GraphQLCompositeType getParentType(ExecutableNormalizedField normalizedField) {
+            if (normalizedField.getObjectTypeNames().size() == 1) {
+                return assertNotNull(schema.getObjectType(normalizedField.getSingleObjectTypeName()));
+            }
+            ExecutableNormalizedField parent = normalizedField.getParent();
+            if (parent != null) {
+                return (GraphQLCompositeType) unwrapAll(parent.getFieldDefinitions(schema).get(0).getType());
+            }
+            return getRootType();
+        }
+
+        private GraphQLObjectType getRootType() {
+            switch (operation.getOperation()) {
+                case QUERY:
+                    return schema.getQueryType();
+                case MUTATION:
+                    return schema.getMutationType();
+                case SUBSCRIPTION:
+                    return schema.getSubscriptionType();
+                default:
+                    return assertShouldNeverHappen();
+            }
+        }
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static long saturatedMultiply(long a, long b) {
+        if (a != 0 && b > Long.MAX_VALUE / a) {
+            return Long.MAX_VALUE;
+        }
+        return a * b;
+    }
+
+    /**
+     * @return a new builder of QueryCostAnalyzer
+     */
+    public static Builder newQueryCostAnalyzer() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private FieldComplexityCalculator fieldComplexityCalculator = DEFAULT_CALCULATOR;
+        private ListSizeEstimator listSizeEstimator;
+        private int listSize = DEFAULT_LIST_SIZE;
+
+        private Builder() {
+        }
+
+        /**
+         * @param fieldComplexityCalculator the calculator of the complexity of each field, which by default gives every field
+         *                                  a complexity of 1 plus the complexity of its child fields
+         *
+         * @return this builder
+         */
+        public Builder fieldComplexityCalculator(FieldComplexityCalculator fieldComplexityCalculator) {
+            this.fieldComplexityCalculator = assertNotNull(fieldComplexityCalculator);
+            return this;
+        }
+
+        /**
+         * @param listSizeEstimator the estimator of the number of items of list fields, which by default estimates
+         *                          {@link #DEFAULT_LIST_SIZE} items for every list field, see {@link #listSize(int)}
+         *
+         * @return this builder
+         */
+        public Builder listSizeEstimator(ListSizeEstimator listSizeEstimator) {
+            this.listSizeEstimator = assertNotNull(listSizeEstimator);
+            return this;
+        }
+
+        /**
+         * @param listSize the number of items every list field is estimated to have when there is no {@link ListSizeEstimator}
+         *
+         * @return this builder
+         */
+        public Builder listSize(int listSize) {
+            assertTrue(listSize >= 0, () -> "listSize must not be negative");
+            this.listSize = listSize;
+            return this;
+        }
+
+        public QueryCostAnalyzer build() {
+            return new QueryCostAnalyzer(this);
+        }
+    }
+}
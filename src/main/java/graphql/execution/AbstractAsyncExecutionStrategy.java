@@ -4,6 +4,8 @@ import com.google.common.collect.Maps;
 import graphql.ExecutionResult;
 import graphql.ExecutionResultImpl;
 import graphql.PublicSpi;
+import graphql.execution.incremental.DeferredExecutionSupport;
+import graphql.execution.instrumentation.ExecutionStrategyInstrumentationContext;
 
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -37,4 +39,44 @@ public abstract class AbstractAsyncExecutionStrategy extends ExecutionStrategy {
             overallResult.complete(new ExecutionResultImpl(resolvedValuesByField, executionContext.getErrors()));
         };
     }
+
+    @SuppressWarnings("FutureReturnValueIgnored")
+    CompletableFuture<ExecutionResult> completeFieldValues(ExecutionContext executionContext,
+                                                           ExecutionStrategyParameters parameters,
+                                                           DeferredExecutionSupport deferredExecutionSupport,
+                                                           CompletableFuture<List<FieldValueInfo>> fieldValueInfos,
+                                                           ExecutionStrategyInstrumentationContext executionStrategyCtx) {
+        DataLoaderDispatchStrategy dataLoaderDispatcherStrategy = executionContext.getDataLoaderDispatcherStrategy();
+        List<String> fieldNames = parameters.getFields().getKeys();
+        CompletableFuture<ExecutionResult> overallResult = new CompletableFuture<>();
+
+        fieldValueInfos.whenComplete((completeValueInfos, throwable) -> {
+            List<String> fieldsExecutedOnInitialResult = deferredExecutionSupport.getNonDeferredFieldNames(fieldNames);
+
+            BiConsumer<List<Object>, Throwable> handleResultsConsumer = handleResults(executionContext, fieldsExecutedOnInitialResult, overallResult);
+            if (throwable != null) {
+                handleResultsConsumer.accept(null, throwable.getCause());
+                return;
+            }
+
+            Async.CombinedBuilder<Object> fieldValuesFutures = Async.ofExpectedSize(completeValueInfos.size());
+            for (FieldValueInfo completeValueInfo : completeValueInfos) {
+                fieldValuesFutures.addObject(completeValueInfo.getFieldValueObject());
+            }
+            dataLoaderDispatcherStrategy.executionStrategyOnFieldValuesInfo(completeValueInfos, parameters);
+            executionStrategyCtx.onFieldValuesInfo(completeValueInfos);
+            fieldValuesFutures.await().whenComplete(handleResultsConsumer);
+        }).exceptionally((ex) -> {
+            // if there are any issues with combining/handling the field results,
+            // complete the future at all costs and bubble up any thrown exception so
+            // the execution does not hang.
+            dataLoaderDispatcherStrategy.executionStrategyOnFieldValuesException(ex, parameters);
+            executionStrategyCtx.onFieldValuesException();
+            overallResult.completeExceptionally(ex);
+            return null;
+        });
+
+        overallResult.whenComplete(executionStrategyCtx::onCompleted);
+        return overallResult;
+    }
 }
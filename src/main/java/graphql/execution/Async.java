@@ -6,7 +6,6 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
@@ -14,6 +13,7 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -64,7 +64,7 @@ public class Async {
     }
 
     /**
-     * Combines zero or more CFs into one. It is a wrapper around <code>CompletableFuture.allOf</code>.
+     * Combines zero or more CFs into one, counting down their completions into a list of their values.
      *
      * @param expectedSize how many we expect
      * @param <T>          for two
@@ -194,58 +194,19 @@ public class Async {
         public CompletableFuture<List<T>> await() {
             commonSizeAssert();
 
-            CompletableFuture<List<T>> overallResult = new CompletableFuture<>();
             if (cfCount == 0) {
-                overallResult.complete(materialisedList(array));
-            } else {
-                CompletableFuture<T>[] cfsArr = copyOnlyCFsToArray();
-                CompletableFuture.allOf(cfsArr)
-                        .whenComplete((ignored, exception) -> {
-                            if (exception != null) {
-                                overallResult.completeExceptionally(exception);
-                                return;
-                            }
-                            List<T> results = new ArrayList<>(array.length);
-                            if (cfsArr.length == array.length) {
-                                // they are all CFs
-                                for (CompletableFuture<T> cf : cfsArr) {
-                                    results.add(cf.join());
-                                }
-                            } else {
-                                // it's a mixed bag of CFs and materialized objects
-                                for (Object object : array) {
-                                    if (object instanceof CompletableFuture) {
-                                        CompletableFuture<T> cf = (CompletableFuture<T>) object;
-                                        // join is safe since they are all completed earlier via CompletableFuture.allOf()
-                                        results.add(cf.join());
-                                    } else {
-                                        results.add((T) object);
-                                    }
-                                }
-                            }
-                            overallResult.complete(results);
-                        });
+                return CompletableFuture.completedFuture(materialisedList(array));
             }
-            return overallResult;
-        }
-
-        @SuppressWarnings("unchecked")
-        @NotNull
-        private CompletableFuture<T>[] copyOnlyCFsToArray() {
-            if (cfCount == array.length) {
-                // if it's all CFs - make a type safe copy via C code
-                return Arrays.copyOf(array, array.length, CompletableFuture[].class);
-            } else {
-                int i = 0;
-                CompletableFuture<T>[] dest = new CompletableFuture[cfCount];
-                for (Object o : array) {
-                    if (o instanceof CompletableFuture) {
-                        dest[i] = (CompletableFuture<T>) o;
-                        i++;
-                    }
+            // the values of the CFs are written in place of the CFs, so the array holds the results once they are all done
+            CountDown<T> countDown = new CountDown<>(array, cfCount);
+            for (int i = 0; i < array.length; i++) {
+                Object object = array[i];
+                if (object instanceof CompletableFuture) {
+                    int index = i;
+                    ((CompletableFuture<T>) object).whenComplete((value, exception) -> countDown.onComplete(index, value, exception));
                 }
-                return dest;
             }
+            return countDown.overallResult;
         }
 
         @Override
@@ -258,22 +219,61 @@ public class Async {
             }
         }
 
-        @NotNull
-        private List<T> materialisedList(Object[] array) {
-            List<T> results = new ArrayList<>(array.length);
-            for (Object object : array) {
-                //noinspection unchecked
-                results.add((T) object);
-            }
-            return results;
-        }
-
         private void commonSizeAssert() {
             Assert.assertTrue(ix == array.length, () -> "expected size was " + array.length + " got " + ix);
         }
 
     }
 
+    @NotNull
+    private static <T> List<T> materialisedList(Object[] array) {
+        List<T> results = new ArrayList<>(array.length);
+        for (Object object : array) {
+            //noinspection unchecked
+            results.add((T) object);
+        }
+        return results;
+    }
+
+    /**
+     * Completes a list of values once a number of CFs have completed, which takes a single counter rather than the tree of
+     * dependent CFs that {@link CompletableFuture#allOf(CompletableFuture[])} builds.  The list is an {@link ArrayList}, just like
+     * the list of values that are all materialized.
+     * <p>
+     * Like allOf, it waits for all the CFs to complete, even if some of them complete exceptionally, and then completes
+     * exceptionally with a {@link CompletionException} of one of their exceptions.
+     *
+     * @param <T> for two
+     */
+    private static class CountDown<T> extends AtomicInteger {
+
+        private final Object[] values;
+        private final CompletableFuture<List<T>> overallResult = new CompletableFuture<>();
+        private volatile Throwable exception;
+
+        private CountDown(Object[] values, int cfCount) {
+            super(cfCount);
+            this.values = values;
+        }
+
+        private void onComplete(int index, Object value, Throwable throwable) {
+            if (throwable != null) {
+                exception = throwable;
+            } else {
+                values[index] = value;
+            }
+            // the decrement publishes the value written above to the thread that completes the overall result
+            if (decrementAndGet() == 0) {
+                Throwable failure = exception;
+                if (failure != null) {
+                    overallResult.completeExceptionally(failure instanceof CompletionException ? failure : new CompletionException(failure));
+                } else {
+                    overallResult.complete(materialisedList(values));
+                }
+            }
+        }
+    }
+
     @SuppressWarnings("unchecked")
     public static <T, U> CompletableFuture<List<U>> each(Collection<T> list, Function<T, Object> cfOrMaterialisedValueFactory) {
         Object l = eachPolymorphic(list, cfOrMaterialisedValueFactory);
@@ -0,0 +1,312 @@
+package graphql.execution;
+
+import graphql.AssertException;
+import graphql.ExecutionResult;
+import graphql.ExperimentalApi;
+import graphql.execution.incremental.DeferredExecutionSupport;
+import graphql.execution.instrumentation.ExecutionStrategyInstrumentationContext;
+import graphql.execution.instrumentation.Instrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionStrategyParameters;
+import graphql.introspection.Introspection;
+import graphql.language.Field;
+import graphql.schema.BatchedDataFetcher;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.util.LockKit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static java.lang.String.format;
+
+/**
+ * An execution strategy that calls each {@link BatchedDataFetcher} once for all the objects it is asked about at a level of the query.
+ * <p>
+ * The fields are executed breadth first.  Rather than fetching the field of a {@link BatchedDataFetcher} for each object straight away, its
+ * objects are collected per object type and field of the query, and when a level has been executed, each {@link BatchedDataFetcher#getBatch(List)}
+ * is called once with all of them.  Completing those values makes up the next level.  So a query for the {@code price} of each of a
+ * thousand products makes one call rather than a thousand.
+ * <p>
+ * Fields with other data fetchers are fetched one by one, exactly like {@link AsyncExecutionStrategy} fetches them.  The objects they
+ * return join the batches of the level that is executed when they complete.
+ * <p>
+ * Apart from the call of the data fetcher, each object goes through the same steps as with {@link AsyncExecutionStrategy}, with its own
+ * {@link DataFetchingEnvironment} and its own calls of the {@link Instrumentation}.  If {@link Instrumentation#instrumentDataFetcher}
+ * wraps a {@link BatchedDataFetcher} in a data fetcher that is not a {@link BatchedDataFetcher} itself then the wrapper is called per
+ * object and the field is not batched.  The {@link ExecutionStepInfo} of a fetch, and the arguments that come with it, are only built when
+ * {@link BatchedDataFetcher#getBatch(List)} asks an environment for them, so a batched data fetcher that only reads the source of each
+ * object does not pay for them.
+ * <p>
+ * Like {@link AsyncExecutionStrategy} the fields are not executed one after the other, so use {@link AsyncSerialExecutionStrategy} for mutations.
+ * Deferred fields that are executed after the initial result are fetched one by one.
+ */
+@ExperimentalApi
+public class BreadthFirstBatchedExecutionStrategy extends AbstractAsyncExecutionStrategy {
+
+    private final Map<ExecutionContext, Batches> batchesByExecution = new ConcurrentHashMap<>();
+
+    public BreadthFirstBatchedExecutionStrategy() {
+        super(new SimpleDataFetcherExceptionHandler());
+    }
+
+    /**
+     * Creates a execution strategy that uses the provided exception handler
+     *
+     * @param exceptionHandler the exception handler to use
+     */
+    public BreadthFirstBatchedExecutionStrategy(DataFetcherExceptionHandler exceptionHandler) {
+        super(exceptionHandler);
+    }
+
+    @Override
+    @SuppressWarnings("FutureReturnValueIgnored")
+    public CompletableFuture<ExecutionResult> execute(ExecutionContext executionContext, ExecutionStrategyParameters parameters) throws NonNullableFieldWasNullException {
+        DataLoaderDispatchStrategy dataLoaderDispatcherStrategy = executionContext.getDataLoaderDispatcherStrategy();
+        dataLoaderDispatcherStrategy.executionStrategy(executionContext, parameters);
+        Instrumentation instrumentation = executionContext.getInstrumentation();
+        InstrumentationExecutionStrategyParameters instrumentationParameters = new InstrumentationExecutionStrategyParameters(executionContext, parameters);
+
+        ExecutionStrategyInstrumentationContext executionStrategyCtx = ExecutionStrategyInstrumentationContext.nonNullCtx(instrumentation.beginExecutionStrategy(instrumentationParameters, executionContext.getInstrumentationState()));
+
+        MergedSelectionSet fields = parameters.getFields();
+
+        Optional<ExecutionResult> isNotSensible = Introspection.isIntrospectionSensible(fields, executionContext);
+        if (isNotSensible.isPresent()) {
+            return CompletableFuture.completedFuture(isNotSensible.get());
+        }
+
+        batchesByExecution.put(executionContext, new Batches());
+        try {
+            DeferredExecutionSupport deferredExecutionSupport = createDeferredExecutionSupport(executionContext, parameters);
+            Async.CombinedBuilder<FieldValueInfo> fieldValueInfosBuilder = getAsyncFieldValueInfo(executionContext, parameters, deferredExecutionSupport);
+
+            executionStrategyCtx.onDispatched();
+
+            CompletableFuture<ExecutionResult> result = completeFieldValues(executionContext, parameters, deferredExecutionSupport, fieldValueInfosBuilder.await(), executionStrategyCtx);
+            result.whenComplete((executionResult, exception) -> batchesByExecution.remove(executionContext));
+            return result;
+        } catch (RuntimeException e) {
+            batchesByExecution.remove(executionContext);
+            throw e;
+        }
+    }
+
+    @Override
+    Async.CombinedBuilder<FieldValueInfo> getAsyncFieldValueInfo(ExecutionContext executionContext,
+                                                                 ExecutionStrategyParameters parameters,
+                                                                 DeferredExecutionSupport deferredExecutionSupport) {
+        Batches batches = batchesByExecution.get(executionContext);
+        if (batches == null) {
+            // the execution is over, say for deferred fields, so there is nothing to batch with
+            return super.getAsyncFieldValueInfo(executionContext, parameters, deferredExecutionSupport);
+        }
+        batches.enter();
+        try {
+            return super.getAsyncFieldValueInfo(executionContext, parameters, deferredExecutionSupport);
+        } finally {
+            if (batches.exit()) {
+                dispatchBatches(executionContext, batches);
+            }
+        }
+    }
+
+    @Override
+    Object invokeDataFetcher(ExecutionContext executionContext,
+                             ExecutionStrategyParameters parameters,
+                             GraphQLFieldDefinition fieldDef,
+                             Supplier<DataFetchingEnvironment> dataFetchingEnvironment,
+                             DataFetcher<?> dataFetcher) {
+        Batches batches = batchesByExecution.get(executionContext);
+        if (batches == null || !(dataFetcher instanceof BatchedDataFetcher)) {
+            // this includes a batched data fetcher that an instrumentation has wrapped in a plain data fetcher
+            return super.invokeDataFetcher(executionContext, parameters, fieldDef, dataFetchingEnvironment, dataFetcher);
+        }
+        GraphQLObjectType parentType = (GraphQLObjectType) parameters.getExecutionStepInfo().getUnwrappedNonNullType();
+        BatchedFetch batchedFetch = new BatchedFetch(dataFetchingEnvironment.get());
+        if (batches.add(new BatchKey(parentType, parameters.getField().getSingleField()), fieldDef, (BatchedDataFetcher<?>) dataFetcher, batchedFetch)) {
+            dispatchBatches(executionContext, batches);
+        }
+        return batchedFetch.result;
+    }
+
+    private void dispatchBatches(ExecutionContext executionContext, Batches batches) {
+        while (true) {
+            List<Batch> level = batches.takePending();
+            if (level.isEmpty()) {
+                return;
+            }
+            List<CompletableFuture<?>> fetching = new ArrayList<>();
+            for (Batch batch : level) {
+                CompletableFuture<?> fetched = dispatchBatch(batch);
+                if (!fetched.isDone()) {
+                    fetching.add(fetched);
+                }
+            }
+            if (!fetching.isEmpty()) {
+                // the next level is made of the values of this one so wait for them
+                CompletableFuture.allOf(fetching.toArray(new CompletableFuture[0]))
+                        .whenComplete((ignored, exception) -> dispatchBatches(executionContext, batches));
+                return;
+            }
+        }
+    }
+
+    private CompletableFuture<?> dispatchBatch(Batch batch) {
+        List<DataFetchingEnvironment> environments = new ArrayList<>(batch.fetches.size());
+        for (BatchedFetch batchedFetch : batch.fetches) {
+            environments.add(batchedFetch.environment);
+        }
+        CompletableFuture<? extends List<?>> fetchedValues;
+        try {
+            CompletionStage<? extends List<?>> batchResult = batch.dataFetcher.getBatch(environments);
+            fetchedValues = batchResult.toCompletableFuture();
+        } catch (Exception e) {
+            fetchedValues = Async.exceptionallyCompletedFuture(e);
+        }
+        return fetchedValues.handle((values, exception) -> {
+            Throwable failure = exception;
+            int completed = 0;
+            try {
+                if (failure == null && (values == null || values.size() != environments.size())) {
+                    failure = new AssertException(format("The batched data fetcher of field '%s.%s' returned %s for %d sources",
+                            batch.parentType.getName(), batch.fieldDef.getName(), values == null ? "no list of values" : values.size() + " values", environments.size()));
+                }
+                for (; completed < batch.fetches.size(); completed++) {
+                    // completing the fetch of an object completes its field, which adds the batches of the next level
+                    complete(batch.fetches.get(completed).result, failure == null ? values.get(completed) : null, failure);
+                }
+            } finally {
+                // a fetch that is left pending would make its field, and so the whole execution, wait forever
+                for (; completed < batch.fetches.size(); completed++) {
+                    batch.fetches.get(completed).result.completeExceptionally(failure != null ? failure
+                            : new AssertException(format("The batch of field '%s.%s' could not be completed", batch.parentType.getName(), batch.fieldDef.getName())));
+                }
+            }
+            return null;
+        });
+    }
+
+    private static <T> void complete(CompletableFuture<T> future, T value, Throwable exception) {
+        if (exception != null) {
+            future.completeExceptionally(exception);
+        } else {
+            future.complete(value);
+        }
+    }
+
+    /**
+     * The batches of one execution.  The last of the field executions that are in progress at the same time dispatches the batches they
+     * added, level by level, until no more are added.  A fetch that is added while no field is executed, say from another thread,
+     * dispatches its batch itself.
+     */
+    private static class Batches {
+        private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+        private Map<BatchKey, Batch> pending = new LinkedHashMap<>();
+        private int executing;
+        private boolean dispatching;
+
+        void enter() {
+            lock.runLocked(() -> executing++);
+        }
+
+        /**
+         * @return true if the caller is to dispatch the pending batches
+         */
+        boolean exit() {
+            return lock.callLocked(() -> {
+                executing--;
+                if (executing == 0 && !dispatching && !pending.isEmpty()) {
+                    dispatching = true;
+                    return true;
+                }
+                return false;
+            });
+        }
+
+        /**
+         * @return true if the caller is to dispatch the pending batches
+         */
+        boolean add(BatchKey key, GraphQLFieldDefinition fieldDef, BatchedDataFetcher<?> dataFetcher, BatchedFetch batchedFetch) {
+            return lock.callLocked(() -> {
+                pending.computeIfAbsent(key, k -> new Batch(k.parentType, fieldDef, dataFetcher))
+                        .fetches.add(batchedFetch);
+                if (executing == 0 && !dispatching) {
+                    dispatching = true;
+                    return true;
+                }
+                return false;
+            });
+        }
+
+        List<Batch> takePending() {
+            return lock.callLocked(() -> {
+                if (pending.isEmpty()) {
+                    dispatching = false;
+                    return Collections.emptyList();
+                }
+                List<Batch> level = new ArrayList<>(pending.values());
+                pending = new LinkedHashMap<>();
+                return level;
+            });
+        }
+    }
+
+    /**
+     * Objects are batched per object type and field of the query, so that the objects of a batch have the same arguments and selection set
+     */
+    private static class BatchKey {
+        private final GraphQLObjectType parentType;
+        private final Field field;
+
+        BatchKey(GraphQLObjectType parentType, Field field) {
+            this.parentType = parentType;
+            this.field = field;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof BatchKey)) {
+                return false;
+            }
+            BatchKey that = (BatchKey) o;
+            return parentType == that.parentType && field == that.field;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(parentType) + System.identityHashCode(field);
+        }
+    }
+
+    private static class Batch {
+        private final GraphQLObjectType parentType;
+        private final GraphQLFieldDefinition fieldDef;
+        private final BatchedDataFetcher<?> dataFetcher;
+        private final List<BatchedFetch> fetches = new ArrayList<>();
+
+        Batch(GraphQLObjectType parentType, GraphQLFieldDefinition fieldDef, BatchedDataFetcher<?> dataFetcher) {
+            this.parentType = parentType;
+            this.fieldDef = fieldDef;
+            this.dataFetcher = dataFetcher;
+        }
+    }
+
+    private static class BatchedFetch {
+        private final DataFetchingEnvironment environment;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        BatchedFetch(DataFetchingEnvironment environment) {
+            this.environment = environment;
+        }
+    }
+}
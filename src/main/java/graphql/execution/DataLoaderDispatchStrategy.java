@@ -50,7 +50,31 @@ public interface DataLoaderDispatchStrategy {
         return dataFetcher;
     }
 
-    default void deferredField(ExecutionContext executionContext, MergedField currentField) {
+    default void deferredField(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+
+    }
+
+    default void deferredFieldValueInfo(FieldValueInfo fieldValueInfo, ExecutionStrategyParameters parameters) {
+
+    }
+
+    default void deferredFieldValueInfoException(Throwable t, ExecutionStrategyParameters parameters) {
+
+    }
+
+    default void streamedItems(ExecutionContext executionContext, ExecutionStrategyParameters parameters, int count) {
+
+    }
+
+    default void streamedItemValueInfo(FieldValueInfo fieldValueInfo, ExecutionStrategyParameters parameters) {
+
+    }
+
+    default void streamedItemValueInfoException(Throwable t, ExecutionStrategyParameters parameters) {
+
+    }
+
+    default void streamedItemsCompleted(ExecutionStrategyParameters parameters) {
 
     }
 }
@@ -8,10 +8,13 @@ import graphql.ExperimentalApi;
 import graphql.GraphQLContext;
 import graphql.GraphQLError;
 import graphql.Internal;
+import graphql.execution.conditional.ConditionalNodeDecision;
 import graphql.execution.incremental.IncrementalCallState;
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.execution.instrumentation.InstrumentationContext;
 import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.dataloader.BatchWindowDataLoaderDispatchStrategy;
+import graphql.execution.instrumentation.dataloader.BatchWindowDispatchOptions;
 import graphql.execution.instrumentation.dataloader.FallbackDataLoaderDispatchStrategy;
 import graphql.execution.instrumentation.dataloader.PerLevelDataLoaderDispatchStrategy;
 import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
@@ -67,6 +70,10 @@ public class Execution {
     }
 
     public CompletableFuture<ExecutionResult> execute(Document document, GraphQLSchema graphQLSchema, ExecutionId executionId, ExecutionInput executionInput, InstrumentationState instrumentationState) {
+        return execute(document, graphQLSchema, executionId, executionInput, instrumentationState, null);
+    }
+
+    public CompletableFuture<ExecutionResult> execute(Document document, GraphQLSchema graphQLSchema, ExecutionId executionId, ExecutionInput executionInput, InstrumentationState instrumentationState, ExecutionPlan executionPlan) {
 
         NodeUtil.GetOperationResult getOperationResult = NodeUtil.getOperation(document, executionInput.getOperationName());
         Map<String, FragmentDefinition> fragmentsByName = getOperationResult.fragmentsByName;
@@ -105,6 +112,8 @@ public class Execution {
                 .locale(executionInput.getLocale())
                 .valueUnboxer(valueUnboxer)
                 .executionInput(executionInput)
+                .executionPlan(specialiseExecutionPlan(executionPlan, coercedVariables, executionInput.getGraphQLContext()))
+                .virtualThreadFetcher(VirtualThreadFetcher.create(executionInput.getGraphQLContext()))
                 .build();
 
         executionContext.getGraphQLContext().put(ResultNodesInfo.RESULT_NODES_INFO, executionContext.getResultNodesInfo());
@@ -150,13 +159,16 @@ public class Execution {
                 .graphQLContext(graphQLContext)
                 .build();
 
-        MergedSelectionSet fields = fieldCollector.collectFields(
-                collectorParameters,
-                operationDefinition.getSelectionSet(),
-                Optional.ofNullable(executionContext.getGraphQLContext())
-                        .map(graphqlContext -> graphqlContext.getBoolean(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT))
-                        .orElse(false)
-        );
+        boolean incrementalSupport = Optional.ofNullable(executionContext.getGraphQLContext())
+                .map(graphqlContext -> graphqlContext.getBoolean(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT))
+                .orElse(false);
+        ExecutionPlan executionPlan = executionContext.getExecutionPlan();
+        MergedSelectionSet fields;
+        if (executionPlan != null) {
+            fields = executionPlan.collectFields(collectorParameters, operationDefinition.getSelectionSet(), incrementalSupport);
+        } else {
+            fields = fieldCollector.collectFields(collectorParameters, operationDefinition.getSelectionSet(), incrementalSupport);
+        }
 
         ResultPath path = ResultPath.rootPath();
         ExecutionStepInfo executionStepInfo = newExecutionStepInfo().type(operationRootType).path(path).build();
@@ -223,10 +235,27 @@ public class Execution {
         });
     }
 
+    private ExecutionPlan specialiseExecutionPlan(ExecutionPlan executionPlan, CoercedVariables coercedVariables, GraphQLContext graphQLContext) {
+        if (executionPlan == null || graphQLContext == null) {
+            return null;
+        }
+        // a custom decision can include or skip nodes for reasons we cannot know about, so we can't re-use any collected fields
+        if (graphQLContext.get(ConditionalNodeDecision.class) != null) {
+            return null;
+        }
+        boolean incrementalSupport = graphQLContext.getBoolean(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT);
+        return executionPlan.specialise(coercedVariables, incrementalSupport);
+    }
+
     private DataLoaderDispatchStrategy createDataLoaderDispatchStrategy(ExecutionContext executionContext, ExecutionStrategy executionStrategy) {
         if (executionContext.getDataLoaderRegistry() == EMPTY_DATALOADER_REGISTRY || doNotAutomaticallyDispatchDataLoader) {
             return DataLoaderDispatchStrategy.NO_OP;
         }
+        GraphQLContext graphQLContext = executionContext.getGraphQLContext();
+        BatchWindowDispatchOptions batchWindowDispatchOptions = graphQLContext != null ? graphQLContext.get(BatchWindowDispatchOptions.class) : null;
+        if (batchWindowDispatchOptions != null) {
+            return new BatchWindowDataLoaderDispatchStrategy(executionContext, batchWindowDispatchOptions);
+        }
         if (executionStrategy instanceof AsyncExecutionStrategy) {
             return new PerLevelDataLoaderDispatchStrategy(executionContext);
         } else {
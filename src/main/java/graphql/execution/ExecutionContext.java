@@ -4,6 +4,7 @@ package graphql.execution;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import graphql.ExecutionInput;
+import graphql.ExperimentalApi;
 import graphql.GraphQLContext;
 import graphql.GraphQLError;
 import graphql.Internal;
@@ -59,6 +60,8 @@ public class ExecutionContext {
     private final ValueUnboxer valueUnboxer;
     private final ExecutionInput executionInput;
     private final Supplier<ExecutableNormalizedOperation> queryTree;
+    private final ExecutionPlan executionPlan;
+    private final VirtualThreadFetcher virtualThreadFetcher;
 
     // this is modified after creation so it needs to be volatile to ensure visibility across Threads
     private volatile DataLoaderDispatchStrategy dataLoaderDispatcherStrategy = DataLoaderDispatchStrategy.NO_OP;
@@ -87,7 +90,16 @@ public class ExecutionContext {
         this.localContext = builder.localContext;
         this.executionInput = builder.executionInput;
         this.dataLoaderDispatcherStrategy = builder.dataLoaderDispatcherStrategy;
-        this.queryTree = FpKit.interThreadMemoize(() -> ExecutableNormalizedOperationFactory.createExecutableNormalizedOperation(graphQLSchema, operationDefinition, fragmentsByName, coercedVariables));
+        this.executionPlan = builder.executionPlan;
+        this.virtualThreadFetcher = builder.virtualThreadFetcher;
+        this.queryTree = FpKit.interThreadMemoize(this::createNormalizedOperation);
+    }
+
+    private ExecutableNormalizedOperation createNormalizedOperation() {
+        if (executionPlan != null) {
+            return executionPlan.getNormalizedOperation(operationDefinition, fragmentsByName, coercedVariables);
+        }
+        return ExecutableNormalizedOperationFactory.createExecutableNormalizedOperation(graphQLSchema, operationDefinition, fragmentsByName, coercedVariables);
     }
 
 
@@ -274,6 +286,22 @@ public class ExecutionContext {
         return queryTree;
     }
 
+    /**
+     * @return the {@link ExecutionPlan} in play for this execution or null if execution plans are not enabled
+     */
+    @ExperimentalApi
+    public ExecutionPlan getExecutionPlan() {
+        return executionPlan;
+    }
+
+    /**
+     * @return the fetcher that calls the data fetchers of this execution on virtual threads or null if they are called on the calling thread
+     */
+    @Internal
+    public VirtualThreadFetcher getVirtualThreadFetcher() {
+        return virtualThreadFetcher;
+    }
+
     @Internal
     public void setDataLoaderDispatcherStrategy(DataLoaderDispatchStrategy dataLoaderDispatcherStrategy) {
         this.dataLoaderDispatcherStrategy = dataLoaderDispatcherStrategy;
@@ -3,6 +3,7 @@ package graphql.execution;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import graphql.ExecutionInput;
+import graphql.ExperimentalApi;
 import graphql.GraphQLContext;
 import graphql.GraphQLError;
 import graphql.Internal;
@@ -46,6 +47,8 @@ public class ExecutionContextBuilder {
     Object localContext;
     ExecutionInput executionInput;
     DataLoaderDispatchStrategy dataLoaderDispatcherStrategy = DataLoaderDispatchStrategy.NO_OP;
+    ExecutionPlan executionPlan;
+    VirtualThreadFetcher virtualThreadFetcher;
 
     /**
      * @return a new builder of {@link graphql.execution.ExecutionContext}s
@@ -92,6 +95,8 @@ public class ExecutionContextBuilder {
         valueUnboxer = other.getValueUnboxer();
         executionInput = other.getExecutionInput();
         dataLoaderDispatcherStrategy = other.getDataLoaderDispatcherStrategy();
+        executionPlan = other.getExecutionPlan();
+        virtualThreadFetcher = other.getVirtualThreadFetcher();
     }
 
     public ExecutionContextBuilder instrumentation(Instrumentation instrumentation) {
@@ -211,6 +216,18 @@ public class ExecutionContextBuilder {
         return this;
     }
 
+    @ExperimentalApi
+    public ExecutionContextBuilder executionPlan(ExecutionPlan executionPlan) {
+        this.executionPlan = executionPlan;
+        return this;
+    }
+
+    @Internal
+    public ExecutionContextBuilder virtualThreadFetcher(VirtualThreadFetcher virtualThreadFetcher) {
+        this.virtualThreadFetcher = virtualThreadFetcher;
+        return this;
+    }
+
     public ExecutionContextBuilder resetErrors() {
         this.errors = emptyList();
         return this;
@@ -0,0 +1,280 @@
+package graphql.execution;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import graphql.ExperimentalApi;
+import graphql.Internal;
+import graphql.introspection.Introspection;
+import graphql.language.Directive;
+import graphql.language.Document;
+import graphql.language.FragmentDefinition;
+import graphql.language.Node;
+import graphql.language.NodeTraverser;
+import graphql.language.NodeVisitorStub;
+import graphql.language.OperationDefinition;
+import graphql.language.SelectionSet;
+import graphql.language.VariableReference;
+import graphql.normalized.ExecutableNormalizedOperation;
+import graphql.normalized.ExecutableNormalizedOperationFactory;
+import graphql.normalized.ExecutableNormalizedOperationSkeleton;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import graphql.util.TraversalControl;
+import graphql.util.TraverserContext;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Directives.DeferDirective;
+import static graphql.Directives.IncludeDirective;
+import static graphql.Directives.SkipDirective;
+
+/**
+ * An execution plan holds the parts of query execution that only depend on a {@link Document} and a {@link GraphQLSchema}
+ * and hence can be computed once and then re-used across many executions of the same (typically persisted) query.
+ * <p>
+ * The plan memoizes the merged selection sets produced by field collection for each (parent object type, selection set) pair,
+ * the resolved {@link GraphQLFieldDefinition}s and the {@link DataFetcher}s looked up from the {@link graphql.schema.GraphQLCodeRegistry}.
+ * <p>
+ * Field collection depends on the values of any variables used by the {@code @skip}, {@code @include} and {@code @defer} directives
+ * and hence the plan keeps a separate set of merged selection sets for each distinct combination of those variable values.  Variables that
+ * are only used as field arguments do not affect the plan.
+ * <p>
+ * The plan also keeps an {@link ExecutableNormalizedOperation} skeleton for each of those combinations, which is specialised for the
+ * variables of each execution by re-resolving only the argument values that use variables.  This makes
+ * {@link ExecutionContext#getNormalizedQueryTree()} much cheaper for repeated executions of large queries.
+ * <p>
+ * A plan is only used when the {@link ExperimentalApi#ENABLE_EXECUTION_PLAN} key is set to true in the {@link graphql.GraphQLContext}
+ * and it is cached alongside the {@link graphql.execution.preparsed.PreparsedDocumentEntry}, so you need a caching
+ * {@link graphql.execution.preparsed.PreparsedDocumentProvider} to benefit from it.  Since data fetchers are looked up once per plan,
+ * a {@link graphql.schema.DataFetcherFactory} must be able to hand out data fetchers that are re-usable across executions.
+ */
+@ExperimentalApi
+public class ExecutionPlan {
+
+    private final GraphQLSchema graphQLSchema;
+    private final ImmutableList<String> conditionalVariableNames;
+    private final FieldCollector fieldCollector;
+    private final Map<List<Object>, Map<Object, Map<GraphQLObjectType, MergedSelectionSet>>> selectionSetsByConditionalValues;
+    private final Map<List<Object>, Map<OperationDefinition, ExecutableNormalizedOperationSkeleton>> normalizedOperationsByConditionalValues;
+    private final Map<GraphQLObjectType, Map<String, GraphQLFieldDefinition>> fieldDefinitions;
+    private final Map<GraphQLObjectType, Map<GraphQLFieldDefinition, DataFetcher<?>>> dataFetchers;
+    private final Map<Object, Object> documentAnalyses;
+    // only set on a plan that has been specialised for a set of variables
+    private final Map<Object, Map<GraphQLObjectType, MergedSelectionSet>> selectionSets;
+    private final Map<OperationDefinition, ExecutableNormalizedOperationSkeleton> normalizedOperations;
+
+    /**
+     * Creates an execution plan for the given document and schema
+     *
+     * @param document      the document to be executed
+     * @param graphQLSchema the schema the document is executed against
+     */
+    public ExecutionPlan(Document document, GraphQLSchema graphQLSchema) {
+        this.graphQLSchema = assertNotNull(graphQLSchema);
+        this.conditionalVariableNames = ImmutableList.copyOf(collectConditionalVariableNames(assertNotNull(document)));
+        this.fieldCollector = new FieldCollector();
+        this.selectionSetsByConditionalValues = new ConcurrentHashMap<>();
+        this.normalizedOperationsByConditionalValues = new ConcurrentHashMap<>();
+        this.fieldDefinitions = new ConcurrentHashMap<>();
+        this.dataFetchers = new ConcurrentHashMap<>();
+        this.documentAnalyses = new ConcurrentHashMap<>();
+        this.selectionSets = null;
+        this.normalizedOperations = null;
+    }
+
+    private ExecutionPlan(ExecutionPlan documentPlan,
+                          Map<Object, Map<GraphQLObjectType, MergedSelectionSet>> selectionSets,
+                          Map<OperationDefinition, ExecutableNormalizedOperationSkeleton> normalizedOperations) {
+        this.graphQLSchema = documentPlan.graphQLSchema;
+        this.conditionalVariableNames = documentPlan.conditionalVariableNames;
+        this.fieldCollector = documentPlan.fieldCollector;
+        this.selectionSetsByConditionalValues = documentPlan.selectionSetsByConditionalValues;
+        this.normalizedOperationsByConditionalValues = documentPlan.normalizedOperationsByConditionalValues;
+        this.fieldDefinitions = documentPlan.fieldDefinitions;
+        this.dataFetchers = documentPlan.dataFetchers;
+        this.documentAnalyses = documentPlan.documentAnalyses;
+        this.selectionSets = selectionSets;
+        this.normalizedOperations = normalizedOperations;
+    }
+
+    /**
+     * @param graphQLSchema the schema to check
+     *
+     * @return true if this plan was built for that exact schema instance
+     */
+    public boolean isFor(GraphQLSchema graphQLSchema) {
+        return this.graphQLSchema == graphQLSchema;
+    }
+
+    /**
+     * @return the names of the variables that field collection depends on
+     */
+    public List<String> getConditionalVariableNames() {
+        return conditionalVariableNames;
+    }
+
+    /**
+     * Returns a plan that is specialised for the given variables.  All specialised plans of the same document share their
+     * memoized state, and plans specialised with the same conditional variable values share their merged selection sets and
+     * normalized operation skeletons.
+     *
+     * @param coercedVariables   the coerced variables of the execution
+     * @param incrementalSupport whether @defer support is enabled for the execution
+     *
+     * @return a plan that can be used for the execution
+     */
+    @Internal
+    public ExecutionPlan specialise(CoercedVariables coercedVariables, boolean incrementalSupport) {
+        List<Object> conditionalValues = new ArrayList<>(conditionalVariableNames.size() + 1);
+        conditionalValues.add(incrementalSupport);
+        for (String variableName : conditionalVariableNames) {
+            conditionalValues.add(coercedVariables.get(variableName));
+        }
+        Map<Object, Map<GraphQLObjectType, MergedSelectionSet>> variantSelectionSets = getOrCreate(selectionSetsByConditionalValues, conditionalValues);
+        Map<OperationDefinition, ExecutableNormalizedOperationSkeleton> variantNormalizedOperations = getOrCreate(normalizedOperationsByConditionalValues, conditionalValues);
+        return new ExecutionPlan(this, variantSelectionSets, variantNormalizedOperations);
+    }
+
+    /**
+     * Returns the normalized operation for the variables this plan was specialised for.  The first call for each combination of
+     * conditional variable values creates a skeleton, which later calls specialise by re-resolving the arguments that use variables.
+     *
+     * @param operationDefinition the operation being executed
+     * @param fragmentsByName     the fragments of the document
+     * @param coercedVariables    the coerced variables of the execution
+     *
+     * @return the normalized operation of the execution
+     */
+    @Internal
+    public ExecutableNormalizedOperation getNormalizedOperation(OperationDefinition operationDefinition,
+                                                                Map<String, FragmentDefinition> fragmentsByName,
+                                                                CoercedVariables coercedVariables) {
+        Map<OperationDefinition, ExecutableNormalizedOperationSkeleton> skeletons = assertSpecialised(normalizedOperations);
+        ExecutableNormalizedOperationSkeleton skeleton = skeletons.get(operationDefinition);
+        if (skeleton == null) {
+            skeleton = ExecutableNormalizedOperationSkeleton.create(graphQLSchema,
+                    operationDefinition,
+                    fragmentsByName,
+                    coercedVariables,
+                    ExecutableNormalizedOperationFactory.Options.defaultOptions());
+            skeleton = putIfAbsent(skeletons, operationDefinition, skeleton);
+        }
+        return skeleton.specialise(coercedVariables);
+    }
+
+    @Internal
+    public MergedSelectionSet collectFields(FieldCollectorParameters parameters, MergedField mergedField, boolean incrementalSupport) {
+        Map<GraphQLObjectType, MergedSelectionSet> byObjectType = getOrCreate(assertSpecialised(selectionSets), mergedField);
+        MergedSelectionSet mergedSelectionSet = byObjectType.get(parameters.getObjectType());
+        if (mergedSelectionSet == null) {
+            mergedSelectionSet = fieldCollector.collectFields(parameters, mergedField, incrementalSupport);
+            mergedSelectionSet = putIfAbsent(byObjectType, parameters.getObjectType(), mergedSelectionSet);
+        }
+        return mergedSelectionSet;
+    }
+
+    @Internal
+    public MergedSelectionSet collectFields(FieldCollectorParameters parameters, SelectionSet selectionSet, boolean incrementalSupport) {
+        Map<GraphQLObjectType, MergedSelectionSet> byObjectType = getOrCreate(assertSpecialised(selectionSets), selectionSet);
+        MergedSelectionSet mergedSelectionSet = byObjectType.get(parameters.getObjectType());
+        if (mergedSelectionSet == null) {
+            mergedSelectionSet = fieldCollector.collectFields(parameters, selectionSet, incrementalSupport);
+            mergedSelectionSet = putIfAbsent(byObjectType, parameters.getObjectType(), mergedSelectionSet);
+        }
+        return mergedSelectionSet;
+    }
+
+    @Internal
+    public GraphQLFieldDefinition getFieldDefinition(GraphQLObjectType parentType, String fieldName) {
+        Map<String, GraphQLFieldDefinition> byName = getOrCreate(fieldDefinitions, parentType);
+        GraphQLFieldDefinition fieldDefinition = byName.get(fieldName);
+        if (fieldDefinition == null) {
+            fieldDefinition = Introspection.getFieldDefinition(graphQLSchema, parentType, fieldName);
+            fieldDefinition = putIfAbsent(byName, fieldName, fieldDefinition);
+        }
+        return fieldDefinition;
+    }
+
+    @Internal
+    public DataFetcher<?> getDataFetcher(GraphQLObjectType parentType, GraphQLFieldDefinition fieldDefinition) {
+        Map<GraphQLFieldDefinition, DataFetcher<?>> byFieldDefinition = getOrCreate(dataFetchers, parentType);
+        DataFetcher<?> dataFetcher = byFieldDefinition.get(fieldDefinition);
+        if (dataFetcher == null) {
+            dataFetcher = graphQLSchema.getCodeRegistry().getDataFetcher(parentType, fieldDefinition);
+            dataFetcher = putIfAbsent(byFieldDefinition, fieldDefinition, dataFetcher);
+        }
+        return dataFetcher;
+    }
+
+    /**
+     * Returns the result of an analysis of the document, such as its {@link graphql.analysis.QueryCost}, computing it on first use.
+     * The result is shared by all executions of the document and hence the analysis must not depend on the variables of an execution.
+     *
+     * @param key      the key of the analysis, which is compared by equality
+     * @param analysis the code that computes the analysis
+     * @param <T>      the type of the analysis result
+     *
+     * @return the result of the analysis
+     */
+    @Internal
+    @SuppressWarnings("unchecked")
+    public <T> T getDocumentAnalysis(Object key, Supplier<T> analysis) {
+        Object result = documentAnalyses.get(key);
+        if (result == null) {
+            result = putIfAbsent(documentAnalyses, key, assertNotNull(analysis.get()));
+        }
+        return (T) result;
+    }
+
+    private static <T> T assertSpecialised(T variantState) {
+        return assertNotNull(variantState, () -> "The execution plan must be specialised for a set of variables before collecting fields");
+    }
+
+    /*
+     * we don't use computeIfAbsent here because we don't want to hold the map bin lock while field collection happens
+     */
+    private static <K, V> V putIfAbsent(Map<K, V> map, K key, V value) {
+        V existing = map.putIfAbsent(key, value);
+        return existing != null ? existing : value;
+    }
+
+    private static <K, K2, V2> Map<K2, V2> getOrCreate(Map<K, Map<K2, V2>> map, K key) {
+        Map<K2, V2> value = map.get(key);
+        if (value == null) {
+            value = putIfAbsent(map, key, new ConcurrentHashMap<>());
+        }
+        return value;
+    }
+
+    private static Set<String> collectConditionalVariableNames(Document document) {
+        Set<String> conditionalDirectiveNames = ImmutableSet.of(SkipDirective.getName(), IncludeDirective.getName(), DeferDirective.getName());
+        Set<String> variableNames = new LinkedHashSet<>();
+        NodeVisitorStub variableReferenceCollector = new NodeVisitorStub() {
+            @Override
+            public TraversalControl visitVariableReference(VariableReference node, TraverserContext<Node> context) {
+                variableNames.add(node.getName());
+                return TraversalControl.CONTINUE;
+            }
+        };
+        NodeVisitorStub directiveVisitor = new NodeVisitorStub() {
+            @Override
+            public TraversalControl visitDirective(Directive node, TraverserContext<Node> context) {
+                if (conditionalDirectiveNames.contains(node.getName())) {
+                    new NodeTraverser().depthFirst(variableReferenceCollector, node);
+                }
+                return TraversalControl.ABORT;
+            }
+        };
+        new NodeTraverser().depthFirst(directiveVisitor, document);
+        return variableNames;
+    }
+}
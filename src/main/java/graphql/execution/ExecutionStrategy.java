@@ -6,6 +6,7 @@ import graphql.ExecutionResult;
 import graphql.ExecutionResultImpl;
 import graphql.ExperimentalApi;
 import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
 import graphql.Internal;
 import graphql.PublicSpi;
 import graphql.SerializationError;
@@ -15,7 +16,12 @@ import graphql.UnresolvedTypeError;
 import graphql.collect.ImmutableMapWithNullValues;
 import graphql.execution.directives.QueryDirectives;
 import graphql.execution.directives.QueryDirectivesImpl;
+import graphql.execution.incremental.DeferredCallContext;
 import graphql.execution.incremental.DeferredExecutionSupport;
+import graphql.execution.incremental.IncrementalUtils;
+import graphql.execution.incremental.StreamExecution;
+import graphql.execution.incremental.StreamedCall;
+import graphql.execution.incremental.StreamedItems;
 import graphql.execution.instrumentation.ExecuteObjectInstrumentationContext;
 import graphql.execution.instrumentation.FieldFetchingInstrumentationContext;
 import graphql.execution.instrumentation.Instrumentation;
@@ -27,6 +33,7 @@ import graphql.execution.instrumentation.parameters.InstrumentationFieldParamete
 import graphql.extensions.ExtensionsBuilder;
 import graphql.introspection.Introspection;
 import graphql.language.Argument;
+import graphql.language.Directive;
 import graphql.language.Field;
 import graphql.normalized.ExecutableNormalizedField;
 import graphql.normalized.ExecutableNormalizedOperation;
@@ -44,12 +51,15 @@ import graphql.schema.GraphQLOutputType;
 import graphql.schema.GraphQLScalarType;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
 import graphql.schema.LightDataFetcher;
 import graphql.util.FpKit;
 import org.jetbrains.annotations.NotNull;
+import org.reactivestreams.Publisher;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -433,8 +443,7 @@ public abstract class ExecutionStrategy {
     protected Object /*CompletableFuture<FetchedValue> | FetchedValue>*/
     fetchField(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
         MergedField field = parameters.getField();
-        GraphQLObjectType parentType = (GraphQLObjectType) parameters.getExecutionStepInfo().getUnwrappedNonNullType();
-        GraphQLFieldDefinition fieldDef = getFieldDef(executionContext.getGraphQLSchema(), parentType, field.getSingleField());
+        GraphQLFieldDefinition fieldDef = getFieldDef(executionContext, parameters, field.getSingleField());
         return fetchField(fieldDef, executionContext, parameters);
     }
 
@@ -448,9 +457,70 @@ public abstract class ExecutionStrategy {
         MergedField field = parameters.getField();
         GraphQLObjectType parentType = (GraphQLObjectType) parameters.getExecutionStepInfo().getUnwrappedNonNullType();
 
-        // if the DF (like PropertyDataFetcher) does not use the arguments or execution step info then dont build any
+        Supplier<DataFetchingEnvironment> dataFetchingEnvironment = createDataFetchingEnvironment(executionContext, parameters, fieldDef, parentType);
+
+        DataFetcher<?> dataFetcher = getDataFetcher(executionContext, parentType, fieldDef);
+
+        Instrumentation instrumentation = executionContext.getInstrumentation();
+
+        boolean trivialDataFetcher = dataFetcher instanceof TrivialDataFetcher;
+        InstrumentationFieldFetchParameters instrumentationFieldFetchParams = new InstrumentationFieldFetchParameters(executionContext, dataFetchingEnvironment, parameters, trivialDataFetcher);
+        FieldFetchingInstrumentationContext fetchCtx = FieldFetchingInstrumentationContext.nonNullCtx(instrumentation.beginFieldFetching(instrumentationFieldFetchParams,
+                executionContext.getInstrumentationState())
+        );
+
+        dataFetcher = instrumentation.instrumentDataFetcher(dataFetcher, instrumentationFieldFetchParams, executionContext.getInstrumentationState());
+        dataFetcher = executionContext.getDataLoaderDispatcherStrategy().modifyDataFetcher(dataFetcher);
+        Object fetchedObject;
+        VirtualThreadFetcher virtualThreadFetcher = executionContext.getVirtualThreadFetcher();
+        if (virtualThreadFetcher != null && !trivialDataFetcher) {
+            // the environment is made here since its memoized supplier is not meant to be shared between threads
+            DataFetchingEnvironment environment = dataFetchingEnvironment.get();
+            DataFetcher<?> blockingDataFetcher = dataFetcher;
+            // the fetch is only reported once the data fetcher has returned, otherwise its data loader calls could miss the dispatch
+            fetchedObject = virtualThreadFetcher.fetch(() -> invokeDataFetcher(executionContext, parameters, fieldDef, () -> environment, blockingDataFetcher),
+                    value -> executionContext.getDataLoaderDispatcherStrategy().fieldFetched(executionContext, parameters, blockingDataFetcher, value));
+        } else {
+            fetchedObject = invokeDataFetcher(executionContext, parameters, fieldDef, dataFetchingEnvironment, dataFetcher);
+            executionContext.getDataLoaderDispatcherStrategy().fieldFetched(executionContext, parameters, dataFetcher, fetchedObject);
+        }
+        fetchCtx.onDispatched();
+        fetchCtx.onFetchedValue(fetchedObject);
+        if (fetchedObject instanceof CompletableFuture) {
+            @SuppressWarnings("unchecked")
+            CompletableFuture<Object> fetchedValue = (CompletableFuture<Object>) fetchedObject;
+            CompletableFuture<FetchedValue> fetchedValueFuture = fetchedValue
+                    .handle((result, exception) -> {
+                        fetchCtx.onCompleted(result, exception);
+                        if (exception != null) {
+                            return handleFetchingException(dataFetchingEnvironment.get(), parameters, exception);
+                        } else {
+                            // we can simply return the fetched value CF and avoid a allocation
+                            return fetchedValue;
+                        }
+                    })
+                    .thenCompose(Function.identity())
+                    .thenApply(result -> unboxPossibleDataFetcherResult(executionContext, parameters, result));
+            if (field.getSingleField().getDirectives().isEmpty()) {
+                return fetchedValueFuture;
+            }
+            return fetchedValueFuture.thenCompose(value -> prefetchStreamedItems(executionContext, parameters, fieldDef, dataFetchingEnvironment, value));
+        } else {
+            fetchCtx.onCompleted(fetchedObject, null);
+            FetchedValue fetchedValue = unboxPossibleDataFetcherResult(executionContext, parameters, fetchedObject);
+            if (fetchedValue.getFetchedValue() instanceof Publisher) {
+                return prefetchStreamedItems(executionContext, parameters, fieldDef, dataFetchingEnvironment, fetchedValue);
+            }
+            return fetchedValue;
+        }
+    }
 
-        Supplier<DataFetchingEnvironment> dataFetchingEnvironment = FpKit.intraThreadMemoize(() -> {
+    Supplier<DataFetchingEnvironment> createDataFetchingEnvironment(ExecutionContext executionContext,
+                                                                   ExecutionStrategyParameters parameters,
+                                                                   GraphQLFieldDefinition fieldDef,
+                                                                   GraphQLObjectType parentType) {
+        // if the DF (like PropertyDataFetcher) does not use the arguments or execution step info then dont build any
+        return FpKit.intraThreadMemoize(() -> {
 
             Supplier<ExecutionStepInfo> executionStepInfo = FpKit.intraThreadMemoize(
                     () -> createExecutionStepInfo(executionContext, parameters, fieldDef, parentType));
@@ -461,7 +531,7 @@ public abstract class ExecutionStrategy {
 
             // DataFetchingFieldSelectionSet and QueryDirectives is a supplier of sorts - eg a lazy pattern
             DataFetchingFieldSelectionSet fieldCollector = DataFetchingFieldSelectionSetImpl.newCollector(executionContext.getGraphQLSchema(), fieldDef.getType(), normalizedFieldSupplier);
-            QueryDirectives queryDirectives = new QueryDirectivesImpl(field,
+            QueryDirectives queryDirectives = new QueryDirectivesImpl(parameters.getField(),
                     executionContext.getGraphQLSchema(),
                     executionContext.getCoercedVariables().toMap(),
                     executionContext.getGraphQLContext(),
@@ -481,49 +551,52 @@ public abstract class ExecutionStrategy {
                     .queryDirectives(queryDirectives)
                     .build();
         });
+    }
 
-        GraphQLCodeRegistry codeRegistry = executionContext.getGraphQLSchema().getCodeRegistry();
-        DataFetcher<?> dataFetcher = codeRegistry.getDataFetcher(parentType, fieldDef);
-
-        Instrumentation instrumentation = executionContext.getInstrumentation();
-
-        InstrumentationFieldFetchParameters instrumentationFieldFetchParams = new InstrumentationFieldFetchParameters(executionContext, dataFetchingEnvironment, parameters, dataFetcher instanceof TrivialDataFetcher);
-        FieldFetchingInstrumentationContext fetchCtx = FieldFetchingInstrumentationContext.nonNullCtx(instrumentation.beginFieldFetching(instrumentationFieldFetchParams,
-                executionContext.getInstrumentationState())
-        );
+    /*
+     * The initial items of a @stream list are part of the list value, so when they come from a Publisher they are pulled
+     * before the field is completed.  That keeps the completion of the list synchronous, like it is for any other list.
+     */
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<FetchedValue> prefetchStreamedItems(ExecutionContext executionContext,
+                                                                  ExecutionStrategyParameters parameters,
+                                                                  GraphQLFieldDefinition fieldDef,
+                                                                  Supplier<DataFetchingEnvironment> dataFetchingEnvironment,
+                                                                  FetchedValue fetchedValue) {
+        if (!(fetchedValue.getFetchedValue() instanceof Publisher) || !isList(GraphQLTypeUtil.unwrapNonNull(fieldDef.getType()))) {
+            return CompletableFuture.completedFuture(fetchedValue);
+        }
+        StreamExecution streamExecution = getStreamExecution(executionContext, parameters);
+        if (streamExecution == null || streamExecution.getInitialCount() < 0) {
+            return CompletableFuture.completedFuture(fetchedValue);
+        }
+        StreamedItems items = StreamedItems.fromPublisher((Publisher<Object>) fetchedValue.getFetchedValue());
+        return items.nextExactly(streamExecution.getInitialCount())
+                .handle((initialItems, exception) -> {
+                    if (exception != null) {
+                        return handleFetchingException(dataFetchingEnvironment.get(), parameters, exception)
+                                .thenApply(result -> unboxPossibleDataFetcherResult(executionContext, parameters, result));
+                    }
+                    StreamedItems.Prefetched prefetched = new StreamedItems.Prefetched(initialItems, items);
+                    return CompletableFuture.completedFuture(new FetchedValue(prefetched, fetchedValue.getErrors(), fetchedValue.getLocalContext()));
+                })
+                .thenCompose(Function.identity());
+    }
 
-        dataFetcher = instrumentation.instrumentDataFetcher(dataFetcher, instrumentationFieldFetchParams, executionContext.getInstrumentationState());
-        dataFetcher = executionContext.getDataLoaderDispatcherStrategy().modifyDataFetcher(dataFetcher);
-        Object fetchedObject = invokeDataFetcher(executionContext, parameters, fieldDef, dataFetchingEnvironment, dataFetcher);
-        executionContext.getDataLoaderDispatcherStrategy().fieldFetched(executionContext, parameters, dataFetcher, fetchedObject);
-        fetchCtx.onDispatched();
-        fetchCtx.onFetchedValue(fetchedObject);
-        if (fetchedObject instanceof CompletableFuture) {
-            @SuppressWarnings("unchecked")
-            CompletableFuture<Object> fetchedValue = (CompletableFuture<Object>) fetchedObject;
-            return fetchedValue
-                    .handle((result, exception) -> {
-                        fetchCtx.onCompleted(result, exception);
-                        if (exception != null) {
-                            return handleFetchingException(dataFetchingEnvironment.get(), parameters, exception);
-                        } else {
-                            // we can simply return the fetched value CF and avoid a allocation
-                            return fetchedValue;
-                        }
-                    })
-                    .thenCompose(Function.identity())
-                    .thenApply(result -> unboxPossibleDataFetcherResult(executionContext, parameters, result));
-        } else {
-            fetchCtx.onCompleted(fetchedObject, null);
-            return unboxPossibleDataFetcherResult(executionContext, parameters, fetchedObject);
+    DataFetcher<?> getDataFetcher(ExecutionContext executionContext, GraphQLObjectType parentType, GraphQLFieldDefinition fieldDef) {
+        ExecutionPlan executionPlan = executionContext.getExecutionPlan();
+        if (executionPlan != null) {
+            return executionPlan.getDataFetcher(parentType, fieldDef);
         }
+        GraphQLCodeRegistry codeRegistry = executionContext.getGraphQLSchema().getCodeRegistry();
+        return codeRegistry.getDataFetcher(parentType, fieldDef);
     }
 
     /*
      * ExecutionContext is not used in the method, but the java agent uses it, so it needs to be present
      */
     @SuppressWarnings("unused")
-    private Object invokeDataFetcher(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLFieldDefinition fieldDef, Supplier<DataFetchingEnvironment> dataFetchingEnvironment, DataFetcher<?> dataFetcher) {
+    Object invokeDataFetcher(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLFieldDefinition fieldDef, Supplier<DataFetchingEnvironment> dataFetchingEnvironment, DataFetcher<?> dataFetcher) {
         Object fetchedValue;
         try {
             Object fetchedValueRaw;
@@ -631,7 +704,7 @@ public abstract class ExecutionStrategy {
         return completeField(fieldDef, executionContext, parameters, fetchedValue);
     }
 
-    private FieldValueInfo completeField(GraphQLFieldDefinition fieldDef, ExecutionContext executionContext, ExecutionStrategyParameters parameters, FetchedValue fetchedValue) {
+    FieldValueInfo completeField(GraphQLFieldDefinition fieldDef, ExecutionContext executionContext, ExecutionStrategyParameters parameters, FetchedValue fetchedValue) {
         GraphQLObjectType parentType = (GraphQLObjectType) parameters.getExecutionStepInfo().getUnwrappedNonNullType();
         ExecutionStepInfo executionStepInfo = createExecutionStepInfo(executionContext, parameters, fieldDef, parentType);
 
@@ -652,9 +725,13 @@ public abstract class ExecutionStrategy {
 
         FieldValueInfo fieldValueInfo = completeValue(executionContext, newParameters);
 
-        CompletableFuture<Object> executionResultFuture = fieldValueInfo.getFieldValueFuture();
         ctxCompleteField.onDispatched();
-        executionResultFuture.whenComplete(ctxCompleteField::onCompleted);
+        if (fieldValueInfo.isFutureValue()) {
+            fieldValueInfo.getFieldValueFuture().whenComplete(ctxCompleteField::onCompleted);
+        } else {
+            // no need to wrap a completed value in a future just to be told about it
+            ctxCompleteField.onCompleted(fieldValueInfo.getFieldValueObject(), null);
+        }
         return fieldValueInfo;
     }
 
@@ -708,7 +785,7 @@ public abstract class ExecutionStrategy {
         return new FieldValueInfo(OBJECT, fieldValue);
     }
 
-    private void handleUnresolvedTypeProblem(ExecutionContext context, ExecutionStrategyParameters parameters, UnresolvedTypeException e) {
+    void handleUnresolvedTypeProblem(ExecutionContext context, ExecutionStrategyParameters parameters, UnresolvedTypeException e) {
         UnresolvedTypeError error = new UnresolvedTypeError(parameters.getPath(), parameters.getExecutionStepInfo(), e);
 
         addErrorToRightContext(error, parameters, context);
@@ -757,6 +834,17 @@ public abstract class ExecutionStrategy {
      * @return a {@link FieldValueInfo}
      */
     protected FieldValueInfo completeValueForList(ExecutionContext executionContext, ExecutionStrategyParameters parameters, Object result) {
+        StreamExecution streamExecution = getStreamExecution(executionContext, parameters);
+        if (streamExecution != null) {
+            if (streamExecution.getInitialCount() < 0) {
+                handleInvalidInitialCount(executionContext, parameters, streamExecution);
+                return getFieldValueInfoForNull(parameters);
+            }
+            if (result instanceof StreamedItems.Prefetched) {
+                StreamedItems.Prefetched prefetched = (StreamedItems.Prefetched) result;
+                return completeValueForStreamedList(executionContext, parameters, streamExecution, prefetched.getInitialItems(), prefetched.getRemainingItems());
+            }
+        }
         Iterable<Object> resultIterable = toIterable(executionContext, parameters, result);
         try {
             resultIterable = parameters.getNonNullFieldValidator().validate(parameters, resultIterable);
@@ -766,9 +854,153 @@ public abstract class ExecutionStrategy {
         if (resultIterable == null) {
             return new FieldValueInfo(LIST, null);
         }
+        if (streamExecution != null) {
+            Iterator<Object> iterator = resultIterable.iterator();
+            List<Object> initialItems = new ArrayList<>();
+            while (initialItems.size() < streamExecution.getInitialCount() && iterator.hasNext()) {
+                initialItems.add(iterator.next());
+            }
+            return completeValueForStreamedList(executionContext, parameters, streamExecution, initialItems, StreamedItems.fromIterator(iterator));
+        }
         return completeValueForList(executionContext, parameters, resultIterable);
     }
 
+    /**
+     * The @stream directive only applies to the outermost list of a field and only when incremental support is enabled.
+     *
+     * @return the details of the @stream directive on the list being completed or null if it is not streamed
+     */
+    private StreamExecution getStreamExecution(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+        List<Directive> directives = parameters.getField().getSingleField().getDirectives();
+        if (directives.isEmpty() || parameters.getPath().isListSegment()) {
+            return null;
+        }
+        boolean incrementalSupport = Optional.ofNullable(executionContext.getGraphQLContext())
+                .map(graphqlContext -> graphqlContext.getBoolean(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT))
+                .orElse(false);
+        if (!incrementalSupport) {
+            return null;
+        }
+        return IncrementalUtils.createStreamExecution(executionContext.getCoercedVariables().toMap(), directives);
+    }
+
+    private void handleInvalidInitialCount(ExecutionContext executionContext, ExecutionStrategyParameters parameters, StreamExecution streamExecution) {
+        GraphQLError error = GraphqlErrorBuilder.newError()
+                .message("The initialCount of @stream must be a non-negative integer but was %d", streamExecution.getInitialCount())
+                .location(parameters.getField().getSingleField().getSourceLocation())
+                .path(parameters.getPath())
+                .build();
+        addErrorToRightContext(error, parameters, executionContext);
+    }
+
+    /**
+     * Completes the initial items of a streamed list as the list value and hands the remaining items to the
+     * {@link graphql.execution.incremental.IncrementalCallState}, which completes them a chunk at a time after the initial result.
+     */
+    private FieldValueInfo completeValueForStreamedList(ExecutionContext executionContext,
+                                                        ExecutionStrategyParameters parameters,
+                                                        StreamExecution streamExecution,
+                                                        List<Object> initialItems,
+                                                        StreamedItems remainingItems) {
+        FieldValueInfo fieldValueInfo = completeValueForList(executionContext, parameters, initialItems);
+        if (remainingItems.mayHaveMore()) {
+            StreamedCall streamedCall = new StreamedCall(
+                    streamExecution.getLabel(),
+                    parameters.getPath(),
+                    initialItems.size(),
+                    remainingItems,
+                    fieldValueInfo.getFieldValueFuture(),
+                    (items, index, callContext) -> completeStreamedItems(executionContext, parameters, items, index, callContext)
+            );
+            executionContext.getIncrementalCallState().enqueue(streamedCall);
+        }
+        return fieldValueInfo;
+    }
+
+    /*
+     * The streamed items of a chunk are completed like the items of any other list, except that their errors are kept in the
+     * call context of the chunk
+     */
+    @SuppressWarnings("FutureReturnValueIgnored")
+    private CompletableFuture<List<Object>> completeStreamedItems(ExecutionContext executionContext,
+                                                                  ExecutionStrategyParameters parameters,
+                                                                  List<Object> items,
+                                                                  int index,
+                                                                  DeferredCallContext callContext) {
+        List<ExecutionStrategyParameters> itemParametersList = new ArrayList<>(items.size());
+        for (Object item : items) {
+            if (incrementAndCheckMaxNodesExceeded(executionContext)) {
+                break;
+            }
+            itemParametersList.add(newStreamedItemParameters(executionContext, parameters, item, index + itemParametersList.size(), callContext));
+        }
+
+        Async.CombinedBuilder<Object> itemValues = Async.ofExpectedSize(items.size());
+        DataLoaderDispatchStrategy dataLoaderDispatcherStrategy = executionContext.getDataLoaderDispatcherStrategy();
+        if (!itemParametersList.isEmpty()) {
+            // all the items of the chunk are known up front, so that their data loader calls are dispatched together
+            dataLoaderDispatcherStrategy.streamedItems(executionContext, itemParametersList.get(0), itemParametersList.size());
+        }
+        Exception exception = null;
+        for (ExecutionStrategyParameters itemParameters : itemParametersList) {
+            if (exception != null) {
+                // the items after a failed one are not completed, but still counted as done
+                dataLoaderDispatcherStrategy.streamedItemValueInfoException(exception, itemParameters);
+                continue;
+            }
+            try {
+                FieldValueInfo fieldValueInfo = completeValue(executionContext, itemParameters);
+                dataLoaderDispatcherStrategy.streamedItemValueInfo(fieldValueInfo, itemParameters);
+                itemValues.addObject(fieldValueInfo.getFieldValueObject());
+            } catch (Exception e) {
+                dataLoaderDispatcherStrategy.streamedItemValueInfoException(e, itemParameters);
+                exception = e;
+            }
+        }
+        if (exception != null) {
+            dataLoaderDispatcherStrategy.streamedItemsCompleted(itemParametersList.get(0));
+            return exceptionallyCompletedFuture(exception);
+        }
+        // the items past the maximum result nodes are null
+        for (int i = itemParametersList.size(); i < items.size(); i++) {
+            itemValues.addObject(null);
+        }
+
+        CompletableFuture<List<Object>> completedItems = itemValues.await();
+        if (!itemParametersList.isEmpty()) {
+            completedItems.whenComplete((result, throwable) -> dataLoaderDispatcherStrategy.streamedItemsCompleted(itemParametersList.get(0)));
+        }
+        return completedItems;
+    }
+
+    private ExecutionStrategyParameters newStreamedItemParameters(ExecutionContext executionContext,
+                                                                  ExecutionStrategyParameters parameters,
+                                                                  Object item,
+                                                                  int index,
+                                                                  DeferredCallContext callContext) {
+        ResultPath indexedPath = parameters.getPath().segment(index);
+
+        ExecutionStepInfo stepInfoForListElement = executionStepInfoFactory.newExecutionStepInfoForListElement(parameters.getExecutionStepInfo(), indexedPath);
+
+        NonNullableFieldValidator nonNullableFieldValidator = new NonNullableFieldValidator(executionContext, stepInfoForListElement);
+
+        ExecutionStrategyParameters itemParameters = parameters.transform(builder ->
+                builder.executionStepInfo(stepInfoForListElement)
+                        .nonNullFieldValidator(nonNullableFieldValidator)
+                        .path(indexedPath)
+                        .deferredCallContext(callContext)
+                        // like a deferred field, the item starts a chain of its own
+                        .parent(null)
+        );
+
+        FetchedValue value = unboxPossibleDataFetcherResult(executionContext, itemParameters, item);
+
+        return itemParameters.transform(builder ->
+                builder.localContext(value.getLocalContext())
+                        .source(value.getFetchedValue())
+        );
+    }
+
     /**
      * Called to complete a list of value for a field based on a list type.  This iterates the values and calls
      * {@link #completeValue(ExecutionContext, ExecutionStrategyParameters)} for each value.
@@ -831,9 +1063,7 @@ public abstract class ExecutionStrategy {
                     handleValueException(overallResult, exception, executionContext);
                     return;
                 }
-                List<Object> completedResults = new ArrayList<>(results.size());
-                completedResults.addAll(results);
-                overallResult.complete(completedResults);
+                overallResult.complete(results);
             });
             listOrPromiseToList = overallResult;
         } else {
@@ -931,6 +1161,13 @@ public abstract class ExecutionStrategy {
      */
     protected Object /* CompletableFuture<Map<String, Object>> | Map<String, Object> */
     completeValueForObject(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLObjectType resolvedObjectType, Object result) {
+        ExecutionStrategyParameters newParameters = newObjectParameters(executionContext, parameters, resolvedObjectType, result);
+
+        // Calling this from the executionContext to ensure we shift back from mutation strategy to the query strategy.
+        return executionContext.getQueryStrategy().executeObject(executionContext, newParameters);
+    }
+
+    ExecutionStrategyParameters newObjectParameters(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLObjectType resolvedObjectType, Object result) {
         ExecutionStepInfo executionStepInfo = parameters.getExecutionStepInfo();
 
         FieldCollectorParameters collectorParameters = newParameters()
@@ -941,26 +1178,26 @@ public abstract class ExecutionStrategy {
                 .graphQLContext(executionContext.getGraphQLContext())
                 .build();
 
-        MergedSelectionSet subFields = fieldCollector.collectFields(
-                collectorParameters,
-                parameters.getField(),
-                Optional.ofNullable(executionContext.getGraphQLContext())
-                        .map(graphqlContext -> graphqlContext.getBoolean(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT))
-                        .orElse(false)
-        );
+        boolean incrementalSupport = Optional.ofNullable(executionContext.getGraphQLContext())
+                .map(graphqlContext -> graphqlContext.getBoolean(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT))
+                .orElse(false);
+        ExecutionPlan executionPlan = executionContext.getExecutionPlan();
+        MergedSelectionSet subFields;
+        if (executionPlan != null) {
+            subFields = executionPlan.collectFields(collectorParameters, parameters.getField(), incrementalSupport);
+        } else {
+            subFields = fieldCollector.collectFields(collectorParameters, parameters.getField(), incrementalSupport);
+        }
 
         ExecutionStepInfo newExecutionStepInfo = executionStepInfo.changeTypeWithPreservedNonNull(resolvedObjectType);
         NonNullableFieldValidator nonNullableFieldValidator = new NonNullableFieldValidator(executionContext, newExecutionStepInfo);
 
-        ExecutionStrategyParameters newParameters = parameters.transform(builder ->
+        return parameters.transform(builder ->
                 builder.executionStepInfo(newExecutionStepInfo)
                         .fields(subFields)
                         .nonNullFieldValidator(nonNullableFieldValidator)
                         .source(result)
         );
-
-        // Calling this from the executionContext to ensure we shift back from mutation strategy to the query strategy.
-        return executionContext.getQueryStrategy().executeObject(executionContext, newParameters);
     }
 
     @SuppressWarnings("SameReturnValue")
@@ -1003,7 +1240,7 @@ public abstract class ExecutionStrategy {
      *
      * @return true if max nodes were exceeded
      */
-    private boolean incrementAndCheckMaxNodesExceeded(ExecutionContext executionContext) {
+    boolean incrementAndCheckMaxNodesExceeded(ExecutionContext executionContext) {
         int resultNodesCount = executionContext.getResultNodesInfo().incrementAndGetResultNodesCount();
         Integer maxNodes;
         if ((maxNodes = executionContext.getGraphQLContext().get(MAX_RESULT_NODES)) != null) {
@@ -1026,6 +1263,10 @@ public abstract class ExecutionStrategy {
      */
     protected GraphQLFieldDefinition getFieldDef(ExecutionContext executionContext, ExecutionStrategyParameters parameters, Field field) {
         GraphQLObjectType parentType = (GraphQLObjectType) parameters.getExecutionStepInfo().getUnwrappedNonNullType();
+        ExecutionPlan executionPlan = executionContext.getExecutionPlan();
+        if (executionPlan != null) {
+            return executionPlan.getFieldDefinition(parentType, field.getName());
+        }
         return getFieldDef(executionContext.getGraphQLSchema(), parentType, field);
     }
 
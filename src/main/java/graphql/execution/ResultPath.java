@@ -34,43 +34,54 @@ public class ResultPath {
     }
 
     private final ResultPath parent;
-    private final Object segment;
-
-    // hash is effective immutable but lazily initialized similar to the hash code of java.lang.String
+    // the name of a named segment or null for the root and list segments, whose index is kept as a primitive
+    private final String name;
+    private final int index;
+    // the number of segments and of named segments, known up front since the path is immutable
+    private final int depth;
+    private final int level;
+
+    // these are effective immutable but lazily initialized similar to the hash code of java.lang.String
     private int hash;
+    private String string;
+    private List<Object> list;
 
     private ResultPath() {
         parent = null;
-        segment = null;
+        name = null;
+        index = 0;
+        depth = 0;
+        level = 0;
     }
 
     private ResultPath(ResultPath parent, String segment) {
         this.parent = assertNotNull(parent, () -> "Must provide a parent path");
-        this.segment = assertNotNull(segment, () -> "Must provide a sub path");
+        this.name = assertNotNull(segment, () -> "Must provide a sub path");
+        this.index = 0;
+        this.depth = parent.depth + 1;
+        this.level = parent.level + 1;
     }
 
     private ResultPath(ResultPath parent, int segment) {
         this.parent = assertNotNull(parent, () -> "Must provide a parent path");
-        this.segment = segment;
+        this.name = null;
+        this.index = segment;
+        this.depth = parent.depth + 1;
+        this.level = parent.level;
     }
 
+    /**
+     * @return the number of named segments in the path, which is the level of the field in the result
+     */
     public int getLevel() {
-        int counter = 0;
-        ResultPath currentPath = this;
-        while (currentPath != null) {
-            if (currentPath.segment instanceof String) {
-                counter++;
-            }
-            currentPath = currentPath.parent;
-        }
-        return counter;
+        return level;
     }
 
     public ResultPath getPathWithoutListEnd() {
-        if (ROOT_PATH.equals(this)) {
+        if (isRootPath()) {
             return ROOT_PATH;
         }
-        if (segment instanceof String) {
+        if (name != null) {
             return this;
         }
         return parent;
@@ -80,27 +91,36 @@ public class ResultPath {
      * @return true if the end of the path has a list style segment eg 'a/b[2]'
      */
     public boolean isListSegment() {
-        return segment instanceof Integer;
+        return name == null && parent != null;
     }
 
     /**
      * @return true if the end of the path has a named style segment eg 'a/b[2]/c'
      */
     public boolean isNamedSegment() {
-        return segment instanceof String;
+        return name != null;
     }
 
 
     public String getSegmentName() {
-        return (String) segment;
+        if (isListSegment()) {
+            throw new ClassCastException("The path '" + this + "' ends with a list segment and not a named segment");
+        }
+        return name;
     }
 
     public int getSegmentIndex() {
-        return (int) segment;
+        if (!isListSegment()) {
+            throw new ClassCastException("The path '" + this + "' does not end with a list segment");
+        }
+        return index;
     }
 
     public Object getSegmentValue() {
-        return segment;
+        if (isListSegment()) {
+            return index;
+        }
+        return name;
     }
 
     public ResultPath getParent() {
@@ -203,7 +223,7 @@ public class ResultPath {
      * @return a new path with the last segment replaced
      */
     public ResultPath replaceSegment(int segment) {
-        assertTrue(!ROOT_PATH.equals(this), () -> "You MUST not call this with the root path");
+        assertTrue(!isRootPath(), () -> "You MUST not call this with the root path");
         return new ResultPath(parent, segment);
     }
 
@@ -216,7 +236,7 @@ public class ResultPath {
      * @return a new path with the last segment replaced
      */
     public ResultPath replaceSegment(String segment) {
-        assertTrue(!ROOT_PATH.equals(this), () -> "You MUST not call this with the root path");
+        assertTrue(!isRootPath(), () -> "You MUST not call this with the root path");
         return new ResultPath(parent, segment);
     }
 
@@ -243,12 +263,12 @@ public class ResultPath {
 
 
     public ResultPath sibling(String siblingField) {
-        assertTrue(!ROOT_PATH.equals(this), "You MUST not call this with the root path");
+        assertTrue(!isRootPath(), "You MUST not call this with the root path");
         return new ResultPath(this.parent, siblingField);
     }
 
     public ResultPath sibling(int siblingField) {
-        assertTrue(!ROOT_PATH.equals(this), "You MUST not call this with the root path");
+        assertTrue(!isRootPath(), "You MUST not call this with the root path");
         return new ResultPath(this.parent, siblingField);
     }
 
@@ -256,16 +276,22 @@ public class ResultPath {
      * @return converts the path into a list of segments
      */
     public List<Object> toList() {
-        if (parent == null) {
-            return ImmutableKit.emptyList();
-        }
-        LinkedList<Object> list = new LinkedList<>();
-        ResultPath p = this;
-        while (p.segment != null) {
-            list.addFirst(p.segment);
-            p = p.parent;
+        List<Object> l = list;
+        if (l == null) {
+            if (parent == null) {
+                l = ImmutableKit.emptyList();
+            } else {
+                Object[] segments = new Object[depth];
+                ResultPath p = this;
+                for (int i = depth - 1; i >= 0; i--) {
+                    segments[i] = p.getSegmentValue();
+                    p = p.parent;
+                }
+                l = ImmutableList.copyOf(segments);
+            }
+            list = l;
         }
-        return ImmutableList.copyOf(list);
+        return l;
     }
 
     /**
@@ -277,9 +303,9 @@ public class ResultPath {
         }
         LinkedList<String> list = new LinkedList<>();
         ResultPath p = this;
-        while (p.segment != null) {
-            if (p.segment instanceof String) {
-                list.addFirst((String) p.segment);
+        while (p.parent != null) {
+            if (p.name != null) {
+                list.addFirst(p.name);
             }
             p = p.parent;
         }
@@ -292,22 +318,23 @@ public class ResultPath {
      */
     @Override
     public String toString() {
-        if (parent == null) {
-            return "";
-        }
-
-        if (ROOT_PATH.equals(parent)) {
-            return segmentToString();
+        String s = string;
+        if (s == null) {
+            if (parent == null) {
+                s = "";
+            } else {
+                s = parent.toString() + segmentToString();
+            }
+            string = s;
         }
-
-        return parent.toString() + segmentToString();
+        return s;
     }
 
     public String segmentToString() {
-        if (segment instanceof String) {
-            return "/" + segment;
+        if (name != null) {
+            return "/" + name;
         } else {
-            return "[" + segment + "]";
+            return "[" + index + "]";
         }
     }
 
@@ -322,15 +349,17 @@ public class ResultPath {
 
         ResultPath self = this;
         ResultPath that = (ResultPath) o;
-        while (self.segment != null && that.segment != null) {
-            if (!Objects.equals(self.segment, that.segment)) {
+        if (self.depth != that.depth || self.level != that.level) {
+            return false;
+        }
+        while (self != that) {
+            if (self.index != that.index || !Objects.equals(self.name, that.name)) {
                 return false;
             }
             self = self.parent;
             that = that.parent;
         }
-
-        return self.isRootPath() && that.isRootPath();
+        return true;
     }
 
     @Override
@@ -340,8 +369,7 @@ public class ResultPath {
             h = 1;
             ResultPath self = this;
             while (self != null) {
-                Object value = self.segment;
-                h = 31 * h + (value == null ? 0 : value.hashCode());
+                h = 31 * h + (self.name != null ? self.name.hashCode() : self.index);
                 self = self.parent;
             }
             hash = h;
@@ -10,6 +10,7 @@ import graphql.execution.instrumentation.InstrumentationContext;
 import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationExecutionStrategyParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationFieldParameters;
+import graphql.execution.reactive.OverflowBufferPublisher;
 import graphql.execution.reactive.SubscriptionPublisher;
 import graphql.language.Field;
 import graphql.schema.GraphQLFieldDefinition;
@@ -34,6 +35,10 @@ import static java.util.Collections.singletonMap;
  * See <a href="https://spec.graphql.org/draft/#sec-Subscription">https://spec.graphql.org/draft/#sec-Subscription</a>
  * <p>
  * See <a href="https://www.reactive-streams.org/">https://www.reactive-streams.org/</a>
+ * <p>
+ * Identical subscriptions can share one source event stream, and the execution of its events, by putting a
+ * {@link SubscriptionMultiplexer} into the {@link GraphQLContext}, and a {@link SubscriptionOverflowPolicy} there decides which
+ * source events are kept for a subscriber that does not keep up with them.
  */
 @PublicApi
 public class SubscriptionExecutionStrategy extends ExecutionStrategy {
@@ -64,25 +69,40 @@ public class SubscriptionExecutionStrategy extends ExecutionStrategy {
                 executionContext.getInstrumentationState()
         ));
 
+        SubscriptionMultiplexer subscriptionMultiplexer = executionContext.getGraphQLContext().get(SubscriptionMultiplexer.class);
+        CompletableFuture<ExecutionResult> overallResult;
+        if (subscriptionMultiplexer != null) {
+            overallResult = subscriptionMultiplexer.execute(executionContext, () -> executeSubscription(executionContext, parameters));
+        } else {
+            overallResult = executeSubscription(executionContext, parameters);
+        }
+
+        // dispatched the subscription query
+        executionStrategyCtx.onDispatched();
+        overallResult.whenComplete(executionStrategyCtx::onCompleted);
+
+        return overallResult;
+    }
+
+    private CompletableFuture<ExecutionResult> executeSubscription(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
         CompletableFuture<Publisher<Object>> sourceEventStream = createSourceEventStream(executionContext, parameters);
 
         //
         // when the upstream source event stream completes, subscribe to it and wire in our adapter
-        CompletableFuture<ExecutionResult> overallResult = sourceEventStream.thenApply((publisher) -> {
+        return sourceEventStream.thenApply((publisher) -> {
             if (publisher == null) {
                 return new ExecutionResultImpl(null, executionContext.getErrors());
             }
+            Publisher<Object> sourcePublisher = publisher;
+            SubscriptionOverflowPolicy overflowPolicy = executionContext.getGraphQLContext().get(SubscriptionOverflowPolicy.class);
+            if (overflowPolicy != null) {
+                sourcePublisher = new OverflowBufferPublisher(publisher, overflowPolicy);
+            }
             Function<Object, CompletionStage<ExecutionResult>> mapperFunction = eventPayload -> executeSubscriptionEvent(executionContext, parameters, eventPayload);
             boolean keepOrdered = keepOrdered(executionContext.getGraphQLContext());
-            SubscriptionPublisher mapSourceToResponse = new SubscriptionPublisher(publisher, mapperFunction, keepOrdered);
+            SubscriptionPublisher mapSourceToResponse = new SubscriptionPublisher(sourcePublisher, mapperFunction, keepOrdered);
             return new ExecutionResultImpl(mapSourceToResponse, executionContext.getErrors());
         });
-
-        // dispatched the subscription query
-        executionStrategyCtx.onDispatched();
-        overallResult.whenComplete(executionStrategyCtx::onCompleted);
-
-        return overallResult;
     }
 
     private boolean keepOrdered(GraphQLContext graphQLContext) {
@@ -0,0 +1,234 @@
+package graphql.execution;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.ExperimentalApi;
+import graphql.GraphQLContext;
+import graphql.Internal;
+import graphql.execution.reactive.SubscriptionBroadcaster;
+import graphql.schema.GraphQLSchema;
+import org.reactivestreams.Publisher;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * Shares one source event stream, and the execution of each of its events, between identical subscriptions.
+ * <p>
+ * When an instance of this class is put into the {@link GraphQLContext} of a subscription execution, keyed by
+ * {@code SubscriptionMultiplexer.class}, the {@link SubscriptionExecutionStrategy} looks for a live subscription with the same
+ * schema, query, operation name, coerced variables and scope key.  If there is one, the new subscription joins it instead of
+ * creating its own source event stream.  Otherwise the subscription is executed as normal and it becomes the subscription that
+ * later ones join.  Each event is then executed once, and the same {@link ExecutionResult} is published to every subscriber.
+ * <pre>
+ * {@code
+ *     SubscriptionMultiplexer multiplexer = SubscriptionMultiplexer.newMultiplexer()
+ *             .scopeKey(executionContext -> executionContext.getGraphQLContext().get("tenant"))
+ *             .build();
+ *
+ *     ExecutionInput executionInput = ExecutionInput.newExecutionInput(subscriptionQuery)
+ *             .graphQLContext(Map.of(SubscriptionMultiplexer.class, multiplexer))
+ *             .build();
+ * }
+ * </pre>
+ * The events are executed with the {@link ExecutionContext} of the subscription that created the source event stream, so everything
+ * else the results depend on, such as the user in the {@link GraphQLContext}, must be captured by the scope key.  Instrumentation of the
+ * subscribed field events also only happens for that first subscription.
+ * <p>
+ * Every subscriber has its own bounded buffer of results it has not yet requested, so that a slow subscriber does not hold back the
+ * others.  A subscriber whose buffer overflows is sent an {@link AbortExecutionException} and dropped.  The source event stream is
+ * cancelled once all of its subscribers have cancelled.
+ */
+@ExperimentalApi
+public class SubscriptionMultiplexer {
+
+    /**
+     * The default maximum number of results buffered for each subscriber
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 256;
+
+    private final Function<ExecutionContext, Object> scopeKey;
+    private final int bufferSize;
+    private final Map<Key, SharedSubscription> subscriptions = new ConcurrentHashMap<>();
+
+    private SubscriptionMultiplexer(Builder builder) {
+        this.scopeKey = builder.scopeKey;
+        this.bufferSize = builder.bufferSize;
+    }
+
+    /**
+     * @return the maximum number of results buffered for each subscriber
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @return the number of source event streams that are currently shared
+     */
+    public int getSharedSubscriptionCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Joins the live subscription that is identical to the one being executed, or executes the subscription so that later ones can
+     * join it
+     *
+     * @param executionContext the context of the subscription being executed
+     * @param execution        executes the subscription, resulting in a {@link Publisher} of results as its data
+     *
+     * @return a promise to a result whose data is the publisher of results for this subscription
+     */
+    @Internal
+    CompletableFuture<ExecutionResult> execute(ExecutionContext executionContext, Supplier<CompletableFuture<ExecutionResult>> execution) {
+        Key key = new Key(executionContext, scopeKey.apply(executionContext));
+        SharedSubscription sharedSubscription = subscriptions.get(key);
+        if (sharedSubscription == null) {
+            SharedSubscription newSubscription = new SharedSubscription(key);
+            sharedSubscription = subscriptions.putIfAbsent(key, newSubscription);
+            if (sharedSubscription == null) {
+                sharedSubscription = newSubscription;
+                newSubscription.start(execution);
+            }
+        }
+        return sharedSubscription.join(executionContext, execution);
+    }
+
+    private class SharedSubscription {
+        private final Key key;
+        private final CompletableFuture<ExecutionResult> initialResult = new CompletableFuture<>();
+        private volatile SubscriptionBroadcaster<ExecutionResult> broadcaster;
+
+        private SharedSubscription(Key key) {
+            this.key = key;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void start(Supplier<CompletableFuture<ExecutionResult>> execution) {
+            CompletableFuture<ExecutionResult> executionResult;
+            try {
+                executionResult = execution.get();
+            } catch (RuntimeException e) {
+                executionResult = new CompletableFuture<>();
+                executionResult.completeExceptionally(e);
+            }
+            executionResult.whenComplete((result, throwable) -> {
+                if (throwable == null && result.getData() instanceof Publisher) {
+                    broadcaster = new SubscriptionBroadcaster<>((Publisher<ExecutionResult>) result.getData(),
+                            bufferSize,
+                            size -> new AbortExecutionException("The subscriber did not keep up with the subscription and more than " + size + " results were buffered for it"),
+                            () -> subscriptions.remove(key, this));
+                } else {
+                    // a subscription that could not be created is not shared, the next one tries again
+                    subscriptions.remove(key, this);
+                }
+                if (throwable != null) {
+                    initialResult.completeExceptionally(throwable);
+                } else {
+                    initialResult.complete(result);
+                }
+            });
+        }
+
+        private CompletableFuture<ExecutionResult> join(ExecutionContext executionContext, Supplier<CompletableFuture<ExecutionResult>> execution) {
+            return initialResult.thenCompose(result -> {
+                if (broadcaster == null) {
+                    return CompletableFuture.completedFuture(result);
+                }
+                Publisher<ExecutionResult> publisher = broadcaster.newDownstream();
+                if (publisher == null) {
+                    // the shared subscription ended in the meantime so a new one is needed
+                    return execute(executionContext, execution);
+                }
+                return CompletableFuture.completedFuture(new ExecutionResultImpl(publisher, result.getErrors(), result.getExtensions()));
+            });
+        }
+    }
+
+    private static class Key {
+        private final GraphQLSchema schema;
+        private final String query;
+        private final String operationName;
+        private final Map<String, Object> variables;
+        private final Object scopeKey;
+        private final int hashCode;
+
+        private Key(ExecutionContext executionContext, Object scopeKey) {
+            this.schema = executionContext.getGraphQLSchema();
+            this.query = executionContext.getExecutionInput().getQuery();
+            this.operationName = executionContext.getExecutionInput().getOperationName();
+            this.variables = executionContext.getCoercedVariables().toMap();
+            this.scopeKey = scopeKey;
+            this.hashCode = Objects.hash(System.identityHashCode(schema), query, operationName, variables, scopeKey);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return schema == key.schema
+                    && query.equals(key.query)
+                    && Objects.equals(operationName, key.operationName)
+                    && variables.equals(key.variables)
+                    && Objects.equals(scopeKey, key.scopeKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * @return a new builder of SubscriptionMultiplexer
+     */
+    public static Builder newMultiplexer() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Function<ExecutionContext, Object> scopeKey = executionContext -> null;
+        private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+        private Builder() {
+        }
+
+        /**
+         * @param scopeKey a function that returns the key of everything other than the operation and its variables that the results
+         *                 of a subscription depend on, such as the user or tenant, only subscriptions with equal scope keys are shared
+         *
+         * @return this builder
+         */
+        public Builder scopeKey(Function<ExecutionContext, Object> scopeKey) {
+            this.scopeKey = assertNotNull(scopeKey);
+            return this;
+        }
+
+        /**
+         * @param bufferSize the maximum number of results buffered for each subscriber
+         *
+         * @return this builder
+         */
+        public Builder bufferSize(int bufferSize) {
+            assertTrue(bufferSize > 0, () -> "bufferSize must be greater than 0");
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        public SubscriptionMultiplexer build() {
+            return new SubscriptionMultiplexer(this);
+        }
+    }
+}
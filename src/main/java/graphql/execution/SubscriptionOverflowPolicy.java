@@ -0,0 +1,254 @@
+package graphql.execution;
+
+import graphql.ExperimentalApi;
+import graphql.GraphQLContext;
+import graphql.Internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * Decides what happens to the events of a subscription's source event stream that arrive faster than the subscriber asks for results.
+ * <p>
+ * When an instance of this class is put into the {@link GraphQLContext} of a subscription execution, keyed by
+ * {@code SubscriptionOverflowPolicy.class}, the {@link SubscriptionExecutionStrategy} asks the source event stream for all of its events
+ * and keeps the ones the subscriber has not yet asked for in a bounded buffer.  An event is only executed when the subscriber asks for
+ * a result, so a slow subscriber no longer causes events, or their executions, to pile up.  The policy decides what is kept:
+ * <ul>
+ *     <li>{@link #dropOldest(int)} keeps the most recent events and drops the oldest one when the buffer is full</li>
+ *     <li>{@link #latestPerKey(Function, int)} keeps only the latest event for each key, say the latest price of each stock</li>
+ *     <li>{@link #batch(int, int, Function)} combines up to a number of buffered events into one event, and hence one execution of the
+ *     selection set</li>
+ * </ul>
+ * <pre>
+ * {@code
+ *     SubscriptionOverflowPolicy policy = SubscriptionOverflowPolicy.latestPerKey(tick -> ((PriceTick) tick).getSymbol(), 1000);
+ *
+ *     ExecutionInput executionInput = ExecutionInput.newExecutionInput(subscriptionQuery)
+ *             .graphQLContext(Map.of(SubscriptionOverflowPolicy.class, policy))
+ *             .build();
+ * }
+ * </pre>
+ * A policy counts the events it drops, conflates and batches over all the subscriptions it is used for, so the same instance can be
+ * shared by many subscriptions and its counts exported as metrics.
+ */
+@ExperimentalApi
+public class SubscriptionOverflowPolicy {
+
+    private enum Kind {
+        DROP_OLDEST,
+        LATEST_PER_KEY,
+        BATCH
+    }
+
+    private final Kind kind;
+    private final int bufferSize;
+    private final Function<Object, Object> keyFunction;
+    private final int batchSize;
+    private final Function<List<Object>, Object> batchCombiner;
+    private final LongAdder droppedEvents = new LongAdder();
+    private final LongAdder conflatedEvents = new LongAdder();
+    private final LongAdder batchedEvents = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    private SubscriptionOverflowPolicy(Kind kind, int bufferSize, Function<Object, Object> keyFunction, int batchSize, Function<List<Object>, Object> batchCombiner) {
+        assertTrue(bufferSize > 0, () -> "bufferSize must be greater than 0");
+        this.kind = kind;
+        this.bufferSize = bufferSize;
+        this.keyFunction = keyFunction;
+        this.batchSize = batchSize;
+        this.batchCombiner = batchCombiner;
+    }
+
+    /**
+     * Keeps the most recent events, dropping the oldest buffered event when the buffer is full
+     *
+     * @param bufferSize the maximum number of events buffered
+     *
+     * @return a new policy
+     */
+    public static SubscriptionOverflowPolicy dropOldest(int bufferSize) {
+        return new SubscriptionOverflowPolicy(Kind.DROP_OLDEST, bufferSize, null, 1, null);
+    }
+
+    /**
+     * Keeps the latest event for each key.  An event replaces the buffered event with the same key, which keeps its place in the buffer,
+     * and the oldest buffered event is dropped when there are more keys than the buffer holds.
+     *
+     * @param keyFunction the function that returns the key of an event
+     * @param bufferSize  the maximum number of events, and hence distinct keys, buffered
+     *
+     * @return a new policy
+     */
+    public static SubscriptionOverflowPolicy latestPerKey(Function<Object, Object> keyFunction, int bufferSize) {
+        return new SubscriptionOverflowPolicy(Kind.LATEST_PER_KEY, bufferSize, assertNotNull(keyFunction), 1, null);
+    }
+
+    /**
+     * Combines up to {@code batchSize} buffered events into one event, so that the selection set is executed once for all of them.  The
+     * combined event is the source object of the subscription field, so when the field is of a list type the combiner can simply return
+     * the list of events.  The oldest buffered event is dropped when the buffer is full.
+     *
+     * @param batchSize     the maximum number of events combined into one
+     * @param bufferSize    the maximum number of events buffered
+     * @param batchCombiner the function that combines a list of events into one event
+     *
+     * @return a new policy
+     */
+    public static SubscriptionOverflowPolicy batch(int batchSize, int bufferSize, Function<List<Object>, Object> batchCombiner) {
+        assertTrue(batchSize > 0, () -> "batchSize must be greater than 0");
+        return new SubscriptionOverflowPolicy(Kind.BATCH, bufferSize, null, batchSize, assertNotNull(batchCombiner));
+    }
+
+    /**
+     * @return the maximum number of events buffered for a subscription
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @return the number of events that were dropped because the buffer was full
+     */
+    public long getDroppedEventCount() {
+        return droppedEvents.sum();
+    }
+
+    /**
+     * @return the number of events that were replaced by a later event with the same key
+     */
+    public long getConflatedEventCount() {
+        return conflatedEvents.sum();
+    }
+
+    /**
+     * @return the number of events that were combined into batches, including batches of a single event
+     */
+    public long getBatchedEventCount() {
+        return batchedEvents.sum();
+    }
+
+    /**
+     * @return the number of batches that were executed
+     */
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    /**
+     * @return a new buffer for the events of one subscription
+     */
+    @Internal
+    public EventBuffer newEventBuffer() {
+        if (kind == Kind.LATEST_PER_KEY) {
+            return new LatestPerKeyBuffer();
+        }
+        return new QueueBuffer();
+    }
+
+    /**
+     * The events of one subscription that have not yet been executed.  A buffer is not thread safe.
+     */
+    @Internal
+    public interface EventBuffer {
+        /**
+         * @param event the event to add to the buffer
+         */
+        void offer(Object event);
+
+        /**
+         * @return the next event to execute or null if the buffer is empty
+         */
+        Object poll();
+
+        boolean isEmpty();
+
+        void clear();
+    }
+
+    private class QueueBuffer implements EventBuffer {
+        private final ArrayDeque<Object> events = new ArrayDeque<>();
+
+        @Override
+        public void offer(Object event) {
+            if (events.size() >= bufferSize) {
+                events.poll();
+                droppedEvents.increment();
+            }
+            events.add(event);
+        }
+
+        @Override
+        public Object poll() {
+            if (kind != Kind.BATCH || events.isEmpty()) {
+                return events.poll();
+            }
+            List<Object> batch = new ArrayList<>(Math.min(batchSize, events.size()));
+            while (batch.size() < batchSize && !events.isEmpty()) {
+                batch.add(events.poll());
+            }
+            batchedEvents.add(batch.size());
+            batches.increment();
+            return assertNotNull(batchCombiner.apply(batch), () -> "The batch combiner must not return null");
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return events.isEmpty();
+        }
+
+        @Override
+        public void clear() {
+            events.clear();
+        }
+    }
+
+    private class LatestPerKeyBuffer implements EventBuffer {
+        private final LinkedHashMap<Object, Object> events = new LinkedHashMap<>();
+
+        @Override
+        public void offer(Object event) {
+            Object key = keyFunction.apply(event);
+            if (events.replace(key, event) != null) {
+                conflatedEvents.increment();
+                return;
+            }
+            if (events.size() >= bufferSize) {
+                Iterator<Object> oldest = events.values().iterator();
+                oldest.next();
+                oldest.remove();
+                droppedEvents.increment();
+            }
+            events.put(key, event);
+        }
+
+        @Override
+        public Object poll() {
+            Iterator<Object> oldest = events.values().iterator();
+            if (!oldest.hasNext()) {
+                return null;
+            }
+            Object event = oldest.next();
+            oldest.remove();
+            return event;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return events.isEmpty();
+        }
+
+        @Override
+        public void clear() {
+            events.clear();
+        }
+    }
+}
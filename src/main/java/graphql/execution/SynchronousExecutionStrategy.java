@@ -0,0 +1,348 @@
+package graphql.execution;
+
+import com.google.common.collect.Maps;
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.ExperimentalApi;
+import graphql.GraphQLContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.introspection.Introspection;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLEnumType;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLScalarType;
+import graphql.schema.GraphQLType;
+import graphql.util.FpKit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static graphql.schema.GraphQLTypeUtil.isEnum;
+import static graphql.schema.GraphQLTypeUtil.isList;
+import static graphql.schema.GraphQLTypeUtil.isScalar;
+
+/**
+ * An execution strategy for data fetchers that return their values straight away, say because all the data is already in memory.
+ * <p>
+ * The whole query is executed recursively on the calling thread.  Values are put straight into the result maps and lists, and a
+ * non-null field that is null is bubbled up by throwing, so no {@link CompletableFuture}, {@link FieldValueInfo} or instrumentation
+ * context is made per field.  The only future made is the one returned from {@link #execute(ExecutionContext, ExecutionStrategyParameters)},
+ * which is already completed when it is returned.
+ * <p>
+ * When a data fetcher returns a {@link java.util.concurrent.CompletionStage} that is not yet completed, only the part of the query that
+ * depends on it carries on asynchronously and the returned future completes when it does.  The results are the same as those of
+ * {@link AsyncExecutionStrategy}.
+ * <p>
+ * The synchronous path skips the per field calls of the {@link graphql.execution.instrumentation.Instrumentation} and of the data loader
+ * dispatching, so it is only taken when the execution has neither: it has the default instrumentation, no
+ * {@link org.dataloader.DataLoaderRegistry}, no {@link VirtualThreadFetchOptions} and no incremental delivery.  Other executions are
+ * executed exactly like {@link AsyncExecutionStrategy} executes them.
+ * <p>
+ * Like {@link AsyncExecutionStrategy} this strategy is not meant for mutations, use {@link AsyncSerialExecutionStrategy} for those.
+ */
+@ExperimentalApi
+public class SynchronousExecutionStrategy extends AsyncExecutionStrategy {
+
+    public SynchronousExecutionStrategy() {
+        super(new SimpleDataFetcherExceptionHandler());
+    }
+
+    /**
+     * Creates a execution strategy that uses the provided exception handler
+     *
+     * @param exceptionHandler the exception handler to use
+     */
+    public SynchronousExecutionStrategy(DataFetcherExceptionHandler exceptionHandler) {
+        super(exceptionHandler);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<ExecutionResult> execute(ExecutionContext executionContext, ExecutionStrategyParameters parameters) throws NonNullableFieldWasNullException {
+        if (!isSynchronous(executionContext)) {
+            return super.execute(executionContext, parameters);
+        }
+        Optional<ExecutionResult> isNotSensible = Introspection.isIntrospectionSensible(parameters.getFields(), executionContext);
+        if (isNotSensible.isPresent()) {
+            return CompletableFuture.completedFuture(isNotSensible.get());
+        }
+
+        CompletableFuture<ExecutionResult> overallResult = new CompletableFuture<>();
+        try {
+            Object data = completeFields(executionContext, parameters);
+            if (data instanceof CompletableFuture) {
+                ((CompletableFuture<Map<String, Object>>) data).whenComplete((fieldValues, exception) -> {
+                    if (exception != null) {
+                        handleNonNullException(executionContext, overallResult, exception);
+                    } else {
+                        overallResult.complete(new ExecutionResultImpl(fieldValues, executionContext.getErrors()));
+                    }
+                });
+            } else {
+                overallResult.complete(new ExecutionResultImpl(data, executionContext.getErrors()));
+            }
+        } catch (RuntimeException e) {
+            handleNonNullException(executionContext, overallResult, e);
+        }
+        return overallResult;
+    }
+
+    private boolean isSynchronous(ExecutionContext executionContext) {
+        GraphQLContext graphQLContext = executionContext.getGraphQLContext();
+        boolean incrementalSupport = graphQLContext != null && graphQLContext.getBoolean(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT);
+        return executionContext.getInstrumentation() == SimplePerformantInstrumentation.INSTANCE
+                && executionContext.getDataLoaderDispatcherStrategy() == DataLoaderDispatchStrategy.NO_OP
+                && executionContext.getVirtualThreadFetcher() == null
+                && !incrementalSupport;
+    }
+
+    /*
+     * Completes the fields of an object.  If a field is null and non-null this throws, after completing the other fields just like
+     * the asynchronous way does, and it is up to the caller to bubble it up further.
+     */
+    private Object /* Map<String, Object> | CompletableFuture<Map<String, Object>> */
+    completeFields(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+        MergedSelectionSet fields = parameters.getFields();
+        List<String> fieldNames = fields.getKeys();
+        Map<String, Object> fieldValues = Maps.newLinkedHashMapWithExpectedSize(fieldNames.size());
+        NonNullableFieldWasNullException nullField = null;
+        boolean promised = false;
+        for (String fieldName : fieldNames) {
+            MergedField currentField = fields.getSubField(fieldName);
+            ResultPath fieldPath = parameters.getPath().segment(mkNameForPath(currentField));
+            ExecutionStrategyParameters newParameters = parameters
+                    .transform(builder -> builder.field(currentField).path(fieldPath).parent(parameters));
+            try {
+                Object fieldValue = resolveFieldValue(executionContext, newParameters);
+                promised |= fieldValue instanceof CompletableFuture;
+                fieldValues.put(fieldName, fieldValue);
+            } catch (NonNullableFieldWasNullException e) {
+                if (nullField == null) {
+                    nullField = e;
+                }
+            }
+        }
+        if (!promised) {
+            if (nullField != null) {
+                throw nullField;
+            }
+            return fieldValues;
+        }
+        // the other fields are still waited for when a field is null and non-null, as the asynchronous way would
+        Async.CombinedBuilder<Object> futures = Async.ofExpectedSize(fieldValues.size() + (nullField != null ? 1 : 0));
+        for (Object fieldValue : fieldValues.values()) {
+            futures.addObject(fieldValue);
+        }
+        if (nullField != null) {
+            futures.addObject(Async.exceptionallyCompletedFuture(nullField));
+        }
+        return futures.await().thenApply(values -> {
+            Map<String, Object> resolvedValues = Maps.newLinkedHashMapWithExpectedSize(fieldNames.size());
+            for (int i = 0; i < fieldNames.size(); i++) {
+                resolvedValues.put(fieldNames.get(i), values.get(i));
+            }
+            return resolvedValues;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object /* Object | CompletableFuture<Object> */
+    resolveFieldValue(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+        MergedField field = parameters.getField();
+        if (!field.getSingleField().getDirectives().isEmpty()) {
+            // directives such as @stream change how a field is fetched, the asynchronous way knows all about that
+            return resolveField(executionContext, parameters);
+        }
+        GraphQLFieldDefinition fieldDef = getFieldDef(executionContext, parameters, field.getSingleField());
+        if (incrementAndCheckMaxNodesExceeded(executionContext)) {
+            return completeFieldValue(executionContext, parameters, fieldDef, new FetchedValue(null, Collections.emptyList(), null));
+        }
+
+        GraphQLObjectType parentType = (GraphQLObjectType) parameters.getExecutionStepInfo().getUnwrappedNonNullType();
+        Supplier<DataFetchingEnvironment> dataFetchingEnvironment = createDataFetchingEnvironment(executionContext, parameters, fieldDef, parentType);
+        DataFetcher<?> dataFetcher = getDataFetcher(executionContext, parentType, fieldDef);
+        Object fetchedObject = invokeDataFetcher(executionContext, parameters, fieldDef, dataFetchingEnvironment, dataFetcher);
+        if (fetchedObject instanceof CompletableFuture) {
+            CompletableFuture<Object> fetchedFuture = (CompletableFuture<Object>) fetchedObject;
+            if (!fetchedFuture.isDone()) {
+                // from here on this field is completed the asynchronous way
+                CompletableFuture<Object> handledFuture = fetchedFuture
+                        .handle((result, exception) -> exception != null
+                                ? handleFetchingException(dataFetchingEnvironment.get(), parameters, exception)
+                                : CompletableFuture.completedFuture(result))
+                        .thenCompose(Function.identity());
+                return completeFieldValueLater(executionContext, parameters, fieldDef, handledFuture);
+            }
+            if (fetchedFuture.isCompletedExceptionally()) {
+                fetchedFuture = handleFetchingException(dataFetchingEnvironment.get(), parameters, unwrap(fetchedFuture));
+                if (!fetchedFuture.isDone() || fetchedFuture.isCompletedExceptionally()) {
+                    return completeFieldValueLater(executionContext, parameters, fieldDef, fetchedFuture);
+                }
+            }
+            fetchedObject = fetchedFuture.join();
+        }
+        FetchedValue fetchedValue = unboxPossibleDataFetcherResult(executionContext, parameters, fetchedObject);
+        return completeFieldValue(executionContext, parameters, fieldDef, fetchedValue);
+    }
+
+    private CompletableFuture<Object> completeFieldValueLater(ExecutionContext executionContext,
+                                                              ExecutionStrategyParameters parameters,
+                                                              GraphQLFieldDefinition fieldDef,
+                                                              CompletableFuture<Object> fetchedFuture) {
+        return fetchedFuture.thenCompose(result -> {
+            FetchedValue fetchedValue = unboxPossibleDataFetcherResult(executionContext, parameters, result);
+            return Async.toCompletableFuture(completeFieldValue(executionContext, parameters, fieldDef, fetchedValue));
+        });
+    }
+
+    private Object /* Object | CompletableFuture<Object> */
+    completeFieldValue(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLFieldDefinition fieldDef, FetchedValue fetchedValue) {
+        GraphQLObjectType parentType = (GraphQLObjectType) parameters.getExecutionStepInfo().getUnwrappedNonNullType();
+        ExecutionStepInfo executionStepInfo = createExecutionStepInfo(executionContext, parameters, fieldDef, parentType);
+        NonNullableFieldValidator nonNullableFieldValidator = new NonNullableFieldValidator(executionContext, executionStepInfo);
+        ExecutionStrategyParameters newParameters = parameters.transform(builder ->
+                builder.executionStepInfo(executionStepInfo)
+                        .source(fetchedValue.getFetchedValue())
+                        .localContext(fetchedValue.getLocalContext())
+                        .nonNullFieldValidator(nonNullableFieldValidator)
+        );
+        return completeValueSynchronously(executionContext, newParameters);
+    }
+
+    private Object /* Object | CompletableFuture<Object> */
+    completeValueSynchronously(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+        Object result = executionContext.getValueUnboxer().unbox(parameters.getSource());
+        GraphQLType fieldType = parameters.getExecutionStepInfo().getUnwrappedNonNullType();
+        if (result == null) {
+            return parameters.getNonNullFieldValidator().validate(parameters, null);
+        } else if (isList(fieldType)) {
+            return completeListSynchronously(executionContext, parameters, result);
+        } else if (isScalar(fieldType)) {
+            return rethrowNullField(completeValueForScalar(executionContext, parameters, (GraphQLScalarType) fieldType, result));
+        } else if (isEnum(fieldType)) {
+            return rethrowNullField(completeValueForEnum(executionContext, parameters, (GraphQLEnumType) fieldType, result));
+        }
+
+        GraphQLObjectType resolvedObjectType;
+        try {
+            resolvedObjectType = resolveType(executionContext, parameters, fieldType);
+        } catch (UnresolvedTypeException ex) {
+            handleUnresolvedTypeProblem(executionContext, parameters, ex);
+            return parameters.getNonNullFieldValidator().validate(parameters, null);
+        }
+        ExecutionStrategyParameters objectParameters = newObjectParameters(executionContext, parameters, resolvedObjectType, result);
+        Object fieldValues;
+        try {
+            fieldValues = completeFields(executionContext, objectParameters);
+        } catch (NonNullableFieldWasNullException e) {
+            // the object is null, or its parent if the object is non-null as well
+            assertNonNullFieldPrecondition(e);
+            return null;
+        }
+        return handleValueExceptionLater(executionContext, fieldValues);
+    }
+
+    private Object /* List<Object> | CompletableFuture<Object> */
+    completeListSynchronously(ExecutionContext executionContext, ExecutionStrategyParameters parameters, Object result) {
+        Iterable<Object> iterableValues = parameters.getNonNullFieldValidator().validate(parameters, toIterable(executionContext, parameters, result));
+        if (iterableValues == null) {
+            return null;
+        }
+        OptionalInt size = FpKit.toSize(iterableValues);
+        ExecutionStepInfo executionStepInfo = parameters.getExecutionStepInfo();
+        List<Object> items = new ArrayList<>(size.orElse(1));
+        NonNullableFieldWasNullException nullItem = null;
+        boolean promised = false;
+        int index = 0;
+        for (Object item : iterableValues) {
+            if (incrementAndCheckMaxNodesExceeded(executionContext)) {
+                return null;
+            }
+            ResultPath indexedPath = parameters.getPath().segment(index);
+            ExecutionStepInfo stepInfoForListElement = executionStepInfoFactory.newExecutionStepInfoForListElement(executionStepInfo, indexedPath);
+            NonNullableFieldValidator nonNullableFieldValidator = new NonNullableFieldValidator(executionContext, stepInfoForListElement);
+            FetchedValue value = unboxPossibleDataFetcherResult(executionContext, parameters, item);
+            ExecutionStrategyParameters newParameters = parameters.transform(builder ->
+                    builder.executionStepInfo(stepInfoForListElement)
+                            .nonNullFieldValidator(nonNullableFieldValidator)
+                            .localContext(value.getLocalContext())
+                            .path(indexedPath)
+                            .source(value.getFetchedValue())
+            );
+            try {
+                Object itemValue = completeValueSynchronously(executionContext, newParameters);
+                promised |= itemValue instanceof CompletableFuture;
+                items.add(itemValue);
+            } catch (NonNullableFieldWasNullException e) {
+                if (nullItem == null) {
+                    nullItem = e;
+                }
+            }
+            index++;
+        }
+        if (!promised) {
+            if (nullItem != null) {
+                // the list is null, or its parent if the list is non-null as well
+                assertNonNullFieldPrecondition(nullItem);
+                return null;
+            }
+            return items;
+        }
+        if (nullItem != null) {
+            items.add(Async.exceptionallyCompletedFuture(nullItem));
+        }
+        Async.CombinedBuilder<Object> futures = Async.ofExpectedSize(items.size());
+        for (Object itemValue : items) {
+            futures.addObject(itemValue);
+        }
+        return handleValueExceptionLater(executionContext, futures.await());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object handleValueExceptionLater(ExecutionContext executionContext, Object value) {
+        if (!(value instanceof CompletableFuture)) {
+            return value;
+        }
+        CompletableFuture<Object> overallResult = new CompletableFuture<>();
+        ((CompletableFuture<Object>) value).whenComplete((result, exception) -> {
+            if (exception != null) {
+                handleValueException(overallResult, exception, executionContext);
+            } else {
+                overallResult.complete(result);
+            }
+        });
+        return overallResult;
+    }
+
+    private static Object rethrowNullField(Object value) {
+        if (value instanceof CompletableFuture) {
+            // a scalar or enum value is only ever an exceptionally completed future when it is null and non-null
+            Throwable exception = unwrap((CompletableFuture<?>) value);
+            if (exception instanceof RuntimeException) {
+                throw (RuntimeException) exception;
+            }
+        }
+        return value;
+    }
+
+    private static Throwable unwrap(CompletableFuture<?> exceptionallyCompleted) {
+        try {
+            exceptionallyCompleted.join();
+            return null;
+        } catch (CompletionException e) {
+            return e.getCause();
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+}
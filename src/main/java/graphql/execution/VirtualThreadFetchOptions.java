@@ -0,0 +1,127 @@
+package graphql.execution;
+
+import graphql.Assert;
+import graphql.ExperimentalApi;
+import graphql.TrivialDataFetcher;
+
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * When an instance of this class is put into the {@link graphql.GraphQLContext} of an execution, keyed by
+ * {@code VirtualThreadFetchOptions.class}, every {@link graphql.schema.DataFetcher} of that execution that is not a
+ * {@link TrivialDataFetcher} is called on a virtual thread of its own.  This lets data fetchers that block, say on a JDBC or
+ * plain HTTP call, wait at the same time without tying up a platform thread each.
+ * <p>
+ * The fetched value is completed on the virtual thread that fetched it, so the field is completed on that same thread rather
+ * than being handed back to another thread pool.  At most {@link #getMaxConcurrentFetches()} data fetchers of an execution run
+ * at the same time, the others wait their turn without holding a thread.
+ * <p>
+ * Virtual threads need Java 21 or later.  On older versions of Java the data fetchers are called on the {@link #getExecutor()}
+ * if one is given, and otherwise they are called on the calling thread as if there were no options at all.
+ * <p>
+ * A field counts as fetched for the dispatching of {@link org.dataloader.DataLoader}s once its data fetcher has returned on the
+ * virtual thread, so the loads it makes before returning are batched with those of the other fields of its level.  Loads that
+ * are made later, from a separate asynchronous chain, are not waited for and so are not batched.
+ * <pre>
+ * {@code
+ *     ExecutionInput executionInput = ExecutionInput.newExecutionInput(query)
+ *             .graphQLContext(Map.of(VirtualThreadFetchOptions.class, VirtualThreadFetchOptions.newOptions().maxConcurrentFetches(64).build()))
+ *             .build();
+ * }
+ * </pre>
+ */
+@ExperimentalApi
+public class VirtualThreadFetchOptions {
+
+    /**
+     * The default maximum number of data fetchers of an execution that run at the same time, which is no limit at all
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_FETCHES = Integer.MAX_VALUE;
+
+    private final int maxConcurrentFetches;
+    private final Executor executor;
+
+    private VirtualThreadFetchOptions(Builder builder) {
+        this.maxConcurrentFetches = builder.maxConcurrentFetches;
+        this.executor = builder.executor;
+    }
+
+    /**
+     * @return true if this Java runtime has virtual threads
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return VirtualThreadFetcher.VIRTUAL_THREAD_EXECUTOR != null;
+    }
+
+    /**
+     * @return the maximum number of data fetchers of an execution that run at the same time
+     */
+    public int getMaxConcurrentFetches() {
+        return maxConcurrentFetches;
+    }
+
+    /**
+     * @return the executor the data fetchers are called on or null if each is called on a new virtual thread
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * This helps you transform the current VirtualThreadFetchOptions object into another one by starting a builder with all
+     * the current values and allows you to transform it how you want.
+     *
+     * @param builderConsumer the consumer code that will be given a builder to transform
+     *
+     * @return a new VirtualThreadFetchOptions object based on calling build on that builder
+     */
+    public VirtualThreadFetchOptions transform(Consumer<Builder> builderConsumer) {
+        Builder builder = new Builder(this);
+        builderConsumer.accept(builder);
+        return builder.build();
+    }
+
+    /**
+     * @return a new builder of VirtualThreadFetchOptions
+     */
+    public static Builder newOptions() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private int maxConcurrentFetches = DEFAULT_MAX_CONCURRENT_FETCHES;
+        private Executor executor;
+
+        private Builder() {
+        }
+
+        private Builder(VirtualThreadFetchOptions other) {
+            this.maxConcurrentFetches = other.maxConcurrentFetches;
+            this.executor = other.executor;
+        }
+
+        public Builder maxConcurrentFetches(int maxConcurrentFetches) {
+            Assert.assertTrue(maxConcurrentFetches > 0, () -> "maxConcurrentFetches must be greater than 0");
+            this.maxConcurrentFetches = maxConcurrentFetches;
+            return this;
+        }
+
+        /**
+         * The data fetchers are called on this executor instead of on new virtual threads, for example an executor whose virtual
+         * threads are named or one that adds tracing.
+         *
+         * @param executor the executor to call the data fetchers on
+         *
+         * @return this builder
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public VirtualThreadFetchOptions build() {
+            return new VirtualThreadFetchOptions(this);
+        }
+    }
+}
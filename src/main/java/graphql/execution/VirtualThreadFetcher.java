@@ -0,0 +1,162 @@
+package graphql.execution;
+
+import graphql.GraphQLContext;
+import graphql.Internal;
+import graphql.VisibleForTesting;
+
+import java.lang.reflect.Method;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Calls the data fetchers of one execution on virtual threads, as set up by the {@link VirtualThreadFetchOptions} of that execution.
+ * <p>
+ * Fetches over the concurrency limit are queued rather than blocked, and each fetch that finishes starts the next queued one, so
+ * the limit works the same on any executor.
+ */
+@Internal
+public class VirtualThreadFetcher {
+
+    // found by reflection so the same classes run on Java 11 and make use of virtual threads on Java 21 and later
+    static final Executor VIRTUAL_THREAD_EXECUTOR = createVirtualThreadExecutor();
+
+    private final Executor executor;
+    private final int maxConcurrentFetches;
+    private final AtomicInteger runningFetches = new AtomicInteger();
+    private final Queue<Runnable> waitingFetches = new ConcurrentLinkedQueue<>();
+
+    @VisibleForTesting
+    VirtualThreadFetcher(Executor executor, int maxConcurrentFetches) {
+        this.executor = executor;
+        this.maxConcurrentFetches = maxConcurrentFetches;
+    }
+
+    /**
+     * @param graphQLContext the context of an execution
+     *
+     * @return the fetcher of the execution or null if its data fetchers should be called on the calling thread
+     */
+    public static VirtualThreadFetcher create(GraphQLContext graphQLContext) {
+        VirtualThreadFetchOptions options = graphQLContext != null ? graphQLContext.get(VirtualThreadFetchOptions.class) : null;
+        if (options == null) {
+            return null;
+        }
+        Executor executor = options.getExecutor() != null ? options.getExecutor() : VIRTUAL_THREAD_EXECUTOR;
+        if (executor == null) {
+            return null;
+        }
+        return new VirtualThreadFetcher(executor, options.getMaxConcurrentFetches());
+    }
+
+    /**
+     * Calls a data fetcher on another thread.  The returned future is completed on that thread, or on the thread that completes the
+     * future the data fetcher returned, so that the field is completed there as well.
+     *
+     * @param invocation the call of the data fetcher, which returns a value or a {@link CompletableFuture} of a value
+     *
+     * @return a future of the fetched value
+     */
+    public CompletableFuture<Object> fetch(Supplier<Object> invocation) {
+        return fetch(invocation, fetchedValue -> {
+        });
+    }
+
+    /**
+     * Calls a data fetcher on another thread, like {@link #fetch(Supplier)}, and tells the caller on that thread once the data
+     * fetcher has returned.  Anything the data fetcher started, such as a {@link org.dataloader.DataLoader} load, has happened
+     * by then, which is what a {@link DataLoaderDispatchStrategy} waits for before it dispatches.
+     *
+     * @param invocation the call of the data fetcher, which returns a value or a {@link CompletableFuture} of a value
+     * @param onFetched  called with what the data fetcher returned, before the returned future is completed
+     *
+     * @return a future of the fetched value
+     */
+    public CompletableFuture<Object> fetch(Supplier<Object> invocation, Consumer<Object> onFetched) {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        Runnable fetch = () -> {
+            Object fetchedValue;
+            try {
+                fetchedValue = invocation.get();
+            } catch (Throwable e) {
+                fetchedValue = Async.exceptionallyCompletedFuture(e);
+            } finally {
+                // the blocking part is over once the data fetcher returns, an asynchronous value does not hold on to a permit
+                runningFetches.decrementAndGet();
+                startWaitingFetches();
+            }
+            try {
+                onFetched.accept(fetchedValue);
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            if (fetchedValue instanceof CompletableFuture) {
+                ((CompletableFuture<?>) fetchedValue).whenComplete((value, exception) -> {
+                    if (exception != null) {
+                        result.completeExceptionally(exception);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+            } else {
+                result.complete(fetchedValue);
+            }
+        };
+        if (maxConcurrentFetches == Integer.MAX_VALUE) {
+            runningFetches.incrementAndGet();
+            execute(fetch, result);
+        } else {
+            waitingFetches.add(() -> execute(fetch, result));
+            startWaitingFetches();
+        }
+        return result;
+    }
+
+    private void startWaitingFetches() {
+        while (true) {
+            int running = runningFetches.get();
+            if (running >= maxConcurrentFetches || waitingFetches.isEmpty()) {
+                return;
+            }
+            if (runningFetches.compareAndSet(running, running + 1)) {
+                Runnable start = waitingFetches.poll();
+                if (start == null) {
+                    // another thread took it first
+                    runningFetches.decrementAndGet();
+                } else {
+                    start.run();
+                }
+            }
+        }
+    }
+
+    private void execute(Runnable fetch, CompletableFuture<Object> result) {
+        try {
+            executor.execute(fetch);
+        } catch (RuntimeException e) {
+            runningFetches.decrementAndGet();
+            result.completeExceptionally(e);
+            startWaitingFetches();
+        }
+    }
+
+    @VisibleForTesting
+    int getRunningFetches() {
+        return runningFetches.get();
+    }
+
+    private static Executor createVirtualThreadExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (Executor) method.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.google.common.collect.ImmutableSet;
 import graphql.ExecutionResult;
 import graphql.ExecutionResultImpl;
 import graphql.Internal;
+import graphql.execution.DataLoaderDispatchStrategy;
 import graphql.execution.ExecutionContext;
 import graphql.execution.ExecutionStrategyParameters;
 import graphql.execution.FieldValueInfo;
@@ -128,6 +129,7 @@ public interface DeferredExecutionSupport {
             );
         }
 
+        @SuppressWarnings("FutureReturnValueIgnored")
         private Supplier<CompletableFuture<DeferredFragmentCall.FieldWithExecutionResult>> createResultSupplier(
                 MergedField currentField,
                 DeferredCallContext deferredCallContext
@@ -149,31 +151,43 @@ public interface DeferredExecutionSupport {
 
             Instrumentation instrumentation = executionContext.getInstrumentation();
 
-            executionContext.getDataLoaderDispatcherStrategy().deferredField(executionContext, currentField);
             instrumentation.beginDeferredField(executionContext.getInstrumentationState());
 
+            DataLoaderDispatchStrategy dataLoaderDispatcherStrategy = executionContext.getDataLoaderDispatcherStrategy();
             return dfCache.computeIfAbsent(
                     currentField.getResultKey(),
                     // The same field can be associated with multiple defer executions, so
-                    // we memoize the field resolution to avoid multiple calls to the same data fetcher
-                    key -> FpKit.interThreadMemoize(() -> {
-                                CompletableFuture<FieldValueInfo> fieldValueResult = resolveFieldWithInfoFn
-                                        .apply(executionContext, callParameters);
-
-                                // Create a reference to the CompletableFuture that resolves an ExecutionResult
-                                // so we can pass it to the Instrumentation "onDispatched" callback.
-                                CompletableFuture<ExecutionResult> executionResultCF = fieldValueResult
-                                        .thenCompose(fvi -> fvi
-                                                .getFieldValueFuture()
-                                                .thenApply(fv -> ExecutionResultImpl.newExecutionResult().data(fv).build())
-                                        );
-
-                                return executionResultCF
-                                        .thenApply(executionResult ->
-                                                new DeferredFragmentCall.FieldWithExecutionResult(currentField.getResultKey(), executionResult)
-                                        );
-                            }
-                    )
+                    // we memoize the field resolution to avoid multiple calls to the same data fetcher.
+                    // The field is only resolved as part of the first defer execution and so only that one is tracked.
+                    key -> {
+                        dataLoaderDispatcherStrategy.deferredField(executionContext, callParameters);
+                        return FpKit.interThreadMemoize(() -> {
+                                    CompletableFuture<FieldValueInfo> fieldValueResult = resolveFieldWithInfoFn
+                                            .apply(executionContext, callParameters);
+
+                                    fieldValueResult.whenComplete((fieldValueInfo, throwable) -> {
+                                        if (throwable != null) {
+                                            dataLoaderDispatcherStrategy.deferredFieldValueInfoException(throwable, callParameters);
+                                        } else {
+                                            dataLoaderDispatcherStrategy.deferredFieldValueInfo(fieldValueInfo, callParameters);
+                                        }
+                                    });
+
+                                    // Create a reference to the CompletableFuture that resolves an ExecutionResult
+                                    // so we can pass it to the Instrumentation "onDispatched" callback.
+                                    CompletableFuture<ExecutionResult> executionResultCF = fieldValueResult
+                                            .thenCompose(fvi -> fvi
+                                                    .getFieldValueFuture()
+                                                    .thenApply(fv -> ExecutionResultImpl.newExecutionResult().data(fv).build())
+                                            );
+
+                                    return executionResultCF
+                                            .thenApply(executionResult ->
+                                                    new DeferredFragmentCall.FieldWithExecutionResult(currentField.getResultKey(), executionResult)
+                                            );
+                                }
+                        );
+                    }
             );
         }
     }
@@ -11,4 +11,14 @@ import java.util.concurrent.CompletableFuture;
  */
 public interface IncrementalCall<T extends IncrementalPayload> {
     CompletableFuture<T> invoke();
+
+    /**
+     * A call can be followed by another call that must only be invoked after the payload of this call has been published,
+     * like the next item of a @stream.  This is asked for once the payload of this call is known.
+     *
+     * @return the follow-up call or null if there is none
+     */
+    default IncrementalCall<? extends IncrementalPayload> getFollowUpCall() {
+        return null;
+    }
 }
@@ -19,7 +19,7 @@ import java.util.function.Supplier;
 import static graphql.incremental.DelayedIncrementalPartialResultImpl.newIncrementalExecutionResult;
 
 /**
- * This provides support for @defer directives on fields that mean that results will be sent AFTER
+ * This provides support for @defer and @stream directives on fields that mean that results will be sent AFTER
  * the main result is sent via a Publisher stream.
  */
 @Internal
@@ -30,45 +30,59 @@ public class IncrementalCallState {
     private final AtomicInteger pendingCalls = new AtomicInteger();
     private final LockKit.ReentrantLock publisherLock = new LockKit.ReentrantLock();
 
-    @SuppressWarnings("FutureReturnValueIgnored")
     private void drainIncrementalCalls() {
         IncrementalCall<? extends IncrementalPayload> incrementalCall = incrementalCalls.poll();
 
         while (incrementalCall != null) {
-            incrementalCall.invoke()
-                    .whenComplete((payload, exception) -> {
-                        if (exception != null) {
-                            publisher.get().offerError(exception);
-                            return;
-                        }
-
-                        // The assigment of `remainingCalls` and `publisher.offer` need to be synchronized to ensure
-                        // `hasNext` is `false` precisely on the last event offered to the publisher.
-                        publisherLock.lock();
-                        final int remainingCalls;
+            invokeIncrementalCall(incrementalCall);
+            incrementalCall = incrementalCalls.poll();
+        }
+    }
 
-                        try {
-                            remainingCalls = pendingCalls.decrementAndGet();
+    @SuppressWarnings("FutureReturnValueIgnored")
+    private void invokeIncrementalCall(IncrementalCall<? extends IncrementalPayload> incrementalCall) {
+        incrementalCall.invoke()
+                .whenComplete((payload, exception) -> {
+                    if (exception != null) {
+                        publisher.get().offerError(exception);
+                        return;
+                    }
+
+                    // The assigment of `remainingCalls` and `publisher.offer` need to be synchronized to ensure
+                    // `hasNext` is `false` precisely on the last event offered to the publisher.
+                    publisherLock.lock();
+                    final int remainingCalls;
+
+                    try {
+                        // A follow-up call is counted before this call is done with, so `hasNext` stays `true`
+                        // and it is only invoked after this payload is offered.
+                        IncrementalCall<? extends IncrementalPayload> followUpCall = incrementalCall.getFollowUpCall();
+                        if (followUpCall != null) {
+                            enqueue(followUpCall);
+                        }
+                        remainingCalls = pendingCalls.decrementAndGet();
 
+                        // a call can end up without a payload, like a stream that turns out to have no more items,
+                        // which is only worth an event when it is the last one
+                        if (payload != null || remainingCalls == 0) {
                             DelayedIncrementalPartialResult executionResult = newIncrementalExecutionResult()
-                                    .incrementalItems(Collections.singletonList(payload))
+                                    .incrementalItems(payload != null ? Collections.singletonList(payload) : null)
                                     .hasNext(remainingCalls != 0)
                                     .build();
 
                             publisher.get().offer(executionResult);
-                        } finally {
-                            publisherLock.unlock();
-                        }
-
-                        if (remainingCalls == 0) {
-                            publisher.get().noMoreData();
-                        } else {
-                            // Nested calls were added, let's try to drain the queue again.
-                            drainIncrementalCalls();
                         }
-                    });
-            incrementalCall = incrementalCalls.poll();
-        }
+                    } finally {
+                        publisherLock.unlock();
+                    }
+
+                    if (remainingCalls == 0) {
+                        publisher.get().noMoreData();
+                    } else {
+                        // Nested calls were added, let's try to drain the queue again.
+                        drainIncrementalCalls();
+                    }
+                });
     }
 
     public void enqueue(IncrementalCall<? extends IncrementalPayload> incrementalCall) {
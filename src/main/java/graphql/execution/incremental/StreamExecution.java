@@ -0,0 +1,30 @@
+package graphql.execution.incremental;
+
+import graphql.ExperimentalApi;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents details about the stream execution of a list field, as given by its @stream directive.
+ */
+@ExperimentalApi
+public class StreamExecution {
+    private final String label;
+    private final int initialCount;
+
+    public StreamExecution(String label, int initialCount) {
+        this.label = label;
+        this.initialCount = initialCount;
+    }
+
+    @Nullable
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return the number of items that are sent in the initial result
+     */
+    public int getInitialCount() {
+        return initialCount;
+    }
+}
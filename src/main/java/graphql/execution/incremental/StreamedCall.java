@@ -1,19 +1,188 @@
 package graphql.execution.incremental;
 
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
 import graphql.Internal;
+import graphql.execution.NonNullableFieldWasNullError;
+import graphql.execution.NonNullableFieldWasNullException;
+import graphql.execution.ResultPath;
+import graphql.incremental.IncrementalPayload;
 import graphql.incremental.StreamPayload;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Represents a call that fetches data that was streamed, via the @stream directive.
  * <p>
- * This is a placeholder class, created to showcase the proposed structure that accommodates both @defer and @stream execution.
+ * A call completes the next items of a streamed list that are available, up to {@link #MAX_CHUNK_SIZE} of them, and results in a
+ * {@link StreamPayload} with those items.  The items of a chunk are completed together, on one call context, so that the data
+ * loader calls they make are batched together.  The call for the items after them is only created once the payload has been
+ * published, so that items are pulled from their source a chunk at a time and the payloads come out in the order of the list.
+ * <p>
+ * For example, this query:
+ * <pre>
+ * {
+ *     posts @stream(initialCount: 1) {
+ *         title
+ *     }
+ * }
+ * </pre>
+ * Will result in the first post being sent in the initial result and 1 instance of `StreamedCall` for every chunk of the other posts.
  */
 @Internal
 public class StreamedCall implements IncrementalCall<StreamPayload> {
+
+    /**
+     * Completes a chunk of the items of a streamed list, much like the items of any other list are completed
+     */
+    public interface ItemCompleter {
+        /**
+         * @param items       the raw items
+         * @param index       the index of the first item in the list
+         * @param callContext the context that collects the errors of the items
+         *
+         * @return a promise to the completed items
+         */
+        CompletableFuture<List<Object>> completeItems(List<Object> items, int index, DeferredCallContext callContext);
+    }
+
+    /**
+     * The maximum number of items that are completed together and sent in one payload
+     */
+    public static final int MAX_CHUNK_SIZE = 100;
+
+    private static final Object NOT_COMPLETED = new Object();
+
+    private final String label;
+    private final ResultPath path;
+    private final int index;
+    private final StreamedItems items;
+    private final CompletableFuture<Object> listValue;
+    private final ItemCompleter itemCompleter;
+    private volatile boolean stopped;
+    private volatile int pulledCount;
+
+    /**
+     * @param label         the label of the @stream directive
+     * @param path          the path of the streamed list
+     * @param index         the index of the first item this call completes
+     * @param items         the items that are yet to be completed
+     * @param listValue     the value of the list in the initial result, the stream stops if that is null
+     * @param itemCompleter the code that completes an item
+     */
+    public StreamedCall(String label,
+                        ResultPath path,
+                        int index,
+                        StreamedItems items,
+                        CompletableFuture<Object> listValue,
+                        ItemCompleter itemCompleter) {
+        this.label = label;
+        this.path = path;
+        this.index = index;
+        this.items = items;
+        this.listValue = listValue;
+        this.itemCompleter = itemCompleter;
+    }
+
+    public ResultPath getPath() {
+        return path;
+    }
+
     @Override
     public CompletableFuture<StreamPayload> invoke() {
-        throw new UnsupportedOperationException("Not implemented yet.");
+        if (isListDiscarded()) {
+            // a non-null error in the initial items has nulled the list, so there is nothing to stream into
+            stop();
+            return CompletableFuture.completedFuture(null);
+        }
+        DeferredCallContext callContext = new DeferredCallContext();
+        ResultPath itemPath = path.segment(index);
+        return items.next(MAX_CHUNK_SIZE)
+                .thenCompose(pulledItems -> {
+                    if (pulledItems.isEmpty()) {
+                        stop();
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    pulledCount = pulledItems.size();
+                    return itemCompleter.completeItems(pulledItems, index, callContext)
+                            .thenApply(completedItems -> toStreamPayload(itemPath, completedItems, callContext));
+                })
+                .handle((payload, throwable) -> {
+                    if (throwable != null) {
+                        return handleError(itemPath, throwable);
+                    }
+                    return payload;
+                });
+    }
+
+    /**
+     * @return the call for the next items, unless the list is known to have ended
+     */
+    @Override
+    public IncrementalCall<? extends IncrementalPayload> getFollowUpCall() {
+        if (stopped) {
+            return null;
+        }
+        boolean mayHaveMore;
+        try {
+            mayHaveMore = items.mayHaveMore();
+        } catch (RuntimeException e) {
+            // the next pull will run into the same problem and report it
+            mayHaveMore = true;
+        }
+        if (!mayHaveMore) {
+            return null;
+        }
+        return new StreamedCall(label, path, index + pulledCount, items, listValue, itemCompleter);
+    }
+
+    private boolean isListDiscarded() {
+        Object value;
+        try {
+            value = listValue.getNow(NOT_COMPLETED);
+        } catch (RuntimeException e) {
+            return true;
+        }
+        return value == null;
+    }
+
+    private void stop() {
+        stopped = true;
+        items.cancel();
+    }
+
+    private StreamPayload toStreamPayload(ResultPath itemPath, List<Object> completedItems, DeferredCallContext callContext) {
+        return StreamPayload.newStreamedItem()
+                .items(completedItems)
+                .errors(callContext.getErrors())
+                .path(itemPath)
+                .label(label)
+                .build();
+    }
+
+    /**
+     * Like a non-nullable error in a list, which nulls the whole list, an error while streaming stops the stream.  The
+     * payload then has no items and captures the details of the error.
+     */
+    private StreamPayload handleError(ResultPath itemPath, Throwable throwable) {
+        stop();
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+        GraphQLError error;
+        if (cause instanceof NonNullableFieldWasNullException) {
+            error = new NonNullableFieldWasNullError((NonNullableFieldWasNullException) cause);
+        } else {
+            error = GraphqlErrorBuilder.newError()
+                    .message("Exception while streaming the items of '%s' : %s", path, cause.getMessage())
+                    .path(itemPath)
+                    .build();
+        }
+        return StreamPayload.newStreamedItem()
+                .errors(Collections.singletonList(error))
+                .path(itemPath)
+                .label(label)
+                .build();
     }
 }
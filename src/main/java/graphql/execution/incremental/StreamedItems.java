@@ -0,0 +1,327 @@
+package graphql.execution.incremental;
+
+import graphql.Internal;
+import graphql.util.LockKit;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The items of a list field with a @stream directive that are yet to be completed.
+ * <p>
+ * Items are pulled from the source as they are needed, so that an {@link Iterator}, a {@link java.util.stream.Stream}
+ * or a {@link Publisher} is never materialized as a whole.
+ */
+@Internal
+public abstract class StreamedItems {
+
+    /**
+     * Pulls the next items that are available from the source, waiting for one if none is
+     *
+     * @param count the maximum number of items to pull
+     *
+     * @return a promise to the items, which is only empty if the source has ended
+     */
+    public CompletableFuture<List<Object>> next(int count) {
+        return next(count, false);
+    }
+
+    /**
+     * Pulls the next items from the source, waiting for as many as are asked for
+     *
+     * @param count the number of items to pull
+     *
+     * @return a promise to the items, which only has fewer than count items if the source has ended
+     */
+    public CompletableFuture<List<Object>> nextExactly(int count) {
+        return next(count, true);
+    }
+
+    abstract CompletableFuture<List<Object>> next(int count, boolean waitForCount);
+
+    /**
+     * @return false if the source is known to have no more items
+     */
+    public abstract boolean mayHaveMore();
+
+    /**
+     * Stops pulling items from the source
+     */
+    public abstract void cancel();
+
+    public static StreamedItems fromIterator(Iterator<Object> iterator) {
+        return new IteratorItems(iterator);
+    }
+
+    public static StreamedItems fromPublisher(Publisher<Object> publisher) {
+        return new PublisherItems(publisher);
+    }
+
+    /**
+     * The items of a {@link Publisher} that have been pulled before the field is completed, since the initial items
+     * of a stream must be known in order to complete the list field
+     */
+    public static class Prefetched {
+        private final List<Object> initialItems;
+        private final StreamedItems remainingItems;
+
+        public Prefetched(List<Object> initialItems, StreamedItems remainingItems) {
+            this.initialItems = initialItems;
+            this.remainingItems = remainingItems;
+        }
+
+        public List<Object> getInitialItems() {
+            return initialItems;
+        }
+
+        public StreamedItems getRemainingItems() {
+            return remainingItems;
+        }
+    }
+
+    private static class IteratorItems extends StreamedItems {
+        private final Iterator<Object> iterator;
+        private volatile boolean cancelled;
+
+        private IteratorItems(Iterator<Object> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        CompletableFuture<List<Object>> next(int count, boolean waitForCount) {
+            // all the items of an iterator are available
+            List<Object> items = new ArrayList<>(Math.min(count, 16));
+            try {
+                while (items.size() < count && mayHaveMore()) {
+                    items.add(iterator.next());
+                }
+            } catch (RuntimeException e) {
+                CompletableFuture<List<Object>> failed = new CompletableFuture<>();
+                failed.completeExceptionally(e);
+                return failed;
+            }
+            return CompletableFuture.completedFuture(items);
+        }
+
+        @Override
+        public boolean mayHaveMore() {
+            return !cancelled && iterator.hasNext();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    /*
+     * The publisher is subscribed to on the first pull and only ever asked for as many items as have been pulled.  Items
+     * that arrive while nobody is pulling are buffered, and a pull takes whatever has arrived - the items a publisher
+     * delivers while it is being asked for them are all taken by the same pull.
+     */
+    private static class PublisherItems extends StreamedItems implements Subscriber<Object> {
+        private final Publisher<Object> publisher;
+        private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+
+        private Subscription subscription;
+        private boolean subscribed;
+        private boolean ended;
+        private boolean cancelled;
+        private Throwable throwable;
+        private long pendingDemand;
+        private long outstandingDemand;
+        private final List<Object> bufferedItems = new ArrayList<>();
+        private CompletableFuture<List<Object>> pull;
+        private int pullCount;
+        private boolean pullWaitsForCount;
+        private boolean requesting;
+
+        private PublisherItems(Publisher<Object> publisher) {
+            this.publisher = publisher;
+        }
+
+        @Override
+        CompletableFuture<List<Object>> next(int count, boolean waitForCount) {
+            CompletableFuture<List<Object>> result = new CompletableFuture<>();
+            List<Object> availableItems = null;
+            boolean endNow = false;
+            Throwable failure = null;
+            boolean subscribeNow = false;
+            Subscription requestFrom = null;
+            long demand = 0;
+            lock.lock();
+            try {
+                if (!bufferedItems.isEmpty() && !cancelled && (!waitForCount || bufferedItems.size() >= count || ended)) {
+                    availableItems = takeBufferedItems(count);
+                } else if (ended || cancelled || count <= 0) {
+                    endNow = true;
+                    failure = throwable;
+                    throwable = null;
+                } else {
+                    pull = result;
+                    pullCount = count;
+                    pullWaitsForCount = waitForCount;
+                    requesting = true;
+                    subscribeNow = !subscribed;
+                    subscribed = true;
+                    demand = Math.max(0, count - bufferedItems.size() - outstandingDemand);
+                    outstandingDemand += demand;
+                    if (subscription != null) {
+                        requestFrom = subscription;
+                    } else {
+                        pendingDemand += demand;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (availableItems != null) {
+                result.complete(availableItems);
+                return result;
+            }
+            if (endNow) {
+                completePull(result, Collections.emptyList(), failure);
+                return result;
+            }
+            if (subscribeNow) {
+                publisher.subscribe(this);
+            } else if (requestFrom != null && demand > 0) {
+                requestFrom.request(demand);
+            }
+            // the items that were delivered while the publisher was asked for them are taken together
+            lock.lock();
+            try {
+                requesting = false;
+                if (pull == result && !pullWaitsForCount && !bufferedItems.isEmpty()) {
+                    availableItems = takeBufferedItems(pullCount);
+                    pull = null;
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (availableItems != null) {
+                result.complete(availableItems);
+            }
+            return result;
+        }
+
+        private List<Object> takeBufferedItems(int count) {
+            List<Object> items = new ArrayList<>(bufferedItems.subList(0, Math.min(count, bufferedItems.size())));
+            bufferedItems.subList(0, items.size()).clear();
+            return items;
+        }
+
+        @Override
+        public boolean mayHaveMore() {
+            // an error that has not been raised yet counts as more, so that the next pull raises it
+            return lock.callLocked(() -> !cancelled && (!bufferedItems.isEmpty() || !ended || throwable != null));
+        }
+
+        @Override
+        public void cancel() {
+            Subscription cancelFrom = lock.callLocked(() -> {
+                cancelled = true;
+                bufferedItems.clear();
+                return subscription;
+            });
+            if (cancelFrom != null) {
+                cancelFrom.cancel();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            long demand;
+            boolean cancelNow;
+            lock.lock();
+            try {
+                this.subscription = subscription;
+                demand = pendingDemand;
+                pendingDemand = 0;
+                cancelNow = cancelled;
+            } finally {
+                lock.unlock();
+            }
+            if (cancelNow) {
+                subscription.cancel();
+            } else if (demand > 0) {
+                subscription.request(demand);
+            }
+        }
+
+        @Override
+        public void onNext(Object item) {
+            CompletableFuture<List<Object>> completedPull = null;
+            List<Object> items = null;
+            lock.lock();
+            try {
+                if (cancelled) {
+                    return;
+                }
+                outstandingDemand--;
+                bufferedItems.add(item);
+                // while the publisher is being asked for items the pull waits for all the items it delivers right away
+                if (pull != null && (bufferedItems.size() == pullCount || !(requesting || pullWaitsForCount))) {
+                    completedPull = pull;
+                    items = takeBufferedItems(pullCount);
+                    pull = null;
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (completedPull != null) {
+                completedPull.complete(items);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            end(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            end(null);
+        }
+
+        private void end(Throwable throwable) {
+            CompletableFuture<List<Object>> endedPull;
+            List<Object> items = null;
+            Throwable failure = null;
+            lock.lock();
+            try {
+                ended = true;
+                endedPull = pull;
+                pull = null;
+                if (endedPull != null) {
+                    items = takeBufferedItems(pullCount);
+                }
+                // the items pulled before an error are still delivered and the error is raised by the next pull
+                if (endedPull != null && items.isEmpty()) {
+                    failure = throwable;
+                } else {
+                    this.throwable = throwable;
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (endedPull != null) {
+                completePull(endedPull, items, failure);
+            }
+        }
+
+        private static void completePull(CompletableFuture<List<Object>> pull, List<Object> items, Throwable failure) {
+            if (failure != null) {
+                pull.completeExceptionally(failure);
+            } else {
+                pull.complete(items);
+            }
+        }
+    }
+}
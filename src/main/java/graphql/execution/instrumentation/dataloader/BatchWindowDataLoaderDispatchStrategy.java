@@ -0,0 +1,157 @@
+package graphql.execution.instrumentation.dataloader;
+
+import graphql.Internal;
+import graphql.execution.DataLoaderDispatchStrategy;
+import graphql.execution.ExecutionContext;
+import graphql.execution.ExecutionStrategyParameters;
+import graphql.schema.DataFetcher;
+import graphql.util.FpKit;
+import graphql.util.LockKit;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Dispatches a data loader as soon as it has enough pending keys or once the batch window expires, whichever comes first.
+ * <p>
+ * Unlike {@link PerLevelDataLoaderDispatchStrategy} this does not track the shape of the execution at all, so it works with
+ * any execution strategy and with deferred fields.
+ * <p>
+ * Only the fetches of fields that wait for a value are checked for pending keys, and they only check the data loaders that already
+ * have keys in the current window.  The whole registry is searched when a window opens or expires, when a batch completes, or when a
+ * fetch added no keys to the data loaders known so far.
+ * <p>
+ * When the operation is one of a batch of operations that share their data loaders, see {@link graphql.GraphQL#executeBatchAsync(List)},
+ * an expired window asks the {@link CoordinatedDataLoaderRegistry.Coordinator coordinator} of the batch to dispatch the shared data
+ * loaders, so that the keys of all the operations still end up in the same batches.  A data loader that reaches the max batch size
+ * is dispatched straight away though, since a full batch gains nothing from waiting for the other operations.
+ *
+ * @see BatchWindowDispatchOptions
+ */
+@Internal
+public class BatchWindowDataLoaderDispatchStrategy implements DataLoaderDispatchStrategy {
+
+    private static final Supplier<ScheduledExecutorService> SHARED_SCHEDULER = FpKit.interThreadMemoize(() ->
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "graphql-java-dataloader-batch-window");
+                thread.setDaemon(true);
+                return thread;
+            })
+    );
+
+    private final ExecutionContext executionContext;
+    private final int maxBatchSize;
+    private final long batchWindowMicros;
+    private final ScheduledExecutorService scheduler;
+
+    private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+    // the data loaders found with pending keys since the window opened, so that a field fetch does not check every data loader
+    private final Set<DataLoader<?, ?>> loadersWithKeys = new LinkedHashSet<>();
+    private int lastPendingKeys;
+    private boolean windowScheduled;
+
+    public BatchWindowDataLoaderDispatchStrategy(ExecutionContext executionContext, BatchWindowDispatchOptions options) {
+        this.executionContext = executionContext;
+        this.maxBatchSize = options.getMaxBatchSize();
+        this.batchWindowMicros = options.getBatchWindowMicros();
+        this.scheduler = options.getScheduledExecutorService() != null ? options.getScheduledExecutorService() : SHARED_SCHEDULER.get();
+    }
+
+    @Override
+    public void fieldFetched(ExecutionContext executionContext,
+                             ExecutionStrategyParameters executionStrategyParameters,
+                             DataFetcher<?> dataFetcher,
+                             Object fetchedValue) {
+        if (!(fetchedValue instanceof CompletableFuture) || ((CompletableFuture<?>) fetchedValue).isDone()) {
+            // a data fetcher that loaded keys is waiting for them
+            return;
+        }
+        checkPendingKeys(false);
+    }
+
+    private void checkPendingKeys(boolean searchRegistry) {
+        List<DataLoader<?, ?>> fullBatches = new ArrayList<>();
+        boolean openWindow = lock.callLocked(() -> {
+            if (searchRegistry || pendingKeys() <= lastPendingKeys) {
+                // the new keys, if any, went to a data loader that had none so far in this window
+                for (DataLoader<?, ?> dataLoader : executionContext.getDataLoaderRegistry().getDataLoaders()) {
+                    if (dataLoader.dispatchDepth() > 0) {
+                        loadersWithKeys.add(dataLoader);
+                    }
+                }
+            }
+            int remainingKeys = 0;
+            for (DataLoader<?, ?> dataLoader : loadersWithKeys) {
+                int depth = dataLoader.dispatchDepth();
+                if (depth >= maxBatchSize) {
+                    fullBatches.add(dataLoader);
+                } else {
+                    remainingKeys += depth;
+                }
+            }
+            lastPendingKeys = remainingKeys;
+            // only one window is open at a time, every pending key is dispatched when it expires
+            if (remainingKeys == 0 || windowScheduled) {
+                return false;
+            }
+            windowScheduled = true;
+            return true;
+        });
+        for (DataLoader<?, ?> dataLoader : fullBatches) {
+            dispatch(dataLoader);
+        }
+        if (openWindow) {
+            scheduler.schedule(this::windowExpired, batchWindowMicros, TimeUnit.MICROSECONDS);
+        }
+    }
+
+    private int pendingKeys() {
+        int pendingKeys = 0;
+        for (DataLoader<?, ?> dataLoader : loadersWithKeys) {
+            pendingKeys += dataLoader.dispatchDepth();
+        }
+        return pendingKeys;
+    }
+
+    private void windowExpired() {
+        DataLoaderRegistry dataLoaderRegistry = executionContext.getDataLoaderRegistry();
+        if (dataLoaderRegistry instanceof CoordinatedDataLoaderRegistry) {
+            lock.runLocked(() -> {
+                windowScheduled = false;
+                loadersWithKeys.clear();
+                lastPendingKeys = 0;
+            });
+            ((CoordinatedDataLoaderRegistry) dataLoaderRegistry).requestDispatch().whenComplete((result, throwable) -> checkPendingKeys(true));
+            return;
+        }
+        List<DataLoader<?, ?>> pending = lock.callLocked(() -> {
+            windowScheduled = false;
+            loadersWithKeys.clear();
+            lastPendingKeys = 0;
+            List<DataLoader<?, ?>> dataLoaders = new ArrayList<>();
+            for (DataLoader<?, ?> dataLoader : executionContext.getDataLoaderRegistry().getDataLoaders()) {
+                if (dataLoader.dispatchDepth() > 0) {
+                    dataLoaders.add(dataLoader);
+                }
+            }
+            return dataLoaders;
+        });
+        for (DataLoader<?, ?> dataLoader : pending) {
+            dispatch(dataLoader);
+        }
+    }
+
+    private void dispatch(DataLoader<?, ?> dataLoader) {
+        // keys can be loaded from the completion of a batch rather than from a data fetcher, and they need a window too
+        dataLoader.dispatch().whenComplete((values, throwable) -> checkPendingKeys(true));
+    }
+}
@@ -0,0 +1,129 @@
+package graphql.execution.instrumentation.dataloader;
+
+import graphql.Assert;
+import graphql.ExperimentalApi;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+/**
+ * When an instance of this class is put into the {@link graphql.GraphQLContext} of an execution, keyed by
+ * {@code BatchWindowDispatchOptions.class}, the {@link org.dataloader.DataLoader}s of that execution are dispatched
+ * by size and time rather than level by level.
+ * <p>
+ * A data loader is dispatched as soon as it has {@link #getMaxBatchSize()} keys pending, and any data loader with pending
+ * keys is dispatched once the batch window of {@link #getBatchWindowMicros()} microseconds expires, whichever comes first.
+ * This means a slow branch of a query does not hold back the batching of its faster sibling branches.
+ * <p>
+ * This works with every execution strategy, including {@link graphql.execution.AsyncSerialExecutionStrategy}, and with
+ * {@code @defer}.
+ * <pre>
+ * {@code
+ *     ExecutionInput executionInput = ExecutionInput.newExecutionInput(query)
+ *             .dataLoaderRegistry(dataLoaderRegistry)
+ *             .graphQLContext(Map.of(BatchWindowDispatchOptions.class, BatchWindowDispatchOptions.newOptions().maxBatchSize(50).build()))
+ *             .build();
+ * }
+ * </pre>
+ */
+@ExperimentalApi
+public class BatchWindowDispatchOptions {
+
+    /**
+     * The default maximum number of pending keys of a data loader before it is dispatched
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    /**
+     * The default batch window in microseconds
+     */
+    public static final long DEFAULT_BATCH_WINDOW_MICROS = 1_000;
+
+    private final int maxBatchSize;
+    private final long batchWindowMicros;
+    private final ScheduledExecutorService scheduledExecutorService;
+
+    private BatchWindowDispatchOptions(Builder builder) {
+        this.maxBatchSize = builder.maxBatchSize;
+        this.batchWindowMicros = builder.batchWindowMicros;
+        this.scheduledExecutorService = builder.scheduledExecutorService;
+    }
+
+    /**
+     * @return the number of pending keys that causes a data loader to be dispatched straight away
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * @return the number of microseconds pending keys can wait before their data loader is dispatched
+     */
+    public long getBatchWindowMicros() {
+        return batchWindowMicros;
+    }
+
+    /**
+     * @return the scheduler used to time the batch windows or null if a shared daemon thread should be used
+     */
+    public ScheduledExecutorService getScheduledExecutorService() {
+        return scheduledExecutorService;
+    }
+
+    /**
+     * This helps you transform the current BatchWindowDispatchOptions object into another one by starting a builder with all
+     * the current values and allows you to transform it how you want.
+     *
+     * @param builderConsumer the consumer code that will be given a builder to transform
+     *
+     * @return a new BatchWindowDispatchOptions object based on calling build on that builder
+     */
+    public BatchWindowDispatchOptions transform(Consumer<Builder> builderConsumer) {
+        Builder builder = new Builder(this);
+        builderConsumer.accept(builder);
+        return builder.build();
+    }
+
+    /**
+     * @return a new builder of BatchWindowDispatchOptions
+     */
+    public static Builder newOptions() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+        private long batchWindowMicros = DEFAULT_BATCH_WINDOW_MICROS;
+        private ScheduledExecutorService scheduledExecutorService;
+
+        private Builder() {
+        }
+
+        private Builder(BatchWindowDispatchOptions other) {
+            this.maxBatchSize = other.maxBatchSize;
+            this.batchWindowMicros = other.batchWindowMicros;
+            this.scheduledExecutorService = other.scheduledExecutorService;
+        }
+
+        public Builder maxBatchSize(int maxBatchSize) {
+            Assert.assertTrue(maxBatchSize > 0, () -> "maxBatchSize must be greater than 0");
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        public Builder batchWindowMicros(long batchWindowMicros) {
+            Assert.assertTrue(batchWindowMicros >= 0, () -> "batchWindowMicros must not be negative");
+            this.batchWindowMicros = batchWindowMicros;
+            return this;
+        }
+
+        public Builder scheduledExecutorService(ScheduledExecutorService scheduledExecutorService) {
+            this.scheduledExecutorService = scheduledExecutorService;
+            return this;
+        }
+
+        public BatchWindowDispatchOptions build() {
+            return new BatchWindowDispatchOptions(this);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package graphql.execution.instrumentation.dataloader;
+
+import graphql.Internal;
+import graphql.util.LockKit;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static graphql.Assert.assertNotNull;
+
+/**
+ * The {@link DataLoaderRegistry} of one operation of a batch of operations that share their data loaders.
+ * <p>
+ * It holds the same data loaders as the shared registry, however when the dispatch strategy of its operation calls
+ * {@link #dispatchAll()} the data loaders are not dispatched straight away.  Instead the {@link Coordinator} of the batch waits until
+ * every running operation of the batch has asked for a dispatch, or has completed, and then dispatches the shared data loaders once.
+ * This way the keys loaded by all the operations end up in the same batches.
+ * <p>
+ * A dispatch strategy that dispatches data loaders one by one, rather than via {@link #dispatchAll()}, should use
+ * {@link #requestDispatch()} instead when its registry is a coordinated one.
+ */
+@Internal
+public class CoordinatedDataLoaderRegistry extends DataLoaderRegistry {
+
+    private final Coordinator coordinator;
+
+    CoordinatedDataLoaderRegistry(Coordinator coordinator) {
+        this.coordinator = coordinator;
+        DataLoaderRegistry sharedRegistry = coordinator.sharedRegistry;
+        for (String key : sharedRegistry.getKeys()) {
+            super.register(key, sharedRegistry.getDataLoader(key));
+        }
+    }
+
+    @Override
+    public DataLoaderRegistry register(String key, DataLoader<?, ?> dataLoader) {
+        coordinator.sharedRegistry.register(key, dataLoader);
+        return super.register(key, dataLoader);
+    }
+
+    @Override
+    public <K, V> DataLoader<K, V> computeIfAbsent(String key, Function<String, DataLoader<?, ?>> mappingFunction) {
+        DataLoader<K, V> dataLoader = coordinator.sharedRegistry.computeIfAbsent(key, mappingFunction);
+        super.register(key, dataLoader);
+        return dataLoader;
+    }
+
+    @Override
+    public DataLoaderRegistry unregister(String key) {
+        coordinator.sharedRegistry.unregister(key);
+        return super.unregister(key);
+    }
+
+    @Override
+    public <K, V> DataLoader<K, V> getDataLoader(String key) {
+        DataLoader<K, V> dataLoader = super.getDataLoader(key);
+        if (dataLoader == null) {
+            // registered by another operation of the batch
+            dataLoader = coordinator.sharedRegistry.getDataLoader(key);
+        }
+        return dataLoader;
+    }
+
+    @Override
+    public void dispatchAll() {
+        coordinator.dispatchRequested(this);
+    }
+
+    /**
+     * Asks the coordinator to dispatch the shared data loaders, just like {@link #dispatchAll()} does
+     *
+     * @return a promise that completes once the shared data loaders have been dispatched and their batches have completed
+     */
+    public CompletableFuture<Void> requestDispatch() {
+        return coordinator.dispatchRequested(this);
+    }
+
+    /**
+     * Decides when the shared data loaders of a batch of operations are dispatched
+     */
+    @Internal
+    public static class Coordinator {
+
+        private final DataLoaderRegistry sharedRegistry;
+        private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+        private final Set<CoordinatedDataLoaderRegistry> runningOperations = new HashSet<>();
+        private final Set<CoordinatedDataLoaderRegistry> waitingOperations = new HashSet<>();
+        // completes once the dispatch that the waiting operations wait for is done
+        private CompletableFuture<Void> nextDispatch = new CompletableFuture<>();
+
+        public Coordinator(DataLoaderRegistry sharedRegistry) {
+            this.sharedRegistry = assertNotNull(sharedRegistry);
+        }
+
+        /**
+         * Creates the registry of an operation, which counts as running until {@link #operationCompleted(CoordinatedDataLoaderRegistry)}
+         * is called.  All the operations must be started before any of them is executed.
+         *
+         * @return the registry to execute the operation with
+         */
+        public CoordinatedDataLoaderRegistry operationStarted() {
+            CoordinatedDataLoaderRegistry registry = new CoordinatedDataLoaderRegistry(this);
+            lock.runLocked(() -> runningOperations.add(registry));
+            return registry;
+        }
+
+        /**
+         * @param registry the registry of the operation that has completed
+         */
+        public void operationCompleted(CoordinatedDataLoaderRegistry registry) {
+            CompletableFuture<Void> claimedDispatch = lock.callLocked(() -> {
+                runningOperations.remove(registry);
+                waitingOperations.remove(registry);
+                return claimDispatch();
+            });
+            if (claimedDispatch != null) {
+                dispatch(claimedDispatch);
+            }
+        }
+
+        private CompletableFuture<Void> dispatchRequested(CoordinatedDataLoaderRegistry registry) {
+            CompletableFuture<Void> requestedDispatch;
+            CompletableFuture<Void> claimedDispatch;
+            lock.lock();
+            try {
+                if (!runningOperations.contains(registry)) {
+                    // deferred fields can still be fetched after the operation has completed, nothing waits for them anymore
+                    requestedDispatch = new CompletableFuture<>();
+                    claimedDispatch = requestedDispatch;
+                } else {
+                    waitingOperations.add(registry);
+                    requestedDispatch = nextDispatch;
+                    claimedDispatch = claimDispatch();
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (claimedDispatch != null) {
+                // the operations carry on from the completed data loader calls, possibly on this thread, and ask again when they need to
+                dispatch(claimedDispatch);
+            }
+            return requestedDispatch;
+        }
+
+        /*
+         * called with the lock held, returns the dispatch that the calling thread has to do, if any
+         */
+        private CompletableFuture<Void> claimDispatch() {
+            if (waitingOperations.isEmpty() || waitingOperations.size() < runningOperations.size()) {
+                return null;
+            }
+            waitingOperations.clear();
+            CompletableFuture<Void> claimedDispatch = nextDispatch;
+            nextDispatch = new CompletableFuture<>();
+            return claimedDispatch;
+        }
+
+        private void dispatch(CompletableFuture<Void> claimedDispatch) {
+            List<CompletableFuture<?>> batches = new ArrayList<>();
+            for (DataLoader<?, ?> dataLoader : sharedRegistry.getDataLoaders()) {
+                batches.add(dataLoader.dispatch());
+            }
+            CompletableFuture.allOf(batches.toArray(new CompletableFuture<?>[0]))
+                    .whenComplete((result, throwable) -> claimedDispatch.complete(null));
+        }
+    }
+}
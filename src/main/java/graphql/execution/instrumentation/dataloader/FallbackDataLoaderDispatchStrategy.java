@@ -3,8 +3,12 @@ package graphql.execution.instrumentation.dataloader;
 import graphql.Internal;
 import graphql.execution.DataLoaderDispatchStrategy;
 import graphql.execution.ExecutionContext;
+import graphql.schema.BatchedDataFetcher;
 import graphql.schema.DataFetcher;
 
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
 
 /**
  * Used when the execution strategy is not an AsyncExecutionStrategy: simply dispatch always after each DF.
@@ -20,7 +24,17 @@ public class FallbackDataLoaderDispatchStrategy implements DataLoaderDispatchStr
 
 
     @Override
+    @SuppressWarnings("unchecked")
     public DataFetcher<?> modifyDataFetcher(DataFetcher<?> dataFetcher) {
+        if (dataFetcher instanceof BatchedDataFetcher) {
+            // stays a batched data fetcher so that it is still batched by the BreadthFirstBatchedExecutionStrategy
+            BatchedDataFetcher<Object> batchedDataFetcher = (BatchedDataFetcher<Object>) dataFetcher;
+            return (BatchedDataFetcher<Object>) environments -> {
+                CompletionStage<List<Object>> values = batchedDataFetcher.getBatch(environments);
+                executionContext.getDataLoaderRegistry().dispatchAll();
+                return values;
+            };
+        }
         return (DataFetcher<Object>) environment -> {
             Object obj = dataFetcher.get(environment);
             executionContext.getDataLoaderRegistry().dispatchAll();
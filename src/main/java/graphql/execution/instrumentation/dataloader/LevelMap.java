@@ -2,10 +2,16 @@ package graphql.execution.instrumentation.dataloader;
 
 import graphql.Internal;
 
-import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
- * This data structure tracks the number of expected calls on a given level
+ * This data structure tracks the number of expected calls on a given level.
+ * <p>
+ * It is safe to use from multiple threads without locking.  The counts are held in atomic segments of doubling size
+ * which are created on demand, so growing the map never copies (and hence never loses) counts that other threads
+ * are concurrently updating.
  */
 @Internal
 public class LevelMap {
@@ -13,14 +19,21 @@ public class LevelMap {
     // A reasonable default that guarantees no additional allocations for most use cases.
     private static final int DEFAULT_INITIAL_SIZE = 16;
 
-    // this array is mutable in both size and contents.
-    private int[] countsByLevel;
+    // segment n holds FIRST_SEGMENT_SIZE << n levels, so this many segments covers every int level
+    private static final int FIRST_SEGMENT_SHIFT = 4;
+    private static final int FIRST_SEGMENT_SIZE = 1 << FIRST_SEGMENT_SHIFT;
+    private static final int MAX_SEGMENTS = Integer.SIZE - FIRST_SEGMENT_SHIFT;
+
+    private final AtomicReferenceArray<AtomicIntegerArray> segments = new AtomicReferenceArray<>(MAX_SEGMENTS);
+    private final AtomicInteger highestLevel = new AtomicInteger(-1);
 
     public LevelMap(int initialSize) {
         if (initialSize < 0) {
             throw new IllegalArgumentException("negative size " + initialSize);
         }
-        countsByLevel = new int[initialSize];
+        for (int level = 0; level < initialSize; level += segmentSize(segmentIndex(level))) {
+            getOrCreateSegment(level);
+        }
     }
 
     public LevelMap() {
@@ -28,36 +41,76 @@ public class LevelMap {
     }
 
     public int get(int level) {
-        maybeResize(level);
-        return countsByLevel[level];
+        checkLevel(level);
+        AtomicIntegerArray segment = segments.get(segmentIndex(level));
+        if (segment == null) {
+            return 0;
+        }
+        return segment.get(segmentOffset(level));
     }
 
-    public void increment(int level, int by) {
-        maybeResize(level);
-        countsByLevel[level] += by;
+    public int increment(int level, int by) {
+        int newValue = getOrCreateSegment(level).addAndGet(segmentOffset(level), by);
+        noteLevel(level);
+        return newValue;
     }
 
     public void set(int level, int newValue) {
-        maybeResize(level);
-        countsByLevel[level] = newValue;
+        getOrCreateSegment(level).set(segmentOffset(level), newValue);
+        noteLevel(level);
+    }
+
+    public boolean compareAndSet(int level, int expectedValue, int newValue) {
+        boolean updated = getOrCreateSegment(level).compareAndSet(segmentOffset(level), expectedValue, newValue);
+        noteLevel(level);
+        return updated;
     }
 
-    private void maybeResize(int level) {
+    private AtomicIntegerArray getOrCreateSegment(int level) {
+        checkLevel(level);
+        int segmentIndex = segmentIndex(level);
+        AtomicIntegerArray segment = segments.get(segmentIndex);
+        if (segment != null) {
+            return segment;
+        }
+        segments.compareAndSet(segmentIndex, null, new AtomicIntegerArray(segmentSize(segmentIndex)));
+        return segments.get(segmentIndex);
+    }
+
+    private void noteLevel(int level) {
+        int highest = highestLevel.get();
+        while (level > highest && !highestLevel.compareAndSet(highest, level)) {
+            highest = highestLevel.get();
+        }
+    }
+
+    private static void checkLevel(int level) {
         if (level < 0) {
             throw new IllegalArgumentException("negative level " + level);
         }
-        if (level + 1 > countsByLevel.length) {
-            int newSize = level == 0 ? 1 : level * 2;
-            countsByLevel = Arrays.copyOf(countsByLevel, newSize);
-        }
+    }
+
+    private static int segmentIndex(int level) {
+        int position = level + FIRST_SEGMENT_SIZE;
+        return (Integer.SIZE - 1 - Integer.numberOfLeadingZeros(position)) - FIRST_SEGMENT_SHIFT;
+    }
+
+    private static int segmentOffset(int level) {
+        int position = level + FIRST_SEGMENT_SIZE;
+        return position - Integer.highestOneBit(position);
+    }
+
+    private static int segmentSize(int segmentIndex) {
+        return FIRST_SEGMENT_SIZE << segmentIndex;
     }
 
     @Override
     public String toString() {
         StringBuilder result = new StringBuilder();
         result.append("IntMap[");
-        for (int i = 0; i < countsByLevel.length; i++) {
-            result.append("level=").append(i).append(",count=").append(countsByLevel[i]).append(" ");
+        int highest = highestLevel.get();
+        for (int i = 0; i <= highest; i++) {
+            result.append("level=").append(i).append(",count=").append(get(i)).append(" ");
         }
         result.append("]");
         return result.toString();
@@ -67,13 +120,21 @@ public class LevelMap {
         StringBuilder result = new StringBuilder();
         result.append("IntMap[");
         for (int i = 1; i <= level; i++) {
-            result.append("level=").append(i).append(",count=").append(countsByLevel[i]).append(" ");
+            result.append("level=").append(i).append(",count=").append(get(i)).append(" ");
         }
         result.append("]");
         return result.toString();
     }
 
     public void clear() {
-        Arrays.fill(countsByLevel, 0);
+        for (int i = 0; i < MAX_SEGMENTS; i++) {
+            AtomicIntegerArray segment = segments.get(i);
+            if (segment == null) {
+                continue;
+            }
+            for (int offset = 0; offset < segment.length(); offset++) {
+                segment.set(offset, 0);
+            }
+        }
     }
 }
@@ -1,42 +1,55 @@
 package graphql.execution.instrumentation.dataloader;
 
-import graphql.Assert;
 import graphql.Internal;
 import graphql.execution.DataLoaderDispatchStrategy;
 import graphql.execution.ExecutionContext;
 import graphql.execution.ExecutionStrategyParameters;
 import graphql.execution.FieldValueInfo;
 import graphql.execution.MergedField;
+import graphql.execution.incremental.DeferredCallContext;
 import graphql.schema.DataFetcher;
-import graphql.util.LockKit;
 import org.dataloader.DataLoaderRegistry;
 
-import java.util.LinkedHashSet;
+import java.util.Collections;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Internal
 public class PerLevelDataLoaderDispatchStrategy implements DataLoaderDispatchStrategy {
 
     private final CallStack callStack;
     private final ExecutionContext executionContext;
+    // each @defer block and each chunk of streamed items is resolved after the initial result and so gets its own call stack
+    private final Map<DeferredCallContext, CallStack> deferredCallStacks = new ConcurrentHashMap<>();
 
 
+    /*
+     * The call stack is updated from many threads without locking.  Each counter only ever goes up and the
+     * "expected" counters are always increased before the "happened" counters that they gate, so when a level
+     * is seen as ready all the counts it depends on are final.  Two threads can both see a level as ready
+     * at the same time and hence the dispatched levels are claimed via compare and set.
+     */
     private static class CallStack {
 
-        private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+        private final int startLevel;
         private final LevelMap expectedFetchCountPerLevel = new LevelMap();
         private final LevelMap fetchCountPerLevel = new LevelMap();
         private final LevelMap expectedStrategyCallsPerLevel = new LevelMap();
         private final LevelMap happenedStrategyCallsPerLevel = new LevelMap();
         private final LevelMap happenedOnFieldValueCallsPerLevel = new LevelMap();
 
-        private final Set<Integer> dispatchedLevels = new LinkedHashSet<>();
+        private final LevelMap dispatchedLevels = new LevelMap();
 
         public CallStack() {
+            this.startLevel = 1;
             expectedStrategyCallsPerLevel.set(1, 1);
         }
 
+        public CallStack(int startLevel) {
+            this.startLevel = startLevel;
+        }
+
         void increaseExpectedFetchCount(int level, int count) {
             expectedFetchCountPerLevel.increment(level, count);
         }
@@ -72,7 +85,8 @@ public class PerLevelDataLoaderDispatchStrategy implements DataLoaderDispatchStr
         @Override
         public String toString() {
             return "CallStack{" +
-                    "expectedFetchCountPerLevel=" + expectedFetchCountPerLevel +
+                    "startLevel=" + startLevel +
+                    ", expectedFetchCountPerLevel=" + expectedFetchCountPerLevel +
                     ", fetchCountPerLevel=" + fetchCountPerLevel +
                     ", expectedStrategyCallsPerLevel=" + expectedStrategyCallsPerLevel +
                     ", happenedStrategyCallsPerLevel=" + happenedStrategyCallsPerLevel +
@@ -83,12 +97,7 @@ public class PerLevelDataLoaderDispatchStrategy implements DataLoaderDispatchStr
 
 
         public boolean dispatchIfNotDispatchedBefore(int level) {
-            if (dispatchedLevels.contains(level)) {
-                Assert.assertShouldNeverHappen("level " + level + " already dispatched");
-                return false;
-            }
-            dispatchedLevels.add(level);
-            return true;
+            return dispatchedLevels.compareAndSet(level, 0, 1);
         }
     }
 
@@ -98,8 +107,51 @@ public class PerLevelDataLoaderDispatchStrategy implements DataLoaderDispatchStr
     }
 
     @Override
-    public void deferredField(ExecutionContext executionContext, MergedField currentField) {
-        throw new UnsupportedOperationException("Data Loaders cannot be used to resolve deferred fields");
+    public void deferredField(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+        // the fields of a @defer block are all siblings, so they start at the same level, and they act like a
+        // strategy call each since their field values are reported one by one
+        int level = parameters.getPath().getLevel();
+        CallStack deferredCallStack = getCallStack(parameters);
+        deferredCallStack.increaseExpectedFetchCount(level, 1);
+        deferredCallStack.increaseExpectedStrategyCalls(level, 1);
+    }
+
+    @Override
+    public void deferredFieldValueInfo(FieldValueInfo fieldValueInfo, ExecutionStrategyParameters parameters) {
+        int level = parameters.getPath().getLevel();
+        onFieldValuesInfoDispatchIfNeeded(Collections.singletonList(fieldValueInfo), level, parameters);
+    }
+
+    @Override
+    public void deferredFieldValueInfoException(Throwable t, ExecutionStrategyParameters parameters) {
+        int level = parameters.getPath().getLevel();
+        getCallStack(parameters).increaseHappenedOnFieldValueCalls(level);
+    }
+
+    @Override
+    public void streamedItems(ExecutionContext executionContext, ExecutionStrategyParameters parameters, int count) {
+        // a chunk of streamed items is completed on a call stack of its own, where each item acts like a strategy call
+        // whose only field value is the item itself
+        int level = parameters.getPath().getLevel();
+        getCallStack(parameters).increaseExpectedStrategyCalls(level, count);
+    }
+
+    @Override
+    public void streamedItemValueInfo(FieldValueInfo fieldValueInfo, ExecutionStrategyParameters parameters) {
+        int level = parameters.getPath().getLevel();
+        onFieldValuesInfoDispatchIfNeeded(Collections.singletonList(fieldValueInfo), level, parameters);
+    }
+
+    @Override
+    public void streamedItemValueInfoException(Throwable t, ExecutionStrategyParameters parameters) {
+        int level = parameters.getPath().getLevel();
+        getCallStack(parameters).increaseHappenedOnFieldValueCalls(level);
+    }
+
+    @Override
+    public void streamedItemsCompleted(ExecutionStrategyParameters parameters) {
+        // there is a call stack per chunk of streamed items, so they are let go of as soon as they are no longer needed
+        deferredCallStacks.remove(parameters.getDeferredCallContext());
     }
 
     @Override
@@ -116,9 +168,7 @@ public class PerLevelDataLoaderDispatchStrategy implements DataLoaderDispatchStr
 
     public void executionStrategyOnFieldValuesException(Throwable t, ExecutionStrategyParameters executionStrategyParameters) {
         int curLevel = executionStrategyParameters.getPath().getLevel() + 1;
-        callStack.lock.runLocked(() ->
-                callStack.increaseHappenedOnFieldValueCalls(curLevel)
-        );
+        getCallStack(executionStrategyParameters).increaseHappenedOnFieldValueCalls(curLevel);
     }
 
 
@@ -138,37 +188,51 @@ public class PerLevelDataLoaderDispatchStrategy implements DataLoaderDispatchStr
     @Override
     public void executeObjectOnFieldValuesException(Throwable t, ExecutionStrategyParameters parameters) {
         int curLevel = parameters.getPath().getLevel() + 1;
-        callStack.lock.runLocked(() ->
-                callStack.increaseHappenedOnFieldValueCalls(curLevel)
-        );
+        getCallStack(parameters).increaseHappenedOnFieldValueCalls(curLevel);
     }
 
 
+    private CallStack getCallStack(ExecutionStrategyParameters parameters) {
+        DeferredCallContext deferredCallContext = parameters.getDeferredCallContext();
+        if (deferredCallContext == null) {
+            return callStack;
+        }
+        // the first deferred field of a @defer block is registered before anything else happens on its call stack
+        return deferredCallStacks.computeIfAbsent(deferredCallContext, key -> new CallStack(parameters.getPath().getLevel()));
+    }
+
     private void increaseCallCounts(int curLevel, ExecutionStrategyParameters executionStrategyParameters) {
-        int fieldCount = executionStrategyParameters.getFields().size();
-        callStack.lock.runLocked(() -> {
-            callStack.increaseExpectedFetchCount(curLevel, fieldCount);
-            callStack.increaseHappenedStrategyCalls(curLevel);
-        });
+        // deferred fields are fetched later on their own call stack
+        int fieldCount = getNonDeferredFieldCount(executionStrategyParameters);
+        CallStack callStack = getCallStack(executionStrategyParameters);
+        // the expected fetches must be visible before the strategy call is counted as happened
+        callStack.increaseExpectedFetchCount(curLevel, fieldCount);
+        callStack.increaseHappenedStrategyCalls(curLevel);
+    }
+
+    private int getNonDeferredFieldCount(ExecutionStrategyParameters executionStrategyParameters) {
+        int result = 0;
+        for (MergedField mergedField : executionStrategyParameters.getFields().getSubFieldsList()) {
+            if (mergedField.getDeferredExecutions().isEmpty()) {
+                result += 1;
+            }
+        }
+        return result;
     }
 
     private void onFieldValuesInfoDispatchIfNeeded(List<FieldValueInfo> fieldValueInfoList, int curLevel, ExecutionStrategyParameters parameters) {
-        boolean dispatchNeeded = callStack.lock.callLocked(() ->
-                handleOnFieldValuesInfo(fieldValueInfoList, curLevel)
-        );
+        boolean dispatchNeeded = handleOnFieldValuesInfo(getCallStack(parameters), fieldValueInfoList, curLevel);
         if (dispatchNeeded) {
             dispatch(curLevel);
         }
     }
 
-    //
-// thread safety: called with callStack.lock
-//
-    private boolean handleOnFieldValuesInfo(List<FieldValueInfo> fieldValueInfos, int curLevel) {
-        callStack.increaseHappenedOnFieldValueCalls(curLevel);
+    private boolean handleOnFieldValuesInfo(CallStack callStack, List<FieldValueInfo> fieldValueInfos, int curLevel) {
+        // the expected strategy calls of the next level must be visible before the on field values call is counted as happened
         int expectedStrategyCalls = getCountForList(fieldValueInfos);
         callStack.increaseExpectedStrategyCalls(curLevel + 1, expectedStrategyCalls);
-        return dispatchIfNeeded(curLevel + 1);
+        callStack.increaseHappenedOnFieldValueCalls(curLevel);
+        return dispatchIfNeeded(callStack, curLevel + 1);
     }
 
     private int getCountForList(List<FieldValueInfo> fieldValueInfos) {
@@ -190,10 +254,9 @@ public class PerLevelDataLoaderDispatchStrategy implements DataLoaderDispatchStr
                              DataFetcher<?> dataFetcher,
                              Object fetchedValue) {
         int level = executionStrategyParameters.getPath().getLevel();
-        boolean dispatchNeeded = callStack.lock.callLocked(() -> {
-            callStack.increaseFetchCount(level);
-            return dispatchIfNeeded(level);
-        });
+        CallStack callStack = getCallStack(executionStrategyParameters);
+        callStack.increaseFetchCount(level);
+        boolean dispatchNeeded = dispatchIfNeeded(callStack, level);
         if (dispatchNeeded) {
             dispatch(level);
         }
@@ -201,11 +264,8 @@ public class PerLevelDataLoaderDispatchStrategy implements DataLoaderDispatchStr
     }
 
 
-    //
-// thread safety : called with callStack.lock
-//
-    private boolean dispatchIfNeeded(int level) {
-        boolean ready = levelReady(level);
+    private boolean dispatchIfNeeded(CallStack callStack, int level) {
+        boolean ready = levelReady(callStack, level);
         if (ready) {
             return callStack.dispatchIfNotDispatchedBefore(level);
         }
@@ -213,14 +273,14 @@ public class PerLevelDataLoaderDispatchStrategy implements DataLoaderDispatchStr
     }
 
     //
-// thread safety: called with callStack.lock
+// thread safety: the lower levels are checked first because once they are ready the expected counts of this level are final
 //
-    private boolean levelReady(int level) {
-        if (level == 1) {
-            // level 1 is special: there is only one strategy call and that's it
-            return callStack.allFetchesHappened(1);
+    private boolean levelReady(CallStack callStack, int level) {
+        if (level == callStack.startLevel) {
+            // the start level is special: its expected fetches are all known before any of them happen
+            return callStack.allFetchesHappened(level);
         }
-        if (levelReady(level - 1) && callStack.allOnFieldCallsHappened(level - 1)
+        if (levelReady(callStack, level - 1) && callStack.allOnFieldCallsHappened(level - 1)
                 && callStack.allStrategyCallsHappened(level) && callStack.allFetchesHappened(level)) {
 
             return true;
@@ -0,0 +1,461 @@
+package graphql.execution.instrumentation.fieldcache;
+
+import graphql.Assert;
+import graphql.ExperimentalApi;
+import graphql.VisibleForTesting;
+import graphql.execution.DataFetcherResult;
+import graphql.execution.ExecutionContext;
+import graphql.execution.ExecutionStepInfo;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.normalized.ExecutableNormalizedField;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.util.LockKit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * This {@link graphql.execution.instrumentation.Instrumentation} caches the values fetched for selected fields across executions,
+ * which suits expensive fields whose values rarely change, such as configuration or catalog data.
+ * <p>
+ * A value is cached for the {@link FieldCoordinates} of the field on its object type, under a key made of
+ * <ul>
+ *     <li>the coerced arguments of the field</li>
+ *     <li>the identity of the parent object, as returned by the field's parent identity function.  By default this is null for the fields
+ *     of the operation root types and the source object otherwise, so the source object must have sensible equals and hashCode methods</li>
+ *     <li>the sub selection of the field, as given by its {@link ExecutableNormalizedField}, since a data fetcher may only fetch what
+ *     is selected</li>
+ * </ul>
+ * <pre>
+ * {@code
+ *     FieldResultCacheInstrumentation fieldResultCache = FieldResultCacheInstrumentation.newFieldResultCache()
+ *             .field(FieldCoordinates.coordinates("Query", "countries"), Duration.ofMinutes(10))
+ *             .field(FieldCoordinates.coordinates("Product", "category"), Duration.ofMinutes(1), env -> env.<Product>getSource().getId())
+ *             .maximumSize(10_000)
+ *             .build();
+ *
+ *     GraphQL graphQL = GraphQL.newGraphQL(schema).instrumentation(fieldResultCache).build();
+ * }
+ * </pre>
+ * A value is held for the time to live of its field, counted from when it was fetched, and the least recently used value is evicted once
+ * the cache holds more than its maximum size.  Concurrent fetches of the same key while a value is being fetched share that fetch.
+ * Exceptions and {@link DataFetcherResult}s with errors are not cached.
+ * <p>
+ * The cached values are shared by all executions, so they must not be modified, and fields whose values depend on anything else
+ * about the request, say the user in the {@link graphql.GraphQLContext}, must be given a parent identity function that captures it.
+ */
+@ExperimentalApi
+public class FieldResultCacheInstrumentation extends SimplePerformantInstrumentation {
+
+    /**
+     * The default maximum number of field values held
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private final Map<String, Map<String, CachedField>> cachedFields;
+    private final int maximumSize;
+    private final LongSupplier nanoTicker;
+    private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+    private final LinkedHashMap<Key, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    private FieldResultCacheInstrumentation(Builder builder) {
+        this.cachedFields = builder.cachedFields;
+        this.maximumSize = builder.maximumSize;
+        this.nanoTicker = builder.nanoTicker;
+        this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > FieldResultCacheInstrumentation.this.maximumSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return the maximum number of field values held
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return the number of field values held, including the ones that are still being fetched
+     */
+    public int size() {
+        return lock.callLocked(entries::size);
+    }
+
+    /**
+     * Removes all the field values
+     */
+    public void clear() {
+        lock.runLocked(entries::clear);
+    }
+
+    /**
+     * @return a snapshot of the statistics of this cache
+     */
+    public Stats getStats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum(), size());
+    }
+
+    @Override
+    public @Nullable InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        return new FieldResultCacheState();
+    }
+
+    @Override
+    public @NotNull DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher, InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+        DataFetchingEnvironment environment = parameters.getEnvironment();
+        CachedField cachedField = getCachedField(environment);
+        if (cachedField == null) {
+            return dataFetcher;
+        }
+        ExecutionContext executionContext = parameters.getExecutionContext();
+        FieldResultCacheState cacheState = (FieldResultCacheState) state;
+        return env -> {
+            Key key = new Key(cachedField,
+                    env.getArguments(),
+                    cachedField.parentIdentity.apply(env),
+                    subSelection(executionContext, env, cacheState));
+            return fetch(key, dataFetcher, env);
+        };
+    }
+
+    private CachedField getCachedField(DataFetchingEnvironment environment) {
+        Map<String, CachedField> fields = cachedFields.get(((GraphQLFieldsContainer) environment.getParentType()).getName());
+        return fields == null ? null : fields.get(environment.getFieldDefinition().getName());
+    }
+
+    private Object fetch(Key key, DataFetcher<?> dataFetcher, DataFetchingEnvironment environment) throws Exception {
+        Entry newEntry = new Entry();
+        Entry existingEntry = lock.callLocked(() -> {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.isExpired(nanoTicker.getAsLong())) {
+                entries.remove(key);
+                expirations.increment();
+                entry = null;
+            }
+            if (entry == null) {
+                entries.put(key, newEntry);
+            }
+            return entry;
+        });
+        if (existingEntry != null) {
+            hits.increment();
+            CompletableFuture<Object> value = existingEntry.value;
+            // a value that has been fetched is handed out as is, so that the engine can carry on synchronously
+            return value.isDone() && !value.isCompletedExceptionally() ? value.join() : value;
+        }
+        misses.increment();
+
+        Object fetchedValue;
+        try {
+            fetchedValue = dataFetcher.get(environment);
+        } catch (Exception | Error e) {
+            failed(key, newEntry, e);
+            throw e;
+        }
+        if (fetchedValue instanceof CompletionStage) {
+            ((CompletionStage<?>) fetchedValue).whenComplete((value, throwable) -> {
+                if (throwable != null) {
+                    failed(key, newEntry, throwable);
+                } else {
+                    fetched(key, newEntry, value);
+                }
+            });
+        } else {
+            fetched(key, newEntry, fetchedValue);
+        }
+        return fetchedValue;
+    }
+
+    private void fetched(Key key, Entry entry, Object value) {
+        if (value instanceof DataFetcherResult && ((DataFetcherResult<?>) value).hasErrors()) {
+            // the value is still handed to the fetches that were waiting for it but it is not kept
+            lock.runLocked(() -> entries.remove(key, entry));
+        } else {
+            entry.expiresAtNanos = nanoTicker.getAsLong() + key.cachedField.timeToLiveNanos;
+        }
+        entry.value.complete(value);
+    }
+
+    private void failed(Key key, Entry entry, Throwable throwable) {
+        lock.runLocked(() -> entries.remove(key, entry));
+        entry.value.completeExceptionally(throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+    }
+
+    private static String subSelection(ExecutionContext executionContext, DataFetchingEnvironment environment, FieldResultCacheState state) {
+        if (environment.getMergedField().getSingleField().getSelectionSet() == null) {
+            return "";
+        }
+        ExecutionStepInfo executionStepInfo = environment.getExecutionStepInfo();
+        ExecutableNormalizedField normalizedField = executionContext.getNormalizedQueryTree().get()
+                .getNormalizedField(environment.getMergedField(), executionStepInfo.getObjectType(), executionStepInfo.getPath());
+        if (normalizedField == null) {
+            return "";
+        }
+        return state.subSelections.computeIfAbsent(normalizedField, FieldResultCacheInstrumentation::subSelection);
+    }
+
+    /*
+     * a canonical form of the fields selected below a field, which leaves out aliases since they do not change what is fetched
+     */
+    private static String subSelection(ExecutableNormalizedField normalizedField) {
+        StringBuilder sb = new StringBuilder();
+        appendChildren(sb, normalizedField);
+        return sb.toString();
+    }
+
+    private static void appendChildren(StringBuilder sb, ExecutableNormalizedField normalizedField) {
+        List<ExecutableNormalizedField> children = normalizedField.getChildren();
+        if (children.isEmpty()) {
+            return;
+        }
+        sb.append('{');
+        for (ExecutableNormalizedField child : children) {
+            sb.append(new TreeSet<>(child.getObjectTypeNames())).append('.').append(child.getFieldName());
+            if (!child.getResolvedArguments().isEmpty()) {
+                sb.append(child.getResolvedArguments());
+            }
+            appendChildren(sb, child);
+            sb.append(' ');
+        }
+        sb.append('}');
+    }
+
+    /**
+     * A snapshot of the statistics of a {@link FieldResultCacheInstrumentation}
+     */
+    @ExperimentalApi
+    public static class Stats {
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final long expirationCount;
+        private final int size;
+
+        private Stats(long hitCount, long missCount, long evictionCount, long expirationCount, int size) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.expirationCount = expirationCount;
+            this.size = size;
+        }
+
+        /**
+         * @return the number of fetches that were served from the cache, including the ones that shared a fetch in flight
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * @return the number of fetches that called the data fetcher
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * @return the number of values that were evicted because the cache was full
+         */
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * @return the number of values that were removed because their time to live had passed
+         */
+        public long getExpirationCount() {
+            return expirationCount;
+        }
+
+        /**
+         * @return the number of values held when the snapshot was taken
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * @return the ratio of hits to fetches of cached fields or 0 if there were none
+         */
+        public double getHitRate() {
+            long fetches = hitCount + missCount;
+            return fetches == 0 ? 0 : (double) hitCount / fetches;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{" +
+                    "hitCount=" + hitCount +
+                    ", missCount=" + missCount +
+                    ", evictionCount=" + evictionCount +
+                    ", expirationCount=" + expirationCount +
+                    ", size=" + size +
+                    '}';
+        }
+    }
+
+    private static class FieldResultCacheState implements InstrumentationState {
+        private final Map<ExecutableNormalizedField, String> subSelections = new ConcurrentHashMap<>();
+    }
+
+    private static class CachedField {
+        private final FieldCoordinates coordinates;
+        private final long timeToLiveNanos;
+        private final Function<DataFetchingEnvironment, Object> parentIdentity;
+
+        private CachedField(FieldCoordinates coordinates, Duration timeToLive, Function<DataFetchingEnvironment, Object> parentIdentity) {
+            this.coordinates = coordinates;
+            this.timeToLiveNanos = timeToLive.toNanos();
+            this.parentIdentity = parentIdentity;
+        }
+    }
+
+    private static class Key {
+        private final CachedField cachedField;
+        private final Map<String, Object> arguments;
+        private final Object parentIdentity;
+        private final String subSelection;
+        private final int hashCode;
+
+        private Key(CachedField cachedField, Map<String, Object> arguments, Object parentIdentity, String subSelection) {
+            this.cachedField = cachedField;
+            this.arguments = arguments;
+            this.parentIdentity = parentIdentity;
+            this.subSelection = subSelection;
+            this.hashCode = Objects.hash(cachedField.coordinates, arguments, parentIdentity, subSelection);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return cachedField == key.cachedField
+                    && arguments.equals(key.arguments)
+                    && Objects.equals(parentIdentity, key.parentIdentity)
+                    && subSelection.equals(key.subSelection);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static class Entry {
+        private final CompletableFuture<Object> value = new CompletableFuture<>();
+        // a value that is still being fetched does not expire
+        private volatile long expiresAtNanos = Long.MAX_VALUE;
+
+        private boolean isExpired(long nowNanos) {
+            return expiresAtNanos != Long.MAX_VALUE && nowNanos - expiresAtNanos >= 0;
+        }
+    }
+
+    /**
+     * @return a new builder of FieldResultCacheInstrumentation
+     */
+    public static Builder newFieldResultCache() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final Map<String, Map<String, CachedField>> cachedFields = new LinkedHashMap<>();
+        private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+        private LongSupplier nanoTicker = System::nanoTime;
+
+        private Builder() {
+        }
+
+        /**
+         * Caches the values of a field, keyed by its arguments and sub selection, and by its source object unless it is a field of an
+         * operation root type
+         *
+         * @param coordinates the coordinates of the field on its object type
+         * @param timeToLive  how long a value is held after it was fetched
+         *
+         * @return this builder
+         */
+        public Builder field(FieldCoordinates coordinates, Duration timeToLive) {
+            return field(coordinates, timeToLive, FieldResultCacheInstrumentation::defaultParentIdentity);
+        }
+
+        /**
+         * Caches the values of a field, keyed by its arguments, sub selection and the identity of its parent object
+         *
+         * @param coordinates    the coordinates of the field on its object type
+         * @param timeToLive     how long a value is held after it was fetched
+         * @param parentIdentity a function that returns the identity of the parent object, say its id, or null if the value does not
+         *                       depend on the parent object
+         *
+         * @return this builder
+         */
+        public Builder field(FieldCoordinates coordinates, Duration timeToLive, Function<DataFetchingEnvironment, Object> parentIdentity) {
+            Assert.assertNotNull(coordinates);
+            Assert.assertTrue(!timeToLive.isNegative() && !timeToLive.isZero(), () -> "timeToLive must be positive");
+            Assert.assertNotNull(parentIdentity);
+            cachedFields.computeIfAbsent(coordinates.getTypeName(), typeName -> new LinkedHashMap<>())
+                    .put(coordinates.getFieldName(), new CachedField(coordinates, timeToLive, parentIdentity));
+            return this;
+        }
+
+        /**
+         * @param maximumSize the maximum number of field values held, the least recently used one is evicted beyond that
+         *
+         * @return this builder
+         */
+        public Builder maximumSize(int maximumSize) {
+            Assert.assertTrue(maximumSize > 0, () -> "maximumSize must be greater than 0");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        @VisibleForTesting
+        Builder nanoTicker(LongSupplier nanoTicker) {
+            this.nanoTicker = Assert.assertNotNull(nanoTicker);
+            return this;
+        }
+
+        public FieldResultCacheInstrumentation build() {
+            return new FieldResultCacheInstrumentation(this);
+        }
+    }
+
+    private static Object defaultParentIdentity(DataFetchingEnvironment environment) {
+        return environment.getExecutionStepInfo().getPath().getLevel() == 1 ? null : environment.getSource();
+    }
+}
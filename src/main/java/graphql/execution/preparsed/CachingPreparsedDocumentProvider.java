@@ -0,0 +1,374 @@
+package graphql.execution.preparsed;
+
+import graphql.Assert;
+import graphql.ExecutionInput;
+import graphql.ExperimentalApi;
+import graphql.util.LockKit;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * A {@link PreparsedDocumentProvider} that caches parsed and validated documents in memory, keyed by their query text.
+ * <p>
+ * The cache is bounded, either by a maximum number of entries or by a maximum estimated weight in bytes, and it uses
+ * frequency aware eviction in the manner of W-TinyLFU.  New entries enter a small LRU window and when they leave it they are
+ * only admitted to the main LRU region if they have been seen more often than the entry they would evict.  This means a burst
+ * of one off queries can't flush out the queries that are executed all the time.
+ * <p>
+ * Reads never block on the parsing and validation of other queries.  Concurrent misses for the same query text are coalesced
+ * so that only one of them parses and validates the query and the others wait for its result.  The waiting executions (like cache hits)
+ * don't see any parsing or validation {@link graphql.execution.instrumentation.Instrumentation} calls.
+ * <p>
+ * Since the query text is the only key, a provider should only be used with one {@link graphql.schema.GraphQLSchema}.
+ *
+ * @see #getStats()
+ */
+@ExperimentalApi
+public class CachingPreparsedDocumentProvider implements PreparsedDocumentProvider {
+
+    /**
+     * The default maximum number of entries when neither a maximum number of entries nor a maximum weight is set
+     */
+    public static final long DEFAULT_MAXIMUM_ENTRIES = 1_000;
+
+    /**
+     * A document is a lot bigger than its query text, this is a rough estimate of how many bytes a parsed document
+     * takes up per character of its query text
+     */
+    public static final long ESTIMATED_BYTES_PER_QUERY_CHARACTER = 40;
+
+    private static final long ESTIMATED_AVERAGE_QUERY_LENGTH = 1_024;
+
+    private final Map<String, Node> data = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<PreparsedDocumentEntry>> inFlight = new ConcurrentHashMap<>();
+    private final ToLongBiFunction<String, PreparsedDocumentEntry> weigher;
+
+    // the eviction policy is guarded by the lock
+    private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+    private final LinkedHashMap<String, Node> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Node> main = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch sketch;
+    private final long windowMaximum;
+    private final long mainMaximum;
+    private long windowWeight;
+    private long mainWeight;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    private CachingPreparsedDocumentProvider(Builder builder) {
+        long maximum;
+        long expectedEntries;
+        if (builder.maximumWeight > 0) {
+            maximum = builder.maximumWeight;
+            expectedEntries = maximum / (ESTIMATED_AVERAGE_QUERY_LENGTH * ESTIMATED_BYTES_PER_QUERY_CHARACTER);
+            this.weigher = builder.weigher != null ? builder.weigher : CachingPreparsedDocumentProvider::estimateWeight;
+        } else {
+            maximum = builder.maximumEntries > 0 ? builder.maximumEntries : DEFAULT_MAXIMUM_ENTRIES;
+            expectedEntries = maximum;
+            this.weigher = (query, entry) -> 1;
+        }
+        // like W-TinyLFU we keep 1% of the cache as the admission window
+        this.windowMaximum = Math.max(1, maximum / 100);
+        this.mainMaximum = Math.max(0, maximum - windowMaximum);
+        this.sketch = new FrequencySketch(expectedEntries);
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        String query = executionInput.getQuery();
+        Node node = data.get(query);
+        if (node != null) {
+            return hit(node);
+        }
+
+        CompletableFuture<PreparsedDocumentEntry> load = new CompletableFuture<>();
+        CompletableFuture<PreparsedDocumentEntry> existingLoad = inFlight.putIfAbsent(query, load);
+        if (existingLoad != null) {
+            coalescedCount.increment();
+            return existingLoad;
+        }
+        try {
+            // another load may have finished between our look up and us becoming the loader
+            node = data.get(query);
+            if (node != null) {
+                load.complete(node.entry);
+                return hit(node);
+            }
+            missCount.increment();
+            PreparsedDocumentEntry entry = parseAndValidateFunction.apply(executionInput);
+            put(query, entry);
+            load.complete(entry);
+            return load;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(query, load);
+        }
+    }
+
+    /**
+     * @return a snapshot of the statistics of this cache
+     */
+    public Stats getStats() {
+        long weightedSize = lock.callLocked(() -> windowWeight + mainWeight);
+        return new Stats(hitCount.sum(), missCount.sum(), coalescedCount.sum(), evictionCount.sum(), data.size(), weightedSize);
+    }
+
+    /**
+     * Removes all the entries from this cache.  The statistics are kept.
+     */
+    public void invalidateAll() {
+        lock.runLocked(() -> {
+            data.clear();
+            window.clear();
+            main.clear();
+            windowWeight = 0;
+            mainWeight = 0;
+        });
+    }
+
+    private CompletableFuture<PreparsedDocumentEntry> hit(Node node) {
+        hitCount.increment();
+        // recording an access is best effort, we would rather lose some frequency information than have readers wait on each other
+        if (lock.tryLock()) {
+            try {
+                sketch.increment(node.query);
+                // the access ordered maps move the node to their most recently used end
+                if (node.inWindow) {
+                    window.get(node.query);
+                } else {
+                    main.get(node.query);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return CompletableFuture.completedFuture(node.entry);
+    }
+
+    private void put(String query, PreparsedDocumentEntry entry) {
+        Node node = new Node(query, entry, Math.max(1, weigher.applyAsLong(query, entry)));
+        lock.lock();
+        try {
+            sketch.increment(query);
+            Node previous = data.put(query, node);
+            if (previous != null) {
+                removeFromPolicy(previous);
+            }
+            window.put(query, node);
+            windowWeight += node.weight;
+            evictFromWindow();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictFromWindow() {
+        while (windowWeight > windowMaximum && !window.isEmpty()) {
+            Node candidate = window.values().iterator().next();
+            window.remove(candidate.query);
+            windowWeight -= candidate.weight;
+            candidate.inWindow = false;
+            admitToMain(candidate);
+        }
+    }
+
+    private void admitToMain(Node candidate) {
+        main.put(candidate.query, candidate);
+        mainWeight += candidate.weight;
+        while (mainWeight > mainMaximum) {
+            Node victim = main.values().iterator().next();
+            // the candidate only gets in if it's more popular than the least recently used entry it would replace
+            if (victim != candidate && sketch.frequency(candidate.query) <= sketch.frequency(victim.query)) {
+                victim = candidate;
+            }
+            main.remove(victim.query);
+            mainWeight -= victim.weight;
+            data.remove(victim.query, victim);
+            evictionCount.increment();
+            if (victim == candidate) {
+                return;
+            }
+        }
+    }
+
+    private void removeFromPolicy(Node node) {
+        if (node.inWindow && window.remove(node.query, node)) {
+            windowWeight -= node.weight;
+        } else if (!node.inWindow && main.remove(node.query, node)) {
+            mainWeight -= node.weight;
+        }
+    }
+
+    private static long estimateWeight(String query, PreparsedDocumentEntry entry) {
+        return query.length() * ESTIMATED_BYTES_PER_QUERY_CHARACTER;
+    }
+
+    private static class Node {
+        private final String query;
+        private final PreparsedDocumentEntry entry;
+        private final long weight;
+        private boolean inWindow = true;
+
+        private Node(String query, PreparsedDocumentEntry entry, long weight) {
+            this.query = query;
+            this.entry = entry;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * A point in time snapshot of the statistics of a {@link CachingPreparsedDocumentProvider}
+     */
+    @ExperimentalApi
+    public static class Stats {
+        private final long hitCount;
+        private final long missCount;
+        private final long coalescedCount;
+        private final long evictionCount;
+        private final long entryCount;
+        private final long weightedSize;
+
+        private Stats(long hitCount, long missCount, long coalescedCount, long evictionCount, long entryCount, long weightedSize) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.coalescedCount = coalescedCount;
+            this.evictionCount = evictionCount;
+            this.entryCount = entryCount;
+            this.weightedSize = weightedSize;
+        }
+
+        /**
+         * @return the number of times a document was found in the cache
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * @return the number of times a document had to be parsed and validated
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * @return the number of misses that waited on the parsing and validation of the same query by another execution
+         */
+        public long getCoalescedCount() {
+            return coalescedCount;
+        }
+
+        /**
+         * @return the number of documents that were evicted to keep the cache within its bounds
+         */
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * @return the number of documents in the cache
+         */
+        public long getEntryCount() {
+            return entryCount;
+        }
+
+        /**
+         * @return the total weight of the documents in the cache, which is the entry count unless the cache is bounded by weight
+         */
+        public long getWeightedSize() {
+            return weightedSize;
+        }
+
+        /**
+         * @return the ratio of requests that were served from the cache, coalesced misses count as hits
+         */
+        public double getHitRate() {
+            long requestCount = hitCount + missCount + coalescedCount;
+            return requestCount == 0 ? 1.0 : (double) (hitCount + coalescedCount) / requestCount;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{" +
+                    "hitCount=" + hitCount +
+                    ", missCount=" + missCount +
+                    ", coalescedCount=" + coalescedCount +
+                    ", evictionCount=" + evictionCount +
+                    ", entryCount=" + entryCount +
+                    ", weightedSize=" + weightedSize +
+                    '}';
+        }
+    }
+
+    /**
+     * @return a new builder of CachingPreparsedDocumentProvider
+     */
+    public static Builder newCachingPreparsedDocumentProvider() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private long maximumEntries;
+        private long maximumWeight;
+        private ToLongBiFunction<String, PreparsedDocumentEntry> weigher;
+
+        private Builder() {
+        }
+
+        /**
+         * Bounds the cache by the number of documents it holds.
+         *
+         * @param maximumEntries the maximum number of documents
+         *
+         * @return this builder
+         */
+        public Builder maximumEntries(long maximumEntries) {
+            Assert.assertTrue(maximumEntries > 0, () -> "maximumEntries must be greater than 0");
+            this.maximumEntries = maximumEntries;
+            return this;
+        }
+
+        /**
+         * Bounds the cache by the total weight of the documents it holds.  Unless a {@link #weigher(ToLongBiFunction)} is given
+         * the weight of a document is its estimated size in bytes, based on the length of its query text.
+         *
+         * @param maximumWeight the maximum total weight
+         *
+         * @return this builder
+         */
+        public Builder maximumWeight(long maximumWeight) {
+            Assert.assertTrue(maximumWeight > 0, () -> "maximumWeight must be greater than 0");
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        /**
+         * The function used to weigh documents when the cache is bounded by {@link #maximumWeight(long)}
+         *
+         * @param weigher the weigher of a query text and its document
+         *
+         * @return this builder
+         */
+        public Builder weigher(ToLongBiFunction<String, PreparsedDocumentEntry> weigher) {
+            this.weigher = Assert.assertNotNull(weigher);
+            return this;
+        }
+
+        public CachingPreparsedDocumentProvider build() {
+            Assert.assertFalse(maximumEntries > 0 && maximumWeight > 0, () -> "Only one of maximumEntries or maximumWeight can be set");
+            Assert.assertTrue(weigher == null || maximumWeight > 0, () -> "A weigher can only be used with maximumWeight");
+            return new CachingPreparsedDocumentProvider(this);
+        }
+    }
+}
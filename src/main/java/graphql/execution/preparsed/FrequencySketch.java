@@ -0,0 +1,78 @@
+package graphql.execution.preparsed;
+
+import graphql.Internal;
+
+/**
+ * A count-min sketch that estimates how often keys have been seen, in the manner of TinyLFU.  The counters saturate at 15 and
+ * are halved once enough increments have happened so that the estimates favour recent popularity.
+ * <p>
+ * This class is not thread safe, the caller must guard it.
+ */
+@Internal
+public class FrequencySketch {
+
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final int MIN_WIDTH = 16;
+    private static final int MAX_WIDTH = 1 << 18;
+    private static final int[] SEEDS = {0x97cb3127, 0x9e3779b9, 0x7f4a7c15, 0x85ebca6b};
+
+    private final int[][] table;
+    private final int widthMask;
+    private final int sampleSize;
+    private int additions;
+
+    public FrequencySketch(long expectedEntries) {
+        int width = MIN_WIDTH;
+        while (width < expectedEntries && width < MAX_WIDTH) {
+            width <<= 1;
+        }
+        this.table = new int[DEPTH][width];
+        this.widthMask = width - 1;
+        this.sampleSize = 10 * width;
+    }
+
+    public void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = indexOf(hash, row);
+            if (table[row][index] < MAX_COUNT) {
+                table[row][index]++;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            age();
+        }
+    }
+
+    public int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_COUNT;
+        for (int row = 0; row < DEPTH; row++) {
+            frequency = Math.min(frequency, table[row][indexOf(hash, row)]);
+        }
+        return frequency;
+    }
+
+    private void age() {
+        for (int[] counters : table) {
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] >>>= 1;
+            }
+        }
+        additions /= 2;
+    }
+
+    private int indexOf(int hash, int row) {
+        int h = (hash ^ SEEDS[row]) * 0x9e3779b9;
+        h ^= h >>> 16;
+        return h & widthMask;
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x85ebca6b;
+        return h ^ (h >>> 13);
+    }
+}
@@ -1,8 +1,11 @@
 package graphql.execution.preparsed;
 
+import graphql.ExperimentalApi;
 import graphql.GraphQLError;
 import graphql.PublicApi;
+import graphql.execution.ExecutionPlan;
 import graphql.language.Document;
+import graphql.schema.GraphQLSchema;
 
 import java.io.Serializable;
 import java.util.List;
@@ -24,6 +27,7 @@ import static java.util.Collections.singletonList;
 public class PreparsedDocumentEntry implements Serializable {
     private final Document document;
     private final List<? extends GraphQLError> errors;
+    private transient volatile ExecutionPlan executionPlan;
 
     public PreparsedDocumentEntry(Document document,
                                   List<? extends GraphQLError> errors) {
@@ -60,4 +64,23 @@ public class PreparsedDocumentEntry implements Serializable {
     public boolean hasErrors() {
         return errors != null && !errors.isEmpty();
     }
+
+    /**
+     * Returns the {@link ExecutionPlan} of this entry's document for the given schema, creating it if needed.  The plan
+     * is not serialised with the entry, and it is re-created if the schema instance changes.
+     *
+     * @param graphQLSchema the schema the document is executed against
+     *
+     * @return the execution plan of this entry
+     */
+    @ExperimentalApi
+    public ExecutionPlan getExecutionPlan(GraphQLSchema graphQLSchema) {
+        assertNotNull(document, () -> "An execution plan can only be created for an entry with a document");
+        ExecutionPlan plan = executionPlan;
+        if (plan == null || !plan.isFor(graphQLSchema)) {
+            plan = new ExecutionPlan(document, graphQLSchema);
+            executionPlan = plan;
+        }
+        return plan;
+    }
 }
@@ -0,0 +1,178 @@
+package graphql.execution.reactive;
+
+import graphql.Internal;
+import graphql.execution.SubscriptionOverflowPolicy;
+import graphql.util.LockKit;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertNotNullWithNPE;
+
+/**
+ * A reactive Publisher that asks another Publisher for all of its elements and keeps the ones its subscriber has not yet asked for
+ * in a bounded buffer, as decided by a {@link SubscriptionOverflowPolicy}.
+ * <p>
+ * Each subscriber gets its own subscription to the upstream publisher and its own buffer.
+ */
+@Internal
+public class OverflowBufferPublisher implements Publisher<Object> {
+
+    private final Publisher<Object> upstreamPublisher;
+    private final SubscriptionOverflowPolicy overflowPolicy;
+
+    public OverflowBufferPublisher(Publisher<Object> upstreamPublisher, SubscriptionOverflowPolicy overflowPolicy) {
+        this.upstreamPublisher = assertNotNull(upstreamPublisher);
+        this.overflowPolicy = assertNotNull(overflowPolicy);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super Object> downstreamSubscriber) {
+        assertNotNullWithNPE(downstreamSubscriber, () -> "Subscriber passed to subscribe must not be null");
+        upstreamPublisher.subscribe(new BufferingSubscriber(downstreamSubscriber, overflowPolicy.newEventBuffer()));
+    }
+
+    /**
+     * @return the publisher whose elements are buffered
+     */
+    public Publisher<Object> getUpstreamPublisher() {
+        return upstreamPublisher;
+    }
+
+    private static class BufferingSubscriber implements Subscriber<Object>, Subscription {
+        private final Subscriber<? super Object> downstreamSubscriber;
+        private final SubscriptionOverflowPolicy.EventBuffer buffer;
+        private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+        private final AtomicInteger wip = new AtomicInteger();
+        private Subscription upstreamSubscription;
+        private long demand;
+        private boolean upstreamDone;
+        private Throwable upstreamError;
+        private boolean cancelled;
+        private boolean done;
+
+        private BufferingSubscriber(Subscriber<? super Object> downstreamSubscriber, SubscriptionOverflowPolicy.EventBuffer buffer) {
+            this.downstreamSubscriber = downstreamSubscriber;
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            lock.runLocked(() -> upstreamSubscription = subscription);
+            downstreamSubscriber.onSubscribe(this);
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(Object event) {
+            lock.runLocked(() -> {
+                if (!cancelled && !upstreamDone) {
+                    buffer.offer(event);
+                }
+            });
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            lock.runLocked(() -> {
+                upstreamDone = true;
+                upstreamError = throwable;
+            });
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            lock.runLocked(() -> upstreamDone = true);
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                Subscription cancelFrom = lock.callLocked(() -> {
+                    upstreamDone = true;
+                    upstreamError = new IllegalArgumentException("Reactive streams 3.9 spec violation: non-positive subscription request");
+                    buffer.clear();
+                    return upstreamSubscription;
+                });
+                cancelFrom.cancel();
+                drain();
+                return;
+            }
+            lock.runLocked(() -> demand = demand + n < 0 ? Long.MAX_VALUE : demand + n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            Subscription cancelFrom = lock.callLocked(() -> {
+                cancelled = true;
+                buffer.clear();
+                return upstreamSubscription;
+            });
+            cancelFrom.cancel();
+        }
+
+        /*
+         * only one thread at a time delivers signals downstream, any other thread just marks that there is more work to do
+         */
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            while (true) {
+                while (true) {
+                    Signal signal = lock.callLocked(this::nextSignal);
+                    if (signal == null) {
+                        break;
+                    }
+                    if (signal.event != null) {
+                        downstreamSubscriber.onNext(signal.event);
+                    } else if (signal.throwable != null) {
+                        downstreamSubscriber.onError(signal.throwable);
+                    } else {
+                        downstreamSubscriber.onComplete();
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private Signal nextSignal() {
+            if (cancelled || done) {
+                return null;
+            }
+            if (!buffer.isEmpty()) {
+                if (demand == 0) {
+                    return null;
+                }
+                demand--;
+                return new Signal(buffer.poll(), null);
+            }
+            if (upstreamDone) {
+                done = true;
+                return new Signal(null, upstreamError);
+            }
+            return null;
+        }
+    }
+
+    private static class Signal {
+        private final Object event;
+        private final Throwable throwable;
+
+        private Signal(Object event, Throwable throwable) {
+            this.event = event;
+            this.throwable = throwable;
+        }
+    }
+}
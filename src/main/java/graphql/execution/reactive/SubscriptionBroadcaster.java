@@ -0,0 +1,339 @@
+package graphql.execution.reactive;
+
+import graphql.Internal;
+import graphql.util.LockKit;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static graphql.Assert.assertNotNull;
+
+/**
+ * Subscribes to an upstream {@link Publisher} once and broadcasts each of its elements to any number of downstream publishers.
+ * <p>
+ * The upstream is subscribed to when the first downstream publisher is subscribed to, and it is asked for all of its elements, so
+ * that a slow downstream subscriber never holds back the others.  Instead, each downstream publisher buffers the elements its
+ * subscriber has not yet requested, up to a maximum.  A subscriber whose buffer overflows is sent an error and dropped.
+ * <p>
+ * A downstream publisher only counts once it has been subscribed to, so one that is never subscribed to holds nothing up.  The
+ * upstream is cancelled once every downstream subscriber has cancelled, after which no new downstream publisher can be created and
+ * a downstream publisher that is subscribed to late is sent an error.
+ *
+ * @param <T> the type of the elements
+ */
+@Internal
+public class SubscriptionBroadcaster<T> implements Subscriber<T> {
+
+    private final Publisher<T> upstreamPublisher;
+    private final int bufferSize;
+    private final IntFunction<Throwable> overflowErrorFactory;
+    private final Runnable onTerminated;
+    private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+    private final List<Downstream> downstreams = new ArrayList<>();
+
+    private boolean subscribed;
+    private boolean terminated;
+    private boolean completed;
+    private Throwable throwable;
+    private Subscription upstreamSubscription;
+
+    /**
+     * @param upstreamPublisher    the publisher whose elements are broadcast
+     * @param bufferSize           the maximum number of elements buffered for each downstream subscriber
+     * @param overflowErrorFactory creates the error a downstream subscriber is sent when its buffer overflows, given the buffer size
+     * @param onTerminated         called once when the upstream has completed, failed or been cancelled
+     */
+    public SubscriptionBroadcaster(Publisher<T> upstreamPublisher, int bufferSize, IntFunction<Throwable> overflowErrorFactory, Runnable onTerminated) {
+        this.upstreamPublisher = assertNotNull(upstreamPublisher);
+        this.bufferSize = bufferSize;
+        this.overflowErrorFactory = assertNotNull(overflowErrorFactory);
+        this.onTerminated = assertNotNull(onTerminated);
+    }
+
+    /**
+     * Creates a new downstream publisher, which can be subscribed to by a single subscriber
+     *
+     * @return a new downstream publisher or null if the upstream has already terminated
+     */
+    public Publisher<T> newDownstream() {
+        return lock.callLocked(() -> terminated ? null : new Downstream());
+    }
+
+    /**
+     * @return the number of downstream publishers that have been subscribed to and have not been cancelled or terminated
+     */
+    public int getDownstreamCount() {
+        return lock.callLocked(downstreams::size);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        boolean cancelNow = lock.callLocked(() -> {
+            upstreamSubscription = subscription;
+            return terminated;
+        });
+        if (cancelNow) {
+            subscription.cancel();
+        } else {
+            subscription.request(Long.MAX_VALUE);
+        }
+    }
+
+    @Override
+    public void onNext(T element) {
+        List<Downstream> receivers = lock.callLocked(() -> terminated ? List.<Downstream>of() : new ArrayList<>(downstreams));
+        for (Downstream downstream : receivers) {
+            downstream.offer(element);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        terminate(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        terminate(null);
+    }
+
+    private void terminate(Throwable throwable) {
+        List<Downstream> receivers;
+        lock.lock();
+        try {
+            if (terminated) {
+                return;
+            }
+            terminated = true;
+            completed = throwable == null;
+            this.throwable = throwable;
+            receivers = new ArrayList<>(downstreams);
+            downstreams.clear();
+        } finally {
+            lock.unlock();
+        }
+        onTerminated.run();
+        for (Downstream downstream : receivers) {
+            downstream.drain();
+        }
+    }
+
+    /*
+     * called with the lock of the downstream held, which is always taken before the lock of the broadcaster
+     */
+    private boolean add(Downstream downstream) {
+        return lock.callLocked(() -> {
+            if (terminated) {
+                // an upstream that has completed or failed still sends the downstream its terminal signal
+                return completed || throwable != null;
+            }
+            downstreams.add(downstream);
+            return true;
+        });
+    }
+
+    private void subscribeUpstream() {
+        boolean subscribeNow = lock.callLocked(() -> {
+            boolean first = !subscribed;
+            subscribed = true;
+            return first;
+        });
+        if (subscribeNow) {
+            upstreamPublisher.subscribe(this);
+        }
+    }
+
+    private void remove(Downstream downstream) {
+        Subscription cancelFrom = null;
+        lock.lock();
+        try {
+            if (!downstreams.remove(downstream) || !downstreams.isEmpty() || terminated) {
+                return;
+            }
+            // the last downstream subscriber is gone so there is no one left to broadcast to
+            terminated = true;
+            cancelFrom = upstreamSubscription;
+        } finally {
+            lock.unlock();
+        }
+        onTerminated.run();
+        if (cancelFrom != null) {
+            cancelFrom.cancel();
+        }
+    }
+
+    private class Downstream implements Publisher<T>, Subscription {
+        private final LockKit.ReentrantLock downstreamLock = new LockKit.ReentrantLock();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final ArrayDeque<T> buffer = new ArrayDeque<>();
+        private Subscriber<? super T> subscriber;
+        private long demand;
+        private boolean cancelled;
+        private boolean done;
+        private Throwable error;
+
+        @Override
+        public void subscribe(Subscriber<? super T> subscriber) {
+            assertNotNull(subscriber);
+            boolean first = downstreamLock.callLocked(() -> {
+                if (this.subscriber != null) {
+                    return false;
+                }
+                this.subscriber = subscriber;
+                return true;
+            });
+            if (!first) {
+                // the spec says a rejected subscriber still gets a subscription before the error
+                subscriber.onSubscribe(new Subscription() {
+                    @Override
+                    public void request(long n) {
+                    }
+
+                    @Override
+                    public void cancel() {
+                    }
+                });
+                subscriber.onError(new IllegalStateException("This publisher only supports one subscriber"));
+                return;
+            }
+            subscriber.onSubscribe(this);
+            boolean added = downstreamLock.callLocked(() -> {
+                // the subscriber may have cancelled straight away
+                if (cancelled) {
+                    return false;
+                }
+                if (!add(this)) {
+                    error = new IllegalStateException("The upstream publisher was cancelled before this publisher was subscribed to");
+                }
+                return true;
+            });
+            if (added) {
+                subscribeUpstream();
+                drain();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("Specification rule 3.9 violated: request must be greater than zero"));
+                return;
+            }
+            downstreamLock.runLocked(() -> {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            });
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            downstreamLock.runLocked(() -> {
+                cancelled = true;
+                buffer.clear();
+            });
+            remove(this);
+        }
+
+        private void offer(T element) {
+            boolean overflowed = downstreamLock.callLocked(() -> {
+                if (cancelled) {
+                    return false;
+                }
+                if (buffer.size() >= bufferSize) {
+                    return true;
+                }
+                buffer.add(element);
+                return false;
+            });
+            if (overflowed) {
+                fail(overflowErrorFactory.apply(bufferSize));
+            } else {
+                drain();
+            }
+        }
+
+        private void fail(Throwable throwable) {
+            boolean failNow = downstreamLock.callLocked(() -> {
+                if (cancelled || error != null) {
+                    return false;
+                }
+                error = throwable;
+                buffer.clear();
+                return true;
+            });
+            if (failNow) {
+                remove(this);
+                drain();
+            }
+        }
+
+        /*
+         * only one thread at a time delivers signals to the subscriber, any other thread just marks that there is more work to do
+         */
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            while (true) {
+                while (true) {
+                    Object next = downstreamLock.callLocked(this::pollDeliverable);
+                    if (next == null) {
+                        break;
+                    }
+                    if (next instanceof Terminal) {
+                        Terminal terminal = (Terminal) next;
+                        if (terminal.throwable != null) {
+                            subscriber.onError(terminal.throwable);
+                        } else {
+                            subscriber.onComplete();
+                        }
+                        break;
+                    }
+                    //noinspection unchecked
+                    subscriber.onNext((T) next);
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private Object pollDeliverable() {
+            if (subscriber == null || cancelled || done) {
+                return null;
+            }
+            if (error != null) {
+                done = true;
+                return new Terminal(error);
+            }
+            if (!buffer.isEmpty()) {
+                if (demand == 0) {
+                    return null;
+                }
+                demand--;
+                return buffer.poll();
+            }
+            Terminal terminal = lock.callLocked(() -> !terminated || (!completed && throwable == null) ? null : new Terminal(throwable));
+            if (terminal != null) {
+                done = true;
+            }
+            return terminal;
+        }
+    }
+
+    private static class Terminal {
+        private final Throwable throwable;
+
+        private Terminal(Throwable throwable) {
+            this.throwable = throwable;
+        }
+    }
+}
@@ -130,7 +130,7 @@ public class GoodFaithIntrospection {
 
     }
 
-    private static boolean isIntrospectionEnabled(GraphQLContext graphQlContext) {
+    static boolean isIntrospectionEnabled(GraphQLContext graphQlContext) {
         if (!isEnabledJvmWide()) {
             return false;
         }
@@ -140,7 +140,7 @@ public class Introspection {
         return Optional.of(ExecutionResult.newExecutionResult().addError(error).build());
     }
 
-    private static boolean isIntrospectionEnabled(GraphQLContext graphQlContext) {
+    static boolean isIntrospectionEnabled(GraphQLContext graphQlContext) {
         if (!isEnabledJvmWide()) {
             return false;
         }
@@ -0,0 +1,296 @@
+package graphql.introspection;
+
+import graphql.Assert;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.ExperimentalApi;
+import graphql.GraphQLContext;
+import graphql.execution.UnknownOperationException;
+import graphql.incremental.IncrementalExecutionResult;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.NodeUtil;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.visibility.GraphqlFieldVisibility;
+import graphql.util.LockKit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A cache of the results of introspection queries, such as {@link IntrospectionQuery#INTROSPECTION_QUERY}, which tooling
+ * and gateways send over and over again.  The result of an introspection query only depends on the {@link GraphQLSchema}
+ * and its {@link GraphqlFieldVisibility}, so it is produced once and served from the cache after that.
+ * <p>
+ * When an instance of this class is put into the {@link GraphQLContext} of an execution, keyed by
+ * {@code IntrospectionResultCache.class}, an execution whose query, operation name and variables equal those of a cached
+ * introspection query is answered from the cache without being parsed, validated or executed.  The same cache should be
+ * given to every execution to benefit from it.
+ * <pre>
+ * {@code
+ *     IntrospectionResultCache introspectionResultCache = IntrospectionResultCache.newCache().build();
+ *
+ *     ExecutionInput executionInput = ExecutionInput.newExecutionInput(query)
+ *             .graphQLContext(Map.of(IntrospectionResultCache.class, introspectionResultCache))
+ *             .build();
+ * }
+ * </pre>
+ * Only the results of queries whose top level fields are all introspection fields are cached, and only when they have no errors.
+ * The cached results are read only and hold no extensions.  All cached results are dropped as soon as the cache is used with
+ * another schema or field visibility instance.
+ * <p>
+ * Introspection data fetchers and field visibility that depend on the request, say on the {@link GraphQLContext}, must not be
+ * combined with this cache since every request is served the same result.
+ */
+@ExperimentalApi
+public class IntrospectionResultCache {
+
+    /**
+     * The default maximum number of introspection results held
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 100;
+
+    private final int maximumSize;
+    private final Function<ExecutionResult, Object> serializer;
+    private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+    private GraphQLSchema schema;
+    private GraphqlFieldVisibility fieldVisibility;
+    private final LinkedHashMap<Key, Entry> entries;
+
+    private IntrospectionResultCache(Builder builder) {
+        this.maximumSize = builder.maximumSize;
+        this.serializer = builder.serializer;
+        this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > IntrospectionResultCache.this.maximumSize;
+            }
+        };
+    }
+
+    /**
+     * @return the maximum number of introspection results held
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return the number of introspection results held
+     */
+    public int size() {
+        return lock.callLocked(entries::size);
+    }
+
+    /**
+     * Removes all the introspection results
+     */
+    public void clear() {
+        lock.runLocked(entries::clear);
+    }
+
+    /**
+     * Looks up the result of an execution that was an introspection query before
+     *
+     * @param executionInput the input of the execution
+     * @param schema         the schema the execution runs against
+     *
+     * @return the cached result or null if there is none
+     */
+    public ExecutionResult getResult(ExecutionInput executionInput, GraphQLSchema schema) {
+        Entry entry = getEntry(executionInput, schema);
+        return entry != null ? entry.result : null;
+    }
+
+    /**
+     * Looks up the serialized result of an execution that was an introspection query before, so that it can be sent as is
+     * without going through the engine at all.  This is only available if the cache was built with a
+     * {@link Builder#serializer(Function) serializer}.
+     *
+     * @param executionInput the input of the execution
+     * @param schema         the schema the execution runs against
+     *
+     * @return the cached serialized result or null if there is none
+     */
+    public Object getSerializedResult(ExecutionInput executionInput, GraphQLSchema schema) {
+        Entry entry = getEntry(executionInput, schema);
+        return entry != null ? entry.serializedResult : null;
+    }
+
+    /**
+     * Caches the result of an execution if the operation executed is an introspection query
+     *
+     * @param executionInput the input of the execution, before it was changed by instrumentation
+     * @param document       the document executed
+     * @param schema         the schema the execution ran against
+     * @param result         the result of the execution
+     */
+    public void putResult(ExecutionInput executionInput, Document document, GraphQLSchema schema, ExecutionResult result) {
+        if (!result.getErrors().isEmpty() || !result.isDataPresent() || result instanceof IncrementalExecutionResult) {
+            return;
+        }
+        // a result that was produced without the good faith checks must not be served to requests that have them
+        if (!GoodFaithIntrospection.isIntrospectionEnabled(executionInput.getGraphQLContext())
+                || !isIntrospectionOperation(document, executionInput.getOperationName())) {
+            return;
+        }
+        ExecutionResult cachedResult = ExecutionResult.newExecutionResult().data(readOnly(result.getData())).build();
+        Object serializedResult = serializer != null ? serializer.apply(cachedResult) : null;
+        Entry entry = new Entry(cachedResult, serializedResult);
+        Key key = new Key(executionInput);
+        GraphqlFieldVisibility fieldVisibility = schema.getCodeRegistry().getFieldVisibility();
+        lock.runLocked(() -> {
+            if (this.schema != schema || this.fieldVisibility != fieldVisibility) {
+                entries.clear();
+                this.schema = schema;
+                this.fieldVisibility = fieldVisibility;
+            }
+            entries.put(key, entry);
+        });
+    }
+
+    private Entry getEntry(ExecutionInput executionInput, GraphQLSchema schema) {
+        // a cached result must not get around introspection being disabled
+        if (!Introspection.isIntrospectionEnabled(executionInput.getGraphQLContext())) {
+            return null;
+        }
+        Key key = new Key(executionInput);
+        GraphqlFieldVisibility fieldVisibility = schema.getCodeRegistry().getFieldVisibility();
+        return lock.callLocked(() -> {
+            if (this.schema != schema || this.fieldVisibility != fieldVisibility) {
+                return null;
+            }
+            return entries.get(key);
+        });
+    }
+
+    private static boolean isIntrospectionOperation(Document document, String operationName) {
+        OperationDefinition operationDefinition;
+        try {
+            operationDefinition = NodeUtil.getOperation(document, operationName).operationDefinition;
+        } catch (UnknownOperationException e) {
+            return false;
+        }
+        if (operationDefinition.getOperation() != OperationDefinition.Operation.QUERY) {
+            return false;
+        }
+        List<Selection> selections = operationDefinition.getSelectionSet().getSelections();
+        for (Selection<?> selection : selections) {
+            if (!(selection instanceof Field) || !Introspection.INTROSPECTION_SYSTEM_FIELDS.contains(((Field) selection).getName())) {
+                return false;
+            }
+        }
+        return !selections.isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object readOnly(Object value) {
+        if (value instanceof Map) {
+            Map<Object, Object> map = (Map<Object, Object>) value;
+            Map<Object, Object> copy = new LinkedHashMap<>(map.size());
+            for (Map.Entry<Object, Object> entry : map.entrySet()) {
+                copy.put(entry.getKey(), readOnly(entry.getValue()));
+            }
+            return Collections.unmodifiableMap(copy);
+        }
+        if (value instanceof List) {
+            List<Object> list = (List<Object>) value;
+            List<Object> copy = new ArrayList<>(list.size());
+            for (Object item : list) {
+                copy.add(readOnly(item));
+            }
+            return Collections.unmodifiableList(copy);
+        }
+        return value;
+    }
+
+    /**
+     * @return a new builder of IntrospectionResultCache
+     */
+    public static Builder newCache() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+        private Function<ExecutionResult, Object> serializer;
+
+        private Builder() {
+        }
+
+        /**
+         * @param maximumSize the maximum number of introspection results held, the least recently used one is evicted beyond that
+         *
+         * @return this builder
+         */
+        public Builder maximumSize(int maximumSize) {
+            Assert.assertTrue(maximumSize > 0, () -> "maximumSize must be greater than 0");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * @param serializer the code that serializes a result once when it is cached, say into JSON bytes
+         *
+         * @return this builder
+         *
+         * @see IntrospectionResultCache#getSerializedResult(ExecutionInput, GraphQLSchema)
+         */
+        public Builder serializer(Function<ExecutionResult, Object> serializer) {
+            this.serializer = Assert.assertNotNull(serializer);
+            return this;
+        }
+
+        public IntrospectionResultCache build() {
+            return new IntrospectionResultCache(this);
+        }
+    }
+
+    private static class Key {
+        private final String query;
+        private final String operationName;
+        private final Map<String, Object> variables;
+        private final int hashCode;
+
+        private Key(ExecutionInput executionInput) {
+            this.query = executionInput.getQuery();
+            this.operationName = executionInput.getOperationName();
+            this.variables = executionInput.getRawVariables().toMap();
+            this.hashCode = Objects.hash(query, operationName, variables);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return query.equals(key.query) && Objects.equals(operationName, key.operationName) && variables.equals(key.variables);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static class Entry {
+        private final ExecutionResult result;
+        private final Object serializedResult;
+
+        private Entry(ExecutionResult result, Object serializedResult) {
+            this.result = result;
+            this.serializedResult = serializedResult;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package graphql.language;
 
 import com.google.common.collect.ImmutableList;
+import graphql.ExperimentalApi;
 import graphql.PublicApi;
 import graphql.collect.ImmutableKit;
 import graphql.util.TraversalControl;
@@ -8,6 +9,7 @@ import graphql.util.TraverserContext;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -66,6 +68,66 @@ public class AstSignature {
         );
     }
 
+    /**
+     * This produces a "literal pattern" AST where every literal value is replaced by a placeholder, and equal literals get
+     * the same placeholder.  Unlike {@link AstSignature#signatureQuery(Document, String)} all definitions, aliases, variable names
+     * and the order of the document are retained, so two documents have the same literal pattern query if and only if they differ
+     * only in their literal values and literals that are equal in one are equal in the other.
+     *
+     * This is useful as a key for work that depends on the shape of a document but not on its literal values, for
+     * example most validation rules.  Boolean, enum and null literals are kept since they do not vary much.
+     *
+     * @param document the document to make a literal pattern query from
+     *
+     * @return the literal pattern query in document form
+     */
+    @ExperimentalApi
+    public Document literalPatternQuery(Document document) {
+        final Map<List<Object>, Integer> placeholders = new HashMap<>();
+
+        NodeVisitorStub visitor = new NodeVisitorStub() {
+            @Override
+            public TraversalControl visitIntValue(IntValue node, TraverserContext<Node> context) {
+                int placeholder = placeholder(placeholders, node, node.getValue());
+                return changeNode(context, node.transform(builder -> builder.value(BigInteger.valueOf(placeholder))));
+            }
+
+            @Override
+            public TraversalControl visitFloatValue(FloatValue node, TraverserContext<Node> context) {
+                int placeholder = placeholder(placeholders, node, node.getValue());
+                return changeNode(context, node.transform(builder -> builder.value(BigDecimal.valueOf(placeholder))));
+            }
+
+            @Override
+            public TraversalControl visitStringValue(StringValue node, TraverserContext<Node> context) {
+                int placeholder = placeholder(placeholders, node, node.getValue());
+                return changeNode(context, node.transform(builder -> builder.value(String.valueOf(placeholder))));
+            }
+        };
+        return transformDoc(document, visitor);
+    }
+
+    /**
+     * This prints the literal pattern of a document in the compact form of {@link AstPrinter#printAstCompact(Node)}, printing
+     * literals as placeholders while it goes rather than making the {@link #literalPatternQuery(Document) literal pattern query}
+     * first, which makes it cheap enough to use as a cache key.
+     * <p>
+     * The placeholders are numbered in the order the literals are printed, so the text can differ from the printed literal pattern
+     * query, but two documents have the same literal pattern exactly when they have the same literal pattern query.
+     *
+     * @param document the document to print the literal pattern of
+     *
+     * @return the compact literal pattern
+     */
+    @ExperimentalApi
+    public String literalPattern(Document document) {
+        return new LiteralPatternPrinter().print(document);
+    }
+
+    private int placeholder(Map<List<Object>, Integer> placeholders, Value<?> literal, Object value) {
+        return placeholders.computeIfAbsent(Arrays.asList(literal.getClass(), value), k -> placeholders.size());
+    }
+
     private Document hideLiterals(boolean signatureMode, Document document) {
         final Map<String, String> variableRemapping = new HashMap<>();
         final AtomicInteger variableCount = new AtomicInteger();
@@ -183,4 +245,30 @@ public class AstSignature {
         return (Document) newDoc;
     }
 
+    /*
+     * Prints literals as their placeholders.  Arguments and object fields print their values directly rather than with the printers of
+     * the values, so they are replaced as well.
+     */
+    private class LiteralPatternPrinter extends AstPrinter {
+        private final Map<List<Object>, Integer> placeholders = new HashMap<>();
+
+        LiteralPatternPrinter() {
+            super(true);
+            replacePrinter(IntValue.class, (NodePrinter<IntValue>) (out, node) -> out.append(placeholder(placeholders, node, node.getValue())));
+            replacePrinter(FloatValue.class, (NodePrinter<FloatValue>) (out, node) -> out.append(placeholder(placeholders, node, node.getValue())));
+            replacePrinter(StringValue.class, (NodePrinter<StringValue>) (out, node) -> out.append('"').append(placeholder(placeholders, node, node.getValue())).append('"'));
+            replacePrinter(Argument.class, (NodePrinter<Argument>) (out, node) -> printValue(out.append(node.getName()).append(':'), node.getValue()));
+            replacePrinter(ObjectField.class, (NodePrinter<ObjectField>) (out, node) -> printValue(out.append(node.getName()).append(':'), node.getValue()));
+        }
+
+        private void printValue(StringBuilder out, Value<?> value) {
+            _findPrinter(value).print(out, value);
+        }
+
+        String print(Document document) {
+            StringBuilder out = new StringBuilder();
+            _findPrinter(document).print(out, document);
+            return out.toString();
+        }
+    }
 }
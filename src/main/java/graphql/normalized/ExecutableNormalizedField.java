@@ -67,6 +67,10 @@ public class ExecutableNormalizedField {
     // Mutable List on purpose: it is modified after creation
     private final LinkedHashSet<NormalizedDeferredExecution> deferredExecutions;
 
+    // the index of the sub selection that is searched by the DataFetchingFieldSelectionSet of this field, computed once and
+    // then shared by every DataFetchingEnvironment of this field
+    private volatile Object selectionSetIndex;
+
     private ExecutableNormalizedField(Builder builder) {
         this.alias = builder.alias;
         this.resolvedArguments = builder.resolvedArguments;
@@ -253,11 +257,23 @@ public class ExecutableNormalizedField {
     @Internal
     public void addChild(ExecutableNormalizedField executableNormalizedField) {
         this.children.add(executableNormalizedField);
+        this.selectionSetIndex = null;
     }
 
     @Internal
     public void clearChildren() {
         this.children.clear();
+        this.selectionSetIndex = null;
+    }
+
+    @Internal
+    public Object getSelectionSetIndex() {
+        return selectionSetIndex;
+    }
+
+    @Internal
+    public void setSelectionSetIndex(Object selectionSetIndex) {
+        this.selectionSetIndex = selectionSetIndex;
     }
 
     @Internal
@@ -0,0 +1,232 @@
+package graphql.normalized;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import graphql.Internal;
+import graphql.execution.CoercedVariables;
+import graphql.execution.MergedField;
+import graphql.execution.ValuesResolver;
+import graphql.execution.directives.QueryDirectives;
+import graphql.execution.directives.QueryDirectivesImpl;
+import graphql.language.Directive;
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.Node;
+import graphql.language.NodeTraverser;
+import graphql.language.NodeVisitorStub;
+import graphql.language.OperationDefinition;
+import graphql.language.VariableReference;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLSchema;
+import graphql.util.TraversalControl;
+import graphql.util.TraverserContext;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static graphql.Directives.IncludeDirective;
+import static graphql.Directives.SkipDirective;
+import static graphql.collect.ImmutableKit.map;
+
+/**
+ * The shape of an {@link ExecutableNormalizedOperation} only depends on the variables used by the {@code @skip},
+ * {@code @include} and {@code @defer} directives, since fields are merged by comparing their AST arguments rather than their values.
+ * A skeleton is an operation created for one combination of those variable values and it can be specialised cheaply for any
+ * other set of variables with the same combination, by copying the fields and re-resolving only the argument values and
+ * query directives that reference variables.
+ * <p>
+ * It is up to the caller to only specialise a skeleton with variables that have the same conditional values, see
+ * {@link graphql.execution.ExecutionPlan} which does this.
+ */
+@Internal
+public class ExecutableNormalizedOperationSkeleton {
+
+    private final GraphQLSchema graphQLSchema;
+    private final ExecutableNormalizedOperationFactory.Options options;
+    private final ExecutableNormalizedOperation normalizedOperation;
+    private final ImmutableSet<String> valueVariableNames;
+    private final ImmutableSet<ExecutableNormalizedField> fieldsWithVariableArguments;
+    private final Map<String, Object> variables;
+
+    private ExecutableNormalizedOperationSkeleton(GraphQLSchema graphQLSchema,
+                                                  ExecutableNormalizedOperationFactory.Options options,
+                                                  ExecutableNormalizedOperation normalizedOperation,
+                                                  CoercedVariables coercedVariables) {
+        this.graphQLSchema = graphQLSchema;
+        this.options = options;
+        this.normalizedOperation = normalizedOperation;
+        this.variables = coercedVariables.toMap();
+
+        Set<String> valueVariableNames = new LinkedHashSet<>();
+        ImmutableSet.Builder<ExecutableNormalizedField> fieldsWithVariableArguments = ImmutableSet.builder();
+        normalizedOperation.getNormalizedFieldToMergedField().forEach((normalizedField, mergedField) -> {
+            if (collectVariableNames(normalizedField.getAstArguments(), valueVariableNames)) {
+                fieldsWithVariableArguments.add(normalizedField);
+            }
+            for (Field field : mergedField.getFields()) {
+                for (Directive directive : field.getDirectives()) {
+                    if (!directive.getName().equals(SkipDirective.getName()) && !directive.getName().equals(IncludeDirective.getName())) {
+                        collectVariableNames(directive.getArguments(), valueVariableNames);
+                    }
+                }
+            }
+        });
+        this.valueVariableNames = ImmutableSet.copyOf(valueVariableNames);
+        this.fieldsWithVariableArguments = fieldsWithVariableArguments.build();
+    }
+
+    /**
+     * Creates a skeleton by creating a normalized operation for the given variables
+     *
+     * @param graphQLSchema       the schema to be used
+     * @param operationDefinition the operation to be executed
+     * @param fragments           a set of fragments associated with the operation
+     * @param coercedVariables    the coerced variables to use
+     * @param options             the options to use
+     *
+     * @return a skeleton that can be specialised for other variables
+     */
+    public static ExecutableNormalizedOperationSkeleton create(GraphQLSchema graphQLSchema,
+                                                               OperationDefinition operationDefinition,
+                                                               Map<String, FragmentDefinition> fragments,
+                                                               CoercedVariables coercedVariables,
+                                                               ExecutableNormalizedOperationFactory.Options options) {
+        ExecutableNormalizedOperation normalizedOperation = ExecutableNormalizedOperationFactory.createExecutableNormalizedOperation(graphQLSchema,
+                operationDefinition,
+                fragments,
+                coercedVariables,
+                options);
+        return new ExecutableNormalizedOperationSkeleton(graphQLSchema, options, normalizedOperation, coercedVariables);
+    }
+
+    /**
+     * @return the names of the variables used by field arguments and query directives, which need re-resolving when they change
+     */
+    public Set<String> getValueVariableNames() {
+        return valueVariableNames;
+    }
+
+    /**
+     * Returns a normalized operation for the given variables.  If none of the variables used by field arguments and query directives
+     * have changed then the skeleton's own operation is returned.
+     *
+     * @param coercedVariables the coerced variables of the execution
+     *
+     * @return a normalized operation for those variables
+     */
+    public ExecutableNormalizedOperation specialise(CoercedVariables coercedVariables) {
+        if (hasSameValueVariables(coercedVariables)) {
+            return normalizedOperation;
+        }
+        return new Specialiser(coercedVariables).specialise();
+    }
+
+    private boolean hasSameValueVariables(CoercedVariables coercedVariables) {
+        for (String variableName : valueVariableNames) {
+            if (variables.containsKey(variableName) != coercedVariables.containsKey(variableName)) {
+                return false;
+            }
+            if (!Objects.equals(variables.get(variableName), coercedVariables.get(variableName))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean collectVariableNames(List<? extends Node> nodes, Set<String> variableNames) {
+        if (nodes.isEmpty()) {
+            return false;
+        }
+        boolean[] found = new boolean[1];
+        new NodeTraverser().depthFirst(new NodeVisitorStub() {
+            @Override
+            public TraversalControl visitVariableReference(VariableReference node, TraverserContext<Node> context) {
+                variableNames.add(node.getName());
+                found[0] = true;
+                return TraversalControl.CONTINUE;
+            }
+        }, nodes);
+        return found[0];
+    }
+
+    private class Specialiser {
+        private final CoercedVariables coercedVariables;
+        private final Map<ExecutableNormalizedField, ExecutableNormalizedField> copies = new IdentityHashMap<>();
+
+        private Specialiser(CoercedVariables coercedVariables) {
+            this.coercedVariables = coercedVariables;
+        }
+
+        private ExecutableNormalizedOperation specialise() {
+            List<ExecutableNormalizedField> topLevelFields = map(normalizedOperation.getTopLevelFields(), this::copy);
+
+            ImmutableListMultimap.Builder<Field, ExecutableNormalizedField> fieldToNormalizedField = ImmutableListMultimap.builder();
+            normalizedOperation.getFieldToNormalizedField().forEach((field, normalizedField) -> fieldToNormalizedField.put(field, copy(normalizedField)));
+
+            ImmutableListMultimap.Builder<FieldCoordinates, ExecutableNormalizedField> coordinatesToNormalizedFields = ImmutableListMultimap.builder();
+            normalizedOperation.getCoordinatesToNormalizedFields().forEach((coordinates, normalizedField) -> coordinatesToNormalizedFields.put(coordinates, copy(normalizedField)));
+
+            ImmutableMap.Builder<ExecutableNormalizedField, MergedField> normalizedFieldToMergedField = ImmutableMap.builder();
+            ImmutableMap.Builder<ExecutableNormalizedField, QueryDirectives> normalizedFieldToQueryDirectives = ImmutableMap.builder();
+            normalizedOperation.getNormalizedFieldToMergedField().forEach((normalizedField, mergedField) -> {
+                ExecutableNormalizedField copy = copy(normalizedField);
+                normalizedFieldToMergedField.put(copy, mergedField);
+                // QueryDirectivesImpl is a lazy object and only computes itself when asked for
+                normalizedFieldToQueryDirectives.put(copy, new QueryDirectivesImpl(mergedField, graphQLSchema, coercedVariables.toMap(), options.getGraphQLContext(), options.getLocale()));
+            });
+
+            return new ExecutableNormalizedOperation(
+                    normalizedOperation.getOperation(),
+                    normalizedOperation.getOperationName(),
+                    topLevelFields,
+                    fieldToNormalizedField.build(),
+                    normalizedFieldToMergedField.build(),
+                    normalizedFieldToQueryDirectives.build(),
+                    coordinatesToNormalizedFields.build(),
+                    normalizedOperation.getOperationFieldCount(),
+                    normalizedOperation.getOperationDepth()
+            );
+        }
+
+        /*
+         * the copy is registered before its parent and children are copied, so that the parent child cycles end
+         */
+        private ExecutableNormalizedField copy(ExecutableNormalizedField normalizedField) {
+            ExecutableNormalizedField copy = copies.get(normalizedField);
+            if (copy != null) {
+                return copy;
+            }
+            Map<String, Object> resolvedArguments = normalizedField.getResolvedArguments();
+            if (fieldsWithVariableArguments.contains(normalizedField)) {
+                GraphQLFieldDefinition fieldDefinition = normalizedField.getFieldDefinitions(graphQLSchema).get(0);
+                resolvedArguments = ValuesResolver.getArgumentValues(fieldDefinition.getArguments(),
+                        normalizedField.getAstArguments(),
+                        coercedVariables,
+                        options.getGraphQLContext(),
+                        options.getLocale());
+            }
+            Map<String, Object> finalResolvedArguments = resolvedArguments;
+            copy = normalizedField.transform(builder -> builder
+                    .resolvedArguments(finalResolvedArguments)
+                    .children(ImmutableList.of())
+                    .parent(null)
+                    .deferredExecutions(new LinkedHashSet<>(normalizedField.getDeferredExecutions())));
+            copies.put(normalizedField, copy);
+
+            if (normalizedField.getParent() != null) {
+                copy.replaceParent(copy(normalizedField.getParent()));
+            }
+            for (ExecutableNormalizedField child : normalizedField.getChildren()) {
+                copy.addChild(copy(child));
+            }
+            return copy;
+        }
+    }
+}
@@ -27,6 +27,7 @@ import org.antlr.v4.runtime.tree.ParseTreeListener;
 import org.antlr.v4.runtime.tree.TerminalNode;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.CharArrayWriter;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.UncheckedIOException;
@@ -169,9 +170,31 @@ public class Parser {
             Document doc = toLanguage.createDocument(documentContext);
             return new Object[]{documentContext, doc};
         };
+        if (environment.getParserImplementation() == ParserEnvironment.ParserImplementation.RECURSIVE_DESCENT) {
+            return parseDocumentRecursively(environment, nodeFunction);
+        }
         return (Document) parseImpl(environment, nodeFunction);
     }
 
+    private Document parseDocumentRecursively(ParserEnvironment environment, BiFunction<GraphqlParser, GraphqlAntlrToLanguage, Object[]> nodeFunction) throws InvalidSyntaxException {
+        ParserOptions parserOptions = environment.getParserOptions();
+        parserOptions = Optional.ofNullable(parserOptions).orElse(ParserOptions.getDefaultParserOptions());
+
+        MultiSourceReader multiSourceReader = setupMultiSourceReader(environment, parserOptions);
+
+        SafeTokenReader safeTokenReader = setupSafeTokenReader(environment, parserOptions, multiSourceReader);
+
+        char[] source = readFully(safeTokenReader);
+
+        Document document = new RecursiveDescentParser(source, multiSourceReader, parserOptions, environment.getI18N()).parseDocument();
+        if (document != null) {
+            return document;
+        }
+        // the document is not one the recursive descent parser can build, so we let ANTLR have the final say on it
+        CodePointCharStream charStream = CharStreams.fromString(new String(source));
+        return (Document) parseImpl(environment, parserOptions, multiSourceReader, charStream, nodeFunction);
+    }
+
     private Value<?> parseValueImpl(String input) throws InvalidSyntaxException {
         BiFunction<GraphqlParser, GraphqlAntlrToLanguage, Object[]> nodeFunction = (parser, toLanguage) -> {
             GraphqlParser.ValueContext documentContext = parser.value();
@@ -212,6 +235,10 @@ public class Parser {
 
         CodePointCharStream charStream = setupCharStream(safeTokenReader);
 
+        return parseImpl(environment, parserOptions, multiSourceReader, charStream, nodeFunction);
+    }
+
+    private Node<?> parseImpl(ParserEnvironment environment, ParserOptions parserOptions, MultiSourceReader multiSourceReader, CodePointCharStream charStream, BiFunction<GraphqlParser, GraphqlAntlrToLanguage, Object[]> nodeFunction) throws InvalidSyntaxException {
         GraphqlLexer lexer = setupGraphqlLexer(environment, multiSourceReader, charStream);
 
         // this lexer wrapper allows us to stop lexing when too many tokens are in place.  This prevents DOS attacks.
@@ -290,6 +317,20 @@ public class Parser {
         return charStream;
     }
 
+    private static char[] readFully(SafeTokenReader safeTokenReader) {
+        CharArrayWriter writer = new CharArrayWriter();
+        char[] buffer = new char[4096];
+        try {
+            int read;
+            while ((read = safeTokenReader.read(buffer, 0, buffer.length)) != -1) {
+                writer.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toCharArray();
+    }
+
     @NotNull
     private static GraphqlLexer setupGraphqlLexer(ParserEnvironment environment, MultiSourceReader multiSourceReader, CodePointCharStream charStream) {
         GraphqlLexer lexer = new GraphqlLexer(charStream);
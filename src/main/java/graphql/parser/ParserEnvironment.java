@@ -1,5 +1,6 @@
 package graphql.parser;
 
+import graphql.ExperimentalApi;
 import graphql.PublicApi;
 import graphql.i18n.I18n;
 
@@ -35,6 +36,35 @@ public interface ParserEnvironment {
      */
     I18n getI18N();
 
+    /**
+     * @return the implementation of the parser that should parse the document
+     */
+    @ExperimentalApi
+    default ParserImplementation getParserImplementation() {
+        return ParserImplementation.ANTLR;
+    }
+
+    /**
+     * The implementations that a {@link Parser} can use to parse a document
+     */
+    @ExperimentalApi
+    enum ParserImplementation {
+        /**
+         * The ANTLR generated parser, which can parse any graphql document
+         */
+        ANTLR,
+        /**
+         * A hand-written recursive descent parser that builds the AST directly from the document text without an ANTLR token
+         * stream or parse tree in between.  It only parses executable documents, that is operations and fragments.
+         * <p>
+         * Documents with type system definitions, documents with syntax errors and documents that exceed the
+         * {@link ParserOptions} limits are handed to the ANTLR parser, so the resulting AST and any {@link InvalidSyntaxException}
+         * are the same as with {@link #ANTLR}.  The {@link Parser#getAntlrToLanguage} extension point is not called for the
+         * documents this parser builds itself.
+         */
+        RECURSIVE_DESCENT
+    }
+
     /**
      * @return a builder of new parsing options
      */
@@ -46,6 +76,7 @@ public interface ParserEnvironment {
         Reader reader;
         ParserOptions parserOptions = ParserOptions.getDefaultParserOptions();
         Locale locale = Locale.getDefault();
+        ParserImplementation parserImplementation = ParserImplementation.ANTLR;
 
         public Builder() {
         }
@@ -69,6 +100,12 @@ public interface ParserEnvironment {
             return this;
         }
 
+        @ExperimentalApi
+        public Builder parserImplementation(ParserImplementation parserImplementation) {
+            this.parserImplementation = assertNotNull(parserImplementation);
+            return this;
+        }
+
         public ParserEnvironment build() {
             I18n i18n = I18n.i18n(I18n.BundleType.Parsing, locale);
             return new ParserEnvironment() {
@@ -91,6 +128,11 @@ public interface ParserEnvironment {
                 public I18n getI18N() {
                     return i18n;
                 }
+
+                @Override
+                public ParserImplementation getParserImplementation() {
+                    return parserImplementation;
+                }
             };
         }
     }
@@ -0,0 +1,1155 @@
+package graphql.parser;
+
+import com.google.common.collect.ImmutableList;
+import graphql.Internal;
+import graphql.collect.ImmutableKit;
+import graphql.i18n.I18n;
+import graphql.language.Argument;
+import graphql.language.ArrayValue;
+import graphql.language.BooleanValue;
+import graphql.language.Comment;
+import graphql.language.Definition;
+import graphql.language.Directive;
+import graphql.language.Document;
+import graphql.language.EnumValue;
+import graphql.language.Field;
+import graphql.language.FloatValue;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.IgnoredChar;
+import graphql.language.IgnoredChars;
+import graphql.language.InlineFragment;
+import graphql.language.IntValue;
+import graphql.language.ListType;
+import graphql.language.NodeBuilder;
+import graphql.language.NonNullType;
+import graphql.language.NullValue;
+import graphql.language.ObjectField;
+import graphql.language.ObjectValue;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.language.SourceLocation;
+import graphql.language.StringValue;
+import graphql.language.Type;
+import graphql.language.TypeName;
+import graphql.language.Value;
+import graphql.language.VariableDefinition;
+import graphql.language.VariableReference;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static graphql.collect.ImmutableKit.emptyList;
+import static graphql.parser.StringValueParsing.parseSingleQuotedString;
+import static graphql.parser.StringValueParsing.parseTripleQuotedString;
+
+/**
+ * A hand-written recursive descent parser for executable documents that builds the AST straight from the characters of the
+ * document.  It produces exactly the same AST as the ANTLR grammar and {@link GraphqlAntlrToLanguage} do, including source locations,
+ * comments and ignored chars.
+ * <p>
+ * It only knows about the happy path.  When a document has type system definitions, has a syntax error or goes over one of
+ * the {@link ParserOptions} limits then {@link #parseDocument()} returns null and the {@link Parser} hands the document to ANTLR,
+ * which then has the final say on it.  This keeps the error messages in one place.  To make sure we never accept a document
+ * that ANTLR would reject, the limits are counted the same way ANTLR counts them: tokens per channel (including EOF) and
+ * the depth of the grammar rules that would have been entered.
+ */
+@Internal
+public class RecursiveDescentParser {
+
+    private static final List<Comment> NO_COMMENTS = ImmutableKit.emptyList();
+
+    // the kinds of significant tokens, a punctuator uses its own character as its kind
+    private static final int EOF = -1;
+    private static final int NAME = -2;
+    private static final int INT = -3;
+    private static final int FLOAT = -4;
+    private static final int STRING = -5;
+    private static final int BLOCK_STRING = -6;
+    private static final int SPREAD = '.';
+
+    // hidden tokens are either a comment or a single whitespace character, which is then its own kind
+    private static final int COMMENT = -7;
+
+    private static final CannotParseException CANNOT_PARSE = new CannotParseException();
+
+    private final char[] source;
+    private final MultiSourceReader multiSourceReader;
+    private final ParserOptions parserOptions;
+    private final I18n i18n;
+    private final boolean captureSourceLocation;
+    private final boolean captureLineComments;
+    private final boolean captureIgnoredChars;
+    private final int maxTokens;
+    private final int maxWhitespaceTokens;
+    private final int maxRuleDepth;
+
+    // the lexer state
+    private int index;
+    private int line = 1;
+    private int column;
+    private int commentCount;
+    private int whitespaceCount;
+
+    // the significant tokens, with the number of hidden tokens captured before each of them
+    private int tokenCount;
+    private int[] kinds = new int[64];
+    private int[] starts = new int[64];
+    private int[] ends = new int[64];
+    private int[] lines = new int[64];
+    private int[] columns = new int[64];
+    private int[] hiddenBefore = new int[64];
+
+    // the hidden tokens, which are only captured if comments or ignored chars are wanted
+    private int hiddenCount;
+    private int[] hiddenKinds = new int[0];
+    private int[] hiddenStarts = new int[0];
+    private int[] hiddenEnds = new int[0];
+    private int[] hiddenLines = new int[0];
+    private int[] hiddenColumns = new int[0];
+
+    // the parser state
+    private int pos;
+    private int depth;
+    private int lastOverallLine = -1;
+    private MultiSourceReader.SourceAndLine lastSourceAndLine;
+
+    public RecursiveDescentParser(char[] source, MultiSourceReader multiSourceReader, ParserOptions parserOptions, I18n i18n) {
+        this.source = source;
+        this.multiSourceReader = multiSourceReader;
+        this.parserOptions = parserOptions;
+        this.i18n = i18n;
+        this.captureSourceLocation = parserOptions.isCaptureSourceLocation();
+        this.captureLineComments = parserOptions.isCaptureLineComments();
+        this.captureIgnoredChars = parserOptions.isCaptureIgnoredChars();
+        this.maxTokens = parserOptions.getMaxTokens();
+        this.maxWhitespaceTokens = parserOptions.getMaxWhitespaceTokens();
+        this.maxRuleDepth = parserOptions.getMaxRuleDepth();
+    }
+
+    /**
+     * @return the parsed document or null if it's not an executable document that this parser can build
+     */
+    public Document parseDocument() {
+        try {
+            tokenize();
+            Document document = document();
+            notifyParsingListener();
+            return document;
+        } catch (CannotParseException e) {
+            return null;
+        }
+    }
+
+    //
+    // the lexer
+    //
+
+    private void tokenize() {
+        while (index < source.length) {
+            char c = source[index];
+            switch (c) {
+                case '\n':
+                    addHidden(c, index + 1);
+                    index++;
+                    line++;
+                    column = 0;
+                    break;
+                case ' ':
+                case '\t':
+                case ',':
+                case '\r':
+                case '\u2028':
+                case '\u2029':
+                case '\ufeff':
+                    addHidden(c, index + 1);
+                    skipAscii(index + 1);
+                    break;
+                case '#':
+                    lexComment();
+                    break;
+                case '!':
+                case '$':
+                case '(':
+                case ')':
+                case ':':
+                case '=':
+                case '@':
+                case '[':
+                case ']':
+                case '{':
+                case '}':
+                    addToken(c, index + 1);
+                    skipAscii(index + 1);
+                    break;
+                case '.':
+                    if (index + 2 >= source.length || source[index + 1] != '.' || source[index + 2] != '.') {
+                        throw CANNOT_PARSE;
+                    }
+                    addToken(SPREAD, index + 3);
+                    skipAscii(index + 3);
+                    break;
+                case '"':
+                    lexString();
+                    break;
+                default:
+                    if (isNameStart(c)) {
+                        lexName();
+                    } else if (c == '-' || isDigit(c)) {
+                        lexNumber();
+                    } else {
+                        throw CANNOT_PARSE;
+                    }
+            }
+        }
+        addToken(EOF, index);
+    }
+
+    private void lexComment() {
+        int end = index + 1;
+        while (end < source.length) {
+            char c = source[end];
+            if (c == '\n' || c == '\r') {
+                break;
+            }
+            end = skipSourceCharacter(end);
+        }
+        addHidden(COMMENT, end);
+        skipText(end);
+    }
+
+    private void lexName() {
+        int end = index + 1;
+        while (end < source.length && isNameContinue(source[end])) {
+            end++;
+        }
+        addToken(NAME, end);
+        skipAscii(end);
+    }
+
+    private void lexNumber() {
+        int end = index;
+        if (source[end] == '-') {
+            end++;
+        }
+        if (end < source.length && source[end] == '0') {
+            end++;
+        } else if (end < source.length && source[end] >= '1' && source[end] <= '9') {
+            end = skipDigits(end + 1);
+        } else {
+            throw CANNOT_PARSE;
+        }
+        int kind = INT;
+        if (end < source.length && source[end] == '.') {
+            end = skipRequiredDigits(end + 1);
+            kind = FLOAT;
+        }
+        if (end < source.length && (source[end] == 'e' || source[end] == 'E')) {
+            end++;
+            if (end < source.length && (source[end] == '+' || source[end] == '-')) {
+                end++;
+            }
+            end = skipRequiredDigits(end);
+            kind = FLOAT;
+        }
+        // like the grammar, a number can't run straight into a digit, a dot or a name
+        if (end < source.length && (isDigit(source[end]) || source[end] == '.' || isNameStart(source[end]))) {
+            throw CANNOT_PARSE;
+        }
+        addToken(kind, end);
+        skipAscii(end);
+    }
+
+    private void lexString() {
+        if (startsWith(index, "\"\"\"")) {
+            lexBlockString();
+            return;
+        }
+        int end = index + 1;
+        while (true) {
+            if (end >= source.length) {
+                throw CANNOT_PARSE;
+            }
+            char c = source[end];
+            if (c == '"') {
+                end++;
+                break;
+            }
+            if (c == '\n' || c == '\r') {
+                throw CANNOT_PARSE;
+            }
+            if (c == '\\') {
+                end = skipEscape(end + 1);
+            } else {
+                end = skipSourceCharacter(end);
+            }
+        }
+        addToken(STRING, end);
+        skipText(end);
+    }
+
+    private void lexBlockString() {
+        int end = index + 3;
+        while (true) {
+            if (end >= source.length) {
+                throw CANNOT_PARSE;
+            }
+            if (source[end] == '\\' && startsWith(end + 1, "\"\"\"")) {
+                end += 4;
+            } else if (startsWith(end, "\"\"\"")) {
+                end += 3;
+                break;
+            } else {
+                end = skipSourceCharacter(end);
+            }
+        }
+        addToken(BLOCK_STRING, end);
+        skipText(end);
+    }
+
+    private int skipEscape(int end) {
+        if (end >= source.length) {
+            throw CANNOT_PARSE;
+        }
+        switch (source[end]) {
+            case '"':
+            case '\\':
+            case '/':
+            case 'b':
+            case 'f':
+            case 'n':
+            case 'r':
+            case 't':
+                return end + 1;
+            case 'u':
+                end++;
+                if (end < source.length && source[end] == '{') {
+                    int hexEnd = skipHex(end + 1);
+                    if (hexEnd == end + 1 || hexEnd >= source.length || source[hexEnd] != '}') {
+                        throw CANNOT_PARSE;
+                    }
+                    return hexEnd + 1;
+                }
+                if (skipHex(end) < end + 4) {
+                    throw CANNOT_PARSE;
+                }
+                return end + 4;
+            default:
+                throw CANNOT_PARSE;
+        }
+    }
+
+    private int skipHex(int end) {
+        while (end < source.length && Character.digit(source[end], 16) != -1 && source[end] < 128) {
+            end++;
+        }
+        return end;
+    }
+
+    private int skipDigits(int end) {
+        while (end < source.length && isDigit(source[end])) {
+            end++;
+        }
+        return end;
+    }
+
+    private int skipRequiredDigits(int end) {
+        int digitsEnd = skipDigits(end);
+        if (digitsEnd == end) {
+            throw CANNOT_PARSE;
+        }
+        return digitsEnd;
+    }
+
+    /*
+     * the grammar allows any code point apart from the surrogates, so a surrogate is only fine as part of a pair
+     */
+    private int skipSourceCharacter(int end) {
+        char c = source[end];
+        if (Character.isHighSurrogate(c)) {
+            if (end + 1 < source.length && Character.isLowSurrogate(source[end + 1])) {
+                return end + 2;
+            }
+            throw CANNOT_PARSE;
+        }
+        if (Character.isLowSurrogate(c)) {
+            throw CANNOT_PARSE;
+        }
+        return end + 1;
+    }
+
+    private boolean startsWith(int offset, String text) {
+        if (offset + text.length() > source.length) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (source[offset + i] != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void skipAscii(int end) {
+        column += end - index;
+        index = end;
+    }
+
+    /*
+     * ANTLR counts lines by '\n' only and columns by code points, so we do the same
+     */
+    private void skipText(int end) {
+        while (index < end) {
+            char c = source[index];
+            if (c == '\n') {
+                line++;
+                column = 0;
+                index++;
+            } else if (Character.isHighSurrogate(c) && index + 1 < end && Character.isLowSurrogate(source[index + 1])) {
+                column++;
+                index += 2;
+            } else {
+                column++;
+                index++;
+            }
+        }
+    }
+
+    private void addToken(int kind, int end) {
+        if (tokenCount == kinds.length) {
+            int length = tokenCount * 2;
+            kinds = Arrays.copyOf(kinds, length);
+            starts = Arrays.copyOf(starts, length);
+            ends = Arrays.copyOf(ends, length);
+            lines = Arrays.copyOf(lines, length);
+            columns = Arrays.copyOf(columns, length);
+            hiddenBefore = Arrays.copyOf(hiddenBefore, length);
+        }
+        kinds[tokenCount] = kind;
+        starts[tokenCount] = index;
+        ends[tokenCount] = end;
+        lines[tokenCount] = line;
+        columns[tokenCount] = column;
+        hiddenBefore[tokenCount] = hiddenCount;
+        tokenCount++;
+        if (tokenCount > maxTokens) {
+            throw CANNOT_PARSE;
+        }
+    }
+
+    private void addHidden(int kind, int end) {
+        boolean capture;
+        if (kind == COMMENT) {
+            if (++commentCount > maxTokens) {
+                throw CANNOT_PARSE;
+            }
+            capture = captureLineComments;
+        } else {
+            if (++whitespaceCount > maxWhitespaceTokens) {
+                throw CANNOT_PARSE;
+            }
+            capture = captureIgnoredChars;
+        }
+        if (!capture) {
+            return;
+        }
+        if (hiddenCount == hiddenKinds.length) {
+            int length = Math.max(64, hiddenCount * 2);
+            hiddenKinds = Arrays.copyOf(hiddenKinds, length);
+            hiddenStarts = Arrays.copyOf(hiddenStarts, length);
+            hiddenEnds = Arrays.copyOf(hiddenEnds, length);
+            hiddenLines = Arrays.copyOf(hiddenLines, length);
+            hiddenColumns = Arrays.copyOf(hiddenColumns, length);
+        }
+        hiddenKinds[hiddenCount] = kind;
+        hiddenStarts[hiddenCount] = index;
+        hiddenEnds[hiddenCount] = end;
+        hiddenLines[hiddenCount] = line;
+        hiddenColumns[hiddenCount] = column;
+        hiddenCount++;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isNameStart(char c) {
+        return c == '_' || (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    private static boolean isNameContinue(char c) {
+        return isNameStart(c) || isDigit(c);
+    }
+
+    //
+    // the parser, each method is named after the grammar rule it follows
+    //
+
+    private Document document() {
+        enterRule();
+        int start = pos;
+        List<Definition> definitions = new ArrayList<>();
+        do {
+            enterRule();
+            if (peek('{') || peekOperationType()) {
+                definitions.add(operationDefinition());
+            } else if (peekKeyword("fragment")) {
+                definitions.add(fragmentDefinition());
+            } else {
+                // a type system definition or a syntax error
+                throw CANNOT_PARSE;
+            }
+            exitRule();
+        } while (!peek(EOF));
+        Document.Builder document = Document.newDocument();
+        addCommonData(document, start);
+        document.definitions(definitions);
+        exitRule();
+        return document.build();
+    }
+
+    private OperationDefinition operationDefinition() {
+        enterRule();
+        int start = pos;
+        OperationDefinition.Builder operationDefinition = OperationDefinition.newOperationDefinition();
+        if (peek('{')) {
+            operationDefinition.operation(OperationDefinition.Operation.QUERY);
+            operationDefinition.variableDefinitions(emptyList());
+            operationDefinition.selectionSet(selectionSet());
+            operationDefinition.directives(emptyList());
+        } else {
+            checkRuleDepth(1);
+            operationDefinition.operation(parseOperation(pos++));
+            if (peek(NAME)) {
+                operationDefinition.name(name());
+            }
+            operationDefinition.variableDefinitions(peek('(') ? variableDefinitions() : emptyList());
+            operationDefinition.directives(peek('@') ? directives() : emptyList());
+            operationDefinition.selectionSet(selectionSet());
+        }
+        addCommonData(operationDefinition, start);
+        exitRule();
+        return operationDefinition.build();
+    }
+
+    private OperationDefinition.Operation parseOperation(int token) {
+        if (textEquals(token, "query")) {
+            return OperationDefinition.Operation.QUERY;
+        }
+        if (textEquals(token, "mutation")) {
+            return OperationDefinition.Operation.MUTATION;
+        }
+        return OperationDefinition.Operation.SUBSCRIPTION;
+    }
+
+    private List<VariableDefinition> variableDefinitions() {
+        enterRule();
+        expect('(');
+        List<VariableDefinition> variableDefinitions = new ArrayList<>();
+        do {
+            variableDefinitions.add(variableDefinition());
+        } while (!peek(')'));
+        pos++;
+        exitRule();
+        return variableDefinitions;
+    }
+
+    private VariableDefinition variableDefinition() {
+        enterRule();
+        int start = pos;
+        VariableDefinition.Builder variableDefinition = VariableDefinition.newVariableDefinition();
+        enterRule();
+        expect('$');
+        variableDefinition.name(name());
+        exitRule();
+        expect(':');
+        variableDefinition.type(type());
+        if (peek('=')) {
+            enterRule();
+            pos++;
+            variableDefinition.defaultValue(value(true));
+            exitRule();
+        }
+        variableDefinition.directives(peek('@') ? directives() : emptyList());
+        addCommonData(variableDefinition, start);
+        exitRule();
+        return variableDefinition.build();
+    }
+
+    private FragmentDefinition fragmentDefinition() {
+        enterRule();
+        int start = pos;
+        pos++;
+        FragmentDefinition.Builder fragmentDefinition = FragmentDefinition.newFragmentDefinition();
+        fragmentDefinition.name(fragmentName());
+        enterRule();
+        expectKeyword("on");
+        enterRule();
+        // unlike inline fragments, the type condition of a fragment definition has no source location
+        fragmentDefinition.typeCondition(TypeName.newTypeName().name(name()).build());
+        exitRule();
+        exitRule();
+        fragmentDefinition.directives(peek('@') ? directives() : emptyList());
+        fragmentDefinition.selectionSet(selectionSet());
+        addCommonData(fragmentDefinition, start);
+        exitRule();
+        return fragmentDefinition.build();
+    }
+
+    private SelectionSet selectionSet() {
+        enterRule();
+        int start = pos;
+        expect('{');
+        List<Selection> selections = new ArrayList<>();
+        do {
+            selections.add(selection());
+        } while (!peek('}'));
+        pos++;
+        SelectionSet.Builder selectionSet = SelectionSet.newSelectionSet();
+        addCommonData(selectionSet, start);
+        selectionSet.selections(selections);
+        exitRule();
+        return selectionSet.build();
+    }
+
+    private Selection<?> selection() {
+        enterRule();
+        Selection<?> selection;
+        if (peek(NAME)) {
+            selection = field();
+        } else if (peek(SPREAD)) {
+            // a fragment name can be anything but 'on', which starts the type condition of an inline fragment
+            if (kinds[pos + 1] == NAME && !textEquals(pos + 1, "on")) {
+                selection = fragmentSpread();
+            } else {
+                selection = inlineFragment();
+            }
+        } else {
+            throw CANNOT_PARSE;
+        }
+        exitRule();
+        return selection;
+    }
+
+    private Field field() {
+        enterRule();
+        int start = pos;
+        Field.Builder field = Field.newField();
+        if (kinds[pos + 1] == ':') {
+            enterRule();
+            field.alias(name());
+            pos++;
+            exitRule();
+        }
+        field.name(name());
+        field.arguments(peek('(') ? arguments() : emptyList());
+        field.directives(peek('@') ? directives() : emptyList());
+        if (peek('{')) {
+            field.selectionSet(selectionSet());
+        }
+        addCommonData(field, start);
+        exitRule();
+        return field.build();
+    }
+
+    private FragmentSpread fragmentSpread() {
+        enterRule();
+        int start = pos;
+        pos++;
+        FragmentSpread.Builder fragmentSpread = FragmentSpread.newFragmentSpread().name(fragmentName());
+        fragmentSpread.directives(peek('@') ? directives() : emptyList());
+        addCommonData(fragmentSpread, start);
+        exitRule();
+        return fragmentSpread.build();
+    }
+
+    private InlineFragment inlineFragment() {
+        enterRule();
+        int start = pos;
+        pos++;
+        InlineFragment.Builder inlineFragment = InlineFragment.newInlineFragment();
+        if (peekKeyword("on")) {
+            enterRule();
+            pos++;
+            inlineFragment.typeCondition(typeName());
+            exitRule();
+        }
+        inlineFragment.directives(peek('@') ? directives() : emptyList());
+        inlineFragment.selectionSet(selectionSet());
+        addCommonData(inlineFragment, start);
+        exitRule();
+        return inlineFragment.build();
+    }
+
+    private List<Argument> arguments() {
+        enterRule();
+        expect('(');
+        List<Argument> arguments = new ArrayList<>();
+        do {
+            arguments.add(argument());
+        } while (!peek(')'));
+        pos++;
+        exitRule();
+        return arguments;
+    }
+
+    private Argument argument() {
+        enterRule();
+        int start = pos;
+        Argument.Builder argument = Argument.newArgument();
+        argument.name(name());
+        expect(':');
+        argument.value(value(false));
+        addCommonData(argument, start);
+        exitRule();
+        return argument.build();
+    }
+
+    private List<Directive> directives() {
+        enterRule();
+        List<Directive> directives = new ArrayList<>();
+        do {
+            directives.add(directive());
+        } while (peek('@'));
+        exitRule();
+        return directives;
+    }
+
+    private Directive directive() {
+        enterRule();
+        int start = pos;
+        expect('@');
+        Directive.Builder directive = Directive.newDirective();
+        directive.name(name());
+        directive.arguments(peek('(') ? arguments() : emptyList());
+        addCommonData(directive, start);
+        exitRule();
+        return directive.build();
+    }
+
+    private Type<?> type() {
+        enterRule();
+        Type<?> type;
+        if (peek(NAME)) {
+            if (kinds[pos + 1] == '!') {
+                type = nonNullType();
+            } else {
+                type = typeName();
+            }
+        } else if (peek('[')) {
+            if (isNonNullListType()) {
+                type = nonNullType();
+            } else {
+                type = listType();
+            }
+        } else {
+            throw CANNOT_PARSE;
+        }
+        exitRule();
+        return type;
+    }
+
+    private TypeName typeName() {
+        enterRule();
+        int start = pos;
+        TypeName.Builder typeName = TypeName.newTypeName();
+        typeName.name(name());
+        addCommonData(typeName, start);
+        exitRule();
+        return typeName.build();
+    }
+
+    private NonNullType nonNullType() {
+        enterRule();
+        int start = pos;
+        NonNullType.Builder nonNullType = NonNullType.newNonNullType();
+        if (peek('[')) {
+            nonNullType.type(listType());
+        } else {
+            nonNullType.type(typeName());
+        }
+        expect('!');
+        addCommonData(nonNullType, start);
+        exitRule();
+        return nonNullType.build();
+    }
+
+    private ListType listType() {
+        enterRule();
+        int start = pos;
+        expect('[');
+        ListType.Builder listType = ListType.newListType();
+        listType.type(type());
+        expect(']');
+        addCommonData(listType, start);
+        exitRule();
+        return listType.build();
+    }
+
+    /*
+     * ANTLR looks past the list type to see which rule it is in, so we do the same to count the same rule depth
+     */
+    private boolean isNonNullListType() {
+        int nesting = 0;
+        for (int i = pos; i < tokenCount; i++) {
+            int kind = kinds[i];
+            if (kind == '[') {
+                nesting++;
+            } else if (kind == ']') {
+                nesting--;
+                if (nesting == 0) {
+                    return kinds[i + 1] == '!';
+                }
+            } else if (kind != NAME && kind != '!') {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private Value<?> value(boolean constant) {
+        enterRule();
+        int start = pos;
+        Value<?> value;
+        switch (kinds[pos]) {
+            case '$':
+                if (constant) {
+                    throw CANNOT_PARSE;
+                }
+                enterRule();
+                pos++;
+                VariableReference.Builder variableReference = VariableReference.newVariableReference().name(name());
+                exitRule();
+                addCommonData(variableReference, start);
+                value = variableReference.build();
+                break;
+            case INT:
+                IntValue.Builder intValue = IntValue.newIntValue().value(new BigInteger(text(pos++)));
+                addCommonData(intValue, start);
+                value = intValue.build();
+                break;
+            case FLOAT:
+                FloatValue.Builder floatValue = FloatValue.newFloatValue().value(parseFloat(pos++));
+                addCommonData(floatValue, start);
+                value = floatValue.build();
+                break;
+            case STRING:
+            case BLOCK_STRING:
+                StringValue.Builder stringValue = StringValue.newStringValue().value(quotedString(pos++));
+                addCommonData(stringValue, start);
+                value = stringValue.build();
+                break;
+            case NAME:
+                value = nameValue(start);
+                break;
+            case '[':
+                value = arrayValue(start, constant);
+                break;
+            case '{':
+                value = objectValue(start, constant);
+                break;
+            default:
+                throw CANNOT_PARSE;
+        }
+        exitRule();
+        return value;
+    }
+
+    private Value<?> nameValue(int start) {
+        if (textEquals(pos, "true") || textEquals(pos, "false")) {
+            BooleanValue.Builder booleanValue = BooleanValue.newBooleanValue().value(textEquals(pos++, "true"));
+            addCommonData(booleanValue, start);
+            return booleanValue.build();
+        }
+        if (textEquals(pos, "null")) {
+            pos++;
+            NullValue.Builder nullValue = NullValue.newNullValue();
+            addCommonData(nullValue, start);
+            return nullValue.build();
+        }
+        // enumValue and enumValueName, and then baseName unless it's 'on'
+        checkRuleDepth(textEquals(pos, "on") ? 2 : 3);
+        EnumValue.Builder enumValue = EnumValue.newEnumValue().name(text(pos++));
+        addCommonData(enumValue, start);
+        return enumValue.build();
+    }
+
+    private ArrayValue arrayValue(int start, boolean constant) {
+        enterRule();
+        pos++;
+        List<Value> values = new ArrayList<>();
+        while (!peek(']')) {
+            values.add(value(constant));
+        }
+        pos++;
+        exitRule();
+        ArrayValue.Builder arrayValue = ArrayValue.newArrayValue();
+        addCommonData(arrayValue, start);
+        return arrayValue.values(values).build();
+    }
+
+    private ObjectValue objectValue(int start, boolean constant) {
+        enterRule();
+        pos++;
+        List<ObjectField> objectFields = new ArrayList<>();
+        while (!peek('}')) {
+            enterRule();
+            String name = name();
+            expect(':');
+            objectFields.add(ObjectField.newObjectField().name(name).value(value(constant)).build());
+            exitRule();
+        }
+        pos++;
+        exitRule();
+        ObjectValue.Builder objectValue = ObjectValue.newObjectValue();
+        addCommonData(objectValue, start);
+        return objectValue.objectFields(objectFields).build();
+    }
+
+    private BigDecimal parseFloat(int token) {
+        try {
+            return new BigDecimal(source, starts[token], ends[token] - starts[token]);
+        } catch (NumberFormatException e) {
+            throw CANNOT_PARSE;
+        }
+    }
+
+    private String quotedString(int token) {
+        if (kinds[token] == BLOCK_STRING) {
+            return parseTripleQuotedString(text(token));
+        }
+        int start = starts[token];
+        int end = ends[token];
+        if (!contains(start, end, '\\')) {
+            return new String(source, start + 1, end - start - 2);
+        }
+        try {
+            return parseSingleQuotedString(i18n, text(token), createSourceLocation(lines[token], columns[token]));
+        } catch (InvalidSyntaxException e) {
+            throw CANNOT_PARSE;
+        }
+    }
+
+    /*
+     * name : baseName | BooleanValue | NullValue | ON_KEYWORD, where baseName is another rule
+     */
+    private String name() {
+        if (!peek(NAME)) {
+            throw CANNOT_PARSE;
+        }
+        checkRuleDepth(isBaseName(pos) ? 2 : 1);
+        return text(pos++);
+    }
+
+    /*
+     * fragmentName : baseName | BooleanValue | NullValue
+     */
+    private String fragmentName() {
+        if (peekKeyword("on")) {
+            throw CANNOT_PARSE;
+        }
+        return name();
+    }
+
+    private boolean isBaseName(int token) {
+        return !(textEquals(token, "true") || textEquals(token, "false") || textEquals(token, "null") || textEquals(token, "on"));
+    }
+
+    private boolean peek(int kind) {
+        return kinds[pos] == kind;
+    }
+
+    private boolean peekKeyword(String keyword) {
+        return kinds[pos] == NAME && textEquals(pos, keyword);
+    }
+
+    private boolean peekOperationType() {
+        return peekKeyword("query") || peekKeyword("mutation") || peekKeyword("subscription");
+    }
+
+    private void expect(int kind) {
+        if (kinds[pos] != kind) {
+            throw CANNOT_PARSE;
+        }
+        pos++;
+    }
+
+    private void expectKeyword(String keyword) {
+        if (!peekKeyword(keyword)) {
+            throw CANNOT_PARSE;
+        }
+        pos++;
+    }
+
+    private void enterRule() {
+        if (++depth > maxRuleDepth) {
+            throw CANNOT_PARSE;
+        }
+    }
+
+    private void exitRule() {
+        depth--;
+    }
+
+    private void checkRuleDepth(int rules) {
+        if (depth + rules > maxRuleDepth) {
+            throw CANNOT_PARSE;
+        }
+    }
+
+    private boolean textEquals(int token, String text) {
+        int start = starts[token];
+        return ends[token] - start == text.length() && startsWith(start, text);
+    }
+
+    private boolean contains(int start, int end, char c) {
+        for (int i = start; i < end; i++) {
+            if (source[i] == c) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String text(int token) {
+        return new String(source, starts[token], ends[token] - starts[token]);
+    }
+
+    //
+    // the common node data, which follows GraphqlAntlrToLanguage
+    //
+
+    private void addCommonData(NodeBuilder nodeBuilder, int start) {
+        int stop = pos - 1;
+        List<Comment> comments = getComments(start);
+        if (!comments.isEmpty()) {
+            nodeBuilder.comments(comments);
+        }
+        nodeBuilder.sourceLocation(getSourceLocation(lines[start], columns[start]));
+        if (captureIgnoredChars) {
+            List<IgnoredChar> left = getIgnoredChars(start == 0 ? 0 : hiddenBefore[start - 1], hiddenBefore[start]);
+            List<IgnoredChar> right = getIgnoredChars(hiddenBefore[stop], hiddenBefore[stop + 1]);
+            nodeBuilder.ignoredChars(new IgnoredChars(left, right));
+        }
+    }
+
+    private List<Comment> getComments(int token) {
+        if (!captureLineComments) {
+            return NO_COMMENTS;
+        }
+        int from = token == 0 ? 0 : hiddenBefore[token - 1];
+        int to = hiddenBefore[token];
+        ImmutableList.Builder<Comment> comments = null;
+        for (int i = from; i < to; i++) {
+            if (hiddenKinds[i] != COMMENT) {
+                continue;
+            }
+            if (comments == null) {
+                comments = ImmutableList.builder();
+            }
+            String text = new String(source, hiddenStarts[i] + 1, hiddenEnds[i] - hiddenStarts[i] - 1);
+            // this mirrors GraphqlAntlrToLanguage, which looks up the ANTLR line as is and keeps the 0 based column
+            MultiSourceReader.SourceAndLine sourceAndLine = getSourceAndLine(hiddenLines[i]);
+            SourceLocation sourceLocation = SourceLocation.EMPTY;
+            if (captureSourceLocation) {
+                sourceLocation = new SourceLocation(sourceAndLine.getLine() + 1, hiddenColumns[i], sourceAndLine.getSourceName());
+            }
+            comments.add(new Comment(text, sourceLocation));
+        }
+        return comments == null ? NO_COMMENTS : comments.build();
+    }
+
+    private List<IgnoredChar> getIgnoredChars(int from, int to) {
+        List<IgnoredChar> ignoredChars = null;
+        for (int i = from; i < to; i++) {
+            int kind = hiddenKinds[i];
+            if (kind == COMMENT) {
+                continue;
+            }
+            if (ignoredChars == null) {
+                ignoredChars = new ArrayList<>();
+            }
+            ignoredChars.add(new IgnoredChar(String.valueOf((char) kind), ignoredCharKind(kind), getSourceLocation(hiddenLines[i], hiddenColumns[i])));
+        }
+        return ignoredChars == null ? emptyList() : ImmutableList.copyOf(ignoredChars);
+    }
+
+    private static IgnoredChar.IgnoredCharKind ignoredCharKind(int c) {
+        switch (c) {
+            case '\r':
+                return IgnoredChar.IgnoredCharKind.CR;
+            case '\n':
+                return IgnoredChar.IgnoredCharKind.LF;
+            case '\t':
+                return IgnoredChar.IgnoredCharKind.TAB;
+            case ',':
+                return IgnoredChar.IgnoredCharKind.COMMA;
+            case ' ':
+                return IgnoredChar.IgnoredCharKind.SPACE;
+            default:
+                return IgnoredChar.IgnoredCharKind.OTHER;
+        }
+    }
+
+    private SourceLocation getSourceLocation(int line, int column) {
+        if (captureSourceLocation) {
+            return createSourceLocation(line, column);
+        }
+        return SourceLocation.EMPTY;
+    }
+
+    /*
+     * the same as AntlrHelper.createSourceLocation with a lookup of the line that is cached, since nodes come line by line
+     */
+    private SourceLocation createSourceLocation(int line, int column) {
+        MultiSourceReader.SourceAndLine sourceAndLine = getSourceAndLine(line - 1);
+        return new SourceLocation(sourceAndLine.getLine() + 1, column + 1, sourceAndLine.getSourceName());
+    }
+
+    private MultiSourceReader.SourceAndLine getSourceAndLine(int overallLine) {
+        if (overallLine != lastOverallLine) {
+            lastSourceAndLine = multiSourceReader.getSourceAndLineFromOverallLine(overallLine);
+            lastOverallLine = overallLine;
+        }
+        return lastSourceAndLine;
+    }
+
+    private void notifyParsingListener() {
+        ParsingListener parsingListener = parserOptions.getParsingListener();
+        if (parsingListener == ParsingListener.NOOP) {
+            return;
+        }
+        // like the ANTLR parser we tell the listener about every token that was consumed, which is every one apart from EOF
+        for (int i = 0; i < tokenCount - 1; i++) {
+            String text = text(i);
+            int tokenLine = lines[i];
+            int tokenColumn = columns[i];
+            parsingListener.onToken(new ParsingListener.Token() {
+                @Override
+                public String getText() {
+                    return text;
+                }
+
+                @Override
+                public int getLine() {
+                    return tokenLine;
+                }
+
+                @Override
+                public int getCharPositionInLine() {
+                    return tokenColumn;
+                }
+            });
+        }
+    }
+
+    private static class CannotParseException extends RuntimeException {
+        private CannotParseException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package graphql.schema;
+
+import graphql.ExperimentalApi;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A data fetcher that fetches the values of a field for many source objects in one call.
+ * <p>
+ * The {@link graphql.execution.BreadthFirstBatchedExecutionStrategy} collects the source objects of every occurrence of a field in the
+ * query, say the {@code price} of each item of a list of products, and calls {@link #getBatch(List)} once with all
+ * of them.  This gives the same batching as a {@link org.dataloader.DataLoader} without having to register and dispatch one.
+ * <p>
+ * Other execution strategies call {@link #get(DataFetchingEnvironment)} which fetches a batch of one.
+ *
+ * @param <T> the type of the values fetched
+ */
+@ExperimentalApi
+public interface BatchedDataFetcher<T> extends DataFetcher<CompletableFuture<T>> {
+
+    /**
+     * Fetches the values of the field for a batch of source objects.
+     * <p>
+     * There is an environment for each source object.  The field, its arguments and its selection set are the same for every environment
+     * of a batch, while {@link DataFetchingEnvironment#getSource()}, {@link DataFetchingEnvironment#getLocalContext()} and
+     * {@link DataFetchingEnvironment#getExecutionStepInfo()} are those of its own source object.
+     *
+     * @param environments the environments of the source objects to fetch the values for
+     *
+     * @return a promise to the values, one for each environment and in the same order, where a value can be a {@link DataFetcherResult}
+     *
+     * @throws Exception to fail every field of the batch
+     */
+    CompletionStage<List<T>> getBatch(List<DataFetchingEnvironment> environments) throws Exception;
+
+    @Override
+    default CompletableFuture<T> get(DataFetchingEnvironment environment) throws Exception {
+        return getBatch(Collections.singletonList(environment))
+                .toCompletableFuture()
+                .thenApply(values -> values.get(0));
+    }
+}
@@ -5,35 +5,26 @@ import com.google.common.collect.ImmutableSet;
 import graphql.Internal;
 import graphql.collect.ImmutableKit;
 import graphql.normalized.ExecutableNormalizedField;
+import graphql.schema.impl.FieldPathGlob;
+import graphql.schema.impl.FieldPathIndex;
 import graphql.util.LockKit;
 
-import java.io.File;
-import java.nio.file.FileSystems;
-import java.nio.file.Path;
-import java.nio.file.PathMatcher;
-import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static graphql.Assert.assertNotNull;
 import static graphql.collect.ImmutableKit.emptyList;
-import static graphql.util.FpKit.newList;
 
 @Internal
 public class DataFetchingFieldSelectionSetImpl implements DataFetchingFieldSelectionSet {
 
     private final static String SEP = "/";
-    private final static boolean UNIXY = SEP.equals(File.separator);
 
     private final static DataFetchingFieldSelectionSet NOOP = new DataFetchingFieldSelectionSet() {
 
@@ -91,12 +82,7 @@ public class DataFetchingFieldSelectionSetImpl implements DataFetchingFieldSelec
     private final Supplier<ExecutableNormalizedField> normalizedFieldSupplier;
 
     private LockKit.ComputedOnce computedOnce = new LockKit.ComputedOnce();
-    // we have multiple entries in this map so that we can do glob matching in multiple ways
-    // however it needs to be normalised back to a set of unique fields when give back out to
-    // the caller.
-    private Map<String, List<SelectedField>> normalisedSelectionSetFields;
-    private List<SelectedField> immediateFields;
-    private Set<String> flattenedFieldsForGlobSearching;
+    private SelectionSetIndex selectionSetIndex;
     private final GraphQLSchema schema;
 
     private DataFetchingFieldSelectionSetImpl(Supplier<ExecutableNormalizedField> normalizedFieldSupplier, GraphQLSchema schema) {
@@ -111,23 +97,7 @@ public class DataFetchingFieldSelectionSetImpl implements DataFetchingFieldSelec
         }
         computeValuesLazily();
         fieldGlobPattern = removeLeadingSlash(fieldGlobPattern);
-        PathMatcher globMatcher = globMatcher(fieldGlobPattern);
-        for (String flattenedField : flattenedFieldsForGlobSearching) {
-            flattenedField = osAppropriate(flattenedField);
-            Path path = Paths.get(flattenedField);
-            if (globMatcher.matches(path)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private String osAppropriate(String flattenedField) {
-        if (UNIXY) {
-            return flattenedField;
-        } else {
-            return flattenedField.replace(SEP, "\\");
-        }
+        return selectionSetIndex.fields.containsMatch(FieldPathGlob.compile(fieldGlobPattern));
     }
 
     @Override
@@ -161,29 +131,20 @@ public class DataFetchingFieldSelectionSetImpl implements DataFetchingFieldSelec
         }
         computeValuesLazily();
 
-        List<String> targetNames = new ArrayList<>();
-        for (String flattenedField : flattenedFieldsForGlobSearching) {
-            for (String globPattern : mkIterable(fieldGlobPattern, fieldGlobPatterns)) {
-                PathMatcher globMatcher = globMatcher(globPattern);
-                Path path = Paths.get(flattenedField);
-                if (globMatcher.matches(path)) {
-                    targetNames.add(flattenedField);
-                }
-            }
+        List<FieldPathGlob> globs = new ArrayList<>();
+        for (String globPattern : mkIterable(fieldGlobPattern, fieldGlobPatterns)) {
+            globs.add(FieldPathGlob.compile(globPattern));
         }
-
-        return toSetSemanticsList(targetNames.stream()
-                .flatMap(name -> normalisedSelectionSetFields.getOrDefault(name, emptyList()).stream()));
+        return toSetSemanticsList(selectionSetIndex.fields.getMatchingValues(globs).stream());
     }
 
     @Override
     public List<SelectedField> getFields() {
         computeValuesLazily();
-        return toSetSemanticsList(normalisedSelectionSetFields.values().stream()
-                .flatMap(Collection::stream));
+        return selectionSetIndex.allFields;
     }
 
-    private List<SelectedField> toSetSemanticsList(Stream<SelectedField> stream) {
+    private static List<SelectedField> toSetSemanticsList(Stream<SelectedField> stream) {
         return ImmutableList.copyOf(stream
                 .collect(ImmutableSet.toImmutableSet()));
     }
@@ -191,7 +152,7 @@ public class DataFetchingFieldSelectionSetImpl implements DataFetchingFieldSelec
     @Override
     public List<SelectedField> getImmediateFields() {
         computeValuesLazily();
-        return immediateFields;
+        return selectionSetIndex.immediateFields;
     }
 
     @Override
@@ -211,38 +172,57 @@ public class DataFetchingFieldSelectionSetImpl implements DataFetchingFieldSelec
         // this supplier is a once only thread synced call - so do it outside this lock
         // if only to have only 1 lock in action at a time
         ExecutableNormalizedField currentNormalisedField = normalizedFieldSupplier.get();
-        computedOnce.runOnce(() -> {
-            flattenedFieldsForGlobSearching = new LinkedHashSet<>();
-            normalisedSelectionSetFields = new LinkedHashMap<>();
-            ImmutableList.Builder<SelectedField> immediateFieldsBuilder = ImmutableList.builder();
-            traverseSubSelectedFields(currentNormalisedField, immediateFieldsBuilder, "", "", true);
-            immediateFields = immediateFieldsBuilder.build();
-        });
+        computedOnce.runOnce(() -> selectionSetIndex = getOrComputeSelectionSetIndex(currentNormalisedField));
     }
 
+    // the list items of a field all have the same normalized field, so its index is computed once and shared by all of them
+    private SelectionSetIndex getOrComputeSelectionSetIndex(ExecutableNormalizedField normalizedField) {
+        Object index = normalizedField.getSelectionSetIndex();
+        if (index instanceof SelectionSetIndex && ((SelectionSetIndex) index).schema == schema) {
+            return (SelectionSetIndex) index;
+        }
+        SelectionSetIndex newIndex = new SelectionSetIndex(normalizedField, schema);
+        normalizedField.setSelectionSetIndex(newIndex);
+        return newIndex;
+    }
 
-    private void traverseSubSelectedFields(ExecutableNormalizedField currentNormalisedField, ImmutableList.Builder<SelectedField> immediateFieldsBuilder, String qualifiedFieldPrefix, String simpleFieldPrefix, boolean firstLevel) {
-        List<ExecutableNormalizedField> children = currentNormalisedField.getChildren();
-        for (ExecutableNormalizedField normalizedSubSelectedField : children) {
-            String typeQualifiedName = mkTypeQualifiedName(normalizedSubSelectedField);
-            String simpleName = normalizedSubSelectedField.getName();
+    private static class SelectionSetIndex {
+        private final GraphQLSchema schema;
+        // we have multiple paths for each field so that we can do glob matching in multiple ways
+        // however it needs to be normalised back to a set of unique fields when give back out to
+        // the caller.
+        private final FieldPathIndex<SelectedField> fields = new FieldPathIndex<>();
+        private final List<SelectedField> immediateFields;
+        private final List<SelectedField> allFields;
+
+        private SelectionSetIndex(ExecutableNormalizedField normalizedField, GraphQLSchema schema) {
+            this.schema = schema;
+            ImmutableList.Builder<SelectedField> immediateFieldsBuilder = ImmutableList.builder();
+            traverseSubSelectedFields(normalizedField, immediateFieldsBuilder, "", "", true);
+            this.immediateFields = immediateFieldsBuilder.build();
+            this.allFields = toSetSemanticsList(fields.getValues().stream());
+        }
 
-            String globQualifiedName = mkFieldGlobName(qualifiedFieldPrefix, typeQualifiedName);
-            String globSimpleName = mkFieldGlobName(simpleFieldPrefix, simpleName);
+        private void traverseSubSelectedFields(ExecutableNormalizedField currentNormalisedField, ImmutableList.Builder<SelectedField> immediateFieldsBuilder, String qualifiedFieldPrefix, String simpleFieldPrefix, boolean firstLevel) {
+            List<ExecutableNormalizedField> children = currentNormalisedField.getChildren();
+            for (ExecutableNormalizedField normalizedSubSelectedField : children) {
+                String typeQualifiedName = mkTypeQualifiedName(normalizedSubSelectedField);
+                String simpleName = normalizedSubSelectedField.getName();
 
-            flattenedFieldsForGlobSearching.add(globQualifiedName);
-            // put in entries for the simple names - eg `Invoice.payments/Payment.amount` becomes `payments/amount`
-            flattenedFieldsForGlobSearching.add(globSimpleName);
+                String globQualifiedName = mkFieldGlobName(qualifiedFieldPrefix, typeQualifiedName);
+                String globSimpleName = mkFieldGlobName(simpleFieldPrefix, simpleName);
 
-            SelectedFieldImpl selectedField = new SelectedFieldImpl(globSimpleName, globQualifiedName, normalizedSubSelectedField, schema);
-            if (firstLevel) {
-                immediateFieldsBuilder.add(selectedField);
-            }
-            normalisedSelectionSetFields.computeIfAbsent(globQualifiedName, newList()).add(selectedField);
-            normalisedSelectionSetFields.computeIfAbsent(globSimpleName, newList()).add(selectedField);
+                SelectedFieldImpl selectedField = new SelectedFieldImpl(globSimpleName, globQualifiedName, normalizedSubSelectedField, schema);
+                if (firstLevel) {
+                    immediateFieldsBuilder.add(selectedField);
+                }
+                fields.add(globQualifiedName, selectedField);
+                // put in entries for the simple names - eg `Invoice.payments/Payment.amount` becomes `payments/amount`
+                fields.add(globSimpleName, selectedField);
 
-            if (normalizedSubSelectedField.hasChildren()) {
-                traverseSubSelectedFields(normalizedSubSelectedField, immediateFieldsBuilder, globQualifiedName, globSimpleName, false);
+                if (normalizedSubSelectedField.hasChildren()) {
+                    traverseSubSelectedFields(normalizedSubSelectedField, immediateFieldsBuilder, globQualifiedName, globSimpleName, false);
+                }
             }
         }
     }
@@ -263,10 +243,6 @@ public class DataFetchingFieldSelectionSetImpl implements DataFetchingFieldSelec
         return (!fieldPrefix.isEmpty() ? fieldPrefix + SEP : "") + fieldName;
     }
 
-    private static PathMatcher globMatcher(String fieldGlobPattern) {
-        return FileSystems.getDefault().getPathMatcher("glob:" + fieldGlobPattern);
-    }
-
     private List<String> mkIterable(String fieldGlobPattern, String[] fieldGlobPatterns) {
         List<String> l = new ArrayList<>();
         l.add(fieldGlobPattern);
@@ -279,7 +255,7 @@ public class DataFetchingFieldSelectionSetImpl implements DataFetchingFieldSelec
         if (!computedOnce.hasBeenComputed()) {
             return "notComputed";
         }
-        return String.join("\n", flattenedFieldsForGlobSearching);
+        return selectionSetIndex.fields.toString();
     }
 
     private static class SelectedFieldImpl implements SelectedField {
@@ -7,6 +7,7 @@ import com.google.common.collect.ImmutableSet;
 import graphql.Assert;
 import graphql.Directives;
 import graphql.DirectivesUtil;
+import graphql.ExperimentalApi;
 import graphql.Internal;
 import graphql.PublicApi;
 import graphql.collect.ImmutableKit;
@@ -27,6 +28,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 import static graphql.Assert.assertNotNull;
@@ -681,6 +683,7 @@ public class GraphQLSchema {
         private SchemaDefinition definition;
         private List<SchemaExtensionDefinition> extensionDefinitions;
         private String description;
+        private Executor executor;
 
         // we default these in
         private final Set<GraphQLDirective> additionalDirectives = new LinkedHashSet<>(
@@ -832,6 +835,20 @@ public class GraphQLSchema {
             return this;
         }
 
+        /**
+         * Type reference replacement and schema validation are split by type into independent parts that are run in parallel on the
+         * executor, which pays off for very large schemas.  The same validation errors are reported, however their order can differ.
+         *
+         * @param executor the executor to run parts of the schema build on
+         *
+         * @return this builder
+         */
+        @ExperimentalApi
+        public Builder executor(Executor executor) {
+            this.executor = assertNotNull(executor);
+            return this;
+        }
+
         /**
          * Builds the schema
          *
@@ -875,12 +892,12 @@ public class GraphQLSchema {
 
             // this is now build however its contained types are still to be mutated by type reference replacement
             final GraphQLSchema finalSchema = new GraphQLSchema(partiallyBuiltSchema, codeRegistry, allTypes, interfaceNameToObjectTypes);
-            SchemaUtil.replaceTypeReferences(finalSchema);
+            SchemaUtil.replaceTypeReferences(finalSchema, executor);
             return validateSchema(finalSchema);
         }
 
         private GraphQLSchema validateSchema(GraphQLSchema graphQLSchema) {
-            Collection<SchemaValidationError> errors = new SchemaValidator().validateSchema(graphQLSchema);
+            Collection<SchemaValidationError> errors = new SchemaValidator().validateSchema(graphQLSchema, executor);
             if (!errors.isEmpty()) {
                 throw new InvalidSchemaException(errors);
             }
@@ -4,6 +4,7 @@ package graphql.schema;
 import graphql.Assert;
 import graphql.PublicApi;
 
+import java.util.Map;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -25,6 +26,12 @@ import java.util.function.Supplier;
  * <li>If this cant find anything, then null is returned</li>
  * </ul>
  * <p>
+ * Once a property has been fetched from a POJO via a generated getter, the data fetcher binds that getter to the class of the
+ * source object and calls it directly for later source objects of exactly that class, without any reflection cache lookups.  A data
+ * fetcher only binds a getter once it is used a second time, so a data fetcher used for a single fetch costs no more than before.  This
+ * pays off when the same data fetcher instance is used for a field over many executions, say via an {@link DataFetcherFactories#useDataFetcher(DataFetcher) explicitly wired}
+ * data fetcher or via a {@link graphql.execution.ExecutionPlan}, which looks up the data fetcher of a field once.
+ * <p>
  * You can write your own data fetchers to get data from some other backing system
  * if you need highly customised behaviour.
  *
@@ -35,6 +42,9 @@ public class PropertyDataFetcher<T> implements LightDataFetcher<T> {
 
     private final String propertyName;
     private final Function<Object, Object> function;
+    // a monomorphic inline cache of the getter for one source class - it's immutable so racy publication is fine
+    private BoundGetter boundGetter;
+    private boolean fetchedBefore;
 
     /**
      * This constructor will use the property name and examine the {@link DataFetchingEnvironment#getSource()}
@@ -128,7 +138,47 @@ public class PropertyDataFetcher<T> implements LightDataFetcher<T> {
             return (T) function.apply(source);
         }
 
-        return (T) PropertyDataFetcherHelper.getPropertyValue(propertyName, source, fieldDefinition, environmentSupplier);
+        BoundGetter boundGetter = this.boundGetter;
+        if (boundGetter != null && boundGetter.getter != null && boundGetter.isBoundTo(source.getClass())) {
+            return (T) boundGetter.getter.apply(source);
+        }
+        return (T) getAndBindGetter(source, fieldDefinition, environmentSupplier);
+    }
+
+    private Object getAndBindGetter(Object source, GraphQLOutputType fieldDefinition, Supplier<DataFetchingEnvironment> environmentSupplier) {
+        // the default data fetcher factory makes a new data fetcher per fetch, so we only bind once an instance is used again
+        if (!fetchedBefore) {
+            fetchedBefore = true;
+            return PropertyDataFetcherHelper.getPropertyValue(propertyName, source, fieldDefinition, environmentSupplier);
+        }
+        // the generation is read first so that a cache clear while fetching leaves us with a stale binding
+        int cacheGeneration = PropertyDataFetcherHelper.getCacheGeneration();
+        Object value = PropertyDataFetcherHelper.getPropertyValue(propertyName, source, fieldDefinition, environmentSupplier);
+
+        // we only bind the first class seen, so that polymorphic sources don't pay for re-binding on every fetch
+        BoundGetter boundGetter = this.boundGetter;
+        if ((boundGetter == null || boundGetter.cacheGeneration != cacheGeneration) && !(source instanceof Map)) {
+            // a null getter is bound too, so that a property without a lambda getter is only looked up once per cache generation
+            Function<Object, Object> getter = PropertyDataFetcherHelper.getCachedGetter(source.getClass(), propertyName);
+            this.boundGetter = new BoundGetter(source.getClass(), getter, cacheGeneration);
+        }
+        return value;
+    }
+
+    private static class BoundGetter {
+        private final Class<?> sourceClass;
+        private final Function<Object, Object> getter;
+        private final int cacheGeneration;
+
+        private BoundGetter(Class<?> sourceClass, Function<Object, Object> getter, int cacheGeneration) {
+            this.sourceClass = sourceClass;
+            this.getter = getter;
+            this.cacheGeneration = cacheGeneration;
+        }
+
+        private boolean isBoundTo(Class<?> sourceClass) {
+            return this.sourceClass == sourceClass && this.cacheGeneration == PropertyDataFetcherHelper.getCacheGeneration();
+        }
     }
 
     /**
@@ -166,4 +216,16 @@ public class PropertyDataFetcher<T> implements LightDataFetcher<T> {
     public static boolean setUseNegativeCache(boolean flag) {
         return PropertyDataFetcherHelper.setUseNegativeCache(flag);
     }
+
+    /**
+     * This can be used to control whether PropertyDataFetcher will bind the getter it found for a class of source object and call it directly
+     * for later source objects of that class.  By default it PropertyDataFetcher WILL bind getters.
+     *
+     * @param flag whether to bind getters
+     *
+     * @return the previous value of the flag
+     */
+    public static boolean setUseInlineCache(boolean flag) {
+        return PropertyDataFetcherHelper.setUseInlineCache(flag);
+    }
 }
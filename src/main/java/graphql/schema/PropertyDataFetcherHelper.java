@@ -3,6 +3,7 @@ package graphql.schema;
 import graphql.Internal;
 import graphql.VisibleForTesting;
 
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -23,6 +24,14 @@ public class PropertyDataFetcherHelper {
         return impl.getPropertyValue(propertyName, object, graphQLType, true, environment);
     }
 
+    public static Function<Object, Object> getCachedGetter(Class<?> sourceClass, String propertyName) {
+        return impl.getCachedGetter(sourceClass, propertyName);
+    }
+
+    public static int getCacheGeneration() {
+        return impl.getCacheGeneration();
+    }
+
     public static void clearReflectionCache() {
         impl.clearReflectionCache();
     }
@@ -39,4 +48,8 @@ public class PropertyDataFetcherHelper {
     public static boolean setUseNegativeCache(boolean flag) {
         return impl.setUseNegativeCache(flag);
     }
+
+    public static boolean setUseInlineCache(boolean flag) {
+        return impl.setUseInlineCache(flag);
+    }
 }
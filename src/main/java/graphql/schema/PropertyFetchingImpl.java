@@ -21,6 +21,7 @@ import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -38,6 +39,8 @@ public class PropertyFetchingImpl {
     private final AtomicBoolean USE_SET_ACCESSIBLE = new AtomicBoolean(true);
     private final AtomicBoolean USE_LAMBDA_FACTORY = new AtomicBoolean(true);
     private final AtomicBoolean USE_NEGATIVE_CACHE = new AtomicBoolean(true);
+    private final AtomicBoolean USE_INLINE_CACHE = new AtomicBoolean(true);
+    private final AtomicInteger CACHE_GENERATION = new AtomicInteger();
     private final ConcurrentMap<CacheKey, CachedLambdaFunction> LAMBDA_CACHE = new ConcurrentHashMap<>();
     private final ConcurrentMap<CacheKey, CachedMethod> METHOD_CACHE = new ConcurrentHashMap<>();
     private final ConcurrentMap<CacheKey, Field> FIELD_CACHE = new ConcurrentHashMap<>();
@@ -170,6 +173,34 @@ public class PropertyFetchingImpl {
         return null;
     }
 
+    /**
+     * Returns the lambda getter that has already been used to fetch the named property from objects of the given class.  Callers
+     * can bind it to that class and call it directly for later objects of exactly that class, which skips the cache key allocation
+     * and the cache lookups of {@link #getPropertyValue(String, Object, GraphQLType, boolean, Supplier)}.
+     * <p>
+     * A bound getter is only valid while {@link #getCacheGeneration()} is unchanged, since clearing the caches or changing how
+     * properties are fetched must be seen by every caller.
+     *
+     * @param sourceClass  the exact class of the source objects
+     * @param propertyName the name of the property
+     *
+     * @return the lambda getter or null if there is none or inline caching is turned off
+     */
+    public Function<Object, Object> getCachedGetter(Class<?> sourceClass, String propertyName) {
+        if (!USE_INLINE_CACHE.get()) {
+            return null;
+        }
+        CachedLambdaFunction cachedFunction = LAMBDA_CACHE.get(new CacheKey(sourceClass.getClassLoader(), sourceClass.getName(), propertyName));
+        return cachedFunction != null ? cachedFunction.getter : null;
+    }
+
+    /**
+     * @return a number that changes whenever the caches are cleared or the fetching flags are changed
+     */
+    public int getCacheGeneration() {
+        return CACHE_GENERATION.get();
+    }
+
     private Optional<Function<Object, Object>> lambdaGetter(String propertyName, Object object) {
         if (USE_LAMBDA_FACTORY.get()) {
             return LambdaFetchingSupport.createGetter(object.getClass(), propertyName);
@@ -380,18 +411,29 @@ public class PropertyFetchingImpl {
         METHOD_CACHE.clear();
         FIELD_CACHE.clear();
         NEGATIVE_CACHE.clear();
+        CACHE_GENERATION.incrementAndGet();
     }
 
     public boolean setUseSetAccessible(boolean flag) {
-        return USE_SET_ACCESSIBLE.getAndSet(flag);
+        return setFlag(USE_SET_ACCESSIBLE, flag);
     }
 
     public boolean setUseLambdaFactory(boolean flag) {
-        return USE_LAMBDA_FACTORY.getAndSet(flag);
+        return setFlag(USE_LAMBDA_FACTORY, flag);
     }
 
     public boolean setUseNegativeCache(boolean flag) {
-        return USE_NEGATIVE_CACHE.getAndSet(flag);
+        return setFlag(USE_NEGATIVE_CACHE, flag);
+    }
+
+    public boolean setUseInlineCache(boolean flag) {
+        return setFlag(USE_INLINE_CACHE, flag);
+    }
+
+    private boolean setFlag(AtomicBoolean useFlag, boolean flag) {
+        boolean previous = useFlag.getAndSet(flag);
+        CACHE_GENERATION.incrementAndGet();
+        return previous;
     }
 
     private CacheKey mkCacheKey(Object object, String propertyName) {
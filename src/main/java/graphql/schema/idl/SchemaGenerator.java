@@ -1,5 +1,6 @@
 package graphql.schema.idl;
 
+import graphql.ExperimentalApi;
 import graphql.GraphQLError;
 import graphql.PublicApi;
 import graphql.language.OperationTypeDefinition;
@@ -12,7 +13,9 @@ import graphql.schema.idl.errors.SchemaProblem;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
+import static graphql.Assert.assertNotNull;
 import static graphql.schema.idl.SchemaGeneratorHelper.buildDescription;
 
 
@@ -103,7 +106,7 @@ public class SchemaGenerator {
 
         schemaGeneratorHelper.addDirectivesIncludedByDefault(typeRegistryCopy);
 
-        List<GraphQLError> errors = typeChecker.checkTypeRegistry(typeRegistryCopy, wiring);
+        List<GraphQLError> errors = typeChecker.checkTypeRegistry(typeRegistryCopy, wiring, options.getExecutor());
         if (!errors.isEmpty()) {
             throw new SchemaProblem(errors);
         }
@@ -120,6 +123,9 @@ public class SchemaGenerator {
         SchemaGeneratorHelper.BuildContext buildCtx = new SchemaGeneratorHelper.BuildContext(typeRegistry, wiring, operationTypeDefinitions, options);
 
         GraphQLSchema.Builder schemaBuilder = GraphQLSchema.newSchema();
+        if (options.getExecutor() != null) {
+            schemaBuilder.executor(options.getExecutor());
+        }
 
         Set<GraphQLDirective> additionalDirectives = schemaGeneratorHelper.buildAdditionalDirectiveDefinitions(buildCtx);
         schemaBuilder.additionalDirectives(additionalDirectives);
@@ -164,11 +170,13 @@ public class SchemaGenerator {
         private final boolean useCommentsAsDescription;
         private final boolean captureAstDefinitions;
         private final boolean useAppliedDirectivesOnly;
+        private final Executor executor;
 
-        Options(boolean useCommentsAsDescription, boolean captureAstDefinitions, boolean useAppliedDirectivesOnly) {
+        Options(boolean useCommentsAsDescription, boolean captureAstDefinitions, boolean useAppliedDirectivesOnly, Executor executor) {
             this.useCommentsAsDescription = useCommentsAsDescription;
             this.captureAstDefinitions = captureAstDefinitions;
             this.useAppliedDirectivesOnly = useAppliedDirectivesOnly;
+            this.executor = executor;
         }
 
         public boolean isUseCommentsAsDescription() {
@@ -183,8 +191,16 @@ public class SchemaGenerator {
             return useAppliedDirectivesOnly;
         }
 
+        /**
+         * @return the executor that parts of making the schema are run on or null if the schema is made on the calling thread
+         */
+        @ExperimentalApi
+        public Executor getExecutor() {
+            return executor;
+        }
+
         public static Options defaultOptions() {
-            return new Options(true, true, false);
+            return new Options(true, true, false, null);
         }
 
         /**
@@ -197,7 +213,7 @@ public class SchemaGenerator {
          * @return a new Options object
          */
         public Options useCommentsAsDescriptions(boolean useCommentsAsDescription) {
-            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly);
+            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly, executor);
         }
 
         /**
@@ -209,7 +225,7 @@ public class SchemaGenerator {
          * @return a new Options object
          */
         public Options captureAstDefinitions(boolean captureAstDefinitions) {
-            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly);
+            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly, executor);
         }
 
         /**
@@ -222,7 +238,23 @@ public class SchemaGenerator {
          * @return a new Options object
          */
         public Options useAppliedDirectivesOnly(boolean useAppliedDirectivesOnly) {
-            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly);
+            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly, executor);
+        }
+
+        /**
+         * Very large schemas can be made faster by running the independent parts of making them in parallel.  The checks of the
+         * type registry are split into groups and the replacement of type references and the schema validation are split by type,
+         * and the parts are run on the executor, with one part of each running on the calling thread.  The types themselves are still
+         * built one after another since building a type builds the types it refers to.  The same errors are reported, however the
+         * order of the schema validation errors can differ.
+         *
+         * @param executor the executor to run parts of making the schema on
+         *
+         * @return a new Options object
+         */
+        @ExperimentalApi
+        public Options executor(Executor executor) {
+            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly, assertNotNull(executor));
         }
     }
 }
\ No newline at end of file
@@ -28,6 +28,7 @@ import graphql.schema.idl.errors.MissingTypeResolverError;
 import graphql.schema.idl.errors.NonUniqueArgumentError;
 import graphql.schema.idl.errors.NonUniqueNameError;
 import graphql.schema.idl.errors.SchemaProblem;
+import graphql.schema.impl.ParallelSchemaTasks;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -36,10 +37,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import static graphql.introspection.Introspection.DirectiveLocation.INPUT_FIELD_DEFINITION;
 import static java.util.stream.Collectors.toList;
@@ -53,32 +56,71 @@ import static java.util.stream.Collectors.toList;
 public class SchemaTypeChecker {
 
     public List<GraphQLError> checkTypeRegistry(TypeDefinitionRegistry typeRegistry, RuntimeWiring wiring) throws SchemaProblem {
-        List<GraphQLError> errors = new ArrayList<>();
-        checkForMissingTypes(errors, typeRegistry);
+        return checkTypeRegistry(typeRegistry, wiring, null);
+    }
 
-        SchemaTypeExtensionsChecker typeExtensionsChecker = new SchemaTypeExtensionsChecker();
+    /**
+     * Checks the type registry, running independent groups of checks on the executor if one is given.  The errors are the same, and
+     * in the same order, as when checking serially.
+     *
+     * @param typeRegistry the type registry to check
+     * @param wiring       the runtime wiring to check against
+     * @param executor     the executor to run groups of checks on or null to check serially on the calling thread
+     *
+     * @return the errors found
+     *
+     * @throws SchemaProblem if a check finds a problem that stops the others from being made
+     */
+    public List<GraphQLError> checkTypeRegistry(TypeDefinitionRegistry typeRegistry, RuntimeWiring wiring, Executor executor) throws SchemaProblem {
+        List<Consumer<List<GraphQLError>>> checks = new ArrayList<>();
+        checks.add(errors -> checkForMissingTypes(errors, typeRegistry));
 
-        typeExtensionsChecker.checkTypeExtensions(errors, typeRegistry);
+        checks.add(errors -> {
+            SchemaTypeExtensionsChecker typeExtensionsChecker = new SchemaTypeExtensionsChecker();
+            typeExtensionsChecker.checkTypeExtensions(errors, typeRegistry);
+        });
 
-        ImplementingTypesChecker implementingTypesChecker = new ImplementingTypesChecker();
-        implementingTypesChecker.checkImplementingTypes(errors, typeRegistry);
+        checks.add(errors -> {
+            ImplementingTypesChecker implementingTypesChecker = new ImplementingTypesChecker();
+            implementingTypesChecker.checkImplementingTypes(errors, typeRegistry);
+        });
 
-        UnionTypesChecker unionTypesChecker = new UnionTypesChecker();
-        unionTypesChecker.checkUnionType(errors, typeRegistry);
+        checks.add(errors -> {
+            UnionTypesChecker unionTypesChecker = new UnionTypesChecker();
+            unionTypesChecker.checkUnionType(errors, typeRegistry);
 
-        SchemaExtensionsChecker.checkSchemaInvariants(errors, typeRegistry);
+            SchemaExtensionsChecker.checkSchemaInvariants(errors, typeRegistry);
+        });
 
-        checkScalarImplementationsArePresent(errors, typeRegistry, wiring);
-        checkTypeResolversArePresent(errors, typeRegistry, wiring);
+        // the checks that call into the wiring stay together so that its code is not called concurrently
+        checks.add(errors -> {
+            checkScalarImplementationsArePresent(errors, typeRegistry, wiring);
+            checkTypeResolversArePresent(errors, typeRegistry, wiring);
 
-        checkFieldsAreSensible(errors, typeRegistry);
+            checkFieldsAreSensible(errors, typeRegistry);
 
-        //check directive definitions before checking directive usages
-        checkDirectiveDefinitions(typeRegistry, errors);
+            //check directive definitions before checking directive usages
+            checkDirectiveDefinitions(typeRegistry, errors);
 
-        SchemaTypeDirectivesChecker directivesChecker = new SchemaTypeDirectivesChecker(typeRegistry, wiring);
-        directivesChecker.checkTypeDirectives(errors);
+            SchemaTypeDirectivesChecker directivesChecker = new SchemaTypeDirectivesChecker(typeRegistry, wiring);
+            directivesChecker.checkTypeDirectives(errors);
+        });
 
+        if (executor == null) {
+            List<GraphQLError> errors = new ArrayList<>();
+            checks.forEach(check -> check.accept(errors));
+            return errors;
+        }
+        List<Supplier<List<GraphQLError>>> tasks = new ArrayList<>(checks.size());
+        for (Consumer<List<GraphQLError>> check : checks) {
+            tasks.add(() -> {
+                List<GraphQLError> errors = new ArrayList<>();
+                check.accept(errors);
+                return errors;
+            });
+        }
+        List<GraphQLError> errors = new ArrayList<>();
+        ParallelSchemaTasks.invokeAll(tasks, executor).forEach(errors::addAll);
         return errors;
     }
 
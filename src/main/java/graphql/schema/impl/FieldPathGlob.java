@@ -0,0 +1,347 @@
+package graphql.schema.impl;
+
+import graphql.Internal;
+import graphql.VisibleForTesting;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A compiled glob pattern over field paths such as {@code invoice/customer/name}, with the same syntax and meaning as the "glob"
+ * patterns of {@link java.nio.file.FileSystem#getPathMatcher(String)} on a unix file system, where '/' is the separator.
+ * <p>
+ * As well as matching whole paths, most patterns can be matched a segment at a time, which allows a {@link FieldPathIndex} to only
+ * visit the fields that can possibly match.  Compiled patterns are kept in a bounded cache since the same few patterns tend to be
+ * used over and over by data fetchers.
+ */
+@Internal
+public class FieldPathGlob {
+
+    @VisibleForTesting
+    static final int MAX_CACHED_GLOBS = 1000;
+
+    private static final ConcurrentHashMap<String, FieldPathGlob> CACHE = new ConcurrentHashMap<>();
+
+    private static final String REGEX_META_CHARS = ".^$+{[]|()";
+    private static final String GLOB_META_CHARS = "\\*?[{";
+    private static final char EOL = 0;
+
+    private final String glob;
+    private final Pattern pattern;
+    private final List<Segment> segments;
+
+    private FieldPathGlob(String glob) {
+        this.glob = glob;
+        this.pattern = Pattern.compile(toRegex(glob));
+        this.segments = toSegments(glob);
+    }
+
+    /**
+     * Compiles the glob pattern or returns the already compiled one from the cache
+     *
+     * @param glob the glob pattern
+     *
+     * @return the compiled glob pattern
+     *
+     * @throws PatternSyntaxException if the glob pattern is invalid
+     */
+    public static FieldPathGlob compile(String glob) {
+        FieldPathGlob fieldPathGlob = CACHE.get(glob);
+        if (fieldPathGlob != null) {
+            return fieldPathGlob;
+        }
+        fieldPathGlob = new FieldPathGlob(glob);
+        if (CACHE.size() >= MAX_CACHED_GLOBS) {
+            // making room for a new entry by evicting any old one is good enough for what is a small working set of patterns
+            Iterator<String> cachedGlobs = CACHE.keySet().iterator();
+            if (cachedGlobs.hasNext()) {
+                CACHE.remove(cachedGlobs.next());
+            }
+        }
+        CACHE.put(glob, fieldPathGlob);
+        return fieldPathGlob;
+    }
+
+    @VisibleForTesting
+    static int cacheSize() {
+        return CACHE.size();
+    }
+
+    public String getGlob() {
+        return glob;
+    }
+
+    /**
+     * @param path a field path such as {@code invoice/customer/name}
+     *
+     * @return true if the whole path matches the pattern
+     */
+    public boolean matches(String path) {
+        return pattern.matcher(path).matches();
+    }
+
+    /**
+     * @return the pattern split into its path segments or null if the pattern can only be matched against whole paths, say because a
+     * '**' is part of a longer segment
+     */
+    public List<Segment> getSegments() {
+        return segments;
+    }
+
+    @Override
+    public String toString() {
+        return glob;
+    }
+
+    /**
+     * One '/' separated segment of a pattern
+     */
+    public static class Segment {
+        private final String literal;
+        private final Pattern pattern;
+
+        private Segment(String literal, Pattern pattern) {
+            this.literal = literal;
+            this.pattern = pattern;
+        }
+
+        /**
+         * @return true if the segment is '**' which matches one or more whole path segments
+         */
+        public boolean isAnySegments() {
+            return literal == null && pattern == null;
+        }
+
+        /**
+         * @return the name that the segment matches or null if it is a pattern
+         */
+        public String getLiteral() {
+            return literal;
+        }
+
+        /**
+         * @param name the name of a path segment
+         *
+         * @return true if the name matches this segment
+         */
+        public boolean matches(String name) {
+            if (literal != null) {
+                return literal.equals(name);
+            }
+            return pattern == null || pattern.matcher(name).matches();
+        }
+    }
+
+    private static List<Segment> toSegments(String glob) {
+        List<Segment> segments = new ArrayList<>();
+        int start = 0;
+        int i = 0;
+        boolean literal = true;
+        StringBuilder unescaped = new StringBuilder();
+        while (i <= glob.length()) {
+            char c = i < glob.length() ? glob.charAt(i) : '/';
+            if (c == '\\') {
+                char escaped = next(glob, i + 1);
+                if (escaped == '/') {
+                    // an escaped separator is still a separator, only the whole path pattern gets that right
+                    return null;
+                }
+                unescaped.append(escaped);
+                i += 2;
+                continue;
+            }
+            if (c == '/') {
+                String segment = glob.substring(start, i);
+                if (segment.equals("**")) {
+                    segments.add(new Segment(null, null));
+                } else if (segment.contains("**")) {
+                    return null;
+                } else if (literal) {
+                    segments.add(new Segment(unescaped.toString(), null));
+                } else {
+                    segments.add(new Segment(null, Pattern.compile(toRegex(segment))));
+                }
+                start = i + 1;
+                literal = true;
+                unescaped.setLength(0);
+            } else if (c == '{') {
+                // a group can hold separators, so only the simple groups that stay within a segment are split up
+                int end = glob.indexOf('}', i);
+                String group = glob.substring(i, end);
+                if (group.indexOf('/') >= 0 || group.indexOf('\\') >= 0 || group.indexOf('[') >= 0) {
+                    return null;
+                }
+                literal = false;
+                i = end;
+            } else if (c == '[') {
+                // a class can not hold separators, the whole path pattern has already reported that as a syntax error
+                int classStart = i + 1;
+                if (next(glob, classStart) == '^') {
+                    classStart++;
+                } else {
+                    if (next(glob, classStart) == '!') {
+                        classStart++;
+                    }
+                    if (next(glob, classStart) == '-') {
+                        classStart++;
+                    }
+                }
+                literal = false;
+                i = glob.indexOf(']', classStart);
+            } else if (c == '*' || c == '?') {
+                literal = false;
+            } else {
+                unescaped.append(c);
+            }
+            i++;
+        }
+        return Collections.unmodifiableList(segments);
+    }
+
+    private static boolean isRegexMeta(char c) {
+        return REGEX_META_CHARS.indexOf(c) != -1;
+    }
+
+    private static boolean isGlobMeta(char c) {
+        return GLOB_META_CHARS.indexOf(c) != -1;
+    }
+
+    private static char next(String glob, int i) {
+        if (i < glob.length()) {
+            return glob.charAt(i);
+        }
+        return EOL;
+    }
+
+    // this is the translation the JDK uses for glob patterns on unix file systems
+    private static String toRegex(String glob) {
+        boolean inGroup = false;
+        StringBuilder regex = new StringBuilder("^");
+
+        int i = 0;
+        while (i < glob.length()) {
+            char c = glob.charAt(i++);
+            switch (c) {
+                case '\\':
+                    if (i == glob.length()) {
+                        throw new PatternSyntaxException("No character to escape", glob, i - 1);
+                    }
+                    char next = glob.charAt(i);
+                    if (isGlobMeta(next) || isRegexMeta(next)) {
+                        regex.append('\\');
+                    }
+                    regex.append(next);
+                    i++;
+                    break;
+                case '[':
+                    // don't match the separator in a class
+                    regex.append("[[^/]&&[");
+                    if (next(glob, i) == '^') {
+                        // escape the regex negation char if it appears
+                        regex.append("\\^");
+                        i++;
+                    } else {
+                        // negation
+                        if (next(glob, i) == '!') {
+                            regex.append('^');
+                            i++;
+                        }
+                        // hyphen allowed at start
+                        if (next(glob, i) == '-') {
+                            regex.append('-');
+                            i++;
+                        }
+                    }
+                    boolean hasRangeStart = false;
+                    char last = 0;
+                    while (i < glob.length()) {
+                        c = glob.charAt(i++);
+                        if (c == ']') {
+                            break;
+                        }
+                        if (c == '/') {
+                            throw new PatternSyntaxException("Explicit 'name separator' in class", glob, i - 1);
+                        }
+                        if (c == '\\' || c == '[' || c == '&' && next(glob, i) == '&') {
+                            // escape '\', '[' or "&&" for regex class
+                            regex.append('\\');
+                        }
+                        regex.append(c);
+
+                        if (c == '-') {
+                            if (!hasRangeStart) {
+                                throw new PatternSyntaxException("Invalid range", glob, i - 1);
+                            }
+                            if ((c = next(glob, i++)) == EOL || c == ']') {
+                                break;
+                            }
+                            if (c < last) {
+                                throw new PatternSyntaxException("Invalid range", glob, i - 3);
+                            }
+                            regex.append(c);
+                            hasRangeStart = false;
+                        } else {
+                            hasRangeStart = true;
+                            last = c;
+                        }
+                    }
+                    if (c != ']') {
+                        throw new PatternSyntaxException("Missing ']", glob, i - 1);
+                    }
+                    regex.append("]]");
+                    break;
+                case '{':
+                    if (inGroup) {
+                        throw new PatternSyntaxException("Cannot nest groups", glob, i - 1);
+                    }
+                    regex.append("(?:(?:");
+                    inGroup = true;
+                    break;
+                case '}':
+                    if (inGroup) {
+                        regex.append("))");
+                        inGroup = false;
+                    } else {
+                        regex.append('}');
+                    }
+                    break;
+                case ',':
+                    if (inGroup) {
+                        regex.append(")|(?:");
+                    } else {
+                        regex.append(',');
+                    }
+                    break;
+                case '*':
+                    if (next(glob, i) == '*') {
+                        // crosses separators
+                        regex.append(".*");
+                        i++;
+                    } else {
+                        // within a path segment
+                        regex.append("[^/]*");
+                    }
+                    break;
+                case '?':
+                    regex.append("[^/]");
+                    break;
+                default:
+                    if (isRegexMeta(c)) {
+                        regex.append('\\');
+                    }
+                    regex.append(c);
+            }
+        }
+
+        if (inGroup) {
+            throw new PatternSyntaxException("Missing '}", glob, i - 1);
+        }
+
+        return regex.append('$').toString();
+    }
+}
@@ -0,0 +1,193 @@
+package graphql.schema.impl;
+
+import graphql.Internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A trie of '/' separated field paths such as {@code invoice/customer/name}, with values for each path, that is searched with
+ * {@link FieldPathGlob} patterns.  A pattern is matched a segment at a time so only the paths that can possibly match it are visited.
+ * <p>
+ * An index is built once and then only read, at which point it can be shared between threads.
+ *
+ * @param <T> for two
+ */
+@Internal
+public class FieldPathIndex<T> {
+
+    private static final String SEP = "/";
+
+    private final Node<T> root = new Node<>(null, -1);
+    // the paths in the order they were first added
+    private final List<Node<T>> nodes = new ArrayList<>();
+
+    /**
+     * Adds a value for a path
+     *
+     * @param path  a field path such as {@code invoice/customer/name}
+     * @param value the value to add for the path
+     */
+    public void add(String path, T value) {
+        Node<T> node = root;
+        int start = 0;
+        while (start <= path.length()) {
+            int end = path.indexOf(SEP, start);
+            if (end < 0) {
+                end = path.length();
+            }
+            String name = path.substring(start, end);
+            Node<T> parent = node;
+            node = parent.children.get(name);
+            if (node == null) {
+                node = new Node<>(end == path.length() ? path : path.substring(0, end), -1);
+                parent.children.put(name, node);
+            }
+            start = end + 1;
+        }
+        if (node.order < 0) {
+            node.order = nodes.size();
+            nodes.add(node);
+        }
+        node.values.add(value);
+    }
+
+    /**
+     * @return the paths in the order they were first added
+     */
+    public List<String> getPaths() {
+        List<String> paths = new ArrayList<>(nodes.size());
+        for (Node<T> node : nodes) {
+            paths.add(node.path);
+        }
+        return paths;
+    }
+
+    /**
+     * @return the values of all the paths, in the order the paths were first added
+     */
+    public List<T> getValues() {
+        List<T> values = new ArrayList<>();
+        for (Node<T> node : nodes) {
+            values.addAll(node.values);
+        }
+        return values;
+    }
+
+    /**
+     * @param glob the pattern to match
+     *
+     * @return true if any of the paths matches the pattern
+     */
+    public boolean containsMatch(FieldPathGlob glob) {
+        List<FieldPathGlob.Segment> segments = glob.getSegments();
+        if (segments == null) {
+            for (Node<T> node : nodes) {
+                if (glob.matches(node.path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return containsMatch(root, segments, 0);
+    }
+
+    /**
+     * @param globs the patterns to match
+     *
+     * @return the values of the paths that match any of the patterns, in the order the paths were first added
+     */
+    public List<T> getMatchingValues(List<FieldPathGlob> globs) {
+        // ordered by when the paths were added
+        Map<Integer, Node<T>> matches = new TreeMap<>();
+        for (FieldPathGlob glob : globs) {
+            List<FieldPathGlob.Segment> segments = glob.getSegments();
+            if (segments == null) {
+                for (Node<T> node : nodes) {
+                    if (glob.matches(node.path)) {
+                        matches.put(node.order, node);
+                    }
+                }
+            } else {
+                collectMatches(root, segments, 0, matches);
+            }
+        }
+        if (matches.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<T> values = new ArrayList<>();
+        for (Node<T> node : matches.values()) {
+            values.addAll(node.values);
+        }
+        return values;
+    }
+
+    private boolean containsMatch(Node<T> node, List<FieldPathGlob.Segment> segments, int index) {
+        if (index == segments.size()) {
+            return node.order >= 0;
+        }
+        FieldPathGlob.Segment segment = segments.get(index);
+        if (segment.getLiteral() != null) {
+            Node<T> child = node.children.get(segment.getLiteral());
+            return child != null && containsMatch(child, segments, index + 1);
+        }
+        for (Map.Entry<String, Node<T>> child : node.children.entrySet()) {
+            if (segment.matches(child.getKey())) {
+                if (containsMatch(child.getValue(), segments, index + 1)) {
+                    return true;
+                }
+                // '**' matches one or more segments
+                if (segment.isAnySegments() && containsMatch(child.getValue(), segments, index)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void collectMatches(Node<T> node, List<FieldPathGlob.Segment> segments, int index, Map<Integer, Node<T>> matches) {
+        if (index == segments.size()) {
+            if (node.order >= 0) {
+                matches.put(node.order, node);
+            }
+            return;
+        }
+        FieldPathGlob.Segment segment = segments.get(index);
+        if (segment.getLiteral() != null) {
+            Node<T> child = node.children.get(segment.getLiteral());
+            if (child != null) {
+                collectMatches(child, segments, index + 1, matches);
+            }
+            return;
+        }
+        for (Map.Entry<String, Node<T>> child : node.children.entrySet()) {
+            if (segment.matches(child.getKey())) {
+                collectMatches(child.getValue(), segments, index + 1, matches);
+                if (segment.isAnySegments()) {
+                    collectMatches(child.getValue(), segments, index, matches);
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.join("\n", getPaths());
+    }
+
+    private static class Node<T> {
+        private final String path;
+        private final Map<String, Node<T>> children = new LinkedHashMap<>();
+        private final List<T> values = new ArrayList<>(2);
+        private int order;
+
+        private Node(String path, int order) {
+            this.path = path;
+            this.order = order;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package graphql.schema.impl;
+
+import graphql.Internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Runs the independent tasks of building or checking a schema, on an {@link Executor} if one is given
+ */
+@Internal
+public class ParallelSchemaTasks {
+
+    private static final int MIN_PART_SIZE = 100;
+
+    /**
+     * Runs the tasks and returns their results in the order of the tasks.  Without an executor the tasks are run one after another
+     * on the calling thread.  With an executor all but the last task are run on it, and the last task is run on the calling thread.
+     *
+     * @param tasks    the tasks to run
+     * @param executor the executor to run the tasks on or null
+     * @param <T>      for two
+     *
+     * @return the results of the tasks
+     */
+    public static <T> List<T> invokeAll(List<Supplier<T>> tasks, Executor executor) {
+        List<T> results = new ArrayList<>(tasks.size());
+        if (executor == null || tasks.size() <= 1) {
+            for (Supplier<T> task : tasks) {
+                results.add(task.get());
+            }
+            return results;
+        }
+        List<CompletableFuture<T>> futures = new ArrayList<>(tasks.size() - 1);
+        for (int i = 0; i < tasks.size() - 1; i++) {
+            futures.add(CompletableFuture.supplyAsync(tasks.get(i), executor));
+        }
+        T lastResult = tasks.get(tasks.size() - 1).get();
+        for (CompletableFuture<T> future : futures) {
+            results.add(join(future));
+        }
+        results.add(lastResult);
+        return results;
+    }
+
+    /**
+     * Splits a list into consecutive parts to be worked on in parallel, one for each processor as long as the parts are not too small.
+     * Without an executor there is only one part.
+     *
+     * @param list     the list to split
+     * @param executor the executor the parts are worked on or null
+     * @param <T>      for two
+     *
+     * @return the parts of the list
+     */
+    public static <T> List<List<T>> partition(List<T> list, Executor executor) {
+        int maxParts = executor == null ? 1 : Runtime.getRuntime().availableProcessors();
+        int parts = Math.max(1, Math.min(maxParts, list.size() / MIN_PART_SIZE));
+        if (parts == 1) {
+            return Collections.singletonList(list);
+        }
+        int partSize = (list.size() + parts - 1) / parts;
+        List<List<T>> partitions = new ArrayList<>(parts);
+        for (int start = 0; start < list.size(); start += partSize) {
+            partitions.add(list.subList(start, Math.min(list.size(), start + partSize)));
+        }
+        return partitions;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -12,6 +12,7 @@ import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.GraphQLSchemaElement;
 import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeReference;
 import graphql.schema.GraphQLTypeResolvingVisitor;
 import graphql.schema.GraphQLTypeVisitor;
 import graphql.schema.SchemaTraverser;
@@ -22,6 +23,8 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 import static graphql.Assert.assertShouldNeverHappen;
 import static graphql.language.OperationDefinition.Operation.MUTATION;
@@ -97,12 +100,58 @@ public class SchemaUtil {
     }
 
     public static void replaceTypeReferences(GraphQLSchema schema) {
+        replaceTypeReferences(schema, null);
+    }
+
+    /**
+     * Replaces the type references in the schema with the types they refer to.  If an executor is given then the work is split
+     * between it and the calling thread by type.
+     *
+     * @param schema   the schema whose type references are replaced
+     * @param executor the executor to run parts of the work on or null to do all of it on the calling thread
+     */
+    public static void replaceTypeReferences(GraphQLSchema schema, Executor executor) {
         final Map<String, GraphQLNamedType> typeMap = schema.getTypeMap();
         List<GraphQLSchemaElement> roots = new ArrayList<>(typeMap.values());
         roots.addAll(schema.getDirectives());
         roots.addAll(schema.getSchemaAppliedDirectives());
-        SchemaTraverser schemaTraverser = new SchemaTraverser(schemaElement -> schemaElement.getChildrenWithTypeReferences().getChildrenAsList());
-        schemaTraverser.depthFirst(new GraphQLTypeResolvingVisitor(typeMap), roots);
+        List<List<GraphQLSchemaElement>> partitions = ParallelSchemaTasks.partition(roots, executor);
+        if (partitions.size() == 1) {
+            SchemaTraverser schemaTraverser = new SchemaTraverser(schemaElement -> schemaElement.getChildrenWithTypeReferences().getChildrenAsList());
+            schemaTraverser.depthFirst(new GraphQLTypeResolvingVisitor(typeMap), roots);
+            return;
+        }
+        // every named type is a root itself, so each part only descends into the elements of its own types, which keeps the
+        // parts from mutating the same elements.  Elements that are shared between types are resolved to the same types by
+        // every part that reaches them, and the joins publish the replaced types to the calling thread
+        List<Supplier<Object>> tasks = new ArrayList<>(partitions.size());
+        for (List<GraphQLSchemaElement> partition : partitions) {
+            tasks.add(() -> {
+                SchemaTraverser schemaTraverser = new SchemaTraverser(schemaElement -> getChildrenWithinType(schemaElement.getChildrenWithTypeReferences().getChildrenAsList()));
+                schemaTraverser.depthFirst(new GraphQLTypeResolvingVisitor(typeMap), partition);
+                return null;
+            });
+        }
+        ParallelSchemaTasks.invokeAll(tasks, executor);
+    }
+
+    /**
+     * Leaves out the named types, apart from type references, from the children of a schema element.  Traversing the named types of a
+     * schema, and its directives, with these children visits each schema element once in the traversal of the type or directive it
+     * belongs to, which allows the types to be traversed independently of each other.
+     *
+     * @param children the children of a schema element
+     *
+     * @return the children that belong to the same type or directive as the schema element
+     */
+    public static List<GraphQLSchemaElement> getChildrenWithinType(List<GraphQLSchemaElement> children) {
+        List<GraphQLSchemaElement> childrenWithinType = new ArrayList<>(children.size());
+        for (GraphQLSchemaElement child : children) {
+            if (!(child instanceof GraphQLNamedType) || child instanceof GraphQLTypeReference) {
+                childrenWithinType.add(child);
+            }
+        }
+        return childrenWithinType;
     }
 
     public static GraphQLObjectType getOperationRootType(GraphQLSchema graphQLSchema, OperationDefinition operationDefinition) {
@@ -2,14 +2,20 @@ package graphql.schema.validation;
 
 import graphql.Internal;
 import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLSchemaElement;
 import graphql.schema.GraphQLTypeVisitor;
 import graphql.schema.SchemaTraverser;
+import graphql.schema.impl.ParallelSchemaTasks;
+import graphql.schema.impl.SchemaUtil;
 
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 @Internal
 public class SchemaValidator {
@@ -42,4 +48,42 @@ public class SchemaValidator {
         return validationErrorCollector.getErrors();
     }
 
+    /**
+     * Validates the schema, splitting the work between the executor and the calling thread by type if an executor is given.  The
+     * errors are the same as with serial validation, however their order can differ.
+     *
+     * @param schema   the schema to validate
+     * @param executor the executor to run parts of the validation on or null to validate serially on the calling thread
+     *
+     * @return the validation errors
+     */
+    public Set<SchemaValidationError> validateSchema(GraphQLSchema schema, Executor executor) {
+        List<GraphQLSchemaElement> roots = new ArrayList<>(schema.getTypeMap().values());
+        roots.addAll(schema.getDirectives());
+        roots.addAll(schema.getSchemaDirectives());
+        roots.addAll(schema.getSchemaAppliedDirectives());
+        List<List<GraphQLSchemaElement>> partitions = ParallelSchemaTasks.partition(roots, executor);
+        if (partitions.size() == 1) {
+            return validateSchema(schema);
+        }
+        // the rules only look at an element and its parent in its own type, so the types can be validated independently of each other
+        List<Supplier<Set<SchemaValidationError>>> validations = new ArrayList<>(partitions.size());
+        for (List<GraphQLSchemaElement> partition : partitions) {
+            validations.add(() -> {
+                SchemaValidationErrorCollector validationErrorCollector = new SchemaValidationErrorCollector();
+                Map<Class<?>, Object> rootVars = new LinkedHashMap<>();
+                rootVars.put(GraphQLSchema.class, schema);
+                rootVars.put(SchemaValidationErrorCollector.class, validationErrorCollector);
+                new SchemaTraverser(schemaElement -> SchemaUtil.getChildrenWithinType(schemaElement.getChildren()))
+                        .depthFirst(rules, partition, rootVars);
+                return validationErrorCollector.getErrors();
+            });
+        }
+        Set<SchemaValidationError> errors = new LinkedHashSet<>();
+        for (Set<SchemaValidationError> partitionErrors : ParallelSchemaTasks.invokeAll(validations, executor)) {
+            errors.addAll(partitionErrors);
+        }
+        return errors;
+    }
+
 }
@@ -2,6 +2,8 @@ package graphql.util;
 
 import graphql.Internal;
 
+import java.io.IOException;
+
 @Internal
 public final class EscapeUtil {
 
@@ -20,33 +22,63 @@ public final class EscapeUtil {
         StringBuilder sb = new StringBuilder(len);
         for (int i = 0; i < len; i++) {
             char ch = stringValue.charAt(i);
-            switch (ch) {
-                case '"':
-                    sb.append("\\\"");
-                    break;
-                case '\\':
-                    sb.append("\\\\");
-                    break;
-                case '\b':
-                    sb.append("\\b");
-                    break;
-                case '\f':
-                    sb.append("\\f");
-                    break;
-                case '\n':
-                    sb.append("\\n");
-                    break;
-                case '\r':
-                    sb.append("\\r");
-                    break;
-                case '\t':
-                    sb.append("\\t");
-                    break;
-                default:
-                    sb.append(ch);
+            String escaped = escapeJsonChar(ch);
+            if (escaped != null) {
+                sb.append(escaped);
+            } else {
+                sb.append(ch);
             }
         }
         return sb.toString();
     }
 
+    /**
+     * Encodes the value as a JSON string according to <a href="https://json.org/">https://json.org/</a> rules and
+     * writes it to the provided output.  Unlike {@link #escapeJsonString(String)} this also escapes the control
+     * characters that have no short escape form, so the output is always a valid JSON string body.
+     *
+     * @param stringValue the value to encode as a JSON string
+     * @param out         the output to write the encoded string to
+     *
+     * @throws IOException if the output cannot be written to
+     */
+    public static void escapeJsonString(String stringValue, Appendable out) throws IOException {
+        int len = stringValue.length();
+        int unescapedStart = 0;
+        for (int i = 0; i < len; i++) {
+            char ch = stringValue.charAt(i);
+            String escaped = escapeJsonChar(ch);
+            if (escaped == null && ch < 0x20) {
+                escaped = String.format("\\u%04x", (int) ch);
+            }
+            if (escaped != null) {
+                out.append(stringValue, unescapedStart, i);
+                out.append(escaped);
+                unescapedStart = i + 1;
+            }
+        }
+        out.append(stringValue, unescapedStart, len);
+    }
+
+    private static String escapeJsonChar(char ch) {
+        switch (ch) {
+            case '"':
+                return "\\\"";
+            case '\\':
+                return "\\\\";
+            case '\b':
+                return "\\b";
+            case '\f':
+                return "\\f";
+            case '\n':
+                return "\\n";
+            case '\r':
+                return "\\r";
+            case '\t':
+                return "\\t";
+            default:
+                return null;
+        }
+    }
+
 }
@@ -32,6 +32,15 @@ public class LockKit {
             lock.unlock();
         }
 
+        /**
+         * Only locks if the lock is free right now.  If this returns true then it's on you to unlock it!
+         *
+         * @return true if the lock was acquired
+         */
+        public boolean tryLock() {
+            return lock.tryLock();
+        }
+
         public void runLocked(Runnable codeToRun) {
             lock.lock();
             try {
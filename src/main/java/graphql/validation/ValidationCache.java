@@ -0,0 +1,108 @@
+package graphql.validation;
+
+import graphql.Assert;
+import com.google.common.collect.MapMaker;
+import graphql.ExperimentalApi;
+import graphql.language.Document;
+import graphql.schema.GraphQLSchema;
+import graphql.util.LockKit;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A cache of the documents that have passed validation, keyed by their
+ * {@link graphql.language.AstSignature#literalPatternQuery(graphql.language.Document) literal pattern}.  A document that
+ * only differs from an already validated one in its literal values skips every validation rule except the ones that check
+ * the literal values themselves.
+ * <p>
+ * The very same {@link Document} instance, say one held by a {@link graphql.execution.preparsed.PreparsedDocumentProvider}, is
+ * remembered as well, for as long as it is in use, so validating it again runs no rules and does not work out its literal pattern.
+ * <p>
+ * Only documents without validation errors are cached, since the errors of a document refer to its own source locations
+ * and values.  The cache holds at most {@link #getMaximumSize()} documents and evicts the least recently used one when it is full.
+ * <p>
+ * A cache is meant to be shared across executions via {@link ValidationOptions}.
+ */
+@ExperimentalApi
+public class ValidationCache {
+
+    /**
+     * The default maximum number of validated documents held
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 1_000;
+
+    private final int maximumSize;
+    private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries;
+    // weak keys are compared by identity, so a document is forgotten when it is no longer used
+    private final ConcurrentMap<Document, Entry> validatedDocuments = new MapMaker().weakKeys().makeMap();
+
+    public ValidationCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public ValidationCache(int maximumSize) {
+        Assert.assertTrue(maximumSize > 0, () -> "maximumSize must be greater than 0");
+        this.maximumSize = maximumSize;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > ValidationCache.this.maximumSize;
+            }
+        };
+    }
+
+    /**
+     * @return the maximum number of validated documents held
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return the number of validated documents held
+     */
+    public int size() {
+        return lock.callLocked(entries::size);
+    }
+
+    /**
+     * Removes all the validated documents
+     */
+    public void clear() {
+        lock.runLocked(entries::clear);
+        validatedDocuments.clear();
+    }
+
+    boolean isValidated(GraphQLSchema schema, String literalPattern, Set<Class<?>> ruleClasses) {
+        Entry entry = lock.callLocked(() -> entries.get(literalPattern));
+        return entry != null && entry.schema == schema && entry.ruleClasses.containsAll(ruleClasses);
+    }
+
+    void validated(GraphQLSchema schema, String literalPattern, Set<Class<?>> ruleClasses) {
+        Entry entry = new Entry(schema, ruleClasses);
+        lock.runLocked(() -> entries.put(literalPattern, entry));
+    }
+
+    boolean isValidated(GraphQLSchema schema, Document document, Set<Class<?>> ruleClasses) {
+        Entry entry = validatedDocuments.get(document);
+        return entry != null && entry.schema == schema && entry.ruleClasses.containsAll(ruleClasses);
+    }
+
+    void validated(GraphQLSchema schema, Document document, Set<Class<?>> ruleClasses) {
+        validatedDocuments.put(document, new Entry(schema, ruleClasses));
+    }
+
+    private static class Entry {
+        private final GraphQLSchema schema;
+        private final Set<Class<?>> ruleClasses;
+
+        private Entry(GraphQLSchema schema, Set<Class<?>> ruleClasses) {
+            this.schema = schema;
+            this.ruleClasses = ruleClasses;
+        }
+    }
+}
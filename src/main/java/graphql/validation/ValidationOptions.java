@@ -0,0 +1,122 @@
+package graphql.validation;
+
+import graphql.Assert;
+import graphql.ExperimentalApi;
+
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * When an instance of this class is put into the {@link graphql.GraphQLContext} of an execution, keyed by
+ * {@code ValidationOptions.class}, the document of that execution is validated with these options.
+ * <p>
+ * If an {@link Executor} is given then independent groups of validation rules are run in parallel on it, with one of the groups
+ * running on the calling thread.  The validation errors are the same as with serial validation, however their order can differ.
+ * <p>
+ * If a {@link ValidationCache} is given then documents that only differ from an already validated document in their literal values
+ * skip most of the validation rules.  The same cache should be given to every execution to benefit from it.
+ * <pre>
+ * {@code
+ *     ValidationOptions validationOptions = ValidationOptions.newOptions()
+ *             .executor(executor)
+ *             .validationCache(new ValidationCache())
+ *             .build();
+ *
+ *     ExecutionInput executionInput = ExecutionInput.newExecutionInput(query)
+ *             .graphQLContext(Map.of(ValidationOptions.class, validationOptions))
+ *             .build();
+ * }
+ * </pre>
+ */
+@ExperimentalApi
+public class ValidationOptions {
+
+    private static final ValidationOptions DEFAULT_OPTIONS = newOptions().build();
+
+    private final Executor executor;
+    private final ValidationCache validationCache;
+
+    private ValidationOptions(Builder builder) {
+        this.executor = builder.executor;
+        this.validationCache = builder.validationCache;
+    }
+
+    /**
+     * @return the default options, which validate serially on the calling thread without caching
+     */
+    public static ValidationOptions defaultOptions() {
+        return DEFAULT_OPTIONS;
+    }
+
+    /**
+     * @return the executor that rule groups are run on or null if validation is serial
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * @return the cache of validated documents or null if there is none
+     */
+    public ValidationCache getValidationCache() {
+        return validationCache;
+    }
+
+    /**
+     * This helps you transform the current ValidationOptions object into another one by starting a builder with all
+     * the current values and allows you to transform it how you want.
+     *
+     * @param builderConsumer the consumer code that will be given a builder to transform
+     *
+     * @return a new ValidationOptions object based on calling build on that builder
+     */
+    public ValidationOptions transform(Consumer<Builder> builderConsumer) {
+        Builder builder = new Builder(this);
+        builderConsumer.accept(builder);
+        return builder.build();
+    }
+
+    /**
+     * @return a new builder of ValidationOptions
+     */
+    public static Builder newOptions() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Executor executor;
+        private ValidationCache validationCache;
+
+        private Builder() {
+        }
+
+        private Builder(ValidationOptions other) {
+            this.executor = other.executor;
+            this.validationCache = other.validationCache;
+        }
+
+        /**
+         * @param executor the executor to run groups of validation rules on in parallel
+         *
+         * @return this builder
+         */
+        public Builder executor(Executor executor) {
+            this.executor = Assert.assertNotNull(executor);
+            return this;
+        }
+
+        /**
+         * @param validationCache the cache of validated documents to use
+         *
+         * @return this builder
+         */
+        public Builder validationCache(ValidationCache validationCache) {
+            this.validationCache = Assert.assertNotNull(validationCache);
+            return this;
+        }
+
+        public ValidationOptions build() {
+            return new ValidationOptions(this);
+        }
+    }
+}
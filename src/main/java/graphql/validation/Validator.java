@@ -1,9 +1,13 @@
 package graphql.validation;
 
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import graphql.ExperimentalApi;
 import graphql.Internal;
+import graphql.VisibleForTesting;
 import graphql.i18n.I18n;
+import graphql.language.AstSignature;
 import graphql.language.Document;
 import graphql.schema.GraphQLSchema;
 import graphql.validation.rules.ArgumentsOfCorrectType;
@@ -38,16 +42,56 @@ import graphql.validation.rules.VariableTypesMatch;
 import graphql.validation.rules.VariablesAreInputTypes;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import static graphql.validation.ValidationErrorType.MaxValidationErrorsReached;
+
 @Internal
 public class Validator {
 
     static int MAX_VALIDATION_ERRORS = 100;
 
+    /*
+     * The rules that look at the values of literals rather than just comparing them, these are re-run for documents
+     * that hit the ValidationCache
+     */
+    private static final Set<Class<?>> LITERAL_RULES = ImmutableSet.of(ArgumentsOfCorrectType.class, VariableDefaultValuesOfCorrectType.class);
+
+    /*
+     * Groups of rules that are run in parallel when an executor is given. Each group needs its own traversal of the
+     * document, so we only split out the expensive overlapping fields check and the rules about fragments and variables,
+     * everything else makes up the last group
+     */
+    private static final List<Set<Class<?>>> PARALLEL_RULE_GROUPS = ImmutableList.of(
+            ImmutableSet.of(OverlappingFieldsCanBeMerged.class),
+            ImmutableSet.of(NoFragmentCycles.class, NoUndefinedVariables.class, NoUnusedFragments.class, NoUnusedVariables.class,
+                    KnownFragmentNames.class, UniqueFragmentNames.class, PossibleFragmentSpreads.class, FragmentsOnCompositeType.class,
+                    UniqueVariableNames.class, VariablesAreInputTypes.class, VariableTypesMatch.class, VariableDefaultValuesOfCorrectType.class)
+    );
+
+    /*
+     * The classes of the rules made by createRules, in the same order, so that the rules that apply can be worked out without making them
+     */
+    @VisibleForTesting
+    static final List<Class<? extends AbstractRule>> RULE_CLASSES = ImmutableList.of(
+            ExecutableDefinitions.class, ArgumentsOfCorrectType.class, FieldsOnCorrectType.class, FragmentsOnCompositeType.class,
+            KnownArgumentNames.class, KnownDirectives.class, KnownFragmentNames.class, KnownTypeNames.class, NoFragmentCycles.class,
+            NoUndefinedVariables.class, NoUnusedFragments.class, NoUnusedVariables.class, OverlappingFieldsCanBeMerged.class,
+            PossibleFragmentSpreads.class, ProvidedNonNullArguments.class, ScalarLeaves.class, VariableDefaultValuesOfCorrectType.class,
+            VariablesAreInputTypes.class, VariableTypesMatch.class, LoneAnonymousOperation.class, UniqueOperationNames.class,
+            UniqueFragmentNames.class, UniqueDirectiveNamesPerLocation.class, UniqueArgumentNames.class, UniqueVariableNames.class,
+            SubscriptionUniqueRootField.class, UniqueObjectFieldName.class, DeferDirectiveOnRootLevel.class,
+            DeferDirectiveOnValidOperation.class, DeferDirectiveLabel.class
+    );
+
     /**
      * `graphql-java` will stop validation after a maximum number of validation messages has been reached.  Attackers
      * can send pathologically invalid queries to induce a Denial of Service attack and fill memory with 10000s of errors
@@ -70,6 +114,64 @@ public class Validator {
     }
 
     public List<ValidationError> validateDocument(GraphQLSchema schema, Document document, Predicate<Class<?>> applyRule, Locale locale) {
+        return validateDocument(schema, document, applyRule, locale, ValidationOptions.defaultOptions());
+    }
+
+    @ExperimentalApi
+    public List<ValidationError> validateDocument(GraphQLSchema schema, Document document, Predicate<Class<?>> applyRule, Locale locale, ValidationOptions validationOptions) {
+        ValidationCache validationCache = validationOptions.getValidationCache();
+        if (validationCache == null) {
+            return validateDocument(schema, document, applyRule, locale, validationOptions.getExecutor());
+        }
+
+        Set<Class<?>> ruleClasses = getRuleClasses(applyRule);
+        if (validationCache.isValidated(schema, document, ruleClasses)) {
+            // this very document has been validated already
+            return new ArrayList<>();
+        }
+        Set<Class<?>> shapeRuleClasses = new LinkedHashSet<>(ruleClasses);
+        shapeRuleClasses.removeAll(LITERAL_RULES);
+
+        String literalPattern = new AstSignature().literalPattern(document);
+        List<ValidationError> validationErrors;
+        if (validationCache.isValidated(schema, literalPattern, shapeRuleClasses)) {
+            // the shape of the document is known to be valid, only the literal values need checking
+            validationErrors = validateRules(schema, document, ruleClass -> applyRule.test(ruleClass) && LITERAL_RULES.contains(ruleClass), locale);
+        } else {
+            validationErrors = validateDocument(schema, document, applyRule, locale, validationOptions.getExecutor());
+            if (validationErrors.isEmpty()) {
+                validationCache.validated(schema, literalPattern, shapeRuleClasses);
+            }
+        }
+        if (validationErrors.isEmpty()) {
+            validationCache.validated(schema, document, ruleClasses);
+        }
+        return validationErrors;
+    }
+
+    private List<ValidationError> validateDocument(GraphQLSchema schema, Document document, Predicate<Class<?>> applyRule, Locale locale, Executor executor) {
+        if (executor == null) {
+            return validateRules(schema, document, applyRule, locale);
+        }
+
+        List<CompletableFuture<List<ValidationError>>> groupValidations = new ArrayList<>();
+        for (Set<Class<?>> ruleGroup : PARALLEL_RULE_GROUPS) {
+            Predicate<Class<?>> applyGroupRule = ruleClass -> applyRule.test(ruleClass) && ruleGroup.contains(ruleClass);
+            groupValidations.add(CompletableFuture.supplyAsync(() -> validateRules(schema, document, applyGroupRule, locale), executor));
+        }
+        // the last group is validated on the calling thread
+        Predicate<Class<?>> applyOtherRule = ruleClass -> applyRule.test(ruleClass) && PARALLEL_RULE_GROUPS.stream().noneMatch(ruleGroup -> ruleGroup.contains(ruleClass));
+        List<ValidationError> otherErrors = validateRules(schema, document, applyOtherRule, locale);
+
+        List<ValidationError> validationErrors = new ArrayList<>();
+        for (CompletableFuture<List<ValidationError>> groupValidation : groupValidations) {
+            validationErrors.addAll(join(groupValidation));
+        }
+        validationErrors.addAll(otherErrors);
+        return limitErrors(validationErrors);
+    }
+
+    private List<ValidationError> validateRules(GraphQLSchema schema, Document document, Predicate<Class<?>> applyRule, Locale locale) {
         I18n i18n = I18n.i18n(I18n.BundleType.Validation, locale);
         ValidationContext validationContext = new ValidationContext(schema, document, i18n);
 
@@ -77,6 +179,9 @@ public class Validator {
         List<AbstractRule> rules = createRules(validationContext, validationErrorCollector);
         // filter out any rules they don't want applied
         rules = rules.stream().filter(r -> applyRule.test(r.getClass())).collect(Collectors.toList());
+        if (rules.isEmpty()) {
+            return validationErrorCollector.getErrors();
+        }
         LanguageTraversal languageTraversal = new LanguageTraversal();
         try {
             languageTraversal.traverse(document, new RulesVisitor(validationContext, rules));
@@ -87,6 +192,49 @@ public class Validator {
         return validationErrorCollector.getErrors();
     }
 
+    private static Set<Class<?>> getRuleClasses(Predicate<Class<?>> applyRule) {
+        Set<Class<?>> ruleClasses = new LinkedHashSet<>();
+        for (Class<? extends AbstractRule> ruleClass : RULE_CLASSES) {
+            if (applyRule.test(ruleClass)) {
+                ruleClasses.add(ruleClass);
+            }
+        }
+        return ruleClasses;
+    }
+
+    private static List<ValidationError> join(CompletableFuture<List<ValidationError>> groupValidation) {
+        try {
+            return groupValidation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /*
+     * each group stops at the maximum number of errors on its own, so together they can have too many
+     */
+    private static List<ValidationError> limitErrors(List<ValidationError> validationErrors) {
+        ValidationErrorCollector validationErrorCollector = new ValidationErrorCollector(MAX_VALIDATION_ERRORS);
+        try {
+            for (ValidationError validationError : validationErrors) {
+                if (validationError.getValidationErrorType() != MaxValidationErrorsReached) {
+                    validationErrorCollector.addError(validationError);
+                }
+            }
+            for (ValidationError validationError : validationErrors) {
+                if (validationError.getValidationErrorType() == MaxValidationErrorsReached) {
+                    validationErrorCollector.addError(validationError);
+                }
+            }
+        } catch (ValidationErrorCollector.MaxValidationErrorsReached ignored) {
+            // the collector has added its own max errors reached error
+        }
+        return validationErrorCollector.getErrors();
+    }
+
     public List<AbstractRule> createRules(ValidationContext validationContext, ValidationErrorCollector validationErrorCollector) {
         List<AbstractRule> rules = new ArrayList<>();
 
@@ -26,6 +26,8 @@ import graphql.validation.ValidationErrorCollector;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -53,19 +55,31 @@ import static java.lang.String.format;
 public class OverlappingFieldsCanBeMerged extends AbstractRule {
 
 
-    private final Set<Set<FieldAndType>> sameResponseShapeChecked = new LinkedHashSet<>();
-    private final Set<Set<FieldAndType>> sameForCommonParentsChecked = new LinkedHashSet<>();
+    /*
+     * The groups of fields that have been compared, like the "PairSet" of the reference implementation.  Fields with different
+     * concrete parent types are mutually exclusive and only need the same response shape, so that is memoized separately from
+     * the groups with common parents which also need the same names and arguments.
+     */
+    private final Set<Set<FieldAndType>> sameResponseShapeChecked = new HashSet<>();
+    private final Set<Set<FieldAndType>> sameForCommonParentsChecked = new HashSet<>();
     private final Set<Set<Field>> conflictsReported = new LinkedHashSet<>();
 
+    // the same groups of fields are reached from every selection set above them, so their sub-selections and groupings are memoized
+    private final Map<Set<FieldAndType>, Map<String, Set<FieldAndType>>> mergedSubSelections = new HashMap<>();
+    private final Map<Set<FieldAndType>, List<Set<FieldAndType>>> commonParentGroups = new HashMap<>();
+
+    // the fields of a selection set only depend on it and its parent type, so we collect them once however often a fragment is spread
+    private final Map<SelectionSet, Map<GraphQLType, Map<String, Set<FieldAndType>>>> collectedFields = new HashMap<>();
+    private final Set<SelectionSet> collecting = new HashSet<>();
+    private boolean fragmentCycleSeen;
+
     public OverlappingFieldsCanBeMerged(ValidationContext validationContext, ValidationErrorCollector validationErrorCollector) {
         super(validationContext, validationErrorCollector);
     }
 
     @Override
     public void leaveSelectionSet(SelectionSet selectionSet) {
-        Map<String, Set<FieldAndType>> fieldMap = new LinkedHashMap<>();
-        Set<String> visitedFragmentSpreads = new LinkedHashSet<>();
-        collectFields(fieldMap, selectionSet, getValidationContext().getOutputType(), visitedFragmentSpreads);
+        Map<String, Set<FieldAndType>> fieldMap = getCollectedFields(selectionSet, getValidationContext().getOutputType());
         List<Conflict> conflicts = findConflicts(fieldMap);
         for (Conflict conflict : conflicts) {
             if (conflictsReported.contains(conflict.fields)) {
@@ -78,32 +92,53 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
         }
     }
 
-    private void collectFields(Map<String, Set<FieldAndType>> fieldMap, SelectionSet selectionSet, GraphQLType parentType, Set<String> visitedFragmentSpreads) {
+    private Map<String, Set<FieldAndType>> getCollectedFields(SelectionSet selectionSet, GraphQLType parentType) {
+        Map<GraphQLType, Map<String, Set<FieldAndType>>> byParentType = collectedFields.computeIfAbsent(selectionSet, k -> new HashMap<>());
+        Map<String, Set<FieldAndType>> fieldMap = byParentType.get(parentType);
+        if (fieldMap != null) {
+            return fieldMap;
+        }
+        if (!collecting.add(selectionSet)) {
+            // a fragment cycle, which NoFragmentCycles reports.  The fields collected from here on can be incomplete so we stop memoizing
+            fragmentCycleSeen = true;
+            return Collections.emptyMap();
+        }
+        try {
+            fieldMap = new LinkedHashMap<>();
+            collectFields(fieldMap, selectionSet, parentType);
+        } finally {
+            collecting.remove(selectionSet);
+        }
+        if (!fragmentCycleSeen) {
+            byParentType.put(parentType, fieldMap);
+        }
+        return fieldMap;
+    }
 
+    private void collectFields(Map<String, Set<FieldAndType>> fieldMap, SelectionSet selectionSet, GraphQLType parentType) {
         for (Selection selection : selectionSet.getSelections()) {
             if (selection instanceof Field) {
                 collectFieldsForField(fieldMap, parentType, (Field) selection);
 
             } else if (selection instanceof InlineFragment) {
-                collectFieldsForInlineFragment(fieldMap, visitedFragmentSpreads, parentType, (InlineFragment) selection);
+                InlineFragment inlineFragment = (InlineFragment) selection;
+                GraphQLType graphQLType = getGraphQLTypeForInlineFragment(parentType, inlineFragment);
+                addAll(fieldMap, getCollectedFields(inlineFragment.getSelectionSet(), graphQLType));
 
             } else if (selection instanceof FragmentSpread) {
-                collectFieldsForFragmentSpread(fieldMap, visitedFragmentSpreads, (FragmentSpread) selection);
+                FragmentDefinition fragment = getValidationContext().getFragment(((FragmentSpread) selection).getName());
+                if (fragment != null) {
+                    GraphQLType graphQLType = getGraphQLTypeForFragmentDefinition(fragment);
+                    addAll(fieldMap, getCollectedFields(fragment.getSelectionSet(), graphQLType));
+                }
             }
         }
     }
 
-    private void collectFieldsForFragmentSpread(Map<String, Set<FieldAndType>> fieldMap, Set<String> visitedFragmentSpreads, FragmentSpread fragmentSpread) {
-        FragmentDefinition fragment = getValidationContext().getFragment(fragmentSpread.getName());
-        if (fragment == null) {
-            return;
+    private static void addAll(Map<String, Set<FieldAndType>> fieldMap, Map<String, Set<FieldAndType>> fieldsToAdd) {
+        for (Map.Entry<String, Set<FieldAndType>> entry : fieldsToAdd.entrySet()) {
+            fieldMap.computeIfAbsent(entry.getKey(), k -> new LinkedHashSet<>()).addAll(entry.getValue());
         }
-        if (visitedFragmentSpreads.contains(fragment.getName())) {
-            return;
-        }
-        visitedFragmentSpreads.add(fragment.getName());
-        GraphQLType graphQLType = getGraphQLTypeForFragmentDefinition(fragment);
-        collectFields(fieldMap, fragment.getSelectionSet(), graphQLType, visitedFragmentSpreads);
     }
 
     private GraphQLType getGraphQLTypeForFragmentDefinition(FragmentDefinition fragment) {
@@ -111,11 +146,6 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
                 fragment.getTypeCondition());
     }
 
-    private void collectFieldsForInlineFragment(Map<String, Set<FieldAndType>> fieldMap, Set<String> visitedFragmentSpreads, GraphQLType parentType, InlineFragment inlineFragment) {
-        GraphQLType graphQLType = getGraphQLTypeForInlineFragment(parentType, inlineFragment);
-        collectFields(fieldMap, inlineFragment.getSelectionSet(), graphQLType, visitedFragmentSpreads);
-    }
-
     private GraphQLType getGraphQLTypeForInlineFragment(GraphQLType parentType, InlineFragment inlineFragment) {
         if (inlineFragment.getTypeCondition() == null) {
             return parentType;
@@ -173,19 +203,25 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
     }
 
     private Map<String, Set<FieldAndType>> mergeSubSelections(Set<FieldAndType> sameNameFields) {
-        Map<String, Set<FieldAndType>> fieldMap = new LinkedHashMap<>();
+        Map<String, Set<FieldAndType>> fieldMap = mergedSubSelections.get(sameNameFields);
+        if (fieldMap != null) {
+            return fieldMap;
+        }
+        fieldMap = new LinkedHashMap<>();
         for (FieldAndType fieldAndType : sameNameFields) {
             if (fieldAndType.field.getSelectionSet() != null) {
-                Set<String> visitedFragmentSpreads = new LinkedHashSet<>();
-                collectFields(fieldMap, fieldAndType.field.getSelectionSet(), fieldAndType.graphQLType, visitedFragmentSpreads);
+                addAll(fieldMap, getCollectedFields(fieldAndType.field.getSelectionSet(), fieldAndType.graphQLType));
             }
         }
+        if (!fragmentCycleSeen) {
+            mergedSubSelections.put(sameNameFields, fieldMap);
+        }
         return fieldMap;
     }
 
     private void sameForCommonParentsByName(Map<String, Set<FieldAndType>> fieldMap, ImmutableList<String> currentPath, List<Conflict> conflictsResult) {
         for (Map.Entry<String, Set<FieldAndType>> entry : fieldMap.entrySet()) {
-            List<Set<FieldAndType>> groups = groupByCommonParents(entry.getValue());
+            List<Set<FieldAndType>> groups = commonParentGroups.computeIfAbsent(entry.getValue(), this::groupByCommonParents);
             ImmutableList<String> newPath = addToList(currentPath, entry.getKey());
             for (Set<FieldAndType> group : groups) {
                 if (sameForCommonParentsChecked.contains(group)) {
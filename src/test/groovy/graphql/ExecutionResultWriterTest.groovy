@@ -0,0 +1,124 @@
+package graphql
+
+import graphql.execution.DataFetcherResult
+import graphql.incremental.DeferPayload
+import graphql.incremental.DelayedIncrementalPartialResultImpl
+import graphql.incremental.IncrementalExecutionResultImpl
+import graphql.incremental.StreamPayload
+import graphql.language.SourceLocation
+import groovy.json.JsonSlurper
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class ExecutionResultWriterTest extends Specification {
+
+    def writer = new ExecutionResultWriter()
+
+    String toJson(ExecutionResult er) {
+        def stringWriter = new StringWriter()
+        writer.write(er, stringWriter)
+        return stringWriter.toString()
+    }
+
+    def "writes data errors and extensions in spec order"() {
+        def errors = [new InvalidSyntaxError(new SourceLocation(1, 2), "Yikes")]
+        def er = ExecutionResultImpl.newExecutionResult()
+                .data([hello: "world", list: [1, 2.5, true, null], nested: [a: [b: "c"]]])
+                .errors(errors)
+                .extensions([ext: "value"])
+                .build()
+
+        when:
+        def json = toJson(er)
+
+        then:
+        json == '{"errors":[{"message":"Yikes","locations":[{"line":1,"column":2}],"extensions":{"classification":"InvalidSyntax"}}],' +
+                '"data":{"hello":"world","list":[1,2.5,true,null],"nested":{"a":{"b":"c"}}},' +
+                '"extensions":{"ext":"value"}}'
+        new JsonSlurper().parseText(json) == er.toSpecification()
+    }
+
+    def "null data is written when present and left out when absent"() {
+        expect:
+        toJson(new ExecutionResultImpl(null, [])) == '{"data":null}'
+        toJson(new ExecutionResultImpl(new InvalidSyntaxError(new SourceLocation(1, 1), "bad"))) ==
+                '{"errors":[{"message":"bad","locations":[{"line":1,"column":1}],"extensions":{"classification":"InvalidSyntax"}}]}'
+    }
+
+    def "strings are escaped"() {
+        def er = new ExecutionResultImpl([text: 'quote " slash \\ newline \n tab \t bell \u0007'], [])
+
+        when:
+        def json = toJson(er)
+
+        then:
+        json == '{"data":{"text":"quote \\" slash \\\\ newline \\n tab \\t bell \\u0007"}}'
+        new JsonSlurper().parseText(json) == er.toSpecification()
+    }
+
+    def "unwraps data fetcher results and handles arrays enums and other objects"() {
+        def er = new ExecutionResultImpl([
+                dfr    : DataFetcherResult.newResult().data([x: 1]).build(),
+                array  : ["a", "b"] as String[],
+                ints   : [1, 2] as int[],
+                enumVal: TimeUnitEnum.SECONDS,
+                other  : new StringBuilder("sb"),
+                nan    : Double.NaN
+        ], [])
+
+        expect:
+        toJson(er) == '{"data":{"dfr":{"x":1},"array":["a","b"],"ints":[1,2],"enumVal":"SECONDS","other":"sb","nan":null}}'
+    }
+
+    def "can write to an output stream as utf-8"() {
+        def er = new ExecutionResultImpl([text: "héllo ✓"], [])
+        def outputStream = new ByteArrayOutputStream()
+
+        when:
+        writer.write(er, outputStream)
+
+        then:
+        new String(outputStream.toByteArray(), StandardCharsets.UTF_8) == '{"data":{"text":"héllo ✓"}}'
+    }
+
+    def "writes incremental results and multipart parts"() {
+        def deferPayload = DeferPayload.newDeferredItem()
+                .data([name: "Luke"])
+                .path(["hero"])
+                .label("slow")
+                .build()
+        def streamPayload = StreamPayload.newStreamedItem()
+                .items([[id: 1]])
+                .path(["heroes", 1])
+                .build()
+        def initial = IncrementalExecutionResultImpl.newIncrementalExecutionResult()
+                .data([hero: [id: "1"]])
+                .hasNext(true)
+                .build()
+        def subsequent = DelayedIncrementalPartialResultImpl.newIncrementalExecutionResult()
+                .incrementalItems([deferPayload, streamPayload])
+                .hasNext(false)
+                .build()
+
+        when:
+        def stringWriter = new StringWriter()
+        writer.writeMultipartPart(initial, stringWriter)
+        writer.writeMultipartPart(subsequent, stringWriter)
+        writer.writeMultipartEnd(stringWriter)
+
+        then:
+        stringWriter.toString() ==
+                '\r\n---\r\nContent-Type: application/json; charset=utf-8\r\n\r\n' +
+                '{"data":{"hero":{"id":"1"}},"hasNext":true}' +
+                '\r\n---\r\nContent-Type: application/json; charset=utf-8\r\n\r\n' +
+                '{"hasNext":false,"incremental":[' +
+                '{"path":["hero"],"label":"slow","data":{"name":"Luke"}},' +
+                '{"path":["heroes",1],"items":[{"id":1}]}]}' +
+                '\r\n-----\r\n'
+    }
+
+    enum TimeUnitEnum {
+        SECONDS
+    }
+}
@@ -0,0 +1,167 @@
+package graphql.analysis
+
+import graphql.ExecutionInput
+import graphql.ExperimentalApi
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.RawVariables
+import graphql.execution.preparsed.TestingPreparsedDocumentProvider
+import graphql.normalized.ExecutableNormalizedOperationFactory
+import graphql.parser.Parser
+import graphql.schema.GraphQLSchema
+import spock.lang.Specification
+
+class QueryCostAnalyzerTest extends Specification {
+
+    def sdl = """
+        type Query {
+            foo: Foo
+            bar: String
+        }
+        type Foo {
+            scalar: String
+            foos(first: Int): [Foo]
+        }
+    """
+
+    GraphQLSchema schema = TestUtil.schema(sdl)
+
+    QueryCost analyze(QueryCostAnalyzer analyzer, String query, Map<String, Object> variables = [:]) {
+        def document = new Parser().parseDocument(query)
+        def operation = ExecutableNormalizedOperationFactory.createExecutableNormalizedOperationWithRawVariables(schema, document, null, RawVariables.of(variables))
+        analyzer.analyze(operation, schema)
+    }
+
+    def "computes depth, breadth, complexity and estimated result size in one pass"() {
+        def analyzer = QueryCostAnalyzer.newQueryCostAnalyzer().listSize(5).build()
+
+        when:
+        def cost = analyze(analyzer, "{ __typename bar foo { scalar foos { scalar foos { scalar } } } }")
+
+        then:
+        cost.depth == 4
+        cost.breadth == 3
+        cost.complexity == 7
+        cost.fieldCount == 8
+        // foo, foo.scalar and foo.foos once, the 5 foos with their scalar and foos, and the 25 foos below those
+        cost.estimatedResultSize == 1 + 1 + 1 + 1 + 1 + 5 + 5 + 25
+    }
+
+    def "fields selected several times are counted once"() {
+        def analyzer = QueryCostAnalyzer.newQueryCostAnalyzer().build()
+
+        when:
+        def cost = analyze(analyzer, """
+            { foo { scalar ...F } foo { scalar } }
+            fragment F on Foo { scalar foos { scalar } }
+        """)
+
+        then:
+        cost.complexity == 4
+        cost.fieldCount == 4
+        cost.estimatedResultSize == 3 + QueryCostAnalyzer.DEFAULT_LIST_SIZE
+    }
+
+    def "custom field complexity calculator and list size estimator"() {
+        def analyzer = QueryCostAnalyzer.newQueryCostAnalyzer()
+                .fieldComplexityCalculator({ env, childComplexity ->
+                    env.getFieldDefinition().getName() == "foos" ? 10 + childComplexity * (env.getArguments().first as int) : 1 + childComplexity
+                })
+                .listSizeEstimator({ env -> env.getArguments().first as int })
+                .build()
+
+        when:
+        def cost = analyze(analyzer, 'query($n: Int) { foo { foos(first: $n) { scalar } } }', [n: 3])
+
+        then:
+        cost.complexity == 1 + 10 + 3
+        cost.estimatedResultSize == 2 + 3
+    }
+
+    def "the instrumentation aborts when any maximum is exceeded"() {
+        def instrumentation = MaxQueryCostInstrumentation.newMaxQueryCostInstrumentation()
+                .maxDepth(maxDepth)
+                .maxBreadth(maxBreadth)
+                .maxComplexity(maxComplexity)
+                .maxEstimatedResultSize(maxEstimatedResultSize)
+                .build()
+        def graphQL = GraphQL.newGraphQL(schema).instrumentation(instrumentation).build()
+
+        when:
+        def result = graphQL.execute("{ bar foo { scalar foos { scalar } } }")
+
+        then:
+        result.errors*.message == [message]
+
+        where:
+        maxDepth | maxBreadth | maxComplexity | maxEstimatedResultSize || message
+        2        | 10         | 10            | 100                    || "maximum query depth exceeded 3 > 2"
+        10       | 1          | 10            | 100                    || "maximum query breadth exceeded 2 > 1"
+        10       | 10         | 4             | 100                    || "maximum query complexity exceeded 5 > 4"
+        10       | 10         | 10            | 10                     || "maximum estimated result size exceeded 14 > 10"
+    }
+
+    def "the cost is cached with the execution plan when it does not depend on variables"() {
+        def costs = []
+        def instrumentation = MaxQueryCostInstrumentation.newMaxQueryCostInstrumentation()
+                .queryCostAnalyzer(analyzer)
+                .maxDepth(0)
+                .maxQueryCostExceededFunction({ cost -> costs.add(cost); false })
+                .build()
+        def graphQL = GraphQL.newGraphQL(schema)
+                .instrumentation(instrumentation)
+                .preparsedDocumentProvider(new TestingPreparsedDocumentProvider())
+                .build()
+
+        when:
+        variables.each { vars ->
+            graphQL.execute(ExecutionInput.newExecutionInput(query)
+                    .variables(vars)
+                    .graphQLContext([(ExperimentalApi.ENABLE_EXECUTION_PLAN): true])
+                    .build())
+        }
+
+        then:
+        costs.size() == variables.size()
+        costs.toSet().size() == distinctCosts
+
+        where:
+        analyzer                | query                                                       | variables                   || distinctCosts
+        defaultAnalyzer()       | '{ foo { foos { scalar } } }'                               | [[:], [:]]                  || 1
+        defaultAnalyzer()       | 'query($n: Int) { foo { foos(first: $n) { scalar } } }'     | [[n: 1], [n: 2]]            || 1
+        defaultAnalyzer()       | 'query($s: Boolean!) { foo @skip(if: $s) { scalar } bar }' | [[s: true], [s: true]]      || 2
+        argumentUsingAnalyzer() | '{ foo { foos(first: 2) { scalar } } }'                     | [[:], [:]]                  || 1
+        argumentUsingAnalyzer() | 'query($n: Int) { foo { foos(first: $n) { scalar } } }'     | [[n: 1], [n: 1]]            || 2
+    }
+
+    def "the cost is not cached without an execution plan"() {
+        def costs = []
+        def instrumentation = MaxQueryCostInstrumentation.newMaxQueryCostInstrumentation()
+                .maxDepth(0)
+                .maxQueryCostExceededFunction({ cost -> costs.add(cost); false })
+                .build()
+        def graphQL = GraphQL.newGraphQL(schema)
+                .instrumentation(instrumentation)
+                .preparsedDocumentProvider(new TestingPreparsedDocumentProvider())
+                .build()
+
+        when:
+        graphQL.execute("{ foo { scalar } }")
+        graphQL.execute("{ foo { scalar } }")
+
+        then:
+        costs.size() == 2
+        !costs[0].is(costs[1])
+        costs[0].toString() == costs[1].toString()
+    }
+
+    private static QueryCostAnalyzer defaultAnalyzer() {
+        QueryCostAnalyzer.newQueryCostAnalyzer().build()
+    }
+
+    private static QueryCostAnalyzer argumentUsingAnalyzer() {
+        QueryCostAnalyzer.newQueryCostAnalyzer()
+                .listSizeEstimator({ env -> (env.getArguments().first ?: 1) as int })
+                .build()
+    }
+}
@@ -399,6 +399,77 @@ class AsyncTest extends Specification {
         joinOrMaterialized(awaited) == ["0", null, "2", null, "4"]
     }
 
+    def "combined builder completes once all CFs complete in any order"() {
+        def cf0 = new CompletableFuture()
+        def cf2 = new CompletableFuture()
+
+        when:
+        def asyncBuilder = Async.ofExpectedSize(4)
+        asyncBuilder.add(cf0)
+        asyncBuilder.addObject("1")
+        asyncBuilder.addObject(cf2)
+        asyncBuilder.add(completedFuture("3"))
+        def result = asyncBuilder.await()
+        cf2.complete("2")
+
+        then:
+        !result.isDone()
+
+        when:
+        cf0.complete("0")
+
+        then:
+        result.join() == ["0", "1", "2", "3"]
+        // the same type of list as for materialized values, so that list values don't depend on how they were fetched
+        result.join() instanceof ArrayList
+    }
+
+    def "combined builder results are mutable lists whether or not they are materialized"() {
+        when:
+        def materialized = Async.ofExpectedSize(2)
+        materialized.addObject("0")
+        materialized.addObject("1")
+        def futures = Async.ofExpectedSize(2)
+        futures.add(completedFuture("0"))
+        futures.addObject("1")
+        List materializedList = materialized.awaitPolymorphic() as List
+        List futureList = futures.await().join()
+        materializedList.add("2")
+        futureList.add("2")
+
+        then:
+        materializedList.getClass() == futureList.getClass()
+        materializedList == futureList
+    }
+
+    def "combined builder waits for all CFs before completing exceptionally"() {
+        def cf0 = new CompletableFuture()
+        def cf1 = new CompletableFuture()
+
+        when:
+        def asyncBuilder = Async.ofExpectedSize(3)
+        asyncBuilder.add(cf0)
+        asyncBuilder.add(cf1)
+        asyncBuilder.addObject("2")
+        def result = asyncBuilder.await()
+        cf0.completeExceptionally(new RuntimeException("some error"))
+
+        then:
+        !result.isDone()
+
+        when:
+        cf1.complete("1")
+        Throwable exception
+        result.exceptionally({ e ->
+            exception = e
+        })
+
+        then:
+        result.isCompletedExceptionally()
+        exception instanceof CompletionException
+        exception.getCause().getMessage() == "some error"
+    }
+
     def "toCompletableFutureOrMaterializedObject tested"() {
         def x = "x"
         def cf = completedFuture(x)
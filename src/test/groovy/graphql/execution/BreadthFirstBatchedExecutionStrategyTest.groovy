@@ -0,0 +1,298 @@
+package graphql.execution
+
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.instrumentation.Instrumentation
+import graphql.execution.instrumentation.InstrumentationState
+import graphql.execution.instrumentation.SimplePerformantInstrumentation
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters
+import graphql.schema.BatchedDataFetcher
+import graphql.schema.DataFetcher
+import graphql.schema.DataFetchingEnvironment
+import graphql.schema.GraphQLFieldDefinition
+import graphql.schema.GraphQLObjectType
+import org.dataloader.DataLoaderRegistry
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionStage
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+
+class BreadthFirstBatchedExecutionStrategyTest extends Specification {
+
+    def sdl = '''
+        type Query {
+            catalog : Catalog
+            product(id : ID!) : Product
+            asyncProduct : Product
+            failing : String
+        }
+
+        type Catalog {
+            name : String
+            products : [Product!]!
+        }
+
+        type Product {
+            id : ID!
+            name : String
+            price : Float
+            mustHave : String!
+            related : [Product]
+        }
+    '''
+
+    def apple = [id: "1", name: "Apple", price: 1.5, mustHave: "x"]
+    def pear = [id: "2", name: "Pear", price: 2.0, mustHave: "y"]
+    def broken = [id: "3", name: "Broken", price: 0.0]
+
+    Map<String, List<Integer>> batchSizes = new ConcurrentHashMap<>()
+
+    BatchedDataFetcher batched(String property, boolean async = false) {
+        new BatchedDataFetcher() {
+            @Override
+            CompletionStage<List> getBatch(List<DataFetchingEnvironment> environments) {
+                batchSizes.computeIfAbsent(property, { [] }).add(environments.size())
+                def values = environments.collect { it.source[property] }
+                return async ? CompletableFuture.supplyAsync({ values }) : CompletableFuture.completedFuture(values)
+            }
+        }
+    }
+
+    GraphQL graphQL(ExecutionStrategy strategy, Map productFetchers = [:], Instrumentation instrumentation = SimplePerformantInstrumentation.INSTANCE) {
+        apple.related = [pear]
+        pear.related = [apple, broken]
+        broken.related = []
+        def schema = TestUtil.schema(sdl, [
+                Query  : [
+                        catalog     : { env -> [name: "catalog", products: [apple, pear]] },
+                        product     : { env -> [apple, pear, broken].find { it.id == env.getArgument("id") } },
+                        asyncProduct: { env -> CompletableFuture.supplyAsync({ pear }) },
+                        failing     : { env -> throw new RuntimeException("bang") },
+                ],
+                Product: [
+                        name    : batched("name"),
+                        mustHave: batched("mustHave", true),
+                        related : batched("related", true),
+                ] + productFetchers
+        ])
+        GraphQL.newGraphQL(schema).queryExecutionStrategy(strategy).instrumentation(instrumentation).build()
+    }
+
+    def "gives the same results as the async execution strategy"() {
+        when:
+        def expected = graphQL(new AsyncExecutionStrategy()).execute(query)
+        def result = graphQL(new BreadthFirstBatchedExecutionStrategy()).executeAsync({ it.query(query) }).get(5, TimeUnit.SECONDS)
+
+        then:
+        result.toSpecification() == expected.toSpecification()
+
+        where:
+        query << [
+                '{ catalog { name products { id name related { id name related { id name } } } } }',
+                '{ product(id: "3") { id mustHave } catalog { name } }',
+                '{ product(id: "2") { related { id mustHave } } }',
+                '{ asyncProduct { id name related { id } } catalog { products { id name } } }',
+                '{ failing catalog { name } }',
+                '{ __schema { queryType { name } } __typename }',
+        ]
+    }
+
+    def "a batched data fetcher is called once per level"() {
+        when:
+        def result = graphQL(new BreadthFirstBatchedExecutionStrategy())
+                .executeAsync({ it.query('{ catalog { products { name related { name related { name } } } } }') }).get(5, TimeUnit.SECONDS)
+
+        then:
+        result.errors.isEmpty()
+        result.data.catalog.products*.name == ["Apple", "Pear"]
+        result.data.catalog.products*.related*.name == [["Pear"], ["Apple", "Broken"]]
+        batchSizes == [name: [2, 3, 3], related: [2, 3]]
+    }
+
+    def "other strategies fetch a batch of one"() {
+        when:
+        def result = graphQL(new AsyncExecutionStrategy()).execute('{ catalog { products { name } } }')
+
+        then:
+        result.data == [catalog: [products: [[name: "Apple"], [name: "Pear"]]]]
+        batchSizes == [name: [1, 1]]
+    }
+
+    def "a failed batch fails the field of each of its objects"() {
+        def failing = new BatchedDataFetcher() {
+            @Override
+            CompletionStage<List> getBatch(List<DataFetchingEnvironment> environments) {
+                throw new RuntimeException("no prices")
+            }
+        }
+
+        when:
+        def result = graphQL(new BreadthFirstBatchedExecutionStrategy(), [price: failing])
+                .executeAsync({ it.query('{ catalog { products { id price } } }') }).get(5, TimeUnit.SECONDS)
+
+        then:
+        result.data == [catalog: [products: [[id: "1", price: null], [id: "2", price: null]]]]
+        result.errors*.path == [["catalog", "products", 0, "price"], ["catalog", "products", 1, "price"]]
+    }
+
+    def "a batch with the wrong number of values fails"() {
+        def tooFew = new BatchedDataFetcher() {
+            @Override
+            CompletionStage<List> getBatch(List<DataFetchingEnvironment> environments) {
+                return CompletableFuture.completedFuture([1.0])
+            }
+        }
+
+        when:
+        def result = graphQL(new BreadthFirstBatchedExecutionStrategy(), [price: tooFew])
+                .executeAsync({ it.query('{ catalog { products { price } } }') }).get(5, TimeUnit.SECONDS)
+
+        then:
+        result.data == [catalog: [products: [[price: null], [price: null]]]]
+        result.errors.size() == 2
+    }
+
+    def "a batch without a list of values fails"() {
+        def nothing = new BatchedDataFetcher() {
+            @Override
+            CompletionStage<List> getBatch(List<DataFetchingEnvironment> environments) {
+                return CompletableFuture.completedFuture(null)
+            }
+        }
+
+        when:
+        def result = graphQL(new BreadthFirstBatchedExecutionStrategy(), [price: nothing])
+                .executeAsync({ it.query('{ catalog { products { id price } } }') }).get(5, TimeUnit.SECONDS)
+
+        then:
+        result.data == [catalog: [products: [[id: "1", price: null], [id: "2", price: null]]]]
+        result.errors*.path == [["catalog", "products", 0, "price"], ["catalog", "products", 1, "price"]]
+    }
+
+    def "a batch whose promise fails fails the field of each of its objects"() {
+        def failing = new BatchedDataFetcher() {
+            @Override
+            CompletionStage<List> getBatch(List<DataFetchingEnvironment> environments) {
+                return CompletableFuture.supplyAsync({ throw new RuntimeException("no prices") })
+            }
+        }
+
+        when:
+        def result = graphQL(new BreadthFirstBatchedExecutionStrategy(), [price: failing])
+                .executeAsync({ it.query('{ catalog { products { id price } } }') }).get(5, TimeUnit.SECONDS)
+
+        then:
+        result.data == [catalog: [products: [[id: "1", price: null], [id: "2", price: null]]]]
+        result.errors*.path == [["catalog", "products", 0, "price"], ["catalog", "products", 1, "price"]]
+    }
+
+    def "a null non-null field of a batch bubbles up"() {
+        when:
+        def result = graphQL(new BreadthFirstBatchedExecutionStrategy())
+                .executeAsync({ it.query('{ product(id: "2") { id related { id mustHave } } }') }).get(5, TimeUnit.SECONDS)
+
+        then:
+        result.data == [product: [id: "2", related: [[id: "1", mustHave: "x"], null]]]
+        result.errors*.path == [["product", "related", 1, "mustHave"]]
+        batchSizes == [related: [1], mustHave: [2]]
+    }
+
+    def "each object of a batch has its own environment"() {
+        List<List<String>> batchPaths = []
+        def pricing = new BatchedDataFetcher() {
+            @Override
+            CompletionStage<List> getBatch(List<DataFetchingEnvironment> environments) {
+                batchPaths.add(environments.collect { it.executionStepInfo.path.toString() })
+                return CompletableFuture.completedFuture(environments.collect { it.source.price })
+            }
+        }
+
+        when:
+        def result = graphQL(new BreadthFirstBatchedExecutionStrategy(), [price: pricing])
+                .executeAsync({ it.query('{ catalog { products { price } } }') }).get(5, TimeUnit.SECONDS)
+
+        then:
+        result.data == [catalog: [products: [[price: 1.5], [price: 2.0]]]]
+        batchPaths == [["/catalog/products[0]/price", "/catalog/products[1]/price"]]
+    }
+
+    def "the data fetcher of each object of a batch is instrumented"() {
+        List<String> instrumentedPaths = Collections.synchronizedList([])
+        def instrumentation = new SimplePerformantInstrumentation() {
+            @Override
+            DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher, InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+                if (dataFetcher instanceof BatchedDataFetcher) {
+                    instrumentedPaths.add(parameters.executionStepInfo.path.toString())
+                }
+                return dataFetcher
+            }
+        }
+
+        when:
+        def result = graphQL(new BreadthFirstBatchedExecutionStrategy(), [:], instrumentation)
+                .executeAsync({ it.query('{ catalog { products { name } } }') }).get(5, TimeUnit.SECONDS)
+
+        then:
+        result.data == [catalog: [products: [[name: "Apple"], [name: "Pear"]]]]
+        instrumentedPaths == ["/catalog/products[0]/name", "/catalog/products[1]/name"]
+        batchSizes == [name: [2]]
+    }
+
+    def "the execution step info of a batched fetch is only built when the data fetcher asks for it"() {
+        List<String> built = Collections.synchronizedList([])
+        def strategy = new BreadthFirstBatchedExecutionStrategy() {
+            @Override
+            protected ExecutionStepInfo createExecutionStepInfo(ExecutionContext executionContext, ExecutionStrategyParameters parameters,
+                                                                GraphQLFieldDefinition fieldDefinition, GraphQLObjectType fieldContainer) {
+                def executionStepInfo = super.createExecutionStepInfo(executionContext, parameters, fieldDefinition, fieldContainer)
+                built.add(executionStepInfo.path.toString())
+                return executionStepInfo
+            }
+        }
+        def pricing = new BatchedDataFetcher() {
+            @Override
+            CompletionStage<List> getBatch(List<DataFetchingEnvironment> environments) {
+                return CompletableFuture.completedFuture(environments.collect { it.executionStepInfo.path.segmentName == "price" ? it.source.price : null })
+            }
+        }
+
+        when:
+        def result = graphQL(strategy, [price: pricing])
+                .executeAsync({ it.query('{ catalog { products { name price } } }') }).get(5, TimeUnit.SECONDS)
+
+        then:
+        result.data == [catalog: [products: [[name: "Apple", price: 1.5], [name: "Pear", price: 2.0]]]]
+        // completing a value always builds its step info, the fetch only does so for the data fetcher that asks for it
+        built.count { it == "/catalog/products[0]/name" } == 1
+        built.count { it == "/catalog/products[0]/price" } == 2
+    }
+
+    def "a batched data fetcher that an instrumentation wraps is called per object"() {
+        def instrumentation = new SimplePerformantInstrumentation() {
+            @Override
+            DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher, InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+                return { env -> dataFetcher.get(env) } as DataFetcher
+            }
+        }
+
+        when:
+        def result = graphQL(new BreadthFirstBatchedExecutionStrategy(), [:], instrumentation)
+                .executeAsync({ it.query('{ catalog { products { name } } }') }).get(5, TimeUnit.SECONDS)
+
+        then:
+        result.data == [catalog: [products: [[name: "Apple"], [name: "Pear"]]]]
+        batchSizes == [name: [1, 1]]
+    }
+
+    def "batches are kept when data loaders are dispatched after each data fetcher"() {
+        when:
+        def result = graphQL(new BreadthFirstBatchedExecutionStrategy())
+                .executeAsync({ it.query('{ catalog { products { name } } }').dataLoaderRegistry(new DataLoaderRegistry()) }).get(5, TimeUnit.SECONDS)
+
+        then:
+        result.data == [catalog: [products: [[name: "Apple"], [name: "Pear"]]]]
+        batchSizes == [name: [2]]
+    }
+}
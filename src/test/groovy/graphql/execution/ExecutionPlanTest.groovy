@@ -0,0 +1,243 @@
+package graphql.execution
+
+import graphql.AssertException
+import graphql.ExecutionInput
+import graphql.ExperimentalApi
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.preparsed.PreparsedDocumentEntry
+import graphql.execution.preparsed.TestingPreparsedDocumentProvider
+import graphql.language.OperationDefinition
+import graphql.parser.Parser
+import graphql.schema.DataFetcher
+import spock.lang.Specification
+
+class ExecutionPlanTest extends Specification {
+
+    def sdl = """
+        type Query {
+            hero : Hero
+        }
+        type Hero {
+            id : ID
+            name : String
+            friends(first : Int) : [Hero]
+        }
+    """
+
+    def heroes = [id: "1", name: "Luke", friends: [[id: "2", name: "Leia"], [id: "3", name: "Han"]]]
+
+    def "collects the variables that field collection depends on"() {
+        def document = new Parser().parseDocument('''
+            query q($skipName : Boolean!, $first : Int, $deferIt : Boolean!) {
+                hero {
+                    id
+                    name @skip(if : $skipName)
+                    friends(first : $first) {
+                        ... @defer(if : $deferIt) {
+                            name
+                        }
+                    }
+                }
+            }
+        ''')
+
+        when:
+        def plan = new ExecutionPlan(document, TestUtil.schema(sdl))
+
+        then:
+        plan.getConditionalVariableNames() == ["skipName", "deferIt"]
+    }
+
+    def "plans are re-used across executions and specialised by conditional variables"() {
+        DataFetcher heroDF = { env -> heroes }
+        def schema = TestUtil.schema(sdl, [Query: [hero: heroDF]])
+        def graphQL = GraphQL.newGraphQL(schema)
+                .preparsedDocumentProvider(new TestingPreparsedDocumentProvider())
+                .build()
+
+        def query = '''
+            query q($skipName : Boolean!) {
+                hero {
+                    id
+                    name @skip(if : $skipName)
+                    friends {
+                        name @skip(if : $skipName)
+                    }
+                }
+            }
+        '''
+
+        when:
+        def er1 = graphQL.execute(executionInput(query, [skipName: false]))
+        def er2 = graphQL.execute(executionInput(query, [skipName: true]))
+        def er3 = graphQL.execute(executionInput(query, [skipName: false]))
+
+        then:
+        er1.errors.isEmpty()
+        er1.data == [hero: [id: "1", name: "Luke", friends: [[name: "Leia"], [name: "Han"]]]]
+        er2.data == [hero: [id: "1", friends: [[:], [:]]]]
+        er3.data == er1.data
+    }
+
+    def "the plan is recreated when the schema changes"() {
+        def document = new Parser().parseDocument("{ hero { id } }")
+        def entry = new PreparsedDocumentEntry(document)
+        def schema1 = TestUtil.schema(sdl)
+        def schema2 = TestUtil.schema(sdl)
+
+        when:
+        def plan1 = entry.getExecutionPlan(schema1)
+        def plan1Again = entry.getExecutionPlan(schema1)
+        def plan2 = entry.getExecutionPlan(schema2)
+
+        then:
+        plan1 === plan1Again
+        plan1.isFor(schema1)
+        !(plan2 === plan1)
+        plan2.isFor(schema2)
+    }
+
+    def "merged selection sets are memoized per specialisation"() {
+        def document = new Parser().parseDocument('''
+            query q($skipName : Boolean!) {
+                hero {
+                    id
+                    name @skip(if : $skipName)
+                }
+            }
+        ''')
+        def schema = TestUtil.schema(sdl)
+        def plan = new ExecutionPlan(document, schema)
+        def operation = document.getFirstDefinitionOfType(OperationDefinition).get()
+
+        def parameters = { boolean skipName ->
+            FieldCollectorParameters.newParameters()
+                    .schema(schema)
+                    .objectType(schema.getQueryType())
+                    .variables([skipName: skipName])
+                    .build()
+        }
+
+        when:
+        def notSkipped = plan.specialise(CoercedVariables.of([skipName: false]), false)
+        def skipped = plan.specialise(CoercedVariables.of([skipName: true]), false)
+
+        def set1 = notSkipped.collectFields(parameters(false), operation.getSelectionSet(), false)
+        def set2 = notSkipped.collectFields(parameters(false), operation.getSelectionSet(), false)
+        def heroField = set1.getSubField("hero")
+
+        def heroParameters = FieldCollectorParameters.newParameters()
+                .schema(schema)
+                .objectType(schema.getObjectType("Hero"))
+                .variables([skipName: true])
+                .build()
+        def skippedHeroFields = skipped.collectFields(heroParameters, heroField, false)
+
+        then:
+        set1 === set2
+        skippedHeroFields.getKeys() == ["id"]
+        plan.getFieldDefinition(schema.getObjectType("Hero"), "name") === schema.getObjectType("Hero").getFieldDefinition("name")
+    }
+
+    def "normalized operations are specialised from a skeleton per conditional variable values"() {
+        def document = new Parser().parseDocument('''
+            query q($skipName : Boolean!, $first : Int) {
+                hero {
+                    id
+                    name @skip(if : $skipName)
+                    friends(first : $first) {
+                        name
+                    }
+                }
+            }
+        ''')
+        def schema = TestUtil.schema(sdl)
+        def plan = new ExecutionPlan(document, schema)
+        def operation = document.getFirstDefinitionOfType(OperationDefinition).get()
+
+        def normalizedOperation = { Map<String, Object> variables ->
+            def coercedVariables = CoercedVariables.of(variables)
+            plan.specialise(coercedVariables, false).getNormalizedOperation(operation, [:], coercedVariables)
+        }
+
+        when:
+        def first1 = normalizedOperation([skipName: false, first: 1])
+        def first1Again = normalizedOperation([skipName: false, first: 1])
+        def first2 = normalizedOperation([skipName: false, first: 2])
+        def skipped = normalizedOperation([skipName: true, first: 2])
+
+        then:
+        first1 === first1Again
+        !(first2 === first1)
+
+        def friends1 = first1.getTopLevelFields()[0].getChildren().find { it.name == "friends" }
+        def friends2 = first2.getTopLevelFields()[0].getChildren().find { it.name == "friends" }
+        friends1.getResolvedArguments() == [first: 1]
+        friends2.getResolvedArguments() == [first: 2]
+        friends2.getParent() === first2.getTopLevelFields()[0]
+        friends2.getChildren()*.name == ["name"]
+        friends2.getChildren()[0].getParent() === friends2
+        first2.getNormalizedFields(first2.getMergedField(friends2).getSingleField()) == [friends2]
+        first2.getOperationFieldCount() == first1.getOperationFieldCount()
+
+        skipped.getTopLevelFields()[0].getChildren()*.name == ["id", "friends"]
+    }
+
+    def "data fetchers see the specialised normalized operation"() {
+        DataFetcher heroDF = { env ->
+            def friendsArguments = env.getSelectionSet().getFields("friends")[0].getArguments()
+            heroes + [name: "first " + friendsArguments.first]
+        }
+        def schema = TestUtil.schema(sdl, [Query: [hero: heroDF]])
+        def graphQL = GraphQL.newGraphQL(schema)
+                .preparsedDocumentProvider(new TestingPreparsedDocumentProvider())
+                .build()
+
+        def query = '''
+            query q($first : Int) {
+                hero {
+                    name
+                    friends(first : $first) {
+                        id
+                    }
+                }
+            }
+        '''
+
+        when:
+        def er1 = graphQL.execute(executionInput(query, [first: 1]))
+        def er2 = graphQL.execute(executionInput(query, [first: 2]))
+        def er3 = graphQL.execute(executionInput(query, [first: 1]))
+
+        then:
+        er1.errors.isEmpty()
+        er1.data.hero.name == "first 1"
+        er2.data.hero.name == "first 2"
+        er3.data.hero.name == "first 1"
+    }
+
+    def "a plan must be specialised before collecting fields"() {
+        def document = new Parser().parseDocument("{ hero { id } }")
+        def schema = TestUtil.schema(sdl)
+        def plan = new ExecutionPlan(document, schema)
+        def operation = document.getFirstDefinitionOfType(OperationDefinition).get()
+        def parameters = FieldCollectorParameters.newParameters()
+                .schema(schema)
+                .objectType(schema.getQueryType())
+                .build()
+
+        when:
+        plan.collectFields(parameters, operation.getSelectionSet(), false)
+
+        then:
+        thrown(AssertException)
+    }
+
+    private static ExecutionInput executionInput(String query, Map<String, Object> variables) {
+        ExecutionInput.newExecutionInput(query)
+                .variables(variables)
+                .graphQLContext([(ExperimentalApi.ENABLE_EXECUTION_PLAN): true])
+                .build()
+    }
+}
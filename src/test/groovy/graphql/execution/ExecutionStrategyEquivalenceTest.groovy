@@ -129,6 +129,8 @@ class ExecutionStrategyEquivalenceTest extends Specification {
         strategyType   | strategyUnderTest                       | expectedQueriesAndResults
         "async"        | new AsyncExecutionStrategy()            | standardQueriesAndResults()
         "asyncSerial"  | new AsyncSerialExecutionStrategy()      | standardQueriesAndResults()
+        "synchronous"  | new SynchronousExecutionStrategy()      | standardQueriesAndResults()
+        "batched"      | new BreadthFirstBatchedExecutionStrategy() | standardQueriesAndResults()
         "breadthFirst" | new BreadthFirstExecutionTestStrategy() | standardQueriesAndResults()
         "breadthFirst" | new BreadthFirstTestStrategy()          | standardQueriesAndResults()
 
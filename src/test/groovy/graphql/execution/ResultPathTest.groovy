@@ -280,4 +280,77 @@ class ResultPathTest extends Specification {
         then:
         newPath.toList() == ["a", "b", "x"]
     }
+
+    @Unroll
+    "level counts the named segments : #path"() {
+        expect:
+        ResultPath.parse(path).getLevel() == expected
+
+        where:
+        path           || expected
+        ""             || 0
+        "/a"           || 1
+        "/a[0]"        || 1
+        "/a[0][1]/b"   || 2
+        "/a/b[2]/c[3]" || 3
+    }
+
+    def "segment accessors"() {
+        def named = ResultPath.parse("/a[1]/b")
+        def indexed = ResultPath.parse("/a/b[7]")
+
+        expect:
+        named.isNamedSegment()
+        !named.isListSegment()
+        named.getSegmentName() == "b"
+        named.getSegmentValue() == "b"
+
+        indexed.isListSegment()
+        !indexed.isNamedSegment()
+        indexed.getSegmentIndex() == 7
+        indexed.getSegmentValue() == 7
+
+        !ResultPath.rootPath().isListSegment()
+        !ResultPath.rootPath().isNamedSegment()
+        ResultPath.rootPath().getSegmentValue() == null
+
+        when:
+        indexed.getSegmentName()
+
+        then:
+        thrown(ClassCastException)
+
+        when:
+        named.getSegmentIndex()
+
+        then:
+        thrown(ClassCastException)
+    }
+
+    def "equality and hash codes do not depend on how a path was built"() {
+        def built = ResultPath.rootPath().segment("a").segment(1).segment("b")
+        def parsed = ResultPath.parse("/a[1]/b")
+        def listed = ResultPath.fromList(["a", 1, "b"])
+
+        expect:
+        built == parsed
+        built == listed
+        built.hashCode() == parsed.hashCode()
+        built.hashCode() == listed.hashCode()
+
+        built != ResultPath.parse("/a[2]/b")
+        built != ResultPath.parse("/a/b")
+        built != ResultPath.parse("/a[1]/b/c")
+        ResultPath.parse("/a[1]") != ResultPath.parse("/a/b")
+        ResultPath.rootPath() == ResultPath.fromList([])
+    }
+
+    def "the string and list forms are only computed once"() {
+        def path = ResultPath.parse("/a[1]/b")
+
+        expect:
+        path.toString().is(path.toString())
+        path.toList().is(path.toList())
+        path.toList() == ["a", 1, "b"]
+    }
 }
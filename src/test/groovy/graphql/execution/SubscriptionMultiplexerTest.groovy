@@ -0,0 +1,186 @@
+package graphql.execution
+
+import graphql.ExecutionInput
+import graphql.ExecutionResult
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.pubsub.CapturingSubscriber
+import graphql.schema.DataFetcher
+import io.reactivex.processors.PublishProcessor
+import org.reactivestreams.Publisher
+import spock.lang.Specification
+
+import java.util.concurrent.atomic.AtomicInteger
+
+class SubscriptionMultiplexerTest extends Specification {
+
+    def sdl = """
+        type Query {
+            unused : String
+        }
+        type Subscription {
+            score(game : String) : Score
+        }
+        type Score {
+            value : Int
+        }
+    """
+
+    def sourceCount = new AtomicInteger()
+    def valueFetchCount = new AtomicInteger()
+    def sources = [:]
+    def multiplexer = SubscriptionMultiplexer.newMultiplexer().bufferSize(2).build()
+
+    GraphQL graphQL = {
+        DataFetcher scoreDF = { env ->
+            sourceCount.incrementAndGet()
+            def source = PublishProcessor.create()
+            sources[env.getArgument("game")] = source
+            return source
+        }
+        DataFetcher valueDF = { env ->
+            valueFetchCount.incrementAndGet()
+            return env.getSource()
+        }
+        GraphQL.newGraphQL(TestUtil.schema(sdl, [Subscription: [score: scoreDF], Score: [value: valueDF]])).build()
+    }()
+
+    Publisher<ExecutionResult> subscribe(String game, Map<Object, Object> context = [(SubscriptionMultiplexer.class): multiplexer]) {
+        def executionInput = ExecutionInput.newExecutionInput('subscription s($game : String) { score(game : $game) { value } }')
+                .variables([game: game])
+                .graphQLContext(context)
+                .build()
+        def executionResult = graphQL.execute(executionInput)
+        assert executionResult.errors.isEmpty()
+        return executionResult.getData()
+    }
+
+    static CapturingSubscriber<ExecutionResult> capture(Publisher<ExecutionResult> publisher, int requestN = 1) {
+        def subscriber = new CapturingSubscriber<ExecutionResult>(requestN)
+        publisher.subscribe(subscriber)
+        return subscriber
+    }
+
+    def "identical subscriptions share one source and execute each event once"() {
+        when:
+        def subscribers = (1..3).collect { capture(subscribe("a")) }
+        def other = capture(subscribe("b"))
+
+        then:
+        sourceCount.get() == 2
+        multiplexer.getSharedSubscriptionCount() == 2
+
+        when:
+        sources["a"].onNext(1)
+        sources["a"].onNext(2)
+
+        then:
+        valueFetchCount.get() == 2
+        subscribers.every { it.events*.data == [[score: [value: 1]], [score: [value: 2]]] }
+        other.events.isEmpty()
+    }
+
+    def "the source is cancelled once every subscriber has cancelled"() {
+        def first = capture(subscribe("a"))
+        def second = capture(subscribe("a"))
+
+        when:
+        first.subscription.cancel()
+
+        then:
+        sources["a"].hasSubscribers()
+        multiplexer.getSharedSubscriptionCount() == 1
+
+        when:
+        second.subscription.cancel()
+
+        then:
+        !sources["a"].hasSubscribers()
+        multiplexer.getSharedSubscriptionCount() == 0
+
+        when:
+        capture(subscribe("a"))
+
+        then:
+        sourceCount.get() == 2
+    }
+
+    def "a shared subscription that is never subscribed to does not keep the source alive"() {
+        def first = capture(subscribe("a"))
+        def neverSubscribed = subscribe("a")
+
+        when:
+        first.subscription.cancel()
+
+        then:
+        !sources["a"].hasSubscribers()
+        multiplexer.getSharedSubscriptionCount() == 0
+
+        when: "it is subscribed to late"
+        def late = capture(neverSubscribed)
+
+        then:
+        late.throwable instanceof IllegalStateException
+    }
+
+    def "completion is broadcast to every subscriber"() {
+        def first = capture(subscribe("a"))
+        def second = capture(subscribe("a"))
+
+        when:
+        sources["a"].onNext(1)
+        sources["a"].onComplete()
+
+        then:
+        first.isCompleted()
+        second.isCompleted()
+        second.events*.data == [[score: [value: 1]]]
+        multiplexer.getSharedSubscriptionCount() == 0
+    }
+
+    def "a subscriber whose buffer overflows is dropped without affecting the others"() {
+        def fast = capture(subscribe("a"))
+        // asks for one result and then never for more
+        def slow = new CapturingSubscriber<ExecutionResult>(1) {
+            @Override
+            void onNext(ExecutionResult executionResult) {
+                getEvents().add(executionResult)
+            }
+        }
+        subscribe("a").subscribe(slow)
+
+        when:
+        (1..4).each { sources["a"].onNext(it) }
+
+        then:
+        fast.events.size() == 4
+        slow.events*.data == [[score: [value: 1]]]
+        slow.isCompletedExceptionally()
+        slow.throwable instanceof AbortExecutionException
+        sources["a"].hasSubscribers()
+    }
+
+    def "subscriptions without a multiplexer are not shared"() {
+        when:
+        capture(subscribe("a", [:]))
+        capture(subscribe("a", [:]))
+
+        then:
+        sourceCount.get() == 2
+    }
+
+    def "subscriptions are only shared within the same scope"() {
+        multiplexer = SubscriptionMultiplexer.newMultiplexer()
+                .scopeKey({ executionContext -> executionContext.getGraphQLContext().get("tenant") })
+                .build()
+
+        when:
+        capture(subscribe("a", [(SubscriptionMultiplexer.class): multiplexer, tenant: "t1"]))
+        capture(subscribe("a", [(SubscriptionMultiplexer.class): multiplexer, tenant: "t1"]))
+        capture(subscribe("a", [(SubscriptionMultiplexer.class): multiplexer, tenant: "t2"]))
+
+        then:
+        sourceCount.get() == 2
+        multiplexer.getSharedSubscriptionCount() == 2
+    }
+}
@@ -0,0 +1,167 @@
+package graphql.execution
+
+import graphql.ExecutionInput
+import graphql.ExecutionResult
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.pubsub.CapturingSubscriber
+import graphql.schema.DataFetcher
+import io.reactivex.processors.PublishProcessor
+import org.reactivestreams.Publisher
+import spock.lang.Specification
+
+import java.util.concurrent.atomic.AtomicInteger
+
+class SubscriptionOverflowPolicyTest extends Specification {
+
+    def sdl = """
+        type Query {
+            unused : String
+        }
+        type Subscription {
+            tick : Tick
+            ticks : [Tick]
+        }
+        type Tick {
+            symbol : String
+            price : Int
+        }
+    """
+
+    def executionCount = new AtomicInteger()
+    PublishProcessor<Object> source
+
+    GraphQL graphQL = {
+        DataFetcher sourceDF = { env ->
+            source = PublishProcessor.create()
+            return source
+        }
+        DataFetcher symbolDF = { env ->
+            executionCount.incrementAndGet()
+            return env.getSource().symbol
+        }
+        GraphQL.newGraphQL(TestUtil.schema(sdl, [Subscription: [tick: sourceDF, ticks: sourceDF], Tick: [symbol: symbolDF]])).build()
+    }()
+
+    // subscribes with a subscriber that asks for one result and then waits until it is asked to request more
+    CapturingSubscriber<ExecutionResult> subscribe(String query, SubscriptionOverflowPolicy policy) {
+        def executionInput = ExecutionInput.newExecutionInput(query)
+                .graphQLContext([(SubscriptionOverflowPolicy.class): policy])
+                .build()
+        Publisher<ExecutionResult> publisher = graphQL.execute(executionInput).getData()
+        def subscriber = new CapturingSubscriber<ExecutionResult>(1) {
+            @Override
+            void onNext(ExecutionResult executionResult) {
+                getEvents().add(executionResult)
+            }
+        }
+        publisher.subscribe(subscriber)
+        return subscriber
+    }
+
+    def emit(List<String> ticks) {
+        ticks.each { tick ->
+            def (symbol, price) = tick.split(":")
+            source.onNext([symbol: symbol, price: price as int])
+        }
+    }
+
+    static List<String> prices(CapturingSubscriber<ExecutionResult> subscriber) {
+        subscriber.events.collect { er -> "${er.data.tick.symbol}:${er.data.tick.price}".toString() }
+    }
+
+    def "drop oldest keeps the most recent events"() {
+        def policy = SubscriptionOverflowPolicy.dropOldest(2)
+        def subscriber = subscribe("subscription { tick { symbol price } }", policy)
+
+        when:
+        emit(["A:1", "B:1", "A:2", "A:3", "B:2"])
+        subscriber.subscription.request(10)
+        source.onComplete()
+
+        then:
+        prices(subscriber) == ["A:1", "A:3", "B:2"]
+        subscriber.isCompleted()
+        executionCount.get() == 3
+        policy.getDroppedEventCount() == 2
+    }
+
+    def "latest per key conflates events with the same key"() {
+        def policy = SubscriptionOverflowPolicy.latestPerKey({ tick -> tick.symbol }, 10)
+        def subscriber = subscribe("subscription { tick { symbol price } }", policy)
+
+        when:
+        emit(["A:1", "B:1", "A:2", "A:3", "B:2", "C:1", "A:4"])
+        subscriber.subscription.request(10)
+
+        then:
+        prices(subscriber) == ["A:1", "B:2", "A:4", "C:1"]
+        executionCount.get() == 4
+        policy.getConflatedEventCount() == 3
+        policy.getDroppedEventCount() == 0
+    }
+
+    def "latest per key drops the oldest key when the buffer is full"() {
+        def policy = SubscriptionOverflowPolicy.latestPerKey({ tick -> tick.symbol }, 2)
+        def subscriber = subscribe("subscription { tick { symbol price } }", policy)
+
+        when:
+        emit(["A:1", "B:1", "C:1", "B:2", "D:1"])
+        subscriber.subscription.request(10)
+
+        then:
+        // B keeps its place when it is conflated and so it is the oldest key when D arrives
+        prices(subscriber) == ["A:1", "C:1", "D:1"]
+        policy.getConflatedEventCount() == 1
+        policy.getDroppedEventCount() == 1
+    }
+
+    def "batch executes the selection set once for several events"() {
+        def policy = SubscriptionOverflowPolicy.batch(3, 10, { ticks -> ticks })
+        def subscriber = subscribe("subscription { ticks { symbol price } }", policy)
+
+        when:
+        emit(["A:1", "B:1", "A:2", "A:3", "B:2", "C:1", "A:4"])
+        subscriber.subscription.request(10)
+
+        then:
+        subscriber.events*.data == [
+                [ticks: [[symbol: "A", price: 1]]],
+                [ticks: [[symbol: "B", price: 1], [symbol: "A", price: 2], [symbol: "A", price: 3]]],
+                [ticks: [[symbol: "B", price: 2], [symbol: "C", price: 1], [symbol: "A", price: 4]]],
+        ]
+        policy.getBatchCount() == 3
+        policy.getBatchedEventCount() == 7
+    }
+
+    def "errors are delivered after the buffered events"() {
+        def policy = SubscriptionOverflowPolicy.dropOldest(10)
+        def subscriber = subscribe("subscription { tick { symbol price } }", policy)
+
+        when:
+        emit(["A:1", "B:1"])
+        source.onError(new RuntimeException("Bang"))
+
+        then:
+        prices(subscriber) == ["A:1"]
+        !subscriber.isDone().get()
+
+        when:
+        subscriber.subscription.request(1)
+
+        then:
+        prices(subscriber) == ["A:1", "B:1"]
+        subscriber.isCompletedExceptionally()
+        subscriber.throwable.message == "Bang"
+    }
+
+    def "cancelling the subscription cancels the source"() {
+        def subscriber = subscribe("subscription { tick { symbol price } }", SubscriptionOverflowPolicy.dropOldest(10))
+
+        when:
+        subscriber.subscription.cancel()
+
+        then:
+        !source.hasSubscribers()
+    }
+}
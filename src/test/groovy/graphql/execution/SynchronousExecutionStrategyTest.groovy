@@ -0,0 +1,126 @@
+package graphql.execution
+
+import graphql.ExecutionResult
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.instrumentation.InstrumentationContext
+import graphql.execution.instrumentation.InstrumentationState
+import graphql.execution.instrumentation.SimpleInstrumentationContext
+import graphql.execution.instrumentation.SimplePerformantInstrumentation
+import graphql.execution.instrumentation.parameters.InstrumentationFieldCompleteParameters
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+
+class SynchronousExecutionStrategyTest extends Specification {
+
+    def sdl = '''
+        type Query {
+            catalog : Catalog
+            product(id : ID!) : Product
+            asyncProduct : Product
+            failing : String
+            required : Product!
+        }
+
+        type Catalog {
+            name : String
+            products : [Product!]!
+        }
+
+        type Product {
+            id : ID!
+            name : String
+            tags : [String]
+            mustHave : String!
+            related : [Product]
+        }
+    '''
+
+    def apple = [id: "1", name: "Apple", tags: ["fruit", "red"], mustHave: "x"]
+    def pear = [id: "2", name: "Pear", tags: ["fruit"], mustHave: "y"]
+    def broken = [id: "3", name: "Broken", tags: []]
+
+    def asyncProduct = new CompletableFuture()
+
+    GraphQL graphQL(ExecutionStrategy strategy) {
+        apple.related = [pear]
+        pear.related = [apple, broken]
+        broken.related = []
+        def schema = TestUtil.schema(sdl, [Query: [
+                catalog     : { env -> [name: "catalog", products: [apple, pear]] },
+                product     : { env -> [apple, pear, broken].find { it.id == env.getArgument("id") } },
+                asyncProduct: { env -> asyncProduct },
+                failing     : { env -> throw new RuntimeException("bang") },
+                required    : { env -> null },
+        ]])
+        GraphQL.newGraphQL(schema).queryExecutionStrategy(strategy).build()
+    }
+
+    def "gives the same results as the async execution strategy"() {
+        asyncProduct.complete(pear)
+
+        when:
+        def expected = graphQL(new AsyncExecutionStrategy()).execute(query)
+        def result = graphQL(new SynchronousExecutionStrategy()).execute(query)
+
+        then:
+        result.toSpecification() == expected.toSpecification()
+
+        where:
+        query << [
+                '{ catalog { name products { id name tags related { id related { id } } } } }',
+                '{ product(id: "3") { id mustHave } catalog { name } }',
+                '{ product(id: "2") { related { id mustHave } } }',
+                '{ asyncProduct { id related { id } } catalog { products { id } } }',
+                '{ asyncProduct { related { id mustHave } } catalog { name } }',
+                '{ catalog { products { id related { mustHave } } } }',
+                '{ failing catalog { name } }',
+                '{ required { id } catalog { name } }',
+                '{ __schema { queryType { name } } __typename }',
+        ]
+    }
+
+    def "the result is complete when the execution returns"() {
+        when:
+        def result = graphQL(new SynchronousExecutionStrategy()).executeAsync({ it.query('{ catalog { name products { id } } }') })
+
+        then:
+        result.isDone()
+        result.join().data == [catalog: [name: "catalog", products: [[id: "1"], [id: "2"]]]]
+    }
+
+    def "only the fields that depend on a pending promise are completed later"() {
+        when:
+        def result = graphQL(new SynchronousExecutionStrategy()).executeAsync({ it.query('{ asyncProduct { id name } catalog { products { name } } }') })
+
+        then:
+        !result.isDone()
+
+        when:
+        asyncProduct.complete(apple)
+
+        then:
+        result.isDone()
+        result.join().data == [asyncProduct: [id: "1", name: "Apple"], catalog: [products: [[name: "Apple"], [name: "Pear"]]]]
+    }
+
+    def "an execution with an instrumentation is executed the asynchronous way and reports its completed fields"() {
+        def completed = []
+        def instrumentation = new SimplePerformantInstrumentation() {
+            @Override
+            InstrumentationContext<Object> beginFieldCompletion(InstrumentationFieldCompleteParameters parameters, InstrumentationState state) {
+                return SimpleInstrumentationContext.whenCompleted({ value, throwable -> completed.add(parameters.executionStepInfo.path.toString()) })
+            }
+        }
+        def schema = graphQL(new SynchronousExecutionStrategy()).getGraphQLSchema()
+        def graphQL = GraphQL.newGraphQL(schema).queryExecutionStrategy(new SynchronousExecutionStrategy()).instrumentation(instrumentation).build()
+
+        when:
+        ExecutionResult result = graphQL.execute('{ catalog { name } }')
+
+        then:
+        result.errors.isEmpty()
+        completed == ["/catalog/name", "/catalog"]
+    }
+}
@@ -0,0 +1,187 @@
+package graphql.execution
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.GraphQLContext
+import graphql.TestUtil
+import graphql.schema.DataFetcher
+import graphql.schema.DataFetchingEnvironment
+import graphql.schema.StaticDataFetcher
+import org.dataloader.BatchLoader
+import org.dataloader.DataLoaderFactory
+import org.dataloader.DataLoaderRegistry
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class VirtualThreadFetchOptionsTest extends Specification {
+
+    def sdl = '''
+        type Query {
+            a : String
+            b : String
+            c : String
+            d : String
+            failing : String
+            async : String
+            trivial : String
+        }
+    '''
+
+    def callingThread = Thread.currentThread()
+    Set<Thread> fetchThreads = ConcurrentHashMap.newKeySet()
+    AtomicInteger running = new AtomicInteger()
+    AtomicInteger maxRunning = new AtomicInteger()
+
+    ExecutorService executor = Executors.newFixedThreadPool(4)
+
+    void cleanup() {
+        executor.shutdownNow()
+    }
+
+    DataFetcher blocking(Object value) {
+        { env ->
+            fetchThreads.add(Thread.currentThread())
+            def now = running.incrementAndGet()
+            maxRunning.accumulateAndGet(now, { x, y -> Math.max(x, y) })
+            try {
+                Thread.sleep(20)
+            } finally {
+                running.decrementAndGet()
+            }
+            if (value instanceof Throwable) {
+                throw value
+            }
+            return value
+        } as DataFetcher
+    }
+
+    GraphQL graphQL() {
+        def trivialThreads = fetchThreads
+        def schema = TestUtil.schema(sdl, [Query: [
+                a      : blocking("A"),
+                b      : blocking("B"),
+                c      : blocking("C"),
+                d      : blocking("D"),
+                failing: blocking(new RuntimeException("bang")),
+                async  : blocking(CompletableFuture.supplyAsync({ "async" })),
+                trivial: new StaticDataFetcher("trivial") {
+                    @Override
+                    Object get(DataFetchingEnvironment environment) {
+                        trivialThreads.add(Thread.currentThread())
+                        return super.get(environment)
+                    }
+                }
+        ]])
+        GraphQL.newGraphQL(schema).build()
+    }
+
+    ExecutionInput executionInput(String query, VirtualThreadFetchOptions options) {
+        def builder = ExecutionInput.newExecutionInput(query)
+        if (options != null) {
+            builder.graphQLContext([(VirtualThreadFetchOptions): options])
+        }
+        builder.build()
+    }
+
+    def "without options data fetchers are called on the calling thread"() {
+        when:
+        def result = graphQL().executeAsync(executionInput("{ a b }", null)).get(5, TimeUnit.SECONDS)
+
+        then:
+        result.data == [a: "A", b: "B"]
+        fetchThreads == [callingThread] as Set
+    }
+
+    def "blocking data fetchers are called on the executor and trivial ones are not"() {
+        def options = VirtualThreadFetchOptions.newOptions().executor(executor).build()
+
+        when:
+        def result = graphQL().executeAsync(executionInput("{ a b c d trivial }", options)).get(5, TimeUnit.SECONDS)
+
+        then:
+        result.errors.isEmpty()
+        result.data == [a: "A", b: "B", c: "C", d: "D", trivial: "trivial"]
+        fetchThreads.contains(callingThread)
+        fetchThreads.size() > 1
+        maxRunning.get() > 1
+    }
+
+    def "no more than the max concurrent fetches run at the same time"() {
+        def options = VirtualThreadFetchOptions.newOptions().executor(executor).maxConcurrentFetches(1).build()
+
+        when:
+        def result = graphQL().executeAsync(executionInput("{ a b c d }", options)).get(5, TimeUnit.SECONDS)
+
+        then:
+        result.errors.isEmpty()
+        result.data == [a: "A", b: "B", c: "C", d: "D"]
+        maxRunning.get() == 1
+        !fetchThreads.contains(callingThread)
+    }
+
+    def "exceptions and asynchronous values of data fetchers are handled as usual"() {
+        def options = VirtualThreadFetchOptions.newOptions().executor(executor).maxConcurrentFetches(2).build()
+
+        when:
+        def result = graphQL().executeAsync(executionInput("{ a failing async }", options)).get(5, TimeUnit.SECONDS)
+
+        then:
+        result.data == [a: "A", failing: null, async: "async"]
+        result.errors.size() == 1
+        result.errors[0].path == ["failing"]
+    }
+
+    def "a blocking data fetcher can load values with a data loader"() {
+        List<List<String>> batches = []
+        def upperLoader = DataLoaderFactory.newDataLoader({ List<String> keys ->
+            batches.add(keys)
+            CompletableFuture.completedFuture(keys.collect { it.toUpperCase() })
+        } as BatchLoader<String, String>)
+        def loading = { env ->
+            Thread.sleep(20)
+            env.getDataLoader("upper").load(env.getField().getName())
+        } as DataFetcher
+        def schema = TestUtil.schema(sdl, [Query: [a: loading, b: loading]])
+        def options = VirtualThreadFetchOptions.newOptions().executor(executor).build()
+        def executionInput = ExecutionInput.newExecutionInput("{ a b }")
+                .graphQLContext([(VirtualThreadFetchOptions): options])
+                .dataLoaderRegistry(new DataLoaderRegistry().register("upper", upperLoader))
+                .build()
+
+        when:
+        def result = GraphQL.newGraphQL(schema).build().executeAsync(executionInput).get(5, TimeUnit.SECONDS)
+
+        then:
+        result.errors.isEmpty()
+        result.data == [a: "A", b: "B"]
+        batches == [["a", "b"]]
+    }
+
+    def "a fetch the executor rejects fails and does not hold on to a permit"() {
+        executor.shutdown()
+        def fetcher = new VirtualThreadFetcher(executor, 1)
+
+        when:
+        def first = fetcher.fetch({ "first" })
+        def second = fetcher.fetch({ "second" })
+
+        then:
+        first.isCompletedExceptionally()
+        second.isCompletedExceptionally()
+        fetcher.getRunningFetches() == 0
+    }
+
+    def "the options are only used when virtual threads or an executor are available"() {
+        def context = GraphQLContext.of([(VirtualThreadFetchOptions): VirtualThreadFetchOptions.newOptions().build()])
+
+        expect:
+        (VirtualThreadFetcher.create(context) != null) == VirtualThreadFetchOptions.isVirtualThreadsSupported()
+        VirtualThreadFetcher.create(GraphQLContext.getDefault()) == null
+    }
+}
@@ -0,0 +1,425 @@
+package graphql.execution.incremental
+
+import graphql.Directives
+import graphql.ExecutionInput
+import graphql.ExecutionResult
+import graphql.ExperimentalApi
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.pubsub.CapturingSubscriber
+import graphql.incremental.DelayedIncrementalPartialResult
+import graphql.incremental.IncrementalExecutionResult
+import graphql.schema.DataFetcher
+import graphql.schema.idl.RuntimeWiring
+import io.reactivex.Flowable
+import io.reactivex.processors.PublishProcessor
+import org.awaitility.Awaitility
+import org.dataloader.BatchLoader
+import org.dataloader.DataLoaderFactory
+import org.dataloader.DataLoaderRegistry
+import org.reactivestreams.Publisher
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring
+
+class StreamExecutionSupportIntegrationTest extends Specification {
+    def schemaSpec = '''
+            type Query {
+                posts: [Post]
+                postsIterator: [Post]
+                postsStream: [Post]
+                postsPublisher: [Post]
+                postsFailingPublisher: [Post]
+                ids: [Int!]
+                matrix: [[Int]]
+            }
+
+            type Post {
+                id: ID!
+                comments: [Comment]
+            }
+
+            type Comment {
+                title: String
+            }
+        '''
+
+    GraphQL graphQL = null
+
+    static List<Map<String, Object>> posts() {
+        return [[id: "1001"], [id: "1002"], [id: "1003"]]
+    }
+
+    void setup() {
+        def runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query")
+                        .dataFetcher("posts", { env -> CompletableFuture.supplyAsync { posts() } } as DataFetcher)
+                        .dataFetcher("postsIterator", { env -> posts().iterator() } as DataFetcher)
+                        .dataFetcher("postsStream", { env -> posts().stream() } as DataFetcher)
+                        .dataFetcher("postsPublisher", { env -> Flowable.fromIterable(posts()) } as DataFetcher)
+                        .dataFetcher("postsFailingPublisher", { env ->
+                            Flowable.fromIterable(posts()).concatWith(Flowable.error(new RuntimeException("Bang!")))
+                        } as DataFetcher)
+                        .dataFetcher("ids", { env -> [1, 2, null, 4] } as DataFetcher)
+                        .dataFetcher("matrix", { env -> [[1, 2], [3, 4]] } as DataFetcher)
+                )
+                .type(newTypeWiring("Post")
+                        .dataFetcher("comments", { env -> [[title: "Comment of " + env.source.id]] } as DataFetcher)
+                )
+                .build()
+
+        def schema = TestUtil.schema(schemaSpec, runtimeWiring)
+                .transform({ builder -> builder.additionalDirective(Directives.StreamDirective) })
+        this.graphQL = GraphQL.newGraphQL(schema).build()
+    }
+
+    def "simple stream"() {
+        def query = '''
+            query {
+                posts @stream(initialCount: 1) {
+                    id
+                }
+            }
+        '''
+
+        when:
+        IncrementalExecutionResult initialResult = executeQuery(query)
+
+        then:
+        initialResult.toSpecification() == [
+                data   : [posts: [[id: "1001"]]],
+                hasNext: true
+        ]
+
+        when:
+        def incrementalResults = getIncrementalResults(initialResult)
+
+        then: "the items that are available are sent together"
+        incrementalResults == [
+                [
+                        hasNext    : false,
+                        incremental: [[path: ["posts", 1], items: [[id: "1002"], [id: "1003"]]]]
+                ]
+        ]
+    }
+
+    def "stream with label and sub selections"() {
+        def query = '''
+            query {
+                posts @stream(initialCount: 2, label: "postsLabel") {
+                    id
+                    comments {
+                        title
+                    }
+                }
+            }
+        '''
+
+        when:
+        IncrementalExecutionResult initialResult = executeQuery(query)
+
+        then:
+        initialResult.toSpecification() == [
+                data   : [posts: [
+                        [id: "1001", comments: [[title: "Comment of 1001"]]],
+                        [id: "1002", comments: [[title: "Comment of 1002"]]]
+                ]],
+                hasNext: true
+        ]
+
+        when:
+        def incrementalResults = getIncrementalResults(initialResult)
+
+        then:
+        incrementalResults == [
+                [
+                        hasNext    : false,
+                        incremental: [[path: ["posts", 2], label: "postsLabel", items: [[id: "1003", comments: [[title: "Comment of 1003"]]]]]]
+                ]
+        ]
+    }
+
+    def "stream from an iterator, a java stream and a publisher"() {
+        def query = """
+            query {
+                ${fieldName} @stream {
+                    id
+                }
+            }
+        """
+
+        when:
+        IncrementalExecutionResult initialResult = executeQuery(query)
+
+        then:
+        initialResult.toSpecification() == [
+                data   : [(fieldName): []],
+                hasNext: true
+        ]
+
+        when:
+        def incrementalResults = getIncrementalResults(initialResult)
+
+        then:
+        incrementalResults == [
+                [
+                        hasNext    : false,
+                        incremental: [[path: [fieldName, 0], items: [[id: "1001"], [id: "1002"], [id: "1003"]]]]
+                ]
+        ]
+
+        where:
+        fieldName << ["postsIterator", "postsStream", "postsPublisher"]
+    }
+
+    def "initialCount covering the whole list results in a regular result"() {
+        def query = '''
+            query {
+                postsPublisher @stream(initialCount: 5) {
+                    id
+                }
+            }
+        '''
+
+        when:
+        ExecutionResult result = executeQuery(query)
+
+        then:
+        !(result instanceof IncrementalExecutionResult)
+        result.toSpecification() == [
+                data: [postsPublisher: [[id: "1001"], [id: "1002"], [id: "1003"]]]
+        ]
+    }
+
+    def "stream is ignored when 'if' is false or incremental support is disabled"() {
+        def query = '''
+            query($stream: Boolean!) {
+                posts @stream(if: $stream, initialCount: 1) {
+                    id
+                }
+            }
+        '''
+
+        when:
+        ExecutionResult result = executeQuery(query, incrementalSupport, [stream: stream])
+
+        then:
+        !(result instanceof IncrementalExecutionResult)
+        result.toSpecification() == [
+                data: [posts: [[id: "1001"], [id: "1002"], [id: "1003"]]]
+        ]
+
+        where:
+        incrementalSupport | stream
+        true               | false
+        false              | true
+    }
+
+    def "stream only applies to the outer list"() {
+        def query = '''
+            query {
+                matrix @stream(initialCount: 1)
+            }
+        '''
+
+        when:
+        IncrementalExecutionResult initialResult = executeQuery(query)
+
+        then:
+        initialResult.toSpecification() == [
+                data   : [matrix: [[1, 2]]],
+                hasNext: true
+        ]
+
+        when:
+        def incrementalResults = getIncrementalResults(initialResult)
+
+        then:
+        incrementalResults == [
+                [
+                        hasNext    : false,
+                        incremental: [[path: ["matrix", 1], items: [[3, 4]]]]
+                ]
+        ]
+    }
+
+    def "a null item in a non-nullable list stops the stream"() {
+        def query = '''
+            query {
+                ids @stream(initialCount: 1)
+            }
+        '''
+
+        when:
+        IncrementalExecutionResult initialResult = executeQuery(query)
+
+        then:
+        initialResult.toSpecification() == [
+                data   : [ids: [1]],
+                hasNext: true
+        ]
+
+        when:
+        def incrementalResults = getIncrementalResults(initialResult)
+
+        then: "the null item nulls the items it is sent with"
+        incrementalResults.size() == 1
+        incrementalResults[0].hasNext == false
+        incrementalResults[0].incremental[0].path == ["ids", 1]
+        incrementalResults[0].incremental[0].items == null
+        incrementalResults[0].incremental[0].errors*.path == [["ids", 2]]
+        incrementalResults[0].incremental[0].errors*.extensions.classification == ["NullValueInNonNullableField"]
+    }
+
+    def "an error from the publisher stops the stream"() {
+        def query = '''
+            query {
+                postsFailingPublisher @stream(initialCount: 1) {
+                    id
+                }
+            }
+        '''
+
+        when:
+        IncrementalExecutionResult initialResult = executeQuery(query)
+
+        then:
+        initialResult.toSpecification() == [
+                data   : [postsFailingPublisher: [[id: "1001"]]],
+                hasNext: true
+        ]
+
+        when:
+        def incrementalResults = getIncrementalResults(initialResult)
+
+        then:
+        incrementalResults.size() == 2
+        incrementalResults[0].incremental[0].items == [[id: "1002"], [id: "1003"]]
+        incrementalResults[1].hasNext == false
+        incrementalResults[1].incremental[0].path == ["postsFailingPublisher", 3]
+        incrementalResults[1].incremental[0].errors*.message == ["Exception while streaming the items of '/postsFailingPublisher' : Bang!"]
+    }
+
+    def "the items of a publisher are sent as they arrive"() {
+        PublishProcessor<Object> processor = PublishProcessor.create()
+        def runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("postsPublisher", { env -> processor } as DataFetcher))
+                .build()
+        graphQL = GraphQL.newGraphQL(TestUtil.schema(schemaSpec, runtimeWiring)).build()
+        def query = '''
+            query {
+                postsPublisher @stream {
+                    id
+                }
+            }
+        '''
+
+        when:
+        IncrementalExecutionResult initialResult = executeQuery(query)
+        def subscriber = new CapturingSubscriber<DelayedIncrementalPartialResult>()
+        initialResult.incrementalItemPublisher.subscribe(subscriber)
+        Awaitility.await().until { processor.hasSubscribers() }
+        processor.onNext([id: "1001"])
+        Awaitility.await().until { subscriber.getEvents().size() == 1 }
+        processor.onNext([id: "1002"])
+        processor.onNext([id: "1003"])
+        processor.onComplete()
+        Awaitility.await().untilTrue(subscriber.isDone())
+        def incrementalResults = subscriber.getEvents().collect { it.toSpecification() }
+
+        then: "the first item is sent without waiting for more"
+        incrementalResults[0] == [hasNext: true, incremental: [[path: ["postsPublisher", 0], items: [[id: "1001"]]]]]
+        incrementalResults.collectMany { it.incremental ?: [] }.collectMany { it.items } == [[id: "1001"], [id: "1002"], [id: "1003"]]
+        incrementalResults.last().hasNext == false
+    }
+
+    def "the items sent together share data loader batches"() {
+        def batchedKeys = []
+        def commentLoader = DataLoaderFactory.newDataLoader({ List<String> keys ->
+            batchedKeys.add(keys)
+            CompletableFuture.completedFuture(keys.collect { [[title: "Comment of " + it]] })
+        } as BatchLoader<String, Object>)
+        def dataLoaderRegistry = new DataLoaderRegistry().register("comments", commentLoader)
+        def runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("postsIterator", { env -> posts().iterator() } as DataFetcher))
+                .type(newTypeWiring("Post").dataFetcher("comments", { env -> env.getDataLoader("comments").load(env.source.id) } as DataFetcher))
+                .build()
+        graphQL = GraphQL.newGraphQL(TestUtil.schema(schemaSpec, runtimeWiring)).build()
+        def query = '''
+            query {
+                postsIterator @stream(initialCount: 1) {
+                    comments {
+                        title
+                    }
+                }
+            }
+        '''
+
+        when:
+        def initialResult = graphQL.execute(ExecutionInput.newExecutionInput(query)
+                .graphQLContext([(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT): true])
+                .dataLoaderRegistry(dataLoaderRegistry)
+                .build()) as IncrementalExecutionResult
+        def incrementalResults = getIncrementalResults(initialResult)
+
+        then:
+        initialResult.toSpecification().data == [postsIterator: [[comments: [[title: "Comment of 1001"]]]]]
+        incrementalResults == [
+                [
+                        hasNext    : false,
+                        incremental: [[path: ["postsIterator", 1], items: [[comments: [[title: "Comment of 1002"]]], [comments: [[title: "Comment of 1003"]]]]]]
+                ]
+        ]
+        batchedKeys == [["1001"], ["1002", "1003"]]
+    }
+
+    def "negative initialCount is a field error"() {
+        def query = '''
+            query {
+                posts @stream(initialCount: -1) {
+                    id
+                }
+            }
+        '''
+
+        when:
+        ExecutionResult result = executeQuery(query)
+
+        then:
+        !(result instanceof IncrementalExecutionResult)
+        result.data == [posts: null]
+        result.errors*.message == ["The initialCount of @stream must be a non-negative integer but was -1"]
+        result.errors[0].path == ["posts"]
+    }
+
+    private ExecutionResult executeQuery(String query) {
+        return this.executeQuery(query, true, [:])
+    }
+
+    private ExecutionResult executeQuery(String query, boolean incrementalSupport, Map<String, Object> variables) {
+        return graphQL.execute(
+                ExecutionInput.newExecutionInput()
+                        .graphQLContext([(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT): incrementalSupport])
+                        .query(query)
+                        .variables(variables)
+                        .build()
+        )
+    }
+
+    private static List<Map<String, Object>> getIncrementalResults(IncrementalExecutionResult initialResult) {
+        Publisher<DelayedIncrementalPartialResult> incrementalResultStream = initialResult.incrementalItemPublisher
+
+        def subscriber = new CapturingSubscriber<DelayedIncrementalPartialResult>()
+
+        incrementalResultStream.subscribe(subscriber)
+
+        Awaitility.await().untilTrue(subscriber.isDone())
+        if (subscriber.throwable != null) {
+            throw new RuntimeException(subscriber.throwable)
+        }
+        return subscriber.getEvents()
+                .collect { it.toSpecification() }
+    }
+}
@@ -0,0 +1,137 @@
+package graphql.execution.instrumentation.dataloader
+
+import graphql.Directives
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.execution.AsyncSerialExecutionStrategy
+import graphql.incremental.IncrementalExecutionResult
+import graphql.schema.GraphQLSchema
+import org.dataloader.DataLoader
+import org.dataloader.DataLoaderRegistry
+import spock.lang.Specification
+
+import java.util.concurrent.atomic.AtomicInteger
+
+import static graphql.ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT
+import static graphql.execution.instrumentation.dataloader.DataLoaderPerformanceData.deferredQuery
+import static graphql.execution.instrumentation.dataloader.DataLoaderPerformanceData.expectedData
+import static graphql.execution.instrumentation.dataloader.DataLoaderPerformanceData.expectedInitialDeferredData
+import static graphql.execution.instrumentation.dataloader.DataLoaderPerformanceData.expectedListOfDeferredData
+import static graphql.execution.instrumentation.dataloader.DataLoaderPerformanceData.getIncrementalResults
+import static graphql.execution.instrumentation.dataloader.DataLoaderPerformanceData.query
+
+class BatchWindowDataLoaderDispatchStrategyTest extends Specification {
+
+    BatchCompareDataFetchers batchCompareDataFetchers
+    DataLoaderRegistry dataLoaderRegistry
+    GraphQLSchema schema
+
+    void setup() {
+        batchCompareDataFetchers = new BatchCompareDataFetchers()
+        dataLoaderRegistry = new DataLoaderPerformanceData(batchCompareDataFetchers).setupDataLoaderRegistry()
+        schema = new BatchCompare().buildDataLoaderSchema(batchCompareDataFetchers)
+                .transform({ bldr -> bldr.additionalDirective(Directives.DeferDirective) })
+    }
+
+    ExecutionInput executionInput(String query, BatchWindowDispatchOptions options, boolean incrementalSupport = false) {
+        ExecutionInput.newExecutionInput()
+                .query(query)
+                .dataLoaderRegistry(dataLoaderRegistry)
+                .graphQLContext([(BatchWindowDispatchOptions): options, (ENABLE_INCREMENTAL_SUPPORT): incrementalSupport])
+                .build()
+    }
+
+    def "pending keys are batched until the window expires"() {
+        def options = BatchWindowDispatchOptions.newOptions().batchWindowMicros(20_000).build()
+
+        when:
+        def result = GraphQL.newGraphQL(schema).build().execute(executionInput(query, options))
+
+        then:
+        result.errors.isEmpty()
+        result.data == expectedData
+        batchCompareDataFetchers.departmentsForShopsBatchLoaderCounter.get() == 1
+        batchCompareDataFetchers.productsForDepartmentsBatchLoaderCounter.get() == 1
+    }
+
+    def "a data loader is dispatched as soon as it reaches the max batch size"() {
+        def options = BatchWindowDispatchOptions.newOptions().maxBatchSize(1).batchWindowMicros(10_000_000).build()
+
+        when:
+        def result = GraphQL.newGraphQL(schema).build().execute(executionInput(query, options))
+
+        then:
+        result.errors.isEmpty()
+        result.data == expectedData
+        // 3 shops and 9 departments, the window is far too long to have played a part
+        batchCompareDataFetchers.departmentsForShopsBatchLoaderCounter.get() == 3
+        batchCompareDataFetchers.productsForDepartmentsBatchLoaderCounter.get() == 9
+    }
+
+    def "a field fetch does not check every data loader of the registry"() {
+        def registryScans = new AtomicInteger()
+        def countingRegistry = new DataLoaderRegistry() {
+            @Override
+            List<DataLoader<?, ?>> getDataLoaders() {
+                registryScans.incrementAndGet()
+                return super.getDataLoaders()
+            }
+        }
+        dataLoaderRegistry.getKeys().each { countingRegistry.register(it, dataLoaderRegistry.getDataLoader(it)) }
+        dataLoaderRegistry = countingRegistry
+        def options = BatchWindowDispatchOptions.newOptions().batchWindowMicros(20_000).build()
+
+        when:
+        def result = GraphQL.newGraphQL(schema).build().execute(executionInput(query, options))
+
+        then:
+        result.errors.isEmpty()
+        result.data == expectedData
+        // 3 shops and 9 departments load keys, the registry is only searched when a window opens, expires or a batch completes
+        registryScans.get() < 12
+    }
+
+    def "works with the async serial execution strategy"() {
+        def options = BatchWindowDispatchOptions.newOptions().batchWindowMicros(100).build()
+        def graphQL = GraphQL.newGraphQL(schema)
+                .queryExecutionStrategy(new AsyncSerialExecutionStrategy())
+                .build()
+
+        when:
+        def result = graphQL.execute(executionInput(query, options))
+
+        then:
+        result.errors.isEmpty()
+        result.data == expectedData
+    }
+
+    def "works with deferred fields"() {
+        def options = BatchWindowDispatchOptions.newOptions().batchWindowMicros(100).build()
+
+        when:
+        IncrementalExecutionResult result = GraphQL.newGraphQL(schema).build().execute(executionInput(deferredQuery, options, true))
+
+        then:
+        result.toSpecification() == expectedInitialDeferredData
+
+        when:
+        def incrementalResults = getIncrementalResults(result)
+
+        then:
+        // the deferred fragments share batches and so may complete in any order
+        incrementalResults.collectMany { it.incremental }.sort { it.path[1] } == expectedListOfDeferredData.collectMany { it.incremental }
+        incrementalResults.last().hasNext == false
+    }
+
+    def "options can be transformed"() {
+        def options = BatchWindowDispatchOptions.newOptions().maxBatchSize(10).build()
+
+        when:
+        def transformed = options.transform({ it.batchWindowMicros(5) })
+
+        then:
+        transformed.maxBatchSize == 10
+        transformed.batchWindowMicros == 5
+        options.batchWindowMicros == BatchWindowDispatchOptions.DEFAULT_BATCH_WINDOW_MICROS
+    }
+}
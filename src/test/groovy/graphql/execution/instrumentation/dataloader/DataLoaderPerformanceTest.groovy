@@ -4,7 +4,6 @@ import graphql.ExecutionInput
 import graphql.GraphQL
 import graphql.incremental.IncrementalExecutionResult
 import org.dataloader.DataLoaderRegistry
-import spock.lang.Ignore
 import spock.lang.Specification
 
 import static graphql.ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT
@@ -122,23 +121,6 @@ class DataLoaderPerformanceTest extends Specification {
         incrementalSupport << [true, false]
     }
 
-    def "data loader will not work with deferred queries"() {
-        when:
-        ExecutionInput executionInput = ExecutionInput.newExecutionInput()
-                .query(deferredQuery)
-                .dataLoaderRegistry(dataLoaderRegistry)
-                .graphQLContext([(ENABLE_INCREMENTAL_SUPPORT): true])
-                .build()
-
-        def result = graphQL.execute(executionInput)
-        println(result);
-
-        then:
-        def exception = thrown(UnsupportedOperationException)
-        exception.message == "Data Loaders cannot be used to resolve deferred fields"
-    }
-
-    @Ignore("Resolution of deferred fields via Data loaders is not yet supported")
     def "data loader will work with deferred queries"() {
 
         when:
@@ -165,7 +147,6 @@ class DataLoaderPerformanceTest extends Specification {
         batchCompareDataFetchers.productsForDepartmentsBatchLoaderCounter.get() == 3
     }
 
-    @Ignore("Resolution of deferred fields via Data loaders is not yet supported")
     def "data loader will work with deferred queries on multiple levels deep"() {
 
         when:
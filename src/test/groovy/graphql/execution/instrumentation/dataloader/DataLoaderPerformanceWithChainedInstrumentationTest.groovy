@@ -126,22 +126,6 @@ class DataLoaderPerformanceWithChainedInstrumentationTest extends Specification
         incrementalSupport << [true, false]
     }
 
-    def "chainedInstrumentation: data loader will not work with deferred queries"() {
-        when:
-        ExecutionInput executionInput = ExecutionInput.newExecutionInput()
-                .query(deferredQuery)
-                .dataLoaderRegistry(dataLoaderRegistry)
-                .graphQLContext([(ENABLE_INCREMENTAL_SUPPORT): true])
-                .build()
-
-        graphQL.execute(executionInput)
-
-        then:
-        def exception = thrown(UnsupportedOperationException)
-        exception.message == "Data Loaders cannot be used to resolve deferred fields"
-    }
-
-    @Ignore("Resolution of deferred fields via Data loaders is not yet supported")
     def "chainedInstrumentation: data loader will work with deferred queries"() {
 
         when:
@@ -169,7 +153,6 @@ class DataLoaderPerformanceWithChainedInstrumentationTest extends Specification
     }
 
 
-    @Ignore("Resolution of deferred fields via Data loaders is not yet supported")
     def "chainedInstrumentation: data loader will work with deferred queries on multiple levels deep"() {
         when:
         ExecutionInput executionInput = ExecutionInput.newExecutionInput()
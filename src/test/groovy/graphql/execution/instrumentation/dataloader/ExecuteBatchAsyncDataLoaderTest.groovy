@@ -0,0 +1,82 @@
+package graphql.execution.instrumentation.dataloader
+
+import graphql.AssertException
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.schema.GraphQLSchema
+import org.dataloader.DataLoaderRegistry
+import spock.lang.Specification
+
+import static graphql.execution.instrumentation.dataloader.DataLoaderPerformanceData.expectedData
+import static graphql.execution.instrumentation.dataloader.DataLoaderPerformanceData.query
+
+class ExecuteBatchAsyncDataLoaderTest extends Specification {
+
+    BatchCompareDataFetchers batchCompareDataFetchers
+    DataLoaderRegistry dataLoaderRegistry
+    GraphQLSchema schema
+    GraphQL graphQL
+
+    void setup() {
+        batchCompareDataFetchers = new BatchCompareDataFetchers()
+        dataLoaderRegistry = new DataLoaderPerformanceData(batchCompareDataFetchers).setupDataLoaderRegistry()
+        schema = new BatchCompare().buildDataLoaderSchema(batchCompareDataFetchers)
+        graphQL = GraphQL.newGraphQL(schema).build()
+    }
+
+    ExecutionInput executionInput(String query) {
+        ExecutionInput.newExecutionInput().query(query).dataLoaderRegistry(dataLoaderRegistry).build()
+    }
+
+    def "the operations of a batch share their data loader batches"() {
+        when:
+        def results = graphQL.executeBatchAsync([executionInput(query), executionInput(query), executionInput(query)]).join()
+
+        then:
+        results.size() == 3
+        results.every { result -> result.errors.isEmpty() && result.data == expectedData }
+        batchCompareDataFetchers.departmentsForShopsBatchLoaderCounter.get() == 1
+        batchCompareDataFetchers.productsForDepartmentsBatchLoaderCounter.get() == 1
+    }
+
+    def "the operations of a batch share their data loader batches with the batch window dispatch strategy"() {
+        def options = BatchWindowDispatchOptions.newOptions().batchWindowMicros(1_000).build()
+        def executionInputs = (1..3).collect {
+            executionInput(query).transform({ builder -> builder.graphQLContext([(BatchWindowDispatchOptions): options]) })
+        }
+
+        when:
+        def results = graphQL.executeBatchAsync(executionInputs).join()
+
+        then:
+        results.size() == 3
+        results.every { result -> result.errors.isEmpty() && result.data == expectedData }
+        batchCompareDataFetchers.departmentsForShopsBatchLoaderCounter.get() == 1
+        batchCompareDataFetchers.productsForDepartmentsBatchLoaderCounter.get() == 1
+    }
+
+    def "the results are in the order of the execution inputs"() {
+        def invalidQuery = "{ notAField }"
+
+        when:
+        def results = graphQL.executeBatchAsync([executionInput(invalidQuery), executionInput(query), ExecutionInput.newExecutionInput(invalidQuery).build()]).join()
+
+        then:
+        results.size() == 3
+        !results[0].errors.isEmpty()
+        results[1].errors.isEmpty()
+        results[1].data == expectedData
+        !results[2].errors.isEmpty()
+        batchCompareDataFetchers.departmentsForShopsBatchLoaderCounter.get() == 1
+    }
+
+    def "the execution inputs of a batch must have the same data loader registry"() {
+        def otherExecutionInput = ExecutionInput.newExecutionInput().query(query).dataLoaderRegistry(new DataLoaderRegistry()).build()
+
+        when:
+        graphQL.executeBatchAsync([executionInput(query), otherExecutionInput])
+
+        then:
+        thrown(AssertException)
+    }
+}
@@ -111,4 +111,62 @@ class LevelMapTest extends Specification {
         then:
         sut.get(1) == 0
     }
+
+    def "can grow to deep levels without losing counts"() {
+        given:
+        LevelMap sut = new LevelMap(0)
+
+        when:
+        sut.increment(3, 3)
+        sut.increment(1000, 7)
+        sut.increment(100_000, 11)
+
+        then:
+        sut.get(3) == 3
+        sut.get(1000) == 7
+        sut.get(100_000) == 11
+        sut.get(99_999) == 0
+    }
+
+    def "compare and set only succeeds once"() {
+        given:
+        LevelMap sut = new LevelMap()
+
+        expect:
+        sut.compareAndSet(2, 0, 1)
+        !sut.compareAndSet(2, 0, 1)
+        sut.get(2) == 1
+    }
+
+    def "concurrent increments are not lost"() {
+        given:
+        LevelMap sut = new LevelMap(0)
+        int threadCount = 8
+        int incrementsPerThread = 10_000
+
+        when:
+        def threads = (0..<threadCount).collect {
+            Thread.start {
+                for (int i = 0; i < incrementsPerThread; i++) {
+                    // spread over enough levels that new segments are created while other threads increment
+                    sut.increment(i % 100, 1)
+                }
+            }
+        }
+        threads.each { it.join() }
+
+        then:
+        (0..<100).every { sut.get(it) == threadCount * incrementsPerThread / 100 }
+    }
+
+    def "negative levels are rejected"() {
+        given:
+        LevelMap sut = new LevelMap()
+
+        when:
+        sut.get(-1)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
 }
@@ -0,0 +1,204 @@
+package graphql.execution.instrumentation.fieldcache
+
+import graphql.ExecutionResult
+import graphql.GraphQL
+import graphql.GraphqlErrorBuilder
+import graphql.TestUtil
+import graphql.execution.DataFetcherResult
+import graphql.schema.DataFetcher
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.atomic.AtomicInteger
+
+import static graphql.schema.FieldCoordinates.coordinates
+
+class FieldResultCacheInstrumentationTest extends Specification {
+
+    def sdl = """
+        type Query {
+            config(env : String) : Config
+            products : [Product]
+        }
+        type Config {
+            name : String
+            region : String
+        }
+        type Product {
+            id : ID
+            category : String
+        }
+    """
+
+    def configFetches = new AtomicInteger()
+    def categoryFetches = new AtomicInteger()
+    def now = 0L
+    def configValue = { env -> CompletableFuture.completedFuture([name: "config-" + env.getArgument("env"), region: "eu"]) }
+
+    GraphQL graphQL(FieldResultCacheInstrumentation instrumentation) {
+        DataFetcher configDF = { env ->
+            configFetches.incrementAndGet()
+            return configValue(env)
+        }
+        DataFetcher productsDF = { env -> [[id: "1"], [id: "2"], [id: "1"]] }
+        DataFetcher categoryDF = { env ->
+            categoryFetches.incrementAndGet()
+            return "category-" + env.getSource().id
+        }
+        def schema = TestUtil.schema(sdl, [Query: [config: configDF, products: productsDF], Product: [category: categoryDF]])
+        return GraphQL.newGraphQL(schema).instrumentation(instrumentation).build()
+    }
+
+    FieldResultCacheInstrumentation.Builder newCache() {
+        FieldResultCacheInstrumentation.newFieldResultCache()
+                .field(coordinates("Query", "config"), Duration.ofSeconds(10))
+                .field(coordinates("Product", "category"), Duration.ofSeconds(10), { env -> env.getSource().id })
+                .nanoTicker({ now })
+    }
+
+    def "values are cached by arguments and sub selection"() {
+        def cache = newCache().build()
+        def graphQL = graphQL(cache)
+
+        when:
+        ExecutionResult first = graphQL.execute('{ config(env : "prod") { name } }')
+        ExecutionResult second = graphQL.execute('{ config(env : "prod") { theName : name } }')
+
+        then:
+        first.data == [config: [name: "config-prod"]]
+        second.data == [config: [theName: "config-prod"]]
+        configFetches.get() == 1
+
+        when:
+        graphQL.execute('{ config(env : "test") { name } }')
+        graphQL.execute('{ config(env : "prod") { name region } }')
+
+        then:
+        configFetches.get() == 3
+        cache.getStats().hitCount == 1
+        cache.getStats().missCount == 3
+        cache.getStats().size == 3
+    }
+
+    def "values are cached by parent identity"() {
+        def cache = newCache().build()
+        def graphQL = graphQL(cache)
+
+        when:
+        def result = graphQL.execute('{ products { id category } }')
+
+        then:
+        result.data == [products: [[id: "1", category: "category-1"], [id: "2", category: "category-2"], [id: "1", category: "category-1"]]]
+        categoryFetches.get() == 2
+
+        when:
+        graphQL.execute('{ products { category } }')
+
+        then:
+        categoryFetches.get() == 2
+        cache.getStats().hitCount == 4
+    }
+
+    def "values expire after their time to live"() {
+        def cache = newCache().build()
+        def graphQL = graphQL(cache)
+
+        when:
+        graphQL.execute('{ config(env : "prod") { name } }')
+        now += Duration.ofSeconds(9).toNanos()
+        graphQL.execute('{ config(env : "prod") { name } }')
+
+        then:
+        configFetches.get() == 1
+
+        when:
+        now += Duration.ofSeconds(1).toNanos()
+        def result = graphQL.execute('{ config(env : "prod") { name } }')
+
+        then:
+        result.data == [config: [name: "config-prod"]]
+        configFetches.get() == 2
+        cache.getStats().expirationCount == 1
+    }
+
+    def "the least recently used value is evicted when the cache is full"() {
+        def cache = newCache().maximumSize(2).build()
+        def graphQL = graphQL(cache)
+
+        when:
+        graphQL.execute('{ config(env : "a") { name } }')
+        graphQL.execute('{ config(env : "b") { name } }')
+        graphQL.execute('{ config(env : "a") { name } }')
+        graphQL.execute('{ config(env : "c") { name } }')
+        graphQL.execute('{ config(env : "a") { name } }')
+        graphQL.execute('{ config(env : "b") { name } }')
+
+        then:
+        configFetches.get() == 4
+        cache.getStats().evictionCount == 2
+        cache.size() == 2
+    }
+
+    def "exceptions and results with errors are not cached"() {
+        def cache = newCache().build()
+        def graphQL = graphQL(cache)
+        def attempts = 0
+        configValue = { env ->
+            attempts++
+            if (attempts == 1) {
+                throw new RuntimeException("Bang")
+            }
+            if (attempts == 2) {
+                return DataFetcherResult.newResult().data(null).error(GraphqlErrorBuilder.newError().message("Partial").build()).build()
+            }
+            return [name: "config"]
+        }
+
+        when:
+        def first = graphQL.execute('{ config(env : "prod") { name } }')
+        def second = graphQL.execute('{ config(env : "prod") { name } }')
+        def third = graphQL.execute('{ config(env : "prod") { name } }')
+        def fourth = graphQL.execute('{ config(env : "prod") { name } }')
+
+        then:
+        first.errors.size() == 1
+        second.errors.size() == 1
+        third.data == [config: [name: "config"]]
+        fourth.data == [config: [name: "config"]]
+        configFetches.get() == 3
+    }
+
+    def "concurrent fetches of the same key share the fetch in flight"() {
+        def cache = newCache().build()
+        def graphQL = graphQL(cache)
+        def pending = new CompletableFuture()
+        configValue = { env -> pending }
+
+        when:
+        def first = graphQL.executeAsync('{ config(env : "prod") { name } }')
+        def second = graphQL.executeAsync('{ config(env : "prod") { name } }')
+        pending.complete([name: "config"])
+
+        then:
+        first.join().data == [config: [name: "config"]]
+        second.join().data == [config: [name: "config"]]
+        configFetches.get() == 1
+        cache.getStats().hitCount == 1
+    }
+
+    def "fields that are not cached are fetched every time"() {
+        def cache = FieldResultCacheInstrumentation.newFieldResultCache()
+                .field(coordinates("Query", "config"), Duration.ofSeconds(10))
+                .build()
+        def graphQL = graphQL(cache)
+
+        when:
+        graphQL.execute('{ products { category } }')
+        graphQL.execute('{ products { category } }')
+
+        then:
+        categoryFetches.get() == 6
+        cache.getStats().missCount == 0
+    }
+}
@@ -0,0 +1,167 @@
+package graphql.execution.preparsed
+
+import graphql.AssertException
+import graphql.ExecutionInput
+import graphql.parser.Parser
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.Function
+
+class CachingPreparsedDocumentProviderTest extends Specification {
+
+    def parseCount = new AtomicInteger()
+
+    Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate = { ExecutionInput ei ->
+        parseCount.incrementAndGet()
+        new PreparsedDocumentEntry(new Parser().parseDocument(ei.query))
+    }
+
+    static ExecutionInput input(String query) {
+        ExecutionInput.newExecutionInput(query).build()
+    }
+
+    static String query(int i) {
+        "{ field$i }"
+    }
+
+    def "documents are cached by query text"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build()
+
+        when:
+        def entry1 = provider.getDocumentAsync(input("{ hello }"), parseAndValidate).join()
+        def entry2 = provider.getDocumentAsync(input("{ hello }"), parseAndValidate).join()
+        def entry3 = provider.getDocumentAsync(input("{ goodbye }"), parseAndValidate).join()
+
+        then:
+        entry1 === entry2
+        !(entry1 === entry3)
+        parseCount.get() == 2
+
+        def stats = provider.getStats()
+        stats.hitCount == 1
+        stats.missCount == 2
+        stats.entryCount == 2
+        stats.weightedSize == 2
+        stats.evictionCount == 0
+    }
+
+    def "the number of entries is bounded"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider()
+                .maximumEntries(10)
+                .build()
+
+        when:
+        100.times { provider.getDocumentAsync(input(query(it)), parseAndValidate).join() }
+
+        then:
+        def stats = provider.getStats()
+        stats.entryCount == 10
+        stats.evictionCount == 90
+        stats.missCount == 100
+    }
+
+    def "the estimated size is bounded"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider()
+                .maximumWeight(1000)
+                .weigher({ query, entry -> 100L })
+                .build()
+
+        when:
+        50.times { provider.getDocumentAsync(input(query(it)), parseAndValidate).join() }
+
+        then:
+        def stats = provider.getStats()
+        stats.weightedSize <= 1000
+        stats.entryCount == stats.weightedSize / 100
+        stats.evictionCount == 50 - stats.entryCount
+    }
+
+    def "frequently used documents survive a burst of one off queries"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider()
+                .maximumEntries(100)
+                .build()
+
+        when:
+        5.times { hot -> 20.times { provider.getDocumentAsync(input("{ hot$hot }"), parseAndValidate).join() } }
+        1000.times { provider.getDocumentAsync(input(query(it)), parseAndValidate).join() }
+        parseCount.set(0)
+        5.times { hot -> provider.getDocumentAsync(input("{ hot$hot }"), parseAndValidate).join() }
+
+        then:
+        parseCount.get() == 0
+        provider.getStats().entryCount <= 100
+    }
+
+    def "concurrent misses for the same query are coalesced"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build()
+        def parseStarted = new CountDownLatch(1)
+        def finishParse = new CountDownLatch(1)
+        Function<ExecutionInput, PreparsedDocumentEntry> slowParseAndValidate = { ExecutionInput ei ->
+            parseStarted.countDown()
+            finishParse.await(10, TimeUnit.SECONDS)
+            parseAndValidate.apply(ei)
+        }
+
+        when:
+        def first = CompletableFuture.supplyAsync({ provider.getDocumentAsync(input("{ hello }"), slowParseAndValidate).join() })
+        parseStarted.await(10, TimeUnit.SECONDS)
+        def second = provider.getDocumentAsync(input("{ hello }"), slowParseAndValidate)
+
+        then:
+        !second.isDone()
+
+        when:
+        finishParse.countDown()
+
+        then:
+        first.get(10, TimeUnit.SECONDS) === second.get(10, TimeUnit.SECONDS)
+        parseCount.get() == 1
+        provider.getStats().coalescedCount == 1
+    }
+
+    def "failed loads are not cached"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build()
+        def failing = { ExecutionInput ei -> throw new RuntimeException("bang") } as Function<ExecutionInput, PreparsedDocumentEntry>
+
+        when:
+        provider.getDocumentAsync(input("{ hello }"), failing)
+
+        then:
+        thrown(RuntimeException)
+
+        when:
+        def entry = provider.getDocumentAsync(input("{ hello }"), parseAndValidate).join()
+
+        then:
+        entry.document != null
+        parseCount.get() == 1
+    }
+
+    def "can be invalidated"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build()
+        provider.getDocumentAsync(input("{ hello }"), parseAndValidate).join()
+
+        when:
+        provider.invalidateAll()
+        provider.getDocumentAsync(input("{ hello }"), parseAndValidate).join()
+
+        then:
+        parseCount.get() == 2
+        provider.getStats().entryCount == 1
+    }
+
+    def "only one bound can be set"() {
+        when:
+        CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider()
+                .maximumEntries(10)
+                .maximumWeight(10)
+                .build()
+
+        then:
+        thrown(AssertException)
+    }
+}
@@ -0,0 +1,210 @@
+package graphql.introspection
+
+import graphql.ExecutionInput
+import graphql.ExecutionResult
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.instrumentation.Instrumentation
+import graphql.execution.instrumentation.InstrumentationContext
+import graphql.execution.instrumentation.InstrumentationState
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters
+import graphql.schema.visibility.BlockedFields
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+
+class IntrospectionResultCacheTest extends Specification {
+
+    def sdl = "type Query { normalField : String secretField : String }"
+
+    def graphql = TestUtil.graphQL(sdl).build()
+
+    def cache = IntrospectionResultCache.newCache().build()
+
+    ExecutionResult execute(GraphQL graphQL, String query, Map<String, Object> variables = [:], Map<Object, Object> context = [:], String operationName = null) {
+        graphQL.execute(ExecutionInput.newExecutionInput(query)
+                .operationName(operationName)
+                .variables(variables)
+                .graphQLContext([(IntrospectionResultCache.class): cache] + context)
+                .build())
+    }
+
+    def "the result of an introspection query is cached"() {
+        when:
+        def first = execute(graphql, IntrospectionQuery.INTROSPECTION_QUERY)
+
+        then:
+        first.errors.isEmpty()
+        cache.size() == 1
+
+        when:
+        def second = execute(graphql, IntrospectionQuery.INTROSPECTION_QUERY)
+        def third = execute(graphql, IntrospectionQuery.INTROSPECTION_QUERY)
+
+        then:
+        second.toSpecification() == first.toSpecification()
+        second.getData().is(third.getData())
+        cache.size() == 1
+    }
+
+    def "a cached result is not executed again"() {
+        def instrumentation = new CountingInstrumentation()
+        def graphQL = GraphQL.newGraphQL(graphql.getGraphQLSchema()).instrumentation(instrumentation).build()
+
+        when:
+        execute(graphQL, IntrospectionQuery.INTROSPECTION_QUERY)
+        execute(graphQL, IntrospectionQuery.INTROSPECTION_QUERY)
+        def result = execute(graphQL, IntrospectionQuery.INTROSPECTION_QUERY)
+
+        then:
+        result.errors.isEmpty()
+        result.data["__schema"]["queryType"] == [name: "Query"]
+        instrumentation.executions == 3
+        instrumentation.executeOperations == 1
+    }
+
+    def "cached results are read only"() {
+        when:
+        execute(graphql, IntrospectionQuery.INTROSPECTION_QUERY)
+        Map data = execute(graphql, IntrospectionQuery.INTROSPECTION_QUERY).getData()
+        data.put("extra", "value")
+
+        then:
+        thrown(UnsupportedOperationException)
+    }
+
+    def "variables and the operation name are part of the key"() {
+        def query = '''
+            query A($name: String!) { __type(name: $name) { name } }
+            query B { __schema { queryType { name } } }
+        '''
+
+        when:
+        def query1 = execute(graphql, query, [name: "Query"], [:], "A")
+        def string1 = execute(graphql, query, [name: "String"], [:], "A")
+        def schema1 = execute(graphql, query, [:], [:], "B")
+        def query2 = execute(graphql, query, [name: "Query"], [:], "A")
+        def string2 = execute(graphql, query, [name: "String"], [:], "A")
+
+        then:
+        cache.size() == 3
+        query1.data == [__type: [name: "Query"]]
+        string1.data == [__type: [name: "String"]]
+        schema1.data == [__schema: [queryType: [name: "Query"]]]
+        query2.data == query1.data
+        string2.data == string1.data
+    }
+
+    def "only introspection queries without errors are cached"() {
+        when:
+        execute(graphql, query)
+
+        then:
+        cache.size() == 0
+
+        where:
+        query << [
+                "{ normalField }",
+                "{ __typename normalField }",
+                "{ __type(name: \"Query\") { name } normalField }",
+                "{ ... on Query { __typename } }",
+                "query badActor { __schema { types { fields { type { fields { type { fields { type { fields { type { name } } } } } } } } } } }",
+        ]
+    }
+
+    def "the cache is dropped when the schema or the field visibility changes"() {
+        def otherGraphQL = TestUtil.graphQL(sdl).build()
+        def blockedSchema = graphql.getGraphQLSchema().transform({ builder ->
+            builder.codeRegistry(graphql.getGraphQLSchema().getCodeRegistry().transform({ codeRegistry ->
+                codeRegistry.fieldVisibility(BlockedFields.newBlock().addPattern("Query.secretField").build())
+            }))
+        })
+        def blockedGraphQL = GraphQL.newGraphQL(blockedSchema).build()
+        def query = "{ __type(name: \"Query\") { fields { name } } }"
+
+        when:
+        def visible = execute(graphql, query)
+
+        then:
+        visible.data == [__type: [fields: [[name: "normalField"], [name: "secretField"]]]]
+        cache.size() == 1
+
+        when:
+        def blocked = execute(blockedGraphQL, query)
+
+        then:
+        blocked.data == [__type: [fields: [[name: "normalField"]]]]
+        cache.size() == 1
+
+        when:
+        def other = execute(otherGraphQL, query)
+
+        then:
+        other.data == visible.data
+        cache.getResult(ExecutionInput.newExecutionInput(query).build(), otherGraphQL.getGraphQLSchema()) != null
+        cache.getResult(ExecutionInput.newExecutionInput(query).build(), graphql.getGraphQLSchema()) == null
+    }
+
+    def "disabled introspection is not served from the cache"() {
+        when:
+        execute(graphql, IntrospectionQuery.INTROSPECTION_QUERY)
+        def result = execute(graphql, IntrospectionQuery.INTROSPECTION_QUERY, [:], [(Introspection.INTROSPECTION_DISABLED): true])
+
+        then:
+        cache.size() == 1
+        result.errors[0] instanceof IntrospectionDisabledError
+    }
+
+    def "results can be serialized once"() {
+        def serializations = 0
+        cache = IntrospectionResultCache.newCache()
+                .serializer({ result -> serializations++; result.toSpecification().toString() })
+                .build()
+        def input = ExecutionInput.newExecutionInput("{ __schema { queryType { name } } }").build()
+
+        when:
+        def before = cache.getSerializedResult(input, graphql.getGraphQLSchema())
+        execute(graphql, input.query)
+        def after1 = cache.getSerializedResult(input, graphql.getGraphQLSchema())
+        def after2 = cache.getSerializedResult(input, graphql.getGraphQLSchema())
+
+        then:
+        before == null
+        after1 == "[data:[__schema:[queryType:[name:Query]]]]"
+        after2.is(after1)
+        serializations == 1
+    }
+
+    def "the least recently used result is evicted"() {
+        cache = IntrospectionResultCache.newCache().maximumSize(2).build()
+
+        when:
+        execute(graphql, "{ __typename }")
+        execute(graphql, "{ __schema { queryType { name } } }")
+        execute(graphql, "{ __typename }")
+        execute(graphql, "{ __type(name: \"Query\") { name } }")
+
+        then:
+        cache.size() == 2
+        cache.getResult(ExecutionInput.newExecutionInput("{ __typename }").build(), graphql.getGraphQLSchema()) != null
+        cache.getResult(ExecutionInput.newExecutionInput("{ __schema { queryType { name } } }").build(), graphql.getGraphQLSchema()) == null
+    }
+
+    static class CountingInstrumentation implements Instrumentation {
+        int executions
+        int executeOperations
+
+        @Override
+        CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult, InstrumentationExecutionParameters parameters, InstrumentationState state) {
+            executions++
+            return CompletableFuture.completedFuture(executionResult)
+        }
+
+        @Override
+        InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+            executeOperations++
+            return null
+        }
+    }
+}
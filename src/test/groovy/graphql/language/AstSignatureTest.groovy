@@ -126,4 +126,55 @@ fragment X on SomeType {
 
 
     }
+
+    def "can make a literal pattern query"() {
+        def query = """
+    query q(\$var : Int = 5) {
+        a : allIssues(arg1 : "UGC", arg2 : 666, arg3 : true, arg4 : ENUM) {
+            id
+        }
+        b : allIssues(arg1 : "UGC", arg2 : 5, arg3 : { x : "other" }, arg4 : \$var)
+    }"""
+
+        def expectedQuery = """query q(\$var: Int = 0) {
+  a: allIssues(arg1: "1", arg2: 2, arg3: true, arg4: ENUM) {
+    id
+  }
+  b: allIssues(arg1: "1", arg2: 0, arg3: {x : "3"}, arg4: \$var)
+}
+"""
+
+        def doc = TestUtil.parseQuery(query)
+        when:
+        def newDoc = new AstSignature().literalPatternQuery(doc)
+        then:
+        printAst(newDoc) == expectedQuery
+    }
+
+    def "documents have the same literal pattern when they only differ in literal values"() {
+        def signature = new AstSignature()
+
+        expect:
+        signature.literalPattern(TestUtil.parseQuery(query1)) == signature.literalPattern(TestUtil.parseQuery(query2))
+
+        where:
+        query1                                                  | query2
+        '{ a(x : 1, y : "s") { id } }'                          | '{ a(x : 2, y : "t") { id } }'
+        '{ a(x : { f : 1.5, g : [1, 2] }) }'                    | '{ a(x : { f : 2.5, g : [3, 4] }) }'
+        'query q($v : Int = 5) { a(x : $v, y : 5) }'            | 'query q($v : Int = 6) { a(x : $v, y : 6) }'
+    }
+
+    def "documents have different literal patterns when they differ in more than literal values"() {
+        def signature = new AstSignature()
+
+        expect:
+        signature.literalPattern(TestUtil.parseQuery(query1)) != signature.literalPattern(TestUtil.parseQuery(query2))
+
+        where:
+        query1                                                  | query2
+        '{ a(x : 1, y : 1) }'                                   | '{ a(x : 1, y : 2) }'
+        '{ a(x : 1) }'                                          | '{ a(x : "1") }'
+        '{ a(x : 1) { id } }'                                   | '{ a(x : 1) { name } }'
+        '{ a(x : ENUM) }'                                       | '{ a(x : OTHER) }'
+    }
 }
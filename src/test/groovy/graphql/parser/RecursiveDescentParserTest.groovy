@@ -0,0 +1,197 @@
+package graphql.parser
+
+import graphql.language.AstComparator
+import graphql.language.AstPrinter
+import graphql.language.Document
+import graphql.language.Node
+import graphql.language.NodeTraverser
+import graphql.language.NodeVisitorStub
+import graphql.parser.exceptions.ParseCancelledException
+import graphql.parser.exceptions.ParseCancelledTooDeepException
+import graphql.util.TraversalControl
+import graphql.util.TraverserContext
+import spock.lang.Specification
+
+import static graphql.parser.ParserEnvironment.ParserImplementation.ANTLR
+import static graphql.parser.ParserEnvironment.ParserImplementation.RECURSIVE_DESCENT
+
+class RecursiveDescentParserTest extends Specification {
+
+    static Document parse(String query, ParserEnvironment.ParserImplementation parserImplementation, ParserOptions parserOptions = ParserOptions.getDefaultParserOptions()) {
+        def reader = MultiSourceReader.newMultiSourceReader().string(query, "query.graphql").build()
+        def environment = ParserEnvironment.newParserEnvironment()
+                .document(reader)
+                .parserOptions(parserOptions)
+                .parserImplementation(parserImplementation)
+                .build()
+        Parser.parse(environment)
+    }
+
+    static List<String> describeNodes(Document document) {
+        def descriptions = []
+        new NodeTraverser().depthFirst(new NodeVisitorStub() {
+            @Override
+            protected TraversalControl visitNode(Node node, TraverserContext<Node> context) {
+                descriptions.add(node.getClass().getSimpleName() + " " + node.getSourceLocation() +
+                        " " + node.getComments().collect { it.content + " " + it.sourceLocation } +
+                        " " + node.getIgnoredChars().getLeft() + " " + node.getIgnoredChars().getRight())
+                return TraversalControl.CONTINUE
+            }
+        }, document)
+        descriptions
+    }
+
+    def "builds the same document as ANTLR"() {
+        def parserOptions = ParserOptions.newParserOptions().captureIgnoredChars(true).captureLineComments(true).build()
+
+        when:
+        def expected = parse(query, ANTLR, parserOptions)
+        def actual = parse(query, RECURSIVE_DESCENT, parserOptions)
+
+        then:
+        AstComparator.isEqual(expected, actual)
+        AstPrinter.printAst(expected) == AstPrinter.printAst(actual)
+        describeNodes(expected) == describeNodes(actual)
+
+        where:
+        query << [
+                '{ hello }',
+                'query { a b c }',
+                '''# leading comment
+                query Named($a: Int = 1, $b: [String!]! @dir(x: 1), $c: [[ID]!] = [[1]]) @operation(arg: "x") {
+                    alias: field(arg: $a, object: {list: [1, -2.5e3, "s\\u00e9\\n", """block\\"""string"""], enum: ENUM, nil: null, yes: true, on: on}) @skip(if: $b) {
+                        ...Frag # trailing comment
+                        ... on Type { x }
+                        ... @include(if: true) { y }
+                        ... { z }
+                    }
+                }
+                fragment Frag on Type @dir { z, query, fragment, on, true }''',
+                'mutation M { a } subscription S { b(arg: "éè 😀") }',
+                '﻿{\r\n\ta,\r\n\tb\r\n}',
+                '{ a(empty: "", block: """\n   multi\n   line\n""") }',
+                'query ($v: Int! = 0) { a(x: {}) b(x: []) }',
+        ]
+    }
+
+    def "hands type system definitions to ANTLR"() {
+        def sdl = '''
+            type Query { a: Int }
+            query { a }
+        '''
+
+        when:
+        def expected = parse(sdl, ANTLR)
+        def actual = parse(sdl, RECURSIVE_DESCENT)
+
+        then:
+        AstComparator.isEqual(expected, actual)
+        describeNodes(expected) == describeNodes(actual)
+    }
+
+    def "throws the same syntax errors as ANTLR"() {
+        when:
+        parse(query, ANTLR)
+
+        then:
+        def expected = thrown(InvalidSyntaxException)
+
+        when:
+        parse(query, RECURSIVE_DESCENT)
+
+        then:
+        def actual = thrown(InvalidSyntaxException)
+        actual.getClass() == expected.getClass()
+        actual.message == expected.message
+        actual.location == expected.location
+        actual.offendingToken == expected.offendingToken
+
+        where:
+        query << [
+                '{ a(x: ) }',
+                '{ a',
+                '{ a } }',
+                '{ a(x: 1a) }',
+                '{ a(x: "\\q") }',
+                '{ a(x: "\\u{110000}") }',
+                'query ($v: Int = $w) { a }',
+                '{ ... on }',
+                '{ a ~ b }',
+                '',
+        ]
+    }
+
+    def "honours the same limits as ANTLR"() {
+        when:
+        parse(query, ANTLR, parserOptions)
+
+        then:
+        def expected = thrown(ParseCancelledException)
+
+        when:
+        parse(query, RECURSIVE_DESCENT, parserOptions)
+
+        then:
+        def actual = thrown(ParseCancelledException)
+        actual.getClass() == expected.getClass()
+        actual.message == expected.message
+
+        where:
+        query                                      | parserOptions
+        '{ a b c d e f }'                          | ParserOptions.newParserOptions().maxTokens(5).build()
+        '{ a   b }'                                | ParserOptions.newParserOptions().maxWhitespaceTokens(3).build()
+        '{ a { b { c { d { e } } } } }'            | ParserOptions.newParserOptions().maxRuleDepth(10).build()
+        '{ a(x: [[[[[[1]]]]]]) }'                  | ParserOptions.newParserOptions().maxRuleDepth(12).build()
+        '# 1\n# 2\n# 3\n{ a }'                     | ParserOptions.newParserOptions().maxTokens(2).build()
+    }
+
+    def "counts the rule depth like ANTLR"() {
+        def query = '{ a { b { c { d { e } } } } }'
+
+        expect:
+        for (int maxRuleDepth = 1; maxRuleDepth < 30; maxRuleDepth++) {
+            def parserOptions = ParserOptions.newParserOptions().maxRuleDepth(maxRuleDepth).build()
+            def antlrFailed = failsToParse(query, ANTLR, parserOptions)
+            assert failsToParse(query, RECURSIVE_DESCENT, parserOptions) == antlrFailed
+        }
+    }
+
+    static boolean failsToParse(String query, ParserEnvironment.ParserImplementation parserImplementation, ParserOptions parserOptions) {
+        try {
+            parse(query, parserImplementation, parserOptions)
+            return false
+        } catch (ParseCancelledTooDeepException ignored) {
+            return true
+        }
+    }
+
+    def "tells the parsing listener about the same tokens"() {
+        def tokens = [:].withDefault { [] }
+        def query = 'query Q($a: Int) {\n  a(x: $a) @skip(if: false) { ...F }\n}\nfragment F on T { b }'
+
+        when:
+        [ANTLR, RECURSIVE_DESCENT].each { parserImplementation ->
+            def parserOptions = ParserOptions.newParserOptions()
+                    .parsingListener({ token -> tokens[parserImplementation].add([token.text, token.line, token.charPositionInLine]) })
+                    .build()
+            parse(query, parserImplementation, parserOptions)
+        }
+
+        then:
+        !tokens[ANTLR].isEmpty()
+        tokens[RECURSIVE_DESCENT] == tokens[ANTLR]
+    }
+
+    def "can be selected via the graphql context"() {
+        def executionInput = graphql.ExecutionInput.newExecutionInput('{ hello }')
+                .graphQLContext([(ParserEnvironment.ParserImplementation.class): RECURSIVE_DESCENT])
+                .build()
+
+        when:
+        def result = graphql.ParseAndValidate.parse(executionInput)
+
+        then:
+        !result.isFailure()
+        AstPrinter.printAstCompact(result.document) == '{hello}'
+    }
+}
@@ -932,4 +932,35 @@ class DataFetchingFieldSelectionSetImplTest extends Specification {
         def names = selectedField.getObjectTypeNames()
         (selectedField.getAlias() == null ? "" : selectedField.getAlias() + ":") + (names.size() > 1 ? names.toString() : names.get(0)) + "." + selectedField.getName()
     }
+
+    def "list items share the selection set index of their normalized field"() {
+        def sdl = '''
+            type Query {
+                items : [Item]
+            }
+            type Item {
+                details : Details
+            }
+            type Details {
+                name : String
+                price : Int
+            }
+        '''
+        def selectionSets = []
+        DataFetcher detailsDF = { env ->
+            selectionSets.add(env.getSelectionSet())
+            return [name: "n", price: 1]
+        }
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema(sdl, [Query: [items: { env -> [[:], [:], [:]] } as DataFetcher], Item: [details: detailsDF]])).build()
+
+        when:
+        def er = graphQL.execute("{ items { details { name price } } }")
+
+        then:
+        er.errors.isEmpty()
+        selectionSets.size() == 3
+        selectionSets.every { selectionSet -> selectionSet.contains("name") && !selectionSet.contains("items/**") }
+        selectionSets[1].getFields().is(selectionSets[0].getFields())
+        selectionSets[2].getFields().is(selectionSets[0].getFields())
+    }
 }
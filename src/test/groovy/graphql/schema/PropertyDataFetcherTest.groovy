@@ -24,6 +24,7 @@ class PropertyDataFetcherTest extends Specification {
         PropertyDataFetcher.setUseNegativeCache(true)
         PropertyDataFetcher.clearReflectionCache()
         PropertyDataFetcherHelper.setUseLambdaFactory(true)
+        PropertyDataFetcher.setUseInlineCache(true)
     }
 
     def env(obj) {
@@ -716,6 +717,99 @@ class PropertyDataFetcherTest extends Specification {
         }
     }
 
+    static class NamedThing {
+        String getName() { return "thing" }
+    }
+
+    static class OtherNamedThing {
+        String getName() { return "other thing" }
+    }
+
+    def "binds the getter of the first source class and calls it directly"() {
+        def fetcher = new PropertyDataFetcher("name")
+
+        when:
+        def values = [new NamedThing(), new NamedThing(), new OtherNamedThing(), [name: "map"], new NamedThing()].collect { fetcher.get(env(it)) }
+
+        then:
+        values == ["thing", "thing", "other thing", "map", "thing"]
+        fetcher.@boundGetter.sourceClass == NamedThing
+        fetcher.@boundGetter.isBoundTo(NamedThing)
+        !fetcher.@boundGetter.isBoundTo(OtherNamedThing)
+    }
+
+    def "a data fetcher used for a single fetch does not bind a getter"() {
+        when:
+        def fetcher = new PropertyDataFetcher("name")
+        def value = fetcher.get(env(new NamedThing()))
+
+        then:
+        value == "thing"
+        fetcher.@boundGetter == null
+
+        when:
+        value = fetcher.get(env(new NamedThing()))
+
+        then:
+        value == "thing"
+        fetcher.@boundGetter.isBoundTo(NamedThing)
+    }
+
+    def "a bound getter is dropped when the reflection cache is cleared"() {
+        def fetcher = new PropertyDataFetcher("name")
+        fetcher.get(env(new NamedThing()))
+        fetcher.get(env(new NamedThing()))
+        def boundGetter = fetcher.@boundGetter
+
+        when:
+        PropertyDataFetcher.clearReflectionCache()
+
+        then:
+        !boundGetter.isBoundTo(NamedThing)
+
+        when:
+        PropertyDataFetcherHelper.setUseLambdaFactory(false)
+        def value = fetcher.get(env(new NamedThing()))
+
+        then:
+        value == "thing"
+        fetcher.@boundGetter.getter == null
+        fetcher.@boundGetter.isBoundTo(NamedThing)
+    }
+
+    def "no getter is bound when inline caching is off"() {
+        PropertyDataFetcher.setUseInlineCache(false)
+        def fetcher = new PropertyDataFetcher("name")
+
+        when:
+        def values = [new NamedThing(), new NamedThing()].collect { fetcher.get(env(it)) }
+
+        then:
+        values == ["thing", "thing"]
+        fetcher.@boundGetter.getter == null
+    }
+
+    static class PublicFieldThing {
+        public String name = "field thing"
+    }
+
+    def "a property without a lambda getter is only looked up once"() {
+        def fetcher = new PropertyDataFetcher("name")
+        fetcher.get(env(new PublicFieldThing()))
+        fetcher.get(env(new PublicFieldThing()))
+        def boundGetter = fetcher.@boundGetter
+
+        when:
+        def values = [new PublicFieldThing(), new PublicFieldThing()].collect { fetcher.get(env(it)) }
+
+        then:
+        values == ["field thing", "field thing"]
+        boundGetter.getter == null
+        boundGetter.isBoundTo(PublicFieldThing)
+        // each lookup binds a new getter, so the same one means there was no lookup
+        fetcher.@boundGetter.is(boundGetter)
+    }
+
     static class FooClassWithStaticProperties {
         static String getFoo() { return "foo" }
     }
@@ -31,6 +31,7 @@ import graphql.schema.idl.errors.SchemaProblem
 import graphql.schema.visibility.GraphqlFieldVisibility
 import spock.lang.Specification
 
+import java.util.concurrent.Executors
 import java.util.function.UnaryOperator
 
 import static graphql.Scalars.GraphQLBoolean
@@ -2532,4 +2533,55 @@ class SchemaGeneratorTest extends Specification {
         inputObjectType.isOneOf()
         inputObjectType.hasAppliedDirective("oneOf")
     }
+
+    def "a schema made on an executor is the same as one made serially"() {
+        def sdl = new StringBuilder('''
+            type Query {
+                t0 : T0
+            }
+            interface Node {
+                id : ID
+            }
+        ''')
+        (0..<500).each { i ->
+            sdl.append("""
+            type T$i implements Node {
+                id : ID
+                next : [T${i.intdiv(2)}!]
+                byInput(in : In$i) : Int
+            }
+            input In$i {
+                x : Int = $i
+                next : In${i.intdiv(2)}
+            }
+            """)
+        }
+        def executor = Executors.newFixedThreadPool(4)
+
+        when:
+        def serialSchema = new SchemaGenerator().makeExecutableSchema(defaultOptions(), new SchemaParser().parse(sdl.toString()), TestUtil.mockRuntimeWiring)
+        def parallelSchema = new SchemaGenerator().makeExecutableSchema(defaultOptions().executor(executor), new SchemaParser().parse(sdl.toString()), TestUtil.mockRuntimeWiring)
+
+        then:
+        new SchemaPrinter().print(parallelSchema) == new SchemaPrinter().print(serialSchema)
+        (parallelSchema.getType("T499") as GraphQLObjectType).getFieldDefinition("next").getType() instanceof GraphQLList
+
+        when:
+        def badSdl = sdl.toString().replace("next : In3\n", "next : Node\n").replace("next : In7\n", "next : Unknown\n")
+        new SchemaGenerator().makeExecutableSchema(defaultOptions(), new SchemaParser().parse(badSdl), TestUtil.mockRuntimeWiring)
+
+        then:
+        def serialProblem = thrown(SchemaProblem)
+
+        when:
+        new SchemaGenerator().makeExecutableSchema(defaultOptions().executor(executor), new SchemaParser().parse(badSdl), TestUtil.mockRuntimeWiring)
+
+        then:
+        def parallelProblem = thrown(SchemaProblem)
+        !serialProblem.errors.isEmpty()
+        parallelProblem.errors*.message == serialProblem.errors*.message
+
+        cleanup:
+        executor.shutdown()
+    }
 }
@@ -0,0 +1,111 @@
+package graphql.schema.impl
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.file.FileSystems
+import java.nio.file.Paths
+import java.util.regex.PatternSyntaxException
+
+class FieldPathGlobTest extends Specification {
+
+    def paths = [
+            "Invoice.items",
+            "items",
+            "Invoice.items/Item.name",
+            "items/name",
+            "Invoice.items/Item.price",
+            "items/price",
+            "Invoice.items/Item.price/Money.amount",
+            "items/price/amount",
+            "Invoice.id",
+            "id",
+            "[Cat, Dog].name",
+    ]
+
+    FieldPathIndex<String> index() {
+        def index = new FieldPathIndex<String>()
+        paths.each { path -> index.add(path, path) }
+        return index
+    }
+
+    @Unroll
+    def "'#glob' matches the same paths as the file system glob"() {
+        def pathMatcher = FileSystems.getDefault().getPathMatcher("glob:" + glob)
+        def expected = paths.findAll { path -> pathMatcher.matches(Paths.get(path)) }
+        def fieldPathGlob = FieldPathGlob.compile(glob)
+
+        expect:
+        paths.findAll { path -> fieldPathGlob.matches(path) } == expected
+        index().getMatchingValues([fieldPathGlob]) == expected
+        index().containsMatch(fieldPathGlob) == !expected.isEmpty()
+
+        where:
+        glob                  | _
+        "items"               | _
+        "items/*"             | _
+        "items/**"            | _
+        "**"                  | _
+        "**/name"             | _
+        "**/amount"           | _
+        "*/name"              | _
+        "items/pr?ce"         | _
+        "items/{name,price}"  | _
+        "items/[a-o]*"        | _
+        "items/[!a-o]*"       | _
+        "Invoice.*/Item.*"    | _
+        "Invoice.items/**"    | _
+        "*.items/**/Money.*"  | _
+        "items**"             | _
+        "{items/name,id}"     | _
+        "\\[Cat, Dog\\].name" | _
+        "name"                | _
+        "items//name"         | _
+        "/items"              | _
+    }
+
+    def "invalid globs are rejected like file system globs"() {
+        when:
+        FieldPathGlob.compile(glob)
+
+        then:
+        thrown(PatternSyntaxException)
+
+        where:
+        glob        | _
+        "items/[a"  | _
+        "{a,b"      | _
+        "{a,{b}}"   | _
+        "[a/b]"     | _
+        "[z-a]"     | _
+        "items\\"   | _
+    }
+
+    def "compiled globs are cached and the cache is bounded"() {
+        when:
+        def glob = FieldPathGlob.compile("items/**")
+
+        then:
+        FieldPathGlob.compile("items/**").is(glob)
+
+        when:
+        (0..FieldPathGlob.MAX_CACHED_GLOBS).each { i -> FieldPathGlob.compile("items/field$i") }
+
+        then:
+        FieldPathGlob.cacheSize() <= FieldPathGlob.MAX_CACHED_GLOBS
+    }
+
+    def "the values of matching paths are returned once in the order the paths were added"() {
+        def index = new FieldPathIndex<String>()
+        index.add("a/b", "ab1")
+        index.add("a", "a")
+        index.add("a/b", "ab2")
+        index.add("c", "c")
+
+        expect:
+        index.getPaths() == ["a/b", "a", "c"]
+        index.getValues() == ["ab1", "ab2", "a", "c"]
+        index.getMatchingValues([FieldPathGlob.compile("c"), FieldPathGlob.compile("a/*"), FieldPathGlob.compile("**")]) == ["ab1", "ab2", "a", "c"]
+        index.getMatchingValues([FieldPathGlob.compile("x/**")]) == []
+    }
+}
@@ -28,4 +28,22 @@ class EscapeUtilTest extends Specification {
         '''"{"operator":"eq", "operands": []}"''' | '''\\"{\\"operator\\":\\"eq\\", \\"operands\\": []}\\"'''
     }
 
+    def "encoding of json strings to an appendable also escapes other control characters"() {
+        when:
+        def sb = new StringBuilder()
+        EscapeUtil.escapeJsonString(strValue, sb)
+
+        then:
+        sb.toString() == expected
+
+        where:
+        strValue                   | expected
+        ''                         | ''
+        'json'                     | 'json'
+        'quotation-"'              | 'quotation-\\"'
+        'newline-\n-and-more'      | 'newline-\\n-and-more'
+        'bell-\u0007'              | 'bell-\\u0007'
+        'unit-separator-\u001f-end' | 'unit-separator-\\u001f-end'
+    }
+
 }
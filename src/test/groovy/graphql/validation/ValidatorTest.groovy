@@ -0,0 +1,171 @@
+package graphql.validation
+
+import graphql.StarWarsSchema
+import graphql.TestUtil
+import graphql.i18n.I18n
+import graphql.parser.Parser
+import graphql.schema.GraphQLSchema
+import spock.lang.Specification
+
+import java.util.concurrent.Executors
+
+class ValidatorTest extends Specification {
+
+    static List<ValidationError> validate(String query, ValidationOptions validationOptions, GraphQLSchema schema = StarWarsSchema.starWarsSchema) {
+        def document = new Parser().parseDocument(query)
+        return new Validator().validateDocument(schema, document, { true }, Locale.ENGLISH, validationOptions)
+    }
+
+    def "parallel validation finds the same errors as serial validation"() {
+        def query = '''
+            query q($unused : String) {
+                hero {
+                    name : id
+                    name
+                    unknownField
+                    ...Unknown
+                }
+                human(id : 1) {
+                    name
+                }
+            }
+        '''
+        def executor = Executors.newFixedThreadPool(2)
+
+        when:
+        def serialErrors = validate(query, ValidationOptions.defaultOptions())
+        def parallelErrors = validate(query, ValidationOptions.newOptions().executor(executor).build())
+
+        then:
+        serialErrors.size() >= 4
+        parallelErrors.size() == serialErrors.size()
+        parallelErrors.collect { it.toString() }.toSet() == serialErrors.collect { it.toString() }.toSet()
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def "parallel validation stops at the maximum number of errors"() {
+        def fields = (1..Validator.getMaxValidationErrors()).collect { "unknown$it" }.join(" ")
+        def variables = (1..Validator.getMaxValidationErrors()).collect { "\$unused$it : String" }.join(", ")
+        def query = "query q($variables) { hero { $fields } }"
+        def executor = Executors.newFixedThreadPool(2)
+
+        when:
+        def errors = validate(query, ValidationOptions.newOptions().executor(executor).build())
+
+        then:
+        errors.size() == Validator.getMaxValidationErrors()
+        errors.last().validationErrorType == ValidationErrorType.MaxValidationErrorsReached
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def "documents that only differ in literal values are validated once"() {
+        def validationCache = new ValidationCache()
+        def validationOptions = ValidationOptions.newOptions().validationCache(validationCache).build()
+
+        when:
+        def errors1 = validate('{ human(id : "1000") { name } }', validationOptions)
+        def errors2 = validate('{ human(id : "1001") { name } }', validationOptions)
+
+        then:
+        errors1.isEmpty()
+        errors2.isEmpty()
+        validationCache.size() == 1
+
+    }
+
+    def "validating the same document again does not run any rules"() {
+        def validationCache = new ValidationCache()
+        def validationOptions = ValidationOptions.newOptions().validationCache(validationCache).build()
+        def document = new Parser().parseDocument('{ human(id : "1000") { name } }')
+        def testedRules = []
+        def validator = new Validator()
+
+        when:
+        def errors1 = validator.validateDocument(StarWarsSchema.starWarsSchema, document, { true }, Locale.ENGLISH, validationOptions)
+        def errors2 = validator.validateDocument(StarWarsSchema.starWarsSchema, document, { testedRules.add(it); true }, Locale.ENGLISH, validationOptions)
+
+        then:
+        errors1.isEmpty()
+        errors2.isEmpty()
+        // only the rule classes themselves are tested, no rules are made
+        testedRules == Validator.RULE_CLASSES
+    }
+
+    def "the rule classes are the classes of the rules"() {
+        def document = new Parser().parseDocument('{ hero { name } }')
+        def validationContext = new ValidationContext(StarWarsSchema.starWarsSchema, document, I18n.i18n(I18n.BundleType.Validation, Locale.ENGLISH))
+
+        when:
+        def rules = new Validator().createRules(validationContext, new ValidationErrorCollector())
+
+        then:
+        rules.collect { it.getClass() } == Validator.RULE_CLASSES
+    }
+
+    def "the literal values of cached documents are still checked"() {
+        def schema = TestUtil.schema("type Query { field(arg : Int) : String }")
+        def validationCache = new ValidationCache()
+        def validationOptions = ValidationOptions.newOptions().validationCache(validationCache).build()
+
+        when:
+        def errors1 = validate('{ field(arg : 1) }', validationOptions, schema)
+        def errors2 = validate('{ field(arg : 99999999999) }', validationOptions, schema)
+
+        then:
+        errors1.isEmpty()
+        errors2.size() == 1
+        errors2[0].validationErrorType == ValidationErrorType.WrongType
+        validationCache.size() == 1
+
+        when: "a different schema does not use the cached validation"
+        def otherSchema = TestUtil.schema("type Query { field(arg : String) : String }")
+        def errors3 = validate('{ field(arg : 1) }', validationOptions, otherSchema)
+
+        then:
+        errors3.size() == 1
+    }
+
+    def "documents with a different pattern of equal literals are validated again"() {
+        def validationCache = new ValidationCache()
+        def validationOptions = ValidationOptions.newOptions().validationCache(validationCache).build()
+
+        when:
+        def errors1 = validate('{ a : human(id : "1000") { name } a : human(id : "1000") { name } }', validationOptions)
+        def errors2 = validate('{ a : human(id : "1000") { name } a : human(id : "1001") { name } }', validationOptions)
+
+        then:
+        errors1.isEmpty()
+        errors2.size() == 1
+        errors2[0].validationErrorType == ValidationErrorType.FieldsConflict
+        validationCache.size() == 1
+    }
+
+    def "invalid documents are not cached"() {
+        def validationCache = new ValidationCache()
+        def validationOptions = ValidationOptions.newOptions().validationCache(validationCache).build()
+
+        when:
+        def errors = validate('{ hero { unknownField } }', validationOptions)
+
+        then:
+        errors.size() == 1
+        validationCache.size() == 0
+    }
+
+    def "the validation cache is bounded"() {
+        def validationCache = new ValidationCache(2)
+        def validationOptions = ValidationOptions.newOptions().validationCache(validationCache).build()
+
+        when:
+        validate('{ hero { name } }', validationOptions)
+        validate('{ hero { id } }', validationOptions)
+        validate('{ hero { id name } }', validationOptions)
+
+        then:
+        validationCache.size() == 2
+    }
+}
@@ -948,5 +948,37 @@ class OverlappingFieldsCanBeMergedTest extends Specification {
         errorCollector.getErrors().size() == 0
     }
 
+    static String nestedFragmentsQuery(int fragmentCount, String deepestSelection) {
+        def query = new StringBuilder("{ node { ...F0 } }\n")
+        for (int i = 0; i < fragmentCount; i++) {
+            def next = i + 1 < fragmentCount ? "{ ...F${i + 1} }" : deepestSelection
+            query.append("fragment F$i on Node { id name child $next other $next ...G$i }\n")
+            query.append("fragment G$i on Node { id child $next }\n")
+        }
+        query.toString()
+    }
+
+    static GraphQLSchema nodeSchema() {
+        schema('''
+        type Query { node: Node }
+        type Node { id: ID name: String child: Node other: Node }
+        ''')
+    }
+
+    def "deeply nested reused fragments are only compared once"() {
+        when:
+        traverse(nestedFragmentsQuery(60, "{ id }"), nodeSchema())
 
+        then:
+        errorCollector.getErrors().isEmpty()
+    }
+
+    def "conflicts inside deeply nested reused fragments are still found"() {
+        when:
+        traverse(nestedFragmentsQuery(60, "{ id: name id }"), nodeSchema())
+
+        then:
+        !errorCollector.getErrors().isEmpty()
+        errorCollector.getErrors().every { it.message.contains("FieldsConflict") && it.message.contains("are different fields") }
+    }
 }
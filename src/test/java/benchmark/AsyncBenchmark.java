@@ -7,11 +7,13 @@ import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
@@ -22,14 +24,20 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Compares {@link Async.CombinedBuilder} with combining the same CFs via {@link CompletableFuture#allOf(CompletableFuture[])}
+ * and copying their values into a list, which is what the builder used to do.  Run it via {@link #main(String[])} to also
+ * see the bytes allocated per operation.
+ */
 @State(Scope.Benchmark)
-@BenchmarkMode(Mode.Throughput)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
 @Warmup(iterations = 2)
-@Measurement(iterations = 2, timeUnit = TimeUnit.NANOSECONDS)
+@Measurement(iterations = 2)
 @Fork(2)
 public class AsyncBenchmark {
 
-    @Param({"1", "5", "20"})
+    @Param({"1", "10", "1000"})
     public int numberOfFieldCFs;
 
     List<CompletableFuture<Object>> futures;
@@ -57,9 +65,73 @@ public class AsyncBenchmark {
         return builder.await().join();
     }
 
+    @Benchmark
+    @Warmup(iterations = 2, batchSize = 100)
+    @Measurement(iterations = 2, batchSize = 100)
+    public List<Object> benchmarkAsyncIncomplete() {
+        List<CompletableFuture<Object>> incompleteFutures = mkIncompleteFutures();
+        Async.CombinedBuilder<Object> builder = Async.ofExpectedSize(incompleteFutures.size());
+        incompleteFutures.forEach(builder::add);
+        CompletableFuture<List<Object>> result = builder.await();
+        completeFutures(incompleteFutures);
+        return result.join();
+    }
+
+    @Benchmark
+    @Warmup(iterations = 2, batchSize = 100)
+    @Measurement(iterations = 2, batchSize = 100)
+    public List<Object> benchmarkAllOf() {
+        return allOf(futures).join();
+    }
+
+    @Benchmark
+    @Warmup(iterations = 2, batchSize = 100)
+    @Measurement(iterations = 2, batchSize = 100)
+    public List<Object> benchmarkAllOfIncomplete() {
+        List<CompletableFuture<Object>> incompleteFutures = mkIncompleteFutures();
+        CompletableFuture<List<Object>> result = allOf(incompleteFutures);
+        completeFutures(incompleteFutures);
+        return result.join();
+    }
+
+    private List<CompletableFuture<Object>> mkIncompleteFutures() {
+        List<CompletableFuture<Object>> incompleteFutures = new ArrayList<>(numberOfFieldCFs);
+        for (int i = 0; i < numberOfFieldCFs; i++) {
+            incompleteFutures.add(new CompletableFuture<>());
+        }
+        return incompleteFutures;
+    }
+
+    private static void completeFutures(List<CompletableFuture<Object>> incompleteFutures) {
+        for (int i = 0; i < incompleteFutures.size(); i++) {
+            incompleteFutures.get(i).complete(i);
+        }
+    }
+
+    // the way CFs were combined before Async.CombinedBuilder counted down their completions
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<List<Object>> allOf(List<CompletableFuture<Object>> futures) {
+        CompletableFuture<Object>[] cfsArr = futures.toArray(new CompletableFuture[0]);
+        CompletableFuture<List<Object>> overallResult = new CompletableFuture<>();
+        CompletableFuture.allOf(cfsArr)
+                .whenComplete((ignored, exception) -> {
+                    if (exception != null) {
+                        overallResult.completeExceptionally(exception);
+                        return;
+                    }
+                    List<Object> results = new ArrayList<>(cfsArr.length);
+                    for (CompletableFuture<Object> cf : cfsArr) {
+                        results.add(cf.join());
+                    }
+                    overallResult.complete(results);
+                });
+        return overallResult;
+    }
+
     public static void main(String[] args) throws Exception {
         Options opt = new OptionsBuilder()
                 .include("benchmark.AsyncBenchmark")
+                .addProfiler(GCProfiler.class)
                 .build();
 
         new Runner(opt).run();
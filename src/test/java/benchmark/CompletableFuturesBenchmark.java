@@ -1,6 +1,7 @@
 package benchmark;
 
 import com.google.common.collect.ImmutableList;
+import graphql.execution.Async;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -12,10 +13,12 @@ import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -77,6 +80,70 @@ public class CompletableFuturesBenchmark {
         traverseObjects(objects);
     }
 
+    /**
+     * An object whose every other field is fetched asynchronously, so its field values are a mix of CFs and materialized values
+     */
+    @State(Scope.Benchmark)
+    public static class ObjectFields {
+
+        @Param({"1", "10", "1000"})
+        public int numberOfFields;
+
+        Object[] mkFieldValues() {
+            Object[] fieldValues = new Object[numberOfFields];
+            for (int i = 0; i < numberOfFields; i++) {
+                fieldValues[i] = i % 2 == 0 ? new CompletableFuture<>() : i;
+            }
+            return fieldValues;
+        }
+
+        @SuppressWarnings("unchecked")
+        static void completeFieldValues(Object[] fieldValues) {
+            for (int i = 0; i < fieldValues.length; i++) {
+                if (fieldValues[i] instanceof CompletableFuture) {
+                    ((CompletableFuture<Object>) fieldValues[i]).complete(i);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public List<Object> benchmarkCombinedBuilderObjectFields(ObjectFields objectFields) {
+        Object[] fieldValues = objectFields.mkFieldValues();
+        Async.CombinedBuilder<Object> builder = Async.ofExpectedSize(fieldValues.length);
+        for (Object fieldValue : fieldValues) {
+            builder.addObject(fieldValue);
+        }
+        CompletableFuture<List<Object>> result = builder.await();
+        ObjectFields.completeFieldValues(fieldValues);
+        return result.join();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @SuppressWarnings("unchecked")
+    public List<Object> benchmarkAllOfObjectFields(ObjectFields objectFields) {
+        Object[] fieldValues = objectFields.mkFieldValues();
+        // the way CFs were combined before Async.CombinedBuilder counted down their completions
+        List<CompletableFuture<Object>> cfs = new ArrayList<>();
+        for (Object fieldValue : fieldValues) {
+            if (fieldValue instanceof CompletableFuture) {
+                cfs.add((CompletableFuture<Object>) fieldValue);
+            }
+        }
+        CompletableFuture<List<Object>> result = CompletableFuture.allOf(cfs.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    List<Object> results = new ArrayList<>(fieldValues.length);
+                    for (Object fieldValue : fieldValues) {
+                        results.add(fieldValue instanceof CompletableFuture ? ((CompletableFuture<Object>) fieldValue).join() : fieldValue);
+                    }
+                    return results;
+                });
+        ObjectFields.completeFieldValues(fieldValues);
+        return result.join();
+    }
+
     @SuppressWarnings("unchecked")
     private void traverseCFS(List<CompletableFuture<Object>> completableFutures) {
         for (CompletableFuture<Object> completableFuture : completableFutures) {
@@ -100,6 +167,7 @@ public class CompletableFuturesBenchmark {
     public static void main(String[] args) throws Exception {
         Options opt = new OptionsBuilder()
                 .include("benchmark.CompletableFuturesBenchmark")
+                .addProfiler(GCProfiler.class)
                 .build();
 
         new Runner(opt).run();
@@ -0,0 +1,85 @@
+package benchmark;
+
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how making a schema scales with the number of threads it is made on, where 0 threads makes it serially on the calling thread
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3)
+@Fork(2)
+public class CreateSchemaParallelBenchmark {
+
+    @Param({"large-schema-3.graphqls", "extra-large-schema-1.graphqls"})
+    public String schema;
+
+    @Param({"0", "2", "4", "8"})
+    public int threads;
+
+    TypeDefinitionRegistry registry;
+    ExecutorService executor;
+    SchemaGenerator.Options options;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        registry = new SchemaParser().parse(BenchmarkUtils.loadResource(schema));
+        options = SchemaGenerator.Options.defaultOptions();
+        if (threads > 0) {
+            executor = Executors.newFixedThreadPool(threads);
+            options = options.executor(executor);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void benchmarkSchemaCreate(Blackhole blackhole) {
+        blackhole.consume(createSchema());
+    }
+
+    private GraphQLSchema createSchema() {
+        return new SchemaGenerator().makeExecutableSchema(options, registry, RuntimeWiring.MOCKED_WIRING);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include("benchmark.CreateSchemaParallelBenchmark")
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,172 @@
+package benchmark;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.dataloader.BatchLoader;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring;
+
+/**
+ * Drives wide lists through batch loaders so that the per level data loader dispatch strategy gets
+ * its call stack updated from many threads at once.  The list items and the batch loaded values complete
+ * on a thread pool which is where the contention on the call stack comes from.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3)
+@Fork(2)
+public class DataLoaderPerLevelDispatchBenchmark {
+
+    @Param({"10000"})
+    public int listSize;
+
+    private static final String SDL = "" +
+            "type Query {\n" +
+            "    shops : [Shop]\n" +
+            "}\n" +
+            "type Shop {\n" +
+            "    id : ID\n" +
+            "    owner : Person\n" +
+            "    departments : [Department]\n" +
+            "}\n" +
+            "type Department {\n" +
+            "    id : ID\n" +
+            "    manager : Person\n" +
+            "}\n" +
+            "type Person {\n" +
+            "    id : ID\n" +
+            "    name : String\n" +
+            "}\n";
+
+    private static final String QUERY = "{ shops { id owner { id name } departments { id manager { id name } } } }";
+
+    private ExecutorService executor;
+    private GraphQL graphQL;
+
+    @Setup
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+
+        DataFetcher<?> shopsDF = env -> CompletableFuture.supplyAsync(() -> {
+            List<Map<String, Object>> shops = new ArrayList<>(listSize);
+            for (int i = 0; i < listSize; i++) {
+                Map<String, Object> shop = new LinkedHashMap<>();
+                shop.put("id", "shop-" + i);
+                shop.put("ownerId", "person-" + i);
+                shop.put("departments", departments(i));
+                shops.add(shop);
+            }
+            return shops;
+        }, executor);
+        DataFetcher<?> ownerDF = env -> {
+            Map<String, Object> shop = env.getSource();
+            DataLoader<String, Map<String, Object>> dataLoader = env.getDataLoader("person");
+            return dataLoader.load((String) shop.get("ownerId"));
+        };
+        DataFetcher<?> managerDF = env -> {
+            Map<String, Object> department = env.getSource();
+            DataLoader<String, Map<String, Object>> dataLoader = env.getDataLoader("person");
+            return dataLoader.load((String) department.get("managerId"));
+        };
+
+        RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("shops", shopsDF))
+                .type(newTypeWiring("Shop").dataFetcher("owner", ownerDF))
+                .type(newTypeWiring("Department").dataFetcher("manager", managerDF))
+                .build();
+
+        TypeDefinitionRegistry typeDefinitionRegistry = new SchemaParser().parse(SDL);
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(typeDefinitionRegistry, runtimeWiring);
+        graphQL = GraphQL.newGraphQL(schema).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static List<Map<String, Object>> departments(int shopIndex) {
+        List<Map<String, Object>> departments = new ArrayList<>(2);
+        for (int i = 0; i < 2; i++) {
+            Map<String, Object> department = new LinkedHashMap<>();
+            department.put("id", "department-" + shopIndex + "-" + i);
+            department.put("managerId", "manager-" + shopIndex + "-" + i);
+            departments.add(department);
+        }
+        return departments;
+    }
+
+    private DataLoaderRegistry newDataLoaderRegistry() {
+        BatchLoader<String, Map<String, Object>> personBatchLoader = keys -> CompletableFuture.supplyAsync(() -> {
+            List<Map<String, Object>> people = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                Map<String, Object> person = new LinkedHashMap<>();
+                person.put("id", key);
+                person.put("name", "name of " + key);
+                people.add(person);
+            }
+            return people;
+        }, executor);
+        DataLoaderRegistry registry = new DataLoaderRegistry();
+        registry.register("person", DataLoaderFactory.newDataLoader(personBatchLoader));
+        return registry;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ExecutionResult executeWideListWithBatchLoaders() {
+        return execute();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(4)
+    public ExecutionResult executeWideListWithBatchLoadersConcurrently() {
+        return execute();
+    }
+
+    private ExecutionResult execute() {
+        ExecutionInput executionInput = ExecutionInput.newExecutionInput(QUERY)
+                .dataLoaderRegistry(newDataLoaderRegistry())
+                .build();
+        ExecutionResult executionResult = graphQL.execute(executionInput);
+        if (!executionResult.getErrors().isEmpty()) {
+            throw new IllegalStateException("unexpected errors " + executionResult.getErrors());
+        }
+        return executionResult;
+    }
+}
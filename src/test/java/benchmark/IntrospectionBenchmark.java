@@ -1,8 +1,10 @@
 package benchmark;
 
+import graphql.ExecutionInput;
 import graphql.ExecutionResult;
 import graphql.GraphQL;
 import graphql.introspection.IntrospectionQuery;
+import graphql.introspection.IntrospectionResultCache;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.idl.SchemaGenerator;
 import org.openjdk.jmh.annotations.Benchmark;
@@ -18,6 +20,8 @@ import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
+import java.util.Map;
+
 @State(Scope.Benchmark)
 @Warmup(iterations = 2, time = 5)
 @Measurement(iterations = 3)
@@ -36,7 +40,26 @@ public class IntrospectionBenchmark {
         return graphQL.execute(IntrospectionQuery.INTROSPECTION_QUERY);
     }
 
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public ExecutionResult benchMarkCachedIntrospectionAvgTime() {
+        return graphQL.execute(cachedIntrospectionInput());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public ExecutionResult benchMarkCachedIntrospectionThroughput() {
+        return graphQL.execute(cachedIntrospectionInput());
+    }
+
+    private ExecutionInput cachedIntrospectionInput() {
+        return ExecutionInput.newExecutionInput(IntrospectionQuery.INTROSPECTION_QUERY)
+                .graphQLContext(Map.of(IntrospectionResultCache.class, introspectionResultCache))
+                .build();
+    }
+
     private final GraphQL graphQL;
+    private final IntrospectionResultCache introspectionResultCache = IntrospectionResultCache.newCache().build();
 
 
     public IntrospectionBenchmark() {
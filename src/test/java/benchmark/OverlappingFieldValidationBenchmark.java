@@ -62,6 +62,40 @@ public class OverlappingFieldValidationBenchmark {
         }
     }
 
+    /**
+     * Each fragment selects the next one twice, directly and through a sibling fragment, so without memoization the
+     * fields of the deepest fragments are collected and compared an exponential number of times.
+     */
+    @State(Scope.Benchmark)
+    public static class NestedFragmentsState {
+
+        static final int FRAGMENT_COUNT = 60;
+
+        GraphQLSchema schema;
+        Document document;
+
+        @Setup
+        public void setup() {
+            schema = SchemaGenerator.createdMockedSchema("type Query { node : Node } type Node { id : ID name : String child : Node other : Node }");
+
+            StringBuilder query = new StringBuilder("{ node { ...F0 } }\n");
+            for (int i = 0; i < FRAGMENT_COUNT; i++) {
+                String next = i + 1 < FRAGMENT_COUNT ? "{ ...F" + (i + 1) + " }" : "{ id }";
+                query.append("fragment F").append(i).append(" on Node { id name child ").append(next).append(" other ").append(next).append(" ...G").append(i).append(" }\n");
+                query.append("fragment G").append(i).append(" on Node { id child ").append(next).append(" }\n");
+            }
+            document = Parser.parse(query.toString());
+            assertTrue(validateQuery(schema, document).isEmpty());
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void overlappingFieldValidationNestedFragmentsAvgTime(NestedFragmentsState myState, Blackhole blackhole) {
+        blackhole.consume(validateQuery(myState.schema, myState.document));
+    }
+
     @Benchmark
     @BenchmarkMode(Mode.AverageTime)
     public void overlappingFieldValidationAbgTime(MyState myState, Blackhole blackhole) {
@@ -74,7 +108,7 @@ public class OverlappingFieldValidationBenchmark {
         blackhole.consume(validateQuery(myState.schema, myState.document));
     }
 
-    private List<ValidationError> validateQuery(GraphQLSchema schema, Document document) {
+    private static List<ValidationError> validateQuery(GraphQLSchema schema, Document document) {
         ValidationErrorCollector errorCollector = new ValidationErrorCollector();
         I18n i18n = I18n.i18n(I18n.BundleType.Validation, Locale.ENGLISH);
         ValidationContext validationContext = new ValidationContext(schema, document, i18n);
@@ -0,0 +1,118 @@
+package benchmark;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.execution.VirtualThreadFetchOptions;
+import graphql.execution.instrumentation.threadpools.ExecutorInstrumentation;
+import graphql.schema.DataFetcher;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static graphql.Scalars.GraphQLString;
+
+/**
+ * Compares fetching 1000 fields with blocking data fetchers, that each wait for some simulated I/O, on the thread pool of an
+ * {@link ExecutorInstrumentation} and on virtual threads via {@link VirtualThreadFetchOptions}.
+ * <p>
+ * Virtual threads need Java 21 or later, so run this on such a JVM, otherwise the virtual thread modes call the data fetchers
+ * one after another on the calling thread.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3)
+@Fork(2)
+public class VirtualThreadFetchBenchmark {
+
+    static final int FIELD_COUNT = 1000;
+
+    @Param({"executorInstrumentation-64", "executorInstrumentation-256", "virtualThreads", "virtualThreads-max-64"})
+    public String mode;
+
+    @Param({"1", "10"})
+    public int latencyMillis;
+
+    GraphQL graphQL;
+    String query;
+    VirtualThreadFetchOptions virtualThreadFetchOptions;
+    ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GraphQLObjectType.Builder queryType = GraphQLObjectType.newObject().name("Query");
+        GraphQLCodeRegistry.Builder codeRegistry = GraphQLCodeRegistry.newCodeRegistry();
+        DataFetcher<?> blockingDataFetcher = env -> {
+            Thread.sleep(latencyMillis);
+            return env.getField().getName();
+        };
+        StringBuilder queryBuilder = new StringBuilder("{");
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            String fieldName = "field" + i;
+            queryType.field(field -> field.name(fieldName).type(GraphQLString));
+            codeRegistry.dataFetcher(FieldCoordinates.coordinates("Query", fieldName), blockingDataFetcher);
+            queryBuilder.append(' ').append(fieldName);
+        }
+        query = queryBuilder.append(" }").toString();
+        GraphQLSchema schema = GraphQLSchema.newSchema().query(queryType.build()).codeRegistry(codeRegistry.build()).build();
+
+        GraphQL.Builder builder = GraphQL.newGraphQL(schema);
+        if (mode.startsWith("executorInstrumentation-")) {
+            executor = Executors.newFixedThreadPool(Integer.parseInt(mode.substring("executorInstrumentation-".length())));
+            builder.instrumentation(ExecutorInstrumentation.newThreadPoolExecutionInstrumentation().fetchExecutor(executor).build());
+        } else if (mode.equals("virtualThreads")) {
+            virtualThreadFetchOptions = VirtualThreadFetchOptions.newOptions().build();
+        } else {
+            virtualThreadFetchOptions = VirtualThreadFetchOptions.newOptions().maxConcurrentFetches(64).build();
+        }
+        graphQL = builder.build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ExecutionResult benchmarkBlockingFields() {
+        ExecutionInput.Builder executionInput = ExecutionInput.newExecutionInput(query);
+        if (virtualThreadFetchOptions != null) {
+            executionInput.graphQLContext(builder -> builder.put(VirtualThreadFetchOptions.class, virtualThreadFetchOptions));
+        }
+        return graphQL.executeAsync(executionInput.build()).join();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include("benchmark.VirtualThreadFetchBenchmark")
+                .build();
+
+        new Runner(opt).run();
+    }
+}